@@ -0,0 +1,227 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.beans.Field;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.solr.core.convert.MappingSolrConverter;
+import org.springframework.data.solr.core.mapping.ChildDocument;
+import org.springframework.data.solr.core.mapping.Dynamic;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
+
+/**
+ * Synthetic entities and Solr responses shared by the benchmarks. Data is generated deterministically so that runs are
+ * comparable.
+ */
+public final class BenchmarkFixtures {
+
+	public static final int DYNAMIC_FIELDS = 20;
+	public static final int CHILD_DOCUMENTS = 3;
+
+	private static final Date DATE = new Date(1609459200000L);
+
+	private BenchmarkFixtures() {}
+
+	/**
+	 * @return a mapping context initialized for {@link WideEntity}.
+	 */
+	public static SimpleSolrMappingContext mappingContext() {
+
+		SimpleSolrMappingContext mappingContext = new SimpleSolrMappingContext();
+		mappingContext.setInitialEntitySet(new HashSet<>(Arrays.asList(WideEntity.class, Review.class)));
+		mappingContext.afterPropertiesSet();
+		return mappingContext;
+	}
+
+	/**
+	 * @return a converter initialized for {@link WideEntity}.
+	 */
+	public static MappingSolrConverter converter() {
+
+		MappingSolrConverter converter = new MappingSolrConverter(mappingContext());
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	public static WideEntity entity(int i) {
+
+		WideEntity entity = new WideEntity();
+		entity.id = "doc-" + i;
+		entity.title = "Title of document " + i;
+		entity.subtitle = "Subtitle " + i;
+		entity.description = "A somewhat longer description of document " + i + " used to have realistic string sizes.";
+		entity.author = "author-" + (i % 100);
+		entity.publisher = "publisher-" + (i % 10);
+		entity.language = i % 2 == 0 ? "en" : "de";
+		entity.isbn = "978-3-16-" + (100000 + i);
+		entity.pages = 100 + (i % 900);
+		entity.edition = i % 5;
+		entity.views = 1000L * i;
+		entity.sales = 10L * i;
+		entity.price = 9.99 + (i % 50);
+		entity.rating = (i % 5) + 0.5F;
+		entity.available = i % 3 != 0;
+		entity.featured = i % 7 == 0;
+		entity.published = DATE;
+		entity.updated = DATE;
+		entity.tags = Arrays.asList("tag-" + (i % 10), "tag-" + (i % 20), "tag-" + (i % 30));
+		entity.categories = Arrays.asList("category-" + (i % 5), "category-" + (i % 15));
+
+		entity.attributes = new LinkedHashMap<>();
+		for (int j = 0; j < DYNAMIC_FIELDS; j++) {
+			entity.attributes.put("attr_" + j, "value-" + j + "-" + i);
+		}
+
+		entity.reviews = new ArrayList<>(CHILD_DOCUMENTS);
+		for (int j = 0; j < CHILD_DOCUMENTS; j++) {
+
+			Review review = new Review();
+			review.id = entity.id + "-review-" + j;
+			review.text = "Review " + j + " of document " + i;
+			review.stars = j % 5;
+			entity.reviews.add(review);
+		}
+		return entity;
+	}
+
+	public static SolrDocument document(int i) {
+
+		WideEntity entity = entity(i);
+
+		SolrDocument document = new SolrDocument();
+		document.setField("id", entity.id);
+		document.setField("title", entity.title);
+		document.setField("subtitle", entity.subtitle);
+		document.setField("description", entity.description);
+		document.setField("author", entity.author);
+		document.setField("publisher", entity.publisher);
+		document.setField("language", entity.language);
+		document.setField("isbn", entity.isbn);
+		document.setField("pages", entity.pages);
+		document.setField("edition", entity.edition);
+		document.setField("views", entity.views);
+		document.setField("sales", entity.sales);
+		document.setField("price", entity.price);
+		document.setField("rating", entity.rating);
+		document.setField("available", entity.available);
+		document.setField("featured", entity.featured);
+		document.setField("published", entity.published);
+		document.setField("updated", entity.updated);
+		document.setField("tags", entity.tags);
+		document.setField("categories", entity.categories);
+		entity.attributes.forEach(document::setField);
+
+		for (Review review : entity.reviews) {
+
+			SolrDocument child = new SolrDocument();
+			child.setField("id", review.id);
+			child.setField("text", review.text);
+			child.setField("stars", review.stars);
+			document.addChildDocument(child);
+		}
+		document.setField("score", 1F / (i + 1));
+		return document;
+	}
+
+	public static SolrDocumentList documents(int size) {
+
+		SolrDocumentList documents = new SolrDocumentList();
+		for (int i = 0; i < size; i++) {
+			documents.add(document(i));
+		}
+		documents.setNumFound(size * 10L);
+		documents.setStart(0);
+		documents.setMaxScore(1F);
+		return documents;
+	}
+
+	public static List<WideEntity> entities(int size) {
+
+		List<WideEntity> entities = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			entities.add(entity(i));
+		}
+		return entities;
+	}
+
+	/**
+	 * @return highlight snippets per document id and field, as returned by Solr.
+	 */
+	public static Map<String, Map<String, List<String>>> highlighting(int size) {
+
+		Map<String, Map<String, List<String>>> highlighting = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+
+			Map<String, List<String>> fields = new LinkedHashMap<>();
+			fields.put("title", Arrays.asList("<em>Title</em> of document " + i));
+			fields.put("description", Arrays.asList("A somewhat longer <em>description</em>", "of document " + i));
+			highlighting.put("doc-" + i, fields);
+		}
+		return highlighting;
+	}
+
+	/**
+	 * Entity covering most property types, a dynamic map and child documents.
+	 */
+	@org.springframework.data.solr.core.mapping.SolrDocument(collection = "benchmark")
+	public static class WideEntity {
+
+		@Id @Field String id;
+		@Field String title;
+		@Field String subtitle;
+		@Field String description;
+		@Field String author;
+		@Field String publisher;
+		@Field String language;
+		@Field String isbn;
+		@Field Integer pages;
+		@Field Integer edition;
+		@Field Long views;
+		@Field Long sales;
+		@Field Double price;
+		@Field Float rating;
+		@Field Boolean available;
+		@Field Boolean featured;
+		@Field Date published;
+		@Field Date updated;
+		@Field List<String> tags;
+		@Field List<String> categories;
+		@Dynamic @Field("attr_*") Map<String, String> attributes;
+		@ChildDocument List<Review> reviews;
+		@org.springframework.data.solr.core.mapping.Score Float score;
+
+		public String getId() {
+			return id;
+		}
+	}
+
+	public static class Review {
+
+		@Id @Field String id;
+		@Field String text;
+		@Field Integer stars;
+	}
+}
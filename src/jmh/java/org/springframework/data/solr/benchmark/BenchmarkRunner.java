@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.benchmark;
+
+import java.io.File;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks, or those matching the JMH command line arguments, with allocation profiling and writes the
+ * results as JSON to {@code target/benchmarks/}, to be kept as a baseline for later runs.
+ */
+public class BenchmarkRunner {
+
+	private static final String BENCHMARKS = "org\\.springframework\\.data\\.solr\\..*Benchmark";
+
+	public static void main(String[] args) throws Exception {
+
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+
+		File reports = new File("target/benchmarks");
+		reports.mkdirs();
+
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine) //
+				.addProfiler(GCProfiler.class) //
+				.resultFormat(ResultFormatType.JSON) //
+				.result(new File(reports, "jmh-result.json").getPath());
+
+		if (commandLine.getIncludes().isEmpty()) {
+			options.include(BENCHMARKS);
+		}
+
+		new Runner(options.build()).run();
+	}
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.benchmark.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.data.solr.repository.support.SolrRepositoryFactory;
+import org.springframework.data.solr.server.support.EmbeddedSolrServerFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * End-to-end load test driving repository, {@link SolrTemplate}, client, an embedded Solr core and the converter from
+ * multiple threads. Latencies are recorded per {@link Workload} in HdrHistograms that are printed as a summary and
+ * written as {@code .hgrm} percentile distributions, so runs of different versions can be plotted against each other.
+ * <p>
+ * Options are passed as {@code --name=value}:
+ * <dl>
+ * <dt>{@code solr-home}</dt>
+ * <dd>Solr home copied to a temporary directory before starting, defaults to {@code classpath:managed-schema}.</dd>
+ * <dt>{@code threads}</dt>
+ * <dd>Number of concurrent drivers, defaults to the number of processors.</dd>
+ * <dt>{@code warmup} / {@code duration}</dt>
+ * <dd>Seconds to run before and while measuring, defaulting to {@literal 10} and {@literal 30}.</dd>
+ * <dt>{@code documents}</dt>
+ * <dd>Number of products indexed before the run, defaults to {@literal 10000}.</dd>
+ * <dt>{@code batch-size}</dt>
+ * <dd>Documents per bulk save and rows per cursor request, defaults to {@literal 100}.</dd>
+ * <dt>{@code mix}</dt>
+ * <dd>Relative weights of the workloads, e.g. {@code BULK_SAVE=1,DERIVED_FINDER=4,FACET_PAGE=2,CURSOR_SCAN=1,GET_BY_ID=4}
+ * (the default).</dd>
+ * <dt>{@code output}</dt>
+ * <dd>Directory for the {@code .hgrm} files, defaults to {@code target/load-test}.</dd>
+ * </dl>
+ */
+public class LoadTest {
+
+	static final String COLLECTION = "collection1";
+
+	private static final String DEFAULT_MIX = "BULK_SAVE=1,DERIVED_FINDER=4,FACET_PAGE=2,CURSOR_SCAN=1,GET_BY_ID=4";
+
+	final SolrTemplate template;
+	final ProductRepository repository;
+	final long documents;
+	final int batchSize;
+	final long scanLimit;
+	final Duration commitWithin = Duration.ofSeconds(1);
+
+	private final AtomicLong ids;
+	private final Workload[] mix;
+
+	LoadTest(SolrTemplate template, long documents, int batchSize, Map<Workload, Integer> weights) {
+
+		this.template = template;
+		this.repository = new SolrRepositoryFactory(template).getRepository(ProductRepository.class);
+		this.documents = documents;
+		this.batchSize = batchSize;
+		this.scanLimit = 10L * batchSize;
+		this.ids = new AtomicLong(documents);
+
+		List<Workload> mix = new ArrayList<>();
+		weights.forEach((workload, weight) -> {
+			for (int i = 0; i < weight; i++) {
+				mix.add(workload);
+			}
+		});
+		Assert.notEmpty(mix, "Workload mix must not be empty");
+		this.mix = mix.toArray(new Workload[0]);
+	}
+
+	public static void main(String[] args) throws Exception {
+
+		Map<String, String> options = parseOptions(args);
+
+		int threads = Integer.parseInt(options.getOrDefault("threads", "" + Runtime.getRuntime().availableProcessors()));
+		Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+		Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+		long documents = Long.parseLong(options.getOrDefault("documents", "10000"));
+		int batchSize = Integer.parseInt(options.getOrDefault("batch-size", "100"));
+		Map<Workload, Integer> weights = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+		File output = new File(options.getOrDefault("output", "target/load-test"));
+
+		Path solrHome = Files.createTempDirectory("solr-load-test");
+		File source = ResourceUtils.getFile(options.getOrDefault("solr-home", "classpath:managed-schema"));
+		FileSystemUtils.copyRecursively(source.toPath(), solrHome);
+
+		EmbeddedSolrServerFactory factory = new EmbeddedSolrServerFactory(solrHome.toString());
+		try {
+
+			SolrTemplate template = new SolrTemplate(factory);
+			template.afterPropertiesSet();
+
+			LoadTest test = new LoadTest(template, documents, batchSize, weights);
+
+			System.out.printf("Indexing %d documents%n", documents);
+			test.seed();
+
+			System.out.printf("Warming up %d threads for %ds%n", threads, warmup.getSeconds());
+			test.run(threads, warmup);
+
+			System.out.printf("Measuring %d threads for %ds with %s%n", threads, duration.getSeconds(), weights);
+			Map<Workload, Result> results = test.run(threads, duration);
+
+			report(results, duration, output);
+		} finally {
+			factory.destroy();
+			FileSystemUtils.deleteRecursively(solrHome);
+		}
+	}
+
+	long nextId() {
+		return ids.getAndIncrement();
+	}
+
+	void seed() {
+
+		List<Product> batch = new ArrayList<>(batchSize);
+		for (long i = 0; i < documents; i++) {
+
+			batch.add(Product.create(i));
+			if (batch.size() == batchSize) {
+				template.saveBeans(COLLECTION, batch);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			template.saveBeans(COLLECTION, batch);
+		}
+		template.commit(COLLECTION);
+	}
+
+	Map<Workload, Result> run(int threads, Duration duration) throws Exception {
+
+		long deadline = System.nanoTime() + duration.toNanos();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+
+			List<Future<Map<Workload, Result>>> drivers = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				drivers.add(executor.submit(() -> drive(deadline)));
+			}
+
+			Map<Workload, Result> results = new EnumMap<>(Workload.class);
+			for (Future<Map<Workload, Result>> driver : drivers) {
+				driver.get().forEach((workload, result) -> results.merge(workload, result, Result::add));
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Map<Workload, Result> drive(long deadline) {
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Map<Workload, Result> results = new EnumMap<>(Workload.class);
+
+		while (System.nanoTime() < deadline) {
+
+			Workload workload = mix[random.nextInt(mix.length)];
+			Result result = results.computeIfAbsent(workload, key -> new Result());
+
+			long start = System.nanoTime();
+			try {
+				result.documents += workload.execute(this, random);
+				result.latencies.recordValue(System.nanoTime() - start);
+			} catch (Exception e) {
+
+				if (result.errors++ == 0) {
+					System.err.printf("%s failed: %s%n", workload, e);
+				}
+			}
+		}
+		return results;
+	}
+
+	private static void report(Map<Workload, Result> results, Duration duration, File output) throws IOException {
+
+		output.mkdirs();
+
+		double seconds = duration.toNanos() / 1e9;
+		System.out.printf("%n%-16s %10s %10s %12s %10s %10s %10s %10s %10s %8s%n", "workload", "ops", "ops/s", "docs/s",
+				"p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+
+		for (Map.Entry<Workload, Result> entry : results.entrySet()) {
+
+			Histogram latencies = entry.getValue().latencies;
+			System.out.printf("%-16s %10d %10.1f %12.1f %10.3f %10.3f %10.3f %10.3f %10.3f %8d%n", entry.getKey(),
+					latencies.getTotalCount(), latencies.getTotalCount() / seconds, entry.getValue().documents / seconds,
+					millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+					millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+					millis(latencies.getMaxValue()), entry.getValue().errors);
+
+			try (PrintStream out = new PrintStream(new File(output, entry.getKey().name().toLowerCase() + ".hgrm"))) {
+				latencies.outputPercentileDistribution(out, 1e6);
+			}
+		}
+
+		System.out.printf("%nPercentile distributions (ms) written to %s%n", output.getAbsolutePath());
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+	private static Map<String, String> parseOptions(String[] args) {
+
+		Map<String, String> options = new LinkedHashMap<>();
+		for (String arg : args) {
+
+			Assert.isTrue(arg.startsWith("--") && arg.contains("="), () -> String.format("Invalid option '%s'", arg));
+			options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+		}
+		return options;
+	}
+
+	private static Map<Workload, Integer> parseMix(String mix) {
+
+		Map<Workload, Integer> weights = new EnumMap<>(Workload.class);
+		for (String entry : StringUtils.commaDelimitedListToStringArray(mix)) {
+
+			String[] weight = StringUtils.split(entry.trim(), "=");
+			Assert.notNull(weight, () -> String.format("Invalid workload weight '%s'", entry));
+			weights.put(Workload.valueOf(weight[0].trim().toUpperCase()), Integer.valueOf(weight[1].trim()));
+		}
+		return weights;
+	}
+
+	/**
+	 * Latencies, processed documents and errors of a single {@link Workload}.
+	 */
+	static class Result {
+
+		final Histogram latencies = new Histogram(3);
+		long documents;
+		long errors;
+
+		Result add(Result other) {
+
+			latencies.add(other.latencies);
+			documents += other.documents;
+			errors += other.errors;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.benchmark.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.solr.client.solrj.beans.Field;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.solr.core.mapping.SolrDocument;
+
+/**
+ * Entity used by the {@link LoadTest}. Only dynamic fields are used, so it fits both the managed and the static test
+ * schema.
+ */
+@SolrDocument(collection = LoadTest.COLLECTION)
+public class Product {
+
+	static final int CATEGORIES = 50;
+
+	@Id @Field String id;
+	@Field("name_s") String name;
+	@Field("category_s") String category;
+	@Field("price_d") Double price;
+	@Field("popularity_i") Integer popularity;
+	@Field("inStock_b") Boolean inStock;
+	@Field("description_txt") String description;
+
+	static Product create(long i) {
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		Product product = new Product();
+		product.id = id(i);
+		product.name = "product-" + i;
+		product.category = category(i);
+		product.price = Math.round(random.nextDouble(1, 1000) * 100) / 100D;
+		product.popularity = random.nextInt(100);
+		product.inStock = random.nextInt(10) != 0;
+		product.description = "Description of product " + i + " in " + product.category
+				+ " with some words to make the text field worth analyzing.";
+		return product;
+	}
+
+	static String id(long i) {
+		return "product-" + i;
+	}
+
+	static String category(long i) {
+		return "category-" + (i % CATEGORIES);
+	}
+}
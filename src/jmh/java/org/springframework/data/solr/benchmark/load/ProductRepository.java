@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.benchmark.load;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.solr.core.query.result.FacetPage;
+import org.springframework.data.solr.repository.Facet;
+import org.springframework.data.solr.repository.SolrCrudRepository;
+
+/**
+ * Repository exercising query derivation and faceting in the {@link LoadTest}.
+ */
+public interface ProductRepository extends SolrCrudRepository<Product, String> {
+
+	Page<Product> findByCategoryAndPriceLessThan(String category, Double price, Pageable page);
+
+	@Facet(fields = { "category_s", "popularity_i" }, limit = 20)
+	FacetPage<Product> findByInStockTrue(Pageable page);
+}
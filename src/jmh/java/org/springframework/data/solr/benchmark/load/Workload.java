@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.benchmark.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.solr.core.query.Criteria;
+import org.springframework.data.solr.core.query.SimpleQuery;
+import org.springframework.data.solr.core.query.result.Cursor;
+
+/**
+ * Operations the {@link LoadTest} drivers pick from according to the configured mix. Each execution returns the number
+ * of documents written or read.
+ */
+enum Workload {
+
+	/**
+	 * Saves a batch of new products via {@link org.springframework.data.solr.core.SolrTemplate#saveBeans}, leaving the
+	 * commit to {@code commitWithin}.
+	 */
+	BULK_SAVE {
+
+		@Override
+		long execute(LoadTest test, ThreadLocalRandom random) {
+
+			List<Product> batch = new ArrayList<>(test.batchSize);
+			for (int i = 0; i < test.batchSize; i++) {
+				batch.add(Product.create(test.nextId()));
+			}
+			test.template.saveBeans(LoadTest.COLLECTION, batch, test.commitWithin);
+			return batch.size();
+		}
+	},
+
+	/**
+	 * Runs a derived finder returning a page of products.
+	 */
+	DERIVED_FINDER {
+
+		@Override
+		long execute(LoadTest test, ThreadLocalRandom random) {
+			return test.repository.findByCategoryAndPriceLessThan(Product.category(random.nextInt(Product.CATEGORIES)),
+					random.nextDouble(100, 1000), PageRequest.of(random.nextInt(5), 20, Sort.by("price"))).getNumberOfElements();
+		}
+	},
+
+	/**
+	 * Runs a derived finder returning a facet page.
+	 */
+	FACET_PAGE {
+
+		@Override
+		long execute(LoadTest test, ThreadLocalRandom random) {
+			return test.repository.findByInStockTrue(PageRequest.of(random.nextInt(5), 20)).getNumberOfElements();
+		}
+	},
+
+	/**
+	 * Scans a category with a {@link Cursor}.
+	 */
+	CURSOR_SCAN {
+
+		@Override
+		long execute(LoadTest test, ThreadLocalRandom random) throws Exception {
+
+			SimpleQuery query = new SimpleQuery(new Criteria("category_s").is(Product.category(random.nextInt(Product.CATEGORIES))))
+					.addSort(Sort.by("id")).setRows(test.batchSize);
+
+			long documents = 0;
+			try (Cursor<Product> cursor = test.template.queryForCursor(LoadTest.COLLECTION, query, Product.class)) {
+				while (cursor.hasNext() && documents < test.scanLimit) {
+					cursor.next();
+					documents++;
+				}
+			}
+			return documents;
+		}
+	},
+
+	/**
+	 * Loads a single seeded product by its id.
+	 */
+	GET_BY_ID {
+
+		@Override
+		long execute(LoadTest test, ThreadLocalRandom random) {
+			return test.repository.findById(Product.id(random.nextLong(test.documents))).isPresent() ? 1 : 0;
+		}
+	};
+
+	abstract long execute(LoadTest test, ThreadLocalRandom random) throws Exception;
+}
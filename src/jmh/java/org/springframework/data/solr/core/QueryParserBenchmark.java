@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.solr.benchmark.BenchmarkFixtures;
+import org.springframework.data.solr.benchmark.BenchmarkFixtures.WideEntity;
+import org.springframework.data.solr.core.query.Criteria;
+import org.springframework.data.solr.core.query.FacetOptions;
+import org.springframework.data.solr.core.query.HighlightOptions;
+import org.springframework.data.solr.core.query.SimpleFacetQuery;
+import org.springframework.data.solr.core.query.SimpleHighlightQuery;
+import org.springframework.data.solr.core.query.SimpleQuery;
+
+/**
+ * Rendering of criteria into query strings and construction of complete {@link SolrQuery SolrQueries}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryParserBenchmark {
+
+	private DefaultQueryParser parser;
+
+	private Criteria simpleCriteria;
+	private Criteria complexCriteria;
+	private SimpleQuery query;
+	private SimpleFacetQuery facetQuery;
+	private SimpleHighlightQuery highlightQuery;
+
+	@Setup
+	public void setUp() {
+
+		parser = new DefaultQueryParser(BenchmarkFixtures.mappingContext());
+
+		simpleCriteria = new Criteria("title").is("solr");
+
+		// mixes operators, escaping, nesting and value conversion
+		complexCriteria = new Criteria("title").contains("spring").and("author").is("author:1 (special)")
+				.or(new Criteria("price").between(10, 20).and("rating").greaterThanEqual(3.5F))
+				.and(new Criteria("tags").in("tag-1", "tag-2", "tag-3", "tag-4", "tag-5"))
+				.and("description").fuzzy("search", 0.7F).and("published").lessThan(new Date(1609459200000L))
+				.and("language").is("en").not().and("isbn").startsWith("978-3").and("subtitle").endsWith("edition")
+				.and(new Criteria("views").greaterThan(100).or("sales").greaterThan(10).boost(2F))
+				.and("categories").expression("category-1 OR category-2").and("publisher").isNotNull();
+
+		query = new SimpleQuery(complexCriteria);
+		query.addFilterQuery(new SimpleQuery(new Criteria("available").is(true)));
+		query.addFilterQuery(new SimpleQuery(new Criteria("featured").is(false)));
+		query.addProjectionOnFields("id", "title", "author", "price", "score");
+		query.setPageRequest(PageRequest.of(2, 20, Sort.by("price").descending().and(Sort.by("id"))));
+
+		facetQuery = new SimpleFacetQuery(complexCriteria);
+		facetQuery.setFacetOptions(new FacetOptions().addFacetOnField("author").addFacetOnField("publisher")
+				.addFacetOnField("tags").addFacetOnPivot("language", "publisher")
+				.addFacetQuery(new SimpleQuery(new Criteria("price").lessThan(10))).setFacetLimit(500).setFacetMinCount(1));
+
+		highlightQuery = new SimpleHighlightQuery(complexCriteria);
+		highlightQuery.setHighlightOptions(new HighlightOptions().addField("title", "description").setSimplePrefix("<em>")
+				.setSimplePostfix("</em>").setFragsize(100).setNrSnipplets(3));
+	}
+
+	@Benchmark
+	public String renderSimpleCriteria() {
+		return parser.createQueryStringFromNode(simpleCriteria, WideEntity.class);
+	}
+
+	@Benchmark
+	public String renderComplexCriteria() {
+		return parser.createQueryStringFromNode(complexCriteria, WideEntity.class);
+	}
+
+	@Benchmark
+	public String renderDeepCriteria(DeepCriteria deepCriteria) {
+		return parser.createQueryStringFromNode(deepCriteria.criteria, WideEntity.class);
+	}
+
+	@Benchmark
+	public SolrQuery constructQuery() {
+		return parser.constructSolrQuery(query, WideEntity.class);
+	}
+
+	@Benchmark
+	public SolrQuery constructFacetQuery() {
+		return parser.constructSolrQuery(facetQuery, WideEntity.class);
+	}
+
+	@Benchmark
+	public SolrQuery constructHighlightQuery() {
+		return parser.constructSolrQuery(highlightQuery, WideEntity.class);
+	}
+
+	/**
+	 * Binary tree of nested criteria with {@literal 2^depth} leaves, each requiring value escaping.
+	 */
+	@State(Scope.Benchmark)
+	public static class DeepCriteria {
+
+		@Param({ "4", "8" }) int depth;
+
+		Criteria criteria;
+
+		@Setup
+		public void setUp() {
+			criteria = create(depth);
+		}
+
+		private static Criteria create(int depth) {
+
+			if (depth == 0) {
+				return new Criteria("author").is("author:1 (special)").and("title").startsWith("spring+data");
+			}
+
+			Criteria left = create(depth - 1);
+			Criteria right = create(depth - 1);
+			return depth % 2 == 0 ? left.and(right) : left.or(right);
+		}
+	}
+}
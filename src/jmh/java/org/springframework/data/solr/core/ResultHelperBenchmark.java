@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.client.solrj.response.FacetField;
+import org.apache.solr.client.solrj.response.Group;
+import org.apache.solr.client.solrj.response.GroupCommand;
+import org.apache.solr.client.solrj.response.GroupResponse;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocumentList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.solr.benchmark.BenchmarkFixtures;
+import org.springframework.data.solr.benchmark.BenchmarkFixtures.WideEntity;
+import org.springframework.data.solr.core.query.Criteria;
+import org.springframework.data.solr.core.query.FacetOptions;
+import org.springframework.data.solr.core.query.Field;
+import org.springframework.data.solr.core.query.GroupOptions;
+import org.springframework.data.solr.core.query.SimpleFacetQuery;
+import org.springframework.data.solr.core.query.SimpleQuery;
+import org.springframework.data.solr.core.query.result.FacetFieldEntry;
+import org.springframework.data.solr.core.query.result.GroupResult;
+import org.springframework.data.solr.core.query.result.HighlightEntry;
+import org.springframework.data.solr.core.query.result.SolrResultPage;
+import org.springframework.data.domain.Page;
+
+/**
+ * Conversion of facet, highlight and group responses by {@link ResultHelper}. Responses are synthetic, so no Solr
+ * server is required.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultHelperBenchmark {
+
+	private static final int FACET_FIELDS = 5;
+	private static final int FACET_TERMS = 500;
+	private static final int HIGHLIGHTED_DOCUMENTS = 100;
+	private static final int GROUPS = 50;
+	private static final int DOCUMENTS_PER_GROUP = 10;
+
+	private SimpleFacetQuery facetQuery;
+	private QueryResponse facetResponse;
+
+	private List<WideEntity> highlightedEntities;
+	private QueryResponse highlightResponse;
+
+	private SimpleQuery groupQuery;
+	private QueryResponse groupResponse;
+	private SolrTemplate template;
+
+	@Setup
+	public void setUp() {
+
+		FacetOptions facetOptions = new FacetOptions().setFacetLimit(FACET_TERMS);
+		List<FacetField> facetFields = new ArrayList<>(FACET_FIELDS);
+		for (int i = 0; i < FACET_FIELDS; i++) {
+
+			FacetField facetField = new FacetField("facet_" + i);
+			for (int j = 0; j < FACET_TERMS; j++) {
+				facetField.add("term-" + j, FACET_TERMS - j);
+			}
+			facetFields.add(facetField);
+			facetOptions.addFacetOnField(facetField.getName());
+		}
+		facetQuery = new SimpleFacetQuery(new Criteria("title").is("solr"));
+		facetQuery.setFacetOptions(facetOptions);
+		facetResponse = new SyntheticQueryResponse(facetFields, Collections.emptyMap(), null);
+
+		highlightedEntities = BenchmarkFixtures.entities(HIGHLIGHTED_DOCUMENTS);
+		highlightResponse = new SyntheticQueryResponse(Collections.emptyList(),
+				BenchmarkFixtures.highlighting(HIGHLIGHTED_DOCUMENTS), null);
+
+		GroupResponse groups = new GroupResponse();
+		GroupCommand command = new GroupCommand("author", GROUPS * DOCUMENTS_PER_GROUP, GROUPS);
+		for (int i = 0; i < GROUPS; i++) {
+
+			SolrDocumentList documents = new SolrDocumentList();
+			for (int j = 0; j < DOCUMENTS_PER_GROUP; j++) {
+				documents.add(BenchmarkFixtures.document(i * DOCUMENTS_PER_GROUP + j));
+			}
+			documents.setNumFound(DOCUMENTS_PER_GROUP);
+			command.add(new Group("author-" + i, documents));
+		}
+		groups.add(command);
+
+		groupQuery = new SimpleQuery(new Criteria("title").is("solr"));
+		groupQuery.setGroupOptions(new GroupOptions().addGroupByField("author").setLimit(DOCUMENTS_PER_GROUP));
+		groupQuery.setPageRequest(PageRequest.of(0, GROUPS));
+		groupResponse = new SyntheticQueryResponse(Collections.emptyList(), Collections.emptyMap(), groups);
+
+		template = new SolrTemplate(new HttpSolrClient.Builder("http://localhost:8983/solr").build());
+		template.setSolrConverter(BenchmarkFixtures.converter());
+		template.afterPropertiesSet();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		template.getSolrClient().close();
+	}
+
+	@Benchmark
+	public Map<Field, Page<FacetFieldEntry>> convertFacetFields() {
+		return ResultHelper.convertFacetQueryResponseToFacetPageMap(facetQuery, facetResponse);
+	}
+
+	@Benchmark
+	public List<HighlightEntry<WideEntity>> convertHighlighting() {
+		return ResultHelper.convertAndAddHighlightQueryResponseToResultPage(highlightResponse,
+				new SolrResultPage<>(highlightedEntities, Pageable.unpaged(), HIGHLIGHTED_DOCUMENTS, null),
+				template.getConverter().getMappingContext());
+	}
+
+	@Benchmark
+	public Map<Object, GroupResult<WideEntity>> convertGroups() {
+		return ResultHelper.convertGroupQueryResponseToGroupResultMap(groupQuery, Collections.emptyMap(), groupResponse,
+				template, WideEntity.class);
+	}
+
+	/**
+	 * {@link QueryResponse} returning prepared results instead of parsing a response body.
+	 */
+	private static class SyntheticQueryResponse extends QueryResponse {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<FacetField> facetFields;
+		private final Map<String, Map<String, List<String>>> highlighting;
+		private final GroupResponse groupResponse;
+
+		SyntheticQueryResponse(List<FacetField> facetFields, Map<String, Map<String, List<String>>> highlighting,
+				GroupResponse groupResponse) {
+
+			this.facetFields = facetFields;
+			this.highlighting = highlighting;
+			this.groupResponse = groupResponse;
+		}
+
+		@Override
+		public List<FacetField> getFacetFields() {
+			return facetFields;
+		}
+
+		@Override
+		public Map<String, Map<String, List<String>>> getHighlighting() {
+			return highlighting;
+		}
+
+		@Override
+		public GroupResponse getGroupResponse() {
+			return groupResponse;
+		}
+	}
+}
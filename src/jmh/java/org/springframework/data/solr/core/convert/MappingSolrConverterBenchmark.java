@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.convert;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.solr.benchmark.BenchmarkFixtures;
+import org.springframework.data.solr.benchmark.BenchmarkFixtures.WideEntity;
+
+/**
+ * Reading and writing of {@link WideEntity wide entities} with dynamic fields and child documents by the
+ * {@link MappingSolrConverter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingSolrConverterBenchmark {
+
+	@Param({ "10", "10000" }) int documents;
+
+	private MappingSolrConverter converter;
+	private MappingSolrConverter parallelConverter;
+	private SolrDocument document;
+	private SolrDocumentList response;
+	private WideEntity entity;
+	private List<WideEntity> entities;
+
+	@Setup
+	public void setUp() {
+
+		converter = BenchmarkFixtures.converter();
+		parallelConverter = BenchmarkFixtures.converter();
+		parallelConverter.setParallelReadThreshold(1000);
+		document = BenchmarkFixtures.document(1);
+		response = BenchmarkFixtures.documents(documents);
+		entity = BenchmarkFixtures.entity(1);
+		entities = BenchmarkFixtures.entities(documents);
+	}
+
+	@Benchmark
+	public WideEntity readDocument() {
+		return converter.read(WideEntity.class, document);
+	}
+
+	@Benchmark
+	public List<WideEntity> readResponse() {
+		return converter.read(response, WideEntity.class);
+	}
+
+	@Benchmark
+	public List<WideEntity> readResponseInParallel() {
+		return parallelConverter.read(response, WideEntity.class);
+	}
+
+	@Benchmark
+	public SolrInputDocument writeEntity() {
+
+		SolrInputDocument target = new SolrInputDocument();
+		converter.write(entity, target);
+		return target;
+	}
+
+	@Benchmark
+	public void writeEntities(Blackhole blackhole) {
+
+		for (WideEntity source : entities) {
+
+			SolrInputDocument target = new SolrInputDocument();
+			converter.write(source, target);
+			blackhole.consume(target);
+		}
+	}
+}
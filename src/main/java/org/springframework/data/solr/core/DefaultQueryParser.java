@@ -94,11 +94,14 @@ public class DefaultQueryParser extends QueryParserBase<SolrDataQuery> {
 		Assert.notNull(query, "Cannot construct solrQuery from null value");
 		Assert.notNull(query.getCriteria(), "Query has to have a criteria");
 
+		QueryParameters parameters = isParameterDereferencing() ? new QueryParameters() : null;
+
 		SolrQuery solrQuery = new SolrQuery();
-		solrQuery.setParam(CommonParams.Q, getQueryString(query, domainType));
+		solrQuery.setParam(CommonParams.Q,
+				getQueryString(query, domainType, isParsedByStandardQueryParser(query) ? parameters : null));
 
 		if (query instanceof Query) {
-			processQueryOptions(solrQuery, (Query) query, domainType);
+			processQueryOptions(solrQuery, (Query) query, domainType, parameters);
 		}
 
 		if (query instanceof FacetQuery) {
@@ -109,14 +112,29 @@ public class DefaultQueryParser extends QueryParserBase<SolrDataQuery> {
 			processHighlightOptions(solrQuery, (HighlightQuery) query, domainType);
 		}
 
+		if (parameters != null) {
+			parameters.applyTo(solrQuery);
+		}
+
 		return solrQuery;
 	}
 
-	private void processQueryOptions(SolrQuery solrQuery, Query query, @Nullable Class<?> domainType) {
+	/**
+	 * Nested queries and local params in {@code q} are only evaluated by the standard query parser. Others such as
+	 * {@literal dismax} or {@literal edismax} would match the dereferenced query string literally.
+	 */
+	private static boolean isParsedByStandardQueryParser(SolrDataQuery query) {
+
+		String defType = query instanceof Query ? ((Query) query).getDefType() : null;
+		return StringUtils.isBlank(defType) || "lucene".equals(defType);
+	}
+
+	private void processQueryOptions(SolrQuery solrQuery, Query query, @Nullable Class<?> domainType,
+			@Nullable QueryParameters parameters) {
 
 		appendPagination(solrQuery, query.getOffset(), query.getRows());
 		appendProjectionOnFields(solrQuery, query.getProjectionOnFields(), domainType);
-		appendFilterQuery(solrQuery, query.getFilterQueries(), domainType);
+		appendFilterQuery(solrQuery, query.getFilterQueries(), domainType, parameters);
 		appendSort(solrQuery, query.getSort(), domainType);
 		appendDefaultOperator(solrQuery, query.getDefaultOperator());
 		appendTimeAllowed(solrQuery, query.getTimeAllowed());
@@ -488,12 +506,17 @@ public class DefaultQueryParser extends QueryParserBase<SolrDataQuery> {
 	 */
 	protected void appendFilterQuery(SolrQuery solrQuery, List<FilterQuery> filterQueries,
 			@Nullable Class<?> domainType) {
+		appendFilterQuery(solrQuery, filterQueries, domainType, null);
+	}
+
+	private void appendFilterQuery(SolrQuery solrQuery, List<FilterQuery> filterQueries, @Nullable Class<?> domainType,
+			@Nullable QueryParameters parameters) {
 
 		if (CollectionUtils.isEmpty(filterQueries)) {
 			return;
 		}
 
-		List<String> filterQueryStrings = getFilterQueryStrings(filterQueries, domainType);
+		List<String> filterQueryStrings = getFilterQueryStrings(filterQueries, domainType, parameters);
 
 		if (!filterQueryStrings.isEmpty()) {
 			solrQuery.setFilterQueries(convertStringListToArray(filterQueryStrings));
@@ -555,11 +578,12 @@ public class DefaultQueryParser extends QueryParserBase<SolrDataQuery> {
 		return strResult;
 	}
 
-	private List<String> getFilterQueryStrings(List<FilterQuery> filterQueries, @Nullable Class<?> domainType) {
+	private List<String> getFilterQueryStrings(List<FilterQuery> filterQueries, @Nullable Class<?> domainType,
+			@Nullable QueryParameters parameters) {
 		List<String> filterQueryStrings = new ArrayList<>(filterQueries.size());
 
 		for (FilterQuery filterQuery : filterQueries) {
-			String filterQueryString = getQueryString(filterQuery, domainType);
+			String filterQueryString = getQueryString(filterQuery, domainType, parameters);
 			if (StringUtils.isNotBlank(filterQueryString)) {
 				filterQueryStrings.add(filterQueryString);
 			}
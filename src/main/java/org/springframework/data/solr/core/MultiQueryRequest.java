@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core;
+
+import java.util.function.Function;
+
+import org.springframework.data.solr.core.query.FacetQuery;
+import org.springframework.data.solr.core.query.Query;
+import org.springframework.data.solr.core.query.SolrDataQuery;
+import org.springframework.data.solr.core.query.TermsQuery;
+import org.springframework.data.solr.core.query.result.FacetPage;
+import org.springframework.data.solr.core.query.result.ScoredPage;
+import org.springframework.data.solr.core.query.result.TermsPage;
+import org.springframework.util.Assert;
+
+/**
+ * A single, independent query to be executed along with others via {@link SolrOperations#queryAll(java.util.List)}.
+ * The request also serves as key to obtain its typed result from {@link MultiQueryResults}.
+ *
+ * @param <R> type of the result.
+ * @since 4.4
+ */
+public final class MultiQueryRequest<R> {
+
+	private final String description;
+	private final Function<SolrOperations, R> query;
+
+	private MultiQueryRequest(String description, Function<SolrOperations, R> query) {
+
+		this.description = description;
+		this.query = query;
+	}
+
+	/**
+	 * @param collection must not be {@literal null}.
+	 * @param query must not be {@literal null}.
+	 * @param clazz must not be {@literal null}.
+	 * @return request for {@link SolrOperations#queryForPage(String, Query, Class)}.
+	 */
+	public static <T> MultiQueryRequest<ScoredPage<T>> forPage(String collection, Query query, Class<T> clazz) {
+
+		assertArguments(collection, query);
+		return new MultiQueryRequest<>("page of " + query,
+				operations -> operations.queryForPage(collection, query, clazz));
+	}
+
+	/**
+	 * @param collection must not be {@literal null}.
+	 * @param query must not be {@literal null}.
+	 * @param clazz must not be {@literal null}.
+	 * @return request for {@link SolrOperations#queryForFacetPage(String, FacetQuery, Class)}.
+	 */
+	public static <T> MultiQueryRequest<FacetPage<T>> forFacetPage(String collection, FacetQuery query,
+			Class<T> clazz) {
+
+		assertArguments(collection, query);
+		return new MultiQueryRequest<>("facet page of " + query,
+				operations -> operations.queryForFacetPage(collection, query, clazz));
+	}
+
+	/**
+	 * @param collection must not be {@literal null}.
+	 * @param query must not be {@literal null}.
+	 * @return request for {@link SolrOperations#queryForTermsPage(String, TermsQuery)}.
+	 */
+	public static MultiQueryRequest<TermsPage> forTermsPage(String collection, TermsQuery query) {
+
+		assertArguments(collection, query);
+		return new MultiQueryRequest<>("terms of " + query, operations -> operations.queryForTermsPage(collection, query));
+	}
+
+	/**
+	 * @param collection must not be {@literal null}.
+	 * @param query must not be {@literal null}.
+	 * @return request for {@link SolrOperations#count(String, SolrDataQuery)}.
+	 */
+	public static MultiQueryRequest<Long> forCount(String collection, SolrDataQuery query) {
+
+		assertArguments(collection, query);
+		return new MultiQueryRequest<>("count of " + query, operations -> operations.count(collection, query));
+	}
+
+	/**
+	 * @param query must not be {@literal null}.
+	 * @return request running any read operation of {@link SolrOperations}.
+	 */
+	public static <R> MultiQueryRequest<R> of(Function<SolrOperations, R> query) {
+
+		Assert.notNull(query, "Query must not be null");
+		return new MultiQueryRequest<>("custom query", query);
+	}
+
+	R execute(SolrOperations operations) {
+		return query.apply(operations);
+	}
+
+	private static void assertArguments(String collection, Object query) {
+
+		Assert.notNull(collection, "Collection must not be null");
+		Assert.notNull(query, "Query must not be null");
+	}
+
+	@Override
+	public String toString() {
+		return "MultiQueryRequest [" + description + "]";
+	}
+}
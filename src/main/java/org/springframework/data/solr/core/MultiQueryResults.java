@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Results of {@link SolrOperations#queryAll(List)} in the order of the {@link MultiQueryRequest}s.
+ *
+ * @since 4.4
+ */
+public class MultiQueryResults {
+
+	private final List<? extends MultiQueryRequest<?>> requests;
+	private final List<Object> results;
+
+	MultiQueryResults(List<? extends MultiQueryRequest<?>> requests, List<Object> results) {
+
+		Assert.isTrue(requests.size() == results.size(), "Number of requests and results must match");
+
+		this.requests = requests;
+		this.results = results;
+	}
+
+	/**
+	 * @param request must be one of the executed requests.
+	 * @return the result of the given request.
+	 * @throws IllegalArgumentException if the request was not executed.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <R> R get(MultiQueryRequest<R> request) {
+
+		for (int i = 0; i < requests.size(); i++) {
+			if (requests.get(i) == request) {
+				return (R) results.get(i);
+			}
+		}
+		throw new IllegalArgumentException(String.format("%s has not been executed", request));
+	}
+
+	/**
+	 * @param index position of the request.
+	 * @return the result of the request at the given position.
+	 */
+	@Nullable
+	public Object get(int index) {
+		return results.get(index);
+	}
+
+	/**
+	 * @return all results in the order of the requests. Never {@literal null}.
+	 */
+	public List<Object> asList() {
+		return Collections.unmodifiableList(results);
+	}
+
+	public int size() {
+		return results.size();
+	}
+}
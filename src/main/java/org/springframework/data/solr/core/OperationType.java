@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core;
+
+/**
+ * Types of operations executed by {@link SolrTemplate} against Solr.
+ *
+ * @since 4.4
+ */
+public enum OperationType {
+
+	QUERY(true), COUNT(true), GET_BY_ID(true), PING(true), UPDATE(false), DELETE(false), COMMIT(false), ROLLBACK(
+			false), OTHER(false);
+
+	private final boolean read;
+
+	OperationType(boolean read) {
+		this.read = read;
+	}
+
+	/**
+	 * @return {@literal true} if the operation does not modify the index.
+	 */
+	public boolean isRead() {
+		return read;
+	}
+
+	/**
+	 * @return the lower case tag value used when reporting the operation.
+	 */
+	public String tagValue() {
+		return name().toLowerCase().replace('_', '-');
+	}
+}
@@ -20,11 +20,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrClient;
@@ -36,6 +38,7 @@ import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.data.geo.Box;
 import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.Metrics;
+import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.solr.VersionUtil;
 import org.springframework.data.solr.core.convert.DateTimeConverters;
@@ -69,12 +72,29 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 	protected static final String DELIMINATOR = ":";
 	protected static final String NOT = "-";
 	protected static final String BOOST = "^";
+	protected static final String PARAMETER_PREFIX = "v";
+
+	private static final byte ESCAPE = 1;
+	private static final byte ESCAPE_IF_REPEATED = 2;
+	private static final byte[] RESERVED_CHARS = new byte[128];
+
+	static {
+		for (char c : "\"+-!(){}[]^~*?:\\".toCharArray()) {
+			RESERVED_CHARS[c] = ESCAPE;
+		}
+		RESERVED_CHARS['&'] = ESCAPE_IF_REPEATED;
+		RESERVED_CHARS['|'] = ESCAPE_IF_REPEATED;
+	}
 
 	protected final GenericConversionService conversionService = new GenericConversionService();
-	private final List<PredicateProcessor> critieraEntryProcessors = new ArrayList<>();
+	private final Map<String, PredicateProcessor> predicateProcessors = new HashMap<>();
+	private final List<PredicateProcessor> critieraEntryProcessors = new CopyOnWriteArrayList<>();
 	private final PredicateProcessor defaultProcessor = new DefaultProcessor();
 
 	private final @Nullable MappingContext<? extends SolrPersistentEntity<?>, SolrPersistentProperty> mappingContext;
+	private final Map<Class<?>, Map<String, String>> mappedFieldNames = new ConcurrentHashMap<>();
+
+	private boolean parameterDereferencing = false;
 
 	{
 		if (!conversionService.canConvert(java.util.Date.class, String.class)) {
@@ -97,14 +117,15 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 				conversionService.addConverter(DateTimeConverters.JodaLocalDateTimeConverter.INSTANCE);
 			}
 		}
-		critieraEntryProcessors.add(new ExpressionProcessor());
-		critieraEntryProcessors.add(new BetweenProcessor());
-		critieraEntryProcessors.add(new NearProcessor());
-		critieraEntryProcessors.add(new WithinProcessor());
-		critieraEntryProcessors.add(new FuzzyProcessor());
-		critieraEntryProcessors.add(new SloppyProcessor());
-		critieraEntryProcessors.add(new WildcardProcessor());
-		critieraEntryProcessors.add(new FunctionProcessor());
+		registerPredicateProcessor(new ExpressionProcessor(), OperationKey.EXPRESSION);
+		registerPredicateProcessor(new BetweenProcessor(), OperationKey.BETWEEN);
+		registerPredicateProcessor(new NearProcessor(), OperationKey.NEAR);
+		registerPredicateProcessor(new WithinProcessor(), OperationKey.WITHIN);
+		registerPredicateProcessor(new FuzzyProcessor(), OperationKey.FUZZY);
+		registerPredicateProcessor(new SloppyProcessor(), OperationKey.SLOPPY);
+		registerPredicateProcessor(new WildcardProcessor(), OperationKey.CONTAINS, OperationKey.STARTS_WITH,
+				OperationKey.ENDS_WITH);
+		registerPredicateProcessor(new FunctionProcessor(), OperationKey.FUNCTION);
 	}
 
 	/**
@@ -119,14 +140,59 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 
 	@Override
 	public String getQueryString(SolrDataQuery query, @Nullable Class<?> domainType) {
+		return getQueryString(query, domainType, null);
+	}
+
+	/**
+	 * Create the query string for the given query. Values are rendered as references into the given
+	 * {@link QueryParameters} where possible.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param domainType can be {@literal null}.
+	 * @param parameters can be {@literal null} to render all values inline.
+	 * @return {@literal null} if the query does not have a criteria.
+	 * @since 4.4
+	 */
+	@Nullable
+	protected String getQueryString(SolrDataQuery query, @Nullable Class<?> domainType,
+			@Nullable QueryParameters parameters) {
 
 		if (query.getCriteria() == null) {
 			return null;
 		}
 
-		String queryString = createQueryStringFromNode(query.getCriteria(), domainType);
-		queryString = prependJoin(queryString, query, domainType);
-		return queryString;
+		StringBuilder queryString = new StringBuilder();
+		appendQueryStringFromNode(queryString, query.getCriteria(), 0, domainType, parameters);
+		return prependJoin(queryString.toString(), query, domainType);
+	}
+
+	/**
+	 * Render criteria values of {@code q} and {@code fq} as parameter references, e.g.
+	 * {@code _query_:"{!field f=name v=$v1}"}, and pass the actual values as separate request parameters. Queries of
+	 * the same shape then share the very same query string no matter the values. Criteria the {@literal field} query
+	 * parser cannot express, like ranges, wildcards or functions, are still rendered inline. So is {@code q} of queries
+	 * with a {@link org.springframework.data.solr.core.query.Query#setDefType(String) defType} other than
+	 * {@literal lucene}, as {@literal dismax} and {@literal edismax} do not evaluate nested queries by default. A defType
+	 * configured as default of the request handler is not taken into account. Disabled by default.
+	 * <p>
+	 * The {@literal field} query parser builds a phrase query if a value is analyzed into multiple tokens. Inline, a
+	 * value without whitespace, such as {@literal wi-fi}, is analyzed into multiple tokens of a text field as well but
+	 * matched by a boolean query of the tokens unless the field type generates phrase queries. Values containing
+	 * whitespace are quoted inline and thus match as phrase either way.
+	 *
+	 * @param parameterDereferencing
+	 * @since 4.4
+	 */
+	public void setParameterDereferencing(boolean parameterDereferencing) {
+		this.parameterDereferencing = parameterDereferencing;
+	}
+
+	/**
+	 * @return {@literal true} if values are rendered as parameter references.
+	 * @since 4.4
+	 */
+	public boolean isParameterDereferencing() {
+		return parameterDereferencing;
 	}
 
 	@Override
@@ -135,7 +201,8 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 	}
 
 	/**
-	 * add another {@link PredicateProcessor}
+	 * add another {@link PredicateProcessor}. Additional processors are consulted in order of registration for
+	 * predicates not handled by one of the built in processors.
 	 *
 	 * @param processor
 	 */
@@ -143,6 +210,13 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 		this.critieraEntryProcessors.add(processor);
 	}
 
+	private void registerPredicateProcessor(PredicateProcessor processor, OperationKey... keys) {
+
+		for (OperationKey key : keys) {
+			predicateProcessors.put(key.getKey(), processor);
+		}
+	}
+
 	/**
 	 * Create the plain query string representation of the given node.
 	 *
@@ -193,30 +267,49 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 	public String createQueryStringFromNode(Node node, int position, @Nullable Class<?> domainType) {
 
 		StringBuilder query = new StringBuilder();
+		appendQueryStringFromNode(query, node, position, domainType, null);
+		return query.toString();
+	}
+
+	/**
+	 * Append the plain query string representation of the given node and all its siblings to the given
+	 * {@link StringBuilder} using mapping information derived from the domain type.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param node must not be {@literal null}.
+	 * @param position
+	 * @param domainType can be {@literal null}.
+	 * @param parameters can be {@literal null} to render all values inline.
+	 * @since 4.4
+	 */
+	protected void appendQueryStringFromNode(StringBuilder query, Node node, int position,
+			@Nullable Class<?> domainType, @Nullable QueryParameters parameters) {
+
 		if (position > 0) {
 			query.append(node.isOr() ? " OR " : " AND ");
 		}
 
 		if (node.hasSiblings()) {
+
+			boolean parenthesize = !node.isRoot() || node.isNegating();
 			if (node.isNegating()) {
-				query.append("-");
+				query.append(NOT);
 			}
-			if (!node.isRoot() || (node.isRoot() && node.isNegating())) {
+			if (parenthesize) {
 				query.append('(');
 			}
 
 			int i = 0;
 			for (Node nested : node.getSiblings()) {
-				query.append(createQueryStringFromNode(nested, i++, domainType));
+				appendQueryStringFromNode(query, nested, i++, domainType, parameters);
 			}
 
-			if (!node.isRoot() || (node.isRoot() && node.isNegating())) {
+			if (parenthesize) {
 				query.append(')');
 			}
 		} else {
-			query.append(createQueryFragmentForCriteria((Criteria) node, domainType));
+			appendQueryFragmentForCriteria(query, (Criteria) node, domainType, parameters);
 		}
-		return query.toString();
 	}
 
 	/**
@@ -254,39 +347,64 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 	 */
 	protected String createQueryFragmentForCriteria(Criteria part, @Nullable Class<?> domainType) {
 
-		Criteria criteria = part;
 		StringBuilder queryFragment = new StringBuilder();
-		boolean singeEntryCriteria = (criteria.getPredicates().size() == 1);
+		appendQueryFragmentForCriteria(queryFragment, part, domainType, null);
+		return queryFragment.toString();
+	}
+
+	/**
+	 * Append the query string representation of a single criteria to the given {@link StringBuilder}.
+	 *
+	 * @param queryFragment must not be {@literal null}.
+	 * @param criteria must not be {@literal null}.
+	 * @param domainType can be {@literal null}.
+	 * @param parameters can be {@literal null} to render all values inline.
+	 * @since 4.4
+	 */
+	protected void appendQueryFragmentForCriteria(StringBuilder queryFragment, Criteria criteria,
+			@Nullable Class<?> domainType, @Nullable QueryParameters parameters) {
 
 		if (criteria instanceof QueryStringHolder) {
-			return ((QueryStringHolder) criteria).getQueryString();
+			queryFragment.append(((QueryStringHolder) criteria).getQueryString());
+			return;
 		}
 
+		Set<Predicate> predicates = criteria.getPredicates();
+		boolean singeEntryCriteria = (predicates.size() == 1);
+
 		String fieldName = getNullsafeFieldName(criteria.getField(), domainType);
-		if (criteria.isNegating()) {
-			fieldName = NOT + fieldName;
+
+		if (parameters != null && isDereferenceable(criteria, fieldName)) {
+			appendDereferencedCriteria(queryFragment, criteria, fieldName, parameters);
+			return;
 		}
-		if (!StringUtils.isEmpty(fieldName) && !containsFunctionCriteria(criteria.getPredicates())) {
+
+		if ((criteria.isNegating() || !fieldName.isEmpty()) && !containsFunctionCriteria(predicates)) {
+			if (criteria.isNegating()) {
+				queryFragment.append(NOT);
+			}
 			queryFragment.append(fieldName);
 			queryFragment.append(DELIMINATOR);
 		}
 
 		// no criteria given is defaulted to not null
-		if (criteria.getPredicates().isEmpty()) {
+		if (predicates.isEmpty()) {
 			queryFragment.append("[* TO *]");
-			return queryFragment.toString();
+			return;
 		}
 
 		if (!singeEntryCriteria) {
 			queryFragment.append("(");
 		}
 
-		CriteriaQueryStringValueProvider valueProvider = new CriteriaQueryStringValueProvider(criteria, domainType);
-		while (valueProvider.hasNext()) {
-			queryFragment.append(valueProvider.next());
-			if (valueProvider.hasNext()) {
+		boolean first = true;
+		for (Predicate predicate : predicates) {
+
+			if (!first) {
 				queryFragment.append(CRITERIA_VALUE_SEPERATOR);
 			}
+			queryFragment.append(findMatchingProcessor(predicate).process(predicate, criteria.getField(), domainType));
+			first = false;
 		}
 
 		if (!singeEntryCriteria) {
@@ -295,8 +413,79 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 		if (!Float.isNaN(criteria.getBoost())) {
 			queryFragment.append(BOOST).append(criteria.getBoost());
 		}
+	}
 
-		return queryFragment.toString();
+	/**
+	 * Only plain values compared for equality can be dereferenced without changing the semantics of the query.
+	 */
+	private boolean isDereferenceable(Criteria criteria, String fieldName) {
+
+		if (fieldName.isEmpty() || criteria.getPredicates().isEmpty() || !Float.isNaN(criteria.getBoost())) {
+			return false;
+		}
+
+		for (Predicate predicate : criteria.getPredicates()) {
+			if (predicate.getValue() == null || !OperationKey.EQUALS.getKey().equals(predicate.getKey())
+					|| findMatchingProcessor(predicate) != defaultProcessor) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void appendDereferencedCriteria(StringBuilder queryFragment, Criteria criteria, String fieldName,
+			QueryParameters parameters) {
+
+		Set<Predicate> predicates = criteria.getPredicates();
+
+		if (criteria.isNegating()) {
+			queryFragment.append(NOT);
+		}
+		if (predicates.size() > 1) {
+			queryFragment.append('(');
+		}
+
+		boolean first = true;
+		for (Predicate predicate : predicates) {
+
+			if (!first) {
+				queryFragment.append(CRITERIA_VALUE_SEPERATOR);
+			}
+			queryFragment.append("_query_:\"{!field f=").append(fieldName).append(" v=$")
+					.append(parameters.add(toParameterValue(predicate.getValue()))).append("}\"");
+			first = false;
+		}
+
+		if (predicates.size() > 1) {
+			queryFragment.append(')');
+		}
+	}
+
+	private String toParameterValue(Object value) {
+
+		if (value instanceof String) {
+			return (String) value;
+		}
+		if (conversionService.canConvert(value.getClass(), String.class)) {
+			return conversionService.convert(value, String.class);
+		}
+		return value.toString();
+	}
+
+	private PredicateProcessor findMatchingProcessor(Predicate predicate) {
+
+		PredicateProcessor processor = predicateProcessors.get(predicate.getKey());
+		if (processor != null) {
+			return processor;
+		}
+
+		for (PredicateProcessor candidate : critieraEntryProcessors) {
+			if (candidate.canProcess(predicate)) {
+				return candidate;
+			}
+		}
+
+		return defaultProcessor;
 	}
 
 	private String getNullsafeFieldName(@Nullable Field field, Class<?> domainType) {
@@ -334,13 +523,20 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 			return fieldName;
 		}
 
-		SolrPersistentEntity entity = mappingContext.getPersistentEntity(domainType);
+		return mappedFieldNames.computeIfAbsent(domainType, this::readMappedFieldNames).getOrDefault(fieldName, fieldName);
+	}
+
+	private Map<String, String> readMappedFieldNames(Class<?> domainType) {
+
+		SolrPersistentEntity<?> entity = mappingContext.getPersistentEntity(domainType);
 		if (entity == null) {
-			return fieldName;
+			return Collections.emptyMap();
 		}
 
-		SolrPersistentProperty property = entity.getPersistentProperty(fieldName);
-		return property != null ? property.getFieldName() : fieldName;
+		Map<String, String> fieldNames = new HashMap<>();
+		entity.doWithProperties(
+				(PropertyHandler<SolrPersistentProperty>) property -> fieldNames.put(property.getName(), property.getFieldName()));
+		return fieldNames;
 	}
 
 	/**
@@ -568,6 +764,44 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 
 	public abstract SolrQuery doConstructSolrQuery(QUERYTPYE query, @Nullable Class<?> domainType);
 
+	/**
+	 * Values of a single request referenced from its query strings by parameter name, numbered in order of appearance
+	 * starting at {@literal v1}.
+	 *
+	 * @since 4.4
+	 */
+	protected static class QueryParameters {
+
+		private final Map<String, String> values = new LinkedHashMap<>();
+
+		/**
+		 * @param value must not be {@literal null}.
+		 * @return the name of the parameter holding the value.
+		 */
+		public String add(String value) {
+
+			String name = PARAMETER_PREFIX + (values.size() + 1);
+			values.put(name, value);
+			return name;
+		}
+
+		/**
+		 * @return the values by parameter name. Never {@literal null}.
+		 */
+		public Map<String, String> getValues() {
+			return Collections.unmodifiableMap(values);
+		}
+
+		/**
+		 * Set the collected values as parameters of the given {@link SolrQuery}.
+		 *
+		 * @param solrQuery must not be {@literal null}.
+		 */
+		public void applyTo(SolrQuery solrQuery) {
+			values.forEach(solrQuery::set);
+		}
+	}
+
 	/**
 	 * {@link PredicateProcessor} creates a solr reable query string representation for a given {@link Predicate}
 	 *
@@ -591,57 +825,6 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 		Object process(@Nullable Predicate predicate, @Nullable Field field, Class<?> domainType);
 	}
 
-	/**
-	 * @author Christoph Strobl
-	 */
-	class CriteriaQueryStringValueProvider implements Iterator<String> {
-
-		private final Criteria criteria;
-		private Iterator<Predicate> delegate;
-		private @Nullable Class<?> domainType;
-
-		CriteriaQueryStringValueProvider(Criteria criteria, @Nullable Class<?> domainType) {
-			Assert.notNull(criteria, "Unable to provide values for 'null' criteria");
-
-			this.criteria = criteria;
-			this.delegate = criteria.getPredicates().iterator();
-			this.domainType = domainType;
-		}
-
-		@SuppressWarnings("unchecked")
-		@Nullable
-		private <T> T getPredicateValue(Predicate predicate) {
-			PredicateProcessor processor = findMatchingProcessor(predicate);
-			return (T) processor.process(predicate, criteria.getField(), domainType);
-		}
-
-		private PredicateProcessor findMatchingProcessor(Predicate predicate) {
-			for (PredicateProcessor processor : critieraEntryProcessors) {
-				if (processor.canProcess(predicate)) {
-					return processor;
-				}
-			}
-
-			return defaultProcessor;
-		}
-
-		@Override
-		public boolean hasNext() {
-			return this.delegate.hasNext();
-		}
-
-		@Override
-		public String next() {
-			Object o = getPredicateValue(this.delegate.next());
-			return o != null ? o.toString() : null;
-		}
-
-		@Override
-		public void remove() {
-			this.delegate.remove();
-		}
-	}
-
 	/**
 	 * Base implementation of {@link PredicateProcessor} handling null values and delegating calls to
 	 * {@link BasePredicateProcessor#doProcess(Predicate, Field, Class)}
@@ -654,11 +837,6 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 
 		protected final Set<String> BOOLEAN_OPERATORS = new HashSet<>(Arrays.asList("NOT", "AND", "OR"));
 
-		protected final String[] RESERVED_CHARS = { DOUBLEQUOTE, "+", "-", "&&", "||", "!", "(", ")", "{", "}", "[", "]",
-				"^", "~", "*", "?", ":", "\\" };
-		protected String[] RESERVED_CHARS_REPLACEMENT = { "\\" + DOUBLEQUOTE, "\\+", "\\-", "\\&\\&", "\\|\\|", "\\!",
-				"\\(", "\\)", "\\{", "\\}", "\\[", "\\]", "\\^", "\\~", "\\*", "\\?", "\\:", "\\\\" };
-
 		@Override
 		public Object process(@Nullable Predicate predicate, @Nullable Field field, @Nullable Class<?> domainType) {
 
@@ -676,19 +854,49 @@ public abstract class QueryParserBase<QUERYTPYE extends SolrDataQuery> implement
 				return criteriaValue;
 			}
 
-			String value = escapeCriteriaValue((String) criteriaValue);
-			return processWhiteSpaces(value);
+			return escapeCriteriaValue((String) criteriaValue);
 		}
 
+		/**
+		 * Escape reserved characters in a single scan and quote the value if it contains whitespace or is a boolean
+		 * operator.
+		 */
 		private String escapeCriteriaValue(String criteriaValue) {
-			return StringUtils.replaceEach(criteriaValue, RESERVED_CHARS, RESERVED_CHARS_REPLACEMENT);
-		}
 
-		private String processWhiteSpaces(String criteriaValue) {
-			if (StringUtils.contains(criteriaValue, CRITERIA_VALUE_SEPERATOR) || BOOLEAN_OPERATORS.contains(criteriaValue)) {
-				return DOUBLEQUOTE + criteriaValue + DOUBLEQUOTE;
+			int length = criteriaValue.length();
+			StringBuilder escaped = null;
+			boolean quote = false;
+
+			for (int i = 0; i < length; i++) {
+
+				char c = criteriaValue.charAt(i);
+				byte reserved = c < RESERVED_CHARS.length ? RESERVED_CHARS[c] : 0;
+				boolean repeated = reserved == ESCAPE_IF_REPEATED && i + 1 < length && criteriaValue.charAt(i + 1) == c;
+
+				if (reserved == ESCAPE || repeated) {
+
+					if (escaped == null) {
+						escaped = new StringBuilder(length + 16).append(criteriaValue, 0, i);
+					}
+					escaped.append('\\').append(c);
+					if (repeated) {
+						escaped.append('\\').append(c);
+						i++;
+					}
+					continue;
+				}
+
+				quote |= c == ' ';
+				if (escaped != null) {
+					escaped.append(c);
+				}
+			}
+
+			String value = escaped != null ? escaped.toString() : criteriaValue;
+			if (quote || BOOLEAN_OPERATORS.contains(value)) {
+				return DOUBLEQUOTE + value + DOUBLEQUOTE;
 			}
-			return criteriaValue;
+			return value;
 		}
 
 		@Nullable
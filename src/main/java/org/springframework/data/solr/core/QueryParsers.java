@@ -16,9 +16,10 @@
 package org.springframework.data.solr.core;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.solr.client.solrj.SolrQuery;
 import org.springframework.data.mapping.context.MappingContext;
@@ -38,11 +39,11 @@ import org.springframework.util.ClassUtils;
  */
 public class QueryParsers {
 
-	private final QueryParser defaultQueryParser;
+	private final DefaultQueryParser defaultQueryParser;
 
-	private final List<QueryParserPair> parserPairs;
-
-	private final Map<Class<?>, QueryParser> cache = new LinkedHashMap<>();
+	// copy on write so that lookups never block. Parsers are registered rarely and usually upfront.
+	private volatile List<QueryParserPair> parserPairs;
+	private volatile Map<Class<?>, QueryParser> cache = new ConcurrentHashMap<>();
 	private final @Nullable MappingContext<? extends SolrPersistentEntity<?>, SolrPersistentProperty> mappingContext;
 
 	/**
@@ -52,14 +53,15 @@ public class QueryParsers {
 	public QueryParsers(
 			@Nullable MappingContext<? extends SolrPersistentEntity<?>, SolrPersistentProperty> mappingContext) {
 
-		this.parserPairs = new ArrayList<>(4);
 		this.mappingContext = mappingContext;
 		this.defaultQueryParser = new DefaultQueryParser(mappingContext);
 
+		List<QueryParserPair> parserPairs = new ArrayList<>(4);
 		parserPairs.add(new QueryParserPair(TermsQuery.class, new TermsQueryParser(mappingContext)));
 		parserPairs.add(new QueryParserPair(FacetQuery.class, defaultQueryParser));
 		parserPairs.add(new QueryParserPair(HighlightQuery.class, defaultQueryParser));
 		parserPairs.add(new QueryParserPair(Query.class, defaultQueryParser));
+		this.parserPairs = Collections.unmodifiableList(parserPairs);
 	}
 
 	/**
@@ -70,18 +72,24 @@ public class QueryParsers {
 	 */
 	public QueryParser getForClass(Class<? extends SolrDataQuery> clazz) {
 
+		// read the cache before the pairs, a concurrent registration replaces the pairs before the cache
+		Map<Class<?>, QueryParser> cache = this.cache;
 		QueryParser queryParser = cache.get(clazz);
-		if (queryParser == null) {
-			for (QueryParserPair pair : parserPairs) {
-				if (pair.canParser(clazz)) {
-					this.cache.put(clazz, pair.getParser());
-					queryParser = pair.getParser();
-					break;
-				}
-			}
+		if (queryParser != null) {
+			return queryParser;
 		}
 
-		return queryParser != null ? queryParser : defaultQueryParser;
+		return cache.computeIfAbsent(clazz, this::lookupParser);
+	}
+
+	private QueryParser lookupParser(Class<?> clazz) {
+
+		for (QueryParserPair pair : parserPairs) {
+			if (pair.canParser(clazz)) {
+				return pair.getParser();
+			}
+		}
+		return defaultQueryParser;
 	}
 
 	/**
@@ -90,10 +98,27 @@ public class QueryParsers {
 	 * @param clazz
 	 * @param parser
 	 */
-	public void registerParser(Class<? extends SolrDataQuery> clazz, QueryParser parser) {
+	public synchronized void registerParser(Class<? extends SolrDataQuery> clazz, QueryParser parser) {
+
 		Assert.notNull(parser, "Cannot register 'null' parser");
-		parserPairs.add(0, new QueryParserPair(clazz, parser));
-		cache.clear();
+
+		List<QueryParserPair> parserPairs = new ArrayList<>(this.parserPairs.size() + 1);
+		parserPairs.add(new QueryParserPair(clazz, parser));
+		parserPairs.addAll(this.parserPairs);
+
+		this.parserPairs = Collections.unmodifiableList(parserPairs);
+		this.cache = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Enable or disable {@link QueryParserBase#setParameterDereferencing(boolean) parameter dereferencing} of the
+	 * default parser used for {@link Query}, {@link FacetQuery} and {@link HighlightQuery}.
+	 *
+	 * @param parameterDereferencing
+	 * @since 4.4
+	 */
+	public void setParameterDereferencing(boolean parameterDereferencing) {
+		this.defaultQueryParser.setParameterDereferencing(parameterDereferencing);
 	}
 
 	/**
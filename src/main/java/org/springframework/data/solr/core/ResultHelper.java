@@ -15,15 +15,14 @@
  */
 package org.springframework.data.solr.core;
 
-import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.FacetField.Count;
 import org.apache.solr.client.solrj.response.FieldStatsInfo;
@@ -36,16 +35,17 @@ import org.apache.solr.client.solrj.response.RangeFacet;
 import org.apache.solr.client.solrj.response.SpellCheckResponse;
 import org.apache.solr.client.solrj.response.TermsResponse;
 import org.apache.solr.client.solrj.response.TermsResponse.Term;
-import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.util.NamedList;
 import org.springframework.beans.DirectFieldAccessor;
-import org.springframework.core.annotation.AnnotationUtils;
-import org.springframework.data.annotation.Id;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mapping.MappingException;
-import org.springframework.data.repository.util.ClassUtils;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.solr.core.convert.MappingSolrConverter;
+import org.springframework.data.solr.core.convert.SolrConverter;
+import org.springframework.data.solr.core.mapping.SolrPersistentEntity;
+import org.springframework.data.solr.core.mapping.SolrPersistentProperty;
 import org.springframework.data.solr.core.query.FacetQuery;
 import org.springframework.data.solr.core.query.Field;
 import org.springframework.data.solr.core.query.Query;
@@ -55,6 +55,7 @@ import org.springframework.data.solr.core.query.result.*;
 import org.springframework.data.solr.core.query.result.SpellcheckQueryResult.Alternative;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -227,7 +228,8 @@ final class ResultHelper {
 	}
 
 	static <T> List<HighlightEntry<T>> convertAndAddHighlightQueryResponseToResultPage(@Nullable QueryResponse response,
-			@Nullable SolrResultPage<T> page) {
+			@Nullable SolrResultPage<T> page,
+			MappingContext<? extends SolrPersistentEntity<?>, SolrPersistentProperty> mappingContext) {
 		if (response == null || CollectionUtils.isEmpty(response.getHighlighting()) || page == null) {
 			return Collections.emptyList();
 		}
@@ -235,20 +237,38 @@ final class ResultHelper {
 		List<HighlightEntry<T>> mappedHighlights = new ArrayList<>(page.getSize());
 		Map<String, Map<String, List<String>>> highlighting = response.getHighlighting();
 
+		// page entries usually share their type, so the entity is only looked up again if the type changes
+		SolrPersistentEntity<?> entity = null;
 		for (T item : page) {
-			HighlightEntry<T> highlightEntry = processHighlightingForPageEntry(highlighting, item);
+
+			Class<?> type = ClassUtils.getUserClass(item);
+			if (entity == null || !entity.getType().equals(type)) {
+				entity = getRequiredEntityWithId(mappingContext, type);
+			}
+
+			HighlightEntry<T> highlightEntry = processHighlightingForPageEntry(highlighting, item, entity);
 			mappedHighlights.add(highlightEntry);
 		}
 		page.setHighlighted(mappedHighlights);
 		return mappedHighlights;
 	}
 
+	private static SolrPersistentEntity<?> getRequiredEntityWithId(
+			MappingContext<? extends SolrPersistentEntity<?>, SolrPersistentProperty> mappingContext, Class<?> type) {
+
+		SolrPersistentEntity<?> entity = mappingContext.getPersistentEntity(type);
+		if (entity == null || !entity.hasIdProperty()) {
+			throw new MappingException("Id property could not be found");
+		}
+		return entity;
+	}
+
 	private static <T> HighlightEntry<T> processHighlightingForPageEntry(
-			Map<String, Map<String, List<String>>> highlighting, T pageEntry) {
+			Map<String, Map<String, List<String>>> highlighting, T pageEntry, SolrPersistentEntity<?> entity) {
 		HighlightEntry<T> highlightEntry = new HighlightEntry<>(pageEntry);
-		Object itemId = getMappedId(pageEntry);
+		Object itemId = entity.getIdentifierAccessor(pageEntry).getIdentifier();
 
-		Map<String, List<String>> highlights = highlighting.get(itemId.toString());
+		Map<String, List<String>> highlights = itemId != null ? highlighting.get(itemId.toString()) : null;
 		if (!CollectionUtils.isEmpty(highlights)) {
 			for (Map.Entry<String, List<String>> entry : highlights.entrySet()) {
 				highlightEntry.addSnipplets(entry.getKey(), entry.getValue());
@@ -257,28 +277,6 @@ final class ResultHelper {
 		return highlightEntry;
 	}
 
-	private static Object getMappedId(Object o) {
-		if (ClassUtils.hasProperty(o.getClass(), "id")) {
-			try {
-				return FieldUtils.readDeclaredField(o, "id", true);
-			} catch (IllegalAccessException e) {
-				throw new MappingException("Id property could not be accessed", e);
-			}
-		}
-
-		for (java.lang.reflect.Field field : o.getClass().getDeclaredFields()) {
-			Annotation annotation = AnnotationUtils.getAnnotation(field, Id.class);
-			if (annotation != null) {
-				try {
-					return FieldUtils.readField(field, o, true);
-				} catch (IllegalArgumentException | IllegalAccessException e) {
-					throw new MappingException("Id property could not be accessed", e);
-				}
-			}
-		}
-		throw new MappingException("Id property could not be found");
-	}
-
 	private static boolean hasFacets(FacetQuery query, QueryResponse response) {
 		return query.hasFacetOptions() && response != null;
 	}
@@ -297,13 +295,15 @@ final class ResultHelper {
 		List<GroupCommand> values = groupResponse.getValues();
 		for (GroupCommand groupCommand : values) {
 
-			List<GroupEntry<T>> groupEntries = new ArrayList<>();
+			List<Group> groups = groupCommand.getValues();
+			List<List<T>> groupBeans = convertGroupDocuments(groups, solrTemplate, clazz);
+			List<GroupEntry<T>> groupEntries = new ArrayList<>(groups.size());
 
-			for (Group group : groupCommand.getValues()) {
+			for (int i = 0; i < groups.size(); i++) {
 
-				SolrDocumentList documentList = group.getResult();
-				List<T> beans = solrTemplate.convertSolrDocumentListToBeans(documentList, clazz);
-				Page<T> page = new PageImpl<>(beans, query.getGroupOptions().getPageRequest(), documentList.getNumFound());
+				Group group = groups.get(i);
+				Page<T> page = new PageImpl<>(groupBeans.get(i), query.getGroupOptions().getPageRequest(),
+						group.getResult().getNumFound());
 				groupEntries.add(new SimpleGroupEntry<>(group.getGroupValue(), page));
 			}
 
@@ -328,6 +328,37 @@ final class ResultHelper {
 		return result;
 	}
 
+	/**
+	 * Convert the documents of each group, spreading the groups across the pool of the {@link MappingSolrConverter} if
+	 * they hold enough documents in total to be converted in parallel.
+	 */
+	private static <T> List<List<T>> convertGroupDocuments(List<Group> groups, SolrTemplate solrTemplate,
+			Class<T> clazz) {
+
+		SolrConverter converter = solrTemplate.getConverter();
+		if (groups.size() > 1 && converter instanceof MappingSolrConverter) {
+
+			int documents = 0;
+			for (Group group : groups) {
+				documents += group.getResult().size();
+			}
+
+			if (((MappingSolrConverter) converter).isParallelRead(documents)) {
+				return ((MappingSolrConverter) converter).getForkJoinPool()
+						.submit(() -> groups.parallelStream()
+								.map(group -> solrTemplate.convertSolrDocumentListToBeans(group.getResult(), clazz))
+								.collect(Collectors.toList()))
+						.join();
+			}
+		}
+
+		List<List<T>> groupBeans = new ArrayList<>(groups.size());
+		for (Group group : groups) {
+			groupBeans.add(solrTemplate.convertSolrDocumentListToBeans(group.getResult(), clazz));
+		}
+		return groupBeans;
+	}
+
 	static Map<String, FieldStatsResult> convertFieldStatsInfoToFieldStatsResultMap(
 			Map<String, FieldStatsInfo> fieldStatsInfo) {
 
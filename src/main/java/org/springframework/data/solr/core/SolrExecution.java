@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.common.params.SolrParams;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Describes a single operation executed by {@link SolrTemplate} and passed on to {@link SolrExecutionInterceptor}s.
+ * Carries the target collection, the {@link OperationType}, the native {@link SolrRequest} or {@link SolrParams} (if
+ * available) and the domain type involved. Interceptors may attach arbitrary {@link #getAttributes() attributes} to
+ * share state along the chain.
+ *
+ * @since 4.4
+ */
+public class SolrExecution {
+
+	private final OperationType operationType;
+	private final @Nullable String collection;
+	private final @Nullable Class<?> domainType;
+	private final @Nullable SolrParams params;
+	private final @Nullable SolrRequest<?> request;
+	private final boolean idempotent;
+	private final Map<String, Object> attributes = new LinkedHashMap<>(2);
+
+	/**
+	 * Create a new {@link SolrExecution} considered idempotent unless {@link OperationType#OTHER}.
+	 *
+	 * @param operationType must not be {@literal null}.
+	 * @param collection can be {@literal null}.
+	 */
+	public SolrExecution(OperationType operationType, @Nullable String collection) {
+		this(operationType, collection, null, null, null, !OperationType.OTHER.equals(operationType));
+	}
+
+	/**
+	 * @param operationType must not be {@literal null}.
+	 * @param collection can be {@literal null}.
+	 * @param domainType can be {@literal null}.
+	 * @param params can be {@literal null}.
+	 * @param request can be {@literal null}.
+	 * @param idempotent whether repeating the execution leaves the index in the same state.
+	 */
+	public SolrExecution(OperationType operationType, @Nullable String collection, @Nullable Class<?> domainType,
+			@Nullable SolrParams params, @Nullable SolrRequest<?> request, boolean idempotent) {
+
+		Assert.notNull(operationType, "OperationType must not be null");
+
+		this.operationType = operationType;
+		this.collection = collection;
+		this.domainType = domainType;
+		this.params = params != null ? params : (request != null ? request.getParams() : null);
+		this.request = request;
+		this.idempotent = idempotent;
+	}
+
+	/**
+	 * @return never {@literal null}.
+	 */
+	public OperationType getOperationType() {
+		return operationType;
+	}
+
+	/**
+	 * @return {@literal null} when executed against the default collection of the client.
+	 */
+	@Nullable
+	public String getCollection() {
+		return collection;
+	}
+
+	/**
+	 * @return can be {@literal null}.
+	 */
+	@Nullable
+	public Class<?> getDomainType() {
+		return domainType;
+	}
+
+	/**
+	 * @return the parameters sent to Solr. Can be {@literal null}.
+	 */
+	@Nullable
+	public SolrParams getParams() {
+		return params;
+	}
+
+	/**
+	 * @return the native request if the operation is executed as such. Can be {@literal null}.
+	 */
+	@Nullable
+	public SolrRequest<?> getRequest() {
+		return request;
+	}
+
+	/**
+	 * @return {@literal true} if executing the operation more than once has the same effect as executing it once.
+	 */
+	public boolean isIdempotent() {
+		return idempotent;
+	}
+
+	/**
+	 * @return mutable attributes shared among interceptors. Never {@literal null}.
+	 */
+	public Map<String, Object> getAttributes() {
+		return attributes;
+	}
+
+	@Override
+	public String toString() {
+		return "SolrExecution [" + operationType + (collection != null ? " on " + collection : "") + "]";
+	}
+}
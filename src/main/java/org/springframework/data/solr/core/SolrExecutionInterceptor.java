@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core;
+
+/**
+ * Interceptor around operations executed by {@link SolrTemplate}. Interceptors are invoked in
+ * {@link org.springframework.core.Ordered order} and may decorate, time, repeat or short-circuit the execution by
+ * (not) calling {@link Chain#proceed()}. Exceptions raised are translated by {@link SolrTemplate} after leaving the
+ * outermost interceptor.
+ *
+ * @since 4.4
+ * @see SolrTemplate#addExecutionInterceptor(SolrExecutionInterceptor)
+ */
+public interface SolrExecutionInterceptor {
+
+	/**
+	 * @param execution the current execution. Never {@literal null}.
+	 * @param chain the remaining chain. Never {@literal null}.
+	 * @return the result of the execution.
+	 * @throws Exception
+	 */
+	<T> T intercept(SolrExecution execution, Chain<T> chain) throws Exception;
+
+	/**
+	 * The remaining interceptors followed by the actual call to Solr.
+	 *
+	 * @param <T>
+	 */
+	interface Chain<T> {
+
+		/**
+		 * Invoke the next interceptor or, if none left, the actual operation. May be called more than once.
+		 *
+		 * @return the result of the execution.
+		 * @throws Exception
+		 */
+		T proceed() throws Exception;
+	}
+}
@@ -16,7 +16,9 @@
 package org.springframework.data.solr.core;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.solr.client.solrj.SolrClient;
@@ -171,6 +173,36 @@ public interface SolrOperations {
 	 */
 	UpdateResponse saveBeans(String collection, Collection<?> beans, Duration commitWithin);
 
+	/**
+	 * Save the changes made to an entity. Only the fields that differ between {@code original} and {@code changed} are
+	 * sent to Solr as atomic update, unless the whole document has to be written.
+	 *
+	 * @param collection must not be {@literal null}.
+	 * @param original the entity as loaded. Must not be {@literal null}.
+	 * @param changed the entity to save. Must not be {@literal null}.
+	 * @return {@link UpdateResponse} containing update result.
+	 * @since 4.4
+	 * @see org.springframework.data.solr.core.diff.AtomicUpdateDiffer
+	 */
+	default UpdateResponse saveChanges(String collection, Object original, Object changed) {
+		return saveChanges(collection, original, changed, Duration.ZERO);
+	}
+
+	/**
+	 * Save the changes made to an entity with support for commitWithin strategy. Only the fields that differ between
+	 * {@code original} and {@code changed} are sent to Solr as atomic update, unless the whole document has to be
+	 * written.
+	 *
+	 * @param collection must not be {@literal null}.
+	 * @param original the entity as loaded. Must not be {@literal null}.
+	 * @param changed the entity to save. Must not be {@literal null}.
+	 * @param commitWithin max time within server performs commit.
+	 * @return {@link UpdateResponse} containing update result.
+	 * @since 4.4
+	 * @see org.springframework.data.solr.core.diff.AtomicUpdateDiffer
+	 */
+	UpdateResponse saveChanges(String collection, Object original, Object changed, Duration commitWithin);
+
 	/**
 	 * Add a solrj input document to solr, which will do either insert or update
 	 *
@@ -397,6 +429,59 @@ public interface SolrOperations {
 	 */
 	TermsPage queryForTermsPage(String collection, TermsQuery query, RequestMethod method);
 
+	/**
+	 * Execute the same query against multiple collections in parallel and merge the results into one page, ordered by
+	 * the sort of the query or by score if the query is not sorted. Each collection is asked for the documents up to
+	 * the end of the requested page only. Scores are compared as is, which requires them to be comparable across the
+	 * collections.
+	 *
+	 * @param collections must not be {@literal null} nor empty.
+	 * @param query must not be {@literal null}.
+	 * @param clazz must not be {@literal null}.
+	 * @return the merged page. Never {@literal null}.
+	 * @since 4.4
+	 */
+	<T> ScoredPage<T> queryAcrossCollections(Collection<String> collections, Query query, Class<T> clazz);
+
+	/**
+	 * Execute independent queries concurrently and wait for all of them to complete.
+	 *
+	 * @param requests must not be {@literal null}.
+	 * @return the results in the order of the requests.
+	 * @since 4.4
+	 * @see #queryAll(List, Duration)
+	 */
+	default MultiQueryResults multiQuery(MultiQueryRequest<?>... requests) {
+		return queryAll(Arrays.asList(requests));
+	}
+
+	/**
+	 * Execute independent queries concurrently and wait for all of them to complete.
+	 *
+	 * @param requests must not be {@literal null}.
+	 * @return the results in the order of the requests.
+	 * @since 4.4
+	 * @see #queryAll(List, Duration)
+	 */
+	default MultiQueryResults queryAll(List<? extends MultiQueryRequest<?>> requests) {
+		return queryAll(requests, null);
+	}
+
+	/**
+	 * Execute independent queries concurrently and wait for all of them to complete within the given timeout. The first
+	 * failing query fails the whole execution. Queries not yet completed are cancelled on failure or timeout,
+	 * interrupting the threads running them. Called from within a running {@link MultiQueryRequest}, the queries are
+	 * executed one after another on the calling thread, as waiting for further queries of the same executor could
+	 * exhaust it.
+	 *
+	 * @param requests must not be {@literal null}.
+	 * @param timeout overall deadline for all queries. Can be {@literal null} to wait until all queries completed.
+	 * @return the results in the order of the requests.
+	 * @throws org.springframework.dao.QueryTimeoutException if the queries did not complete within the timeout.
+	 * @since 4.4
+	 */
+	MultiQueryResults queryAll(List<? extends MultiQueryRequest<?>> requests, @Nullable Duration timeout);
+
 	/**
 	 * Executes the given {@link Query} and returns an open {@link Cursor} allowing to iterate of results, dynamically
 	 * fetching additional ones if required.
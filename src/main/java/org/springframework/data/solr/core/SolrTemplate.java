@@ -26,11 +26,28 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.apache.solr.client.solrj.ResponseParser;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrResponse;
+import org.apache.solr.client.solrj.request.QueryRequest;
 import org.apache.solr.client.solrj.request.SolrPing;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.SolrPingResponse;
@@ -38,14 +55,23 @@ import org.apache.solr.client.solrj.response.UpdateResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.GroupParams;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.NamedList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.dao.support.PersistenceExceptionTranslator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -56,18 +82,30 @@ import org.springframework.data.solr.core.QueryParserBase.NamedObjectsFacetAndHi
 import org.springframework.data.solr.core.QueryParserBase.NamedObjectsFacetQuery;
 import org.springframework.data.solr.core.QueryParserBase.NamedObjectsHighlightQuery;
 import org.springframework.data.solr.core.QueryParserBase.NamedObjectsQuery;
+import org.springframework.data.solr.core.convert.EntityResponseParser;
+import org.springframework.data.solr.core.convert.EntityUpdateRequest;
 import org.springframework.data.solr.core.convert.MappingSolrConverter;
 import org.springframework.data.solr.core.convert.SolrConverter;
+import org.springframework.data.solr.core.deduplication.ContentDeduplicator;
+import org.springframework.data.solr.core.deduplication.ContentDeduplicator.ChangeSet;
+import org.springframework.data.solr.core.diff.AtomicUpdateDiffer;
+import org.springframework.data.solr.core.diff.DocumentChange;
+import org.springframework.data.solr.core.diff.EntitySnapshots;
 import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
 import org.springframework.data.solr.core.mapping.SolrPersistentEntity;
 import org.springframework.data.solr.core.mapping.SolrPersistentProperty;
+import org.springframework.data.solr.core.metrics.MeasuringResponseParser;
+import org.springframework.data.solr.core.metrics.SolrMetricsRecorder;
 import org.springframework.data.solr.core.query.AbstractQueryDecorator;
 import org.springframework.data.solr.core.query.FacetAndHighlightQuery;
 import org.springframework.data.solr.core.query.FacetQuery;
 import org.springframework.data.solr.core.query.HighlightQuery;
 import org.springframework.data.solr.core.query.Query;
 import org.springframework.data.solr.core.query.SolrDataQuery;
+import org.springframework.data.solr.core.query.SolrPageRequest;
 import org.springframework.data.solr.core.query.TermsQuery;
+import org.springframework.data.solr.core.query.Update;
+import org.springframework.data.solr.core.query.UpdateAction;
 import org.springframework.data.solr.core.query.result.*;
 import org.springframework.data.solr.core.query.result.SpellcheckQueryResult.Alternative;
 import org.springframework.data.solr.core.schema.DefaultSchemaOperations;
@@ -78,6 +116,7 @@ import org.springframework.data.solr.server.SolrClientFactory;
 import org.springframework.data.solr.server.support.HttpSolrClientFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 
 /**
@@ -95,7 +134,15 @@ import org.springframework.util.CollectionUtils;
 public class SolrTemplate implements SolrOperations, InitializingBean, ApplicationContextAware {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(SolrTemplate.class);
+	private static final int DEFAULT_DELETE_CURSOR_ROWS = 1000;
 	private static final PersistenceExceptionTranslator EXCEPTION_TRANSLATOR = new SolrExceptionTranslator();
+	private static final ThreadLocal<Boolean> MULTI_QUERY_REQUEST_RUNNING = new ThreadLocal<>();
+
+	/**
+	 * Query strings made of dereferenced field clauses, value free criteria and operators only.
+	 */
+	private static final Pattern DEREFERENCED_QUERY = Pattern.compile(
+			"(?:_query_:\"\\{!field f=[^\\s}]+ v=\\$v\\d+}\"|\\*:\\*|[^\\s:()\"]+:\\[\\* TO \\*]|AND|OR|-|\\(|\\)|\\s)*+");
 	private @Nullable QueryParsers queryParsers;
 	private @Nullable MappingContext<? extends SolrPersistentEntity<?>, SolrPersistentProperty> mappingContext;
 
@@ -108,6 +155,32 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 
 	private Set<Feature> schemaCreationFeatures = Collections.emptySet();
 
+	private SolrMetricsRecorder metricsRecorder = SolrMetricsRecorder.NONE;
+
+	private boolean entityResponseParsing = false;
+
+	private boolean queryParameterDereferencing = false;
+
+	private int parallelConversionThreshold = 0;
+
+	private boolean entityUpdateRequests = false;
+
+	private @Nullable ContentDeduplicator contentDeduplicator;
+
+	private @Nullable EntitySnapshots entitySnapshots;
+
+	private @Nullable AtomicUpdateDiffer atomicUpdateDiffer;
+
+	private int deleteBatchSize = 0;
+
+	private @Nullable Executor deleteExecutor;
+
+	private boolean deleteByQueryViaIds = false;
+
+	private volatile @Nullable Executor queryExecutor;
+
+	private volatile List<SolrExecutionInterceptor> executionInterceptors = Collections.emptyList();
+
 	@SuppressWarnings("serial") //
 	private static final List<String> ITERABLE_CLASSES = new ArrayList<String>() {
 		{
@@ -160,16 +233,124 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 	 */
 	@Override
 	public <T> T execute(SolrCallback<T> action) {
+		return execute(OperationType.OTHER, null, action);
+	}
+
+	/**
+	 * Execute the given {@link SolrCallback} for the given {@link OperationType}.
+	 *
+	 * @param operation must not be {@literal null}.
+	 * @param collection can be {@literal null}.
+	 * @param action must not be {@literal null}.
+	 * @return the result of {@link SolrCallback#doInSolr(SolrClient)}.
+	 * @since 4.4
+	 * @see #execute(SolrExecution, SolrCallback)
+	 */
+	protected <T> T execute(OperationType operation, @Nullable String collection, SolrCallback<T> action) {
+		return execute(new SolrExecution(operation, collection), action);
+	}
+
+	/**
+	 * Execute the given {@link SolrCallback} passing it through the registered {@link SolrExecutionInterceptor}s and
+	 * reporting the outcome to the configured {@link SolrMetricsRecorder}.
+	 *
+	 * @param execution must not be {@literal null}.
+	 * @param action must not be {@literal null}.
+	 * @return the result of {@link SolrCallback#doInSolr(SolrClient)}.
+	 * @since 4.4
+	 */
+	protected <T> T execute(SolrExecution execution, SolrCallback<T> action) {
+
+		Assert.notNull(execution, "SolrExecution must not be null");
 		Assert.notNull(action, "SolrCallback must not be null");
 
+		OperationType operation = execution.getOperationType();
+		String collection = execution.getCollection();
+
+		long start = System.nanoTime();
+		T result;
+
 		try {
-			SolrClient solrClient = this.getSolrClient();
-			return action.doInSolr(solrClient);
+			result = new InterceptorChain<>(executionInterceptors, 0, execution, action).proceed();
 		} catch (Exception e) {
-			DataAccessException resolved = getExceptionTranslator().translateExceptionIfPossible(
-					e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e.getMessage(), e));
-			throw resolved == null ? new UncategorizedSolrException(e.getMessage(), e) : resolved;
+			throw translateFailure(operation, collection, start, e);
+		}
+
+		long duration = System.nanoTime() - start;
+		metricsRecorder.recordExecution(operation, collection, duration, null);
+		if (queryParameterDereferencing && execution.getParams() != null && metricsRecorder.isEnabled()) {
+
+			String shape = queryShape(execution.getParams());
+			if (shape != null) {
+				metricsRecorder.recordQueryShape(operation, collection, shape, duration);
+			}
+		}
+		if (result instanceof SolrResponse) {
+
+			metricsRecorder.recordResponse(operation, collection, (SolrResponse) result);
+
+			long responseSize = MeasuringResponseParser.getResponseSize((SolrResponse) result);
+			if (responseSize >= 0) {
+				metricsRecorder.recordResponseSize(operation, collection, responseSize);
+			}
 		}
+
+		return result;
+	}
+
+	/**
+	 * Run work preparing an execution outside of {@link #execute(SolrExecution, SolrCallback)}, such as converting beans
+	 * or constructing queries, translating its failures the same way.
+	 */
+	private <T> T prepare(OperationType operation, @Nullable String collection, Supplier<T> preparation) {
+
+		long start = System.nanoTime();
+
+		try {
+			return preparation.get();
+		} catch (RuntimeException e) {
+			throw translateFailure(operation, collection, start, e);
+		}
+	}
+
+	private DataAccessException translateFailure(OperationType operation, @Nullable String collection, long start,
+			Exception e) {
+
+		metricsRecorder.recordExecution(operation, collection, System.nanoTime() - start, e);
+
+		DataAccessException resolved = getExceptionTranslator().translateExceptionIfPossible(
+				e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e.getMessage(), e));
+		if (resolved != null) {
+			metricsRecorder.recordTranslatedException(operation, collection, resolved);
+		}
+		return resolved == null ? new UncategorizedSolrException(e.getMessage(), e) : resolved;
+	}
+
+	/**
+	 * The shape of a query is made of its {@code q} and {@code fq} strings. Queries still containing values, such as
+	 * ranges, string queries or criteria the {@link #setQueryParameterDereferencing(boolean) parameter dereferencing}
+	 * cannot express, do not have a shape, so that the number of shapes does not grow with the values queried.
+	 */
+	@Nullable
+	private static String queryShape(SolrParams params) {
+
+		String query = params.get(CommonParams.Q);
+		if (query == null || !DEREFERENCED_QUERY.matcher(query).matches()) {
+			return null;
+		}
+
+		StringBuilder shape = new StringBuilder("q=").append(query);
+		String[] filterQueries = params.getParams(CommonParams.FQ);
+		if (filterQueries != null) {
+			for (String filterQuery : filterQueries) {
+
+				if (!DEREFERENCED_QUERY.matcher(filterQuery).matches()) {
+					return null;
+				}
+				shape.append("&fq=").append(filterQuery);
+			}
+		}
+		return shape.toString();
 	}
 
 	/*
@@ -178,7 +359,7 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 	 */
 	@Override
 	public SolrPingResponse ping() {
-		return execute(SolrClient::ping);
+		return execute(OperationType.PING, null, SolrClient::ping);
 	}
 
 	/*
@@ -187,7 +368,9 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 	 */
 	@Override
 	public SolrPingResponse ping(String collection) {
-		return execute(client -> new SolrPing().process(client, collection));
+		SolrPing ping = new SolrPing();
+		return execute(new SolrExecution(OperationType.PING, collection, null, null, ping, true),
+				client -> ping.process(client, collection));
 	}
 
 	@Override
@@ -202,15 +385,16 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 		Assert.notNull(query, "Query must not be 'null'");
 		Assert.notNull(method, "Method must not be 'null'");
 
-		return execute(solrClient -> {
+		SolrQuery solrQuery = prepare(OperationType.COUNT, collection, () -> constructQuery(query, domainType));
+		solrQuery.clearSorts();
+		solrQuery.setStart(0);
+		solrQuery.setRows(0);
 
-			SolrQuery solrQuery = constructQuery(query, domainType);
-			solrQuery.clearSorts();
-			solrQuery.setStart(0);
-			solrQuery.setRows(0);
+		recordRequestSize(OperationType.COUNT, collection, solrQuery);
 
-			return solrClient.query(collection, solrQuery, getSolrRequestMethod(method)).getResults().getNumFound();
-		});
+		return execute(new SolrExecution(OperationType.COUNT, collection, domainType, solrQuery, null, true),
+				solrClient -> solrClient.query(collection, solrQuery, getSolrRequestMethod(method))).getResults()
+						.getNumFound();
 	}
 
 	@Override
@@ -218,25 +402,181 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 
 		assertNoCollection(obj);
 
-		return execute(solrClient -> solrClient.add(collection, convertBeanToSolrInputDocument(obj),
-				getCommitWithinTimeout(commitWithin)));
+		if (entitySnapshots != null) {
+			return saveBeansWithSnapshots(collection, obj.getClass(), Collections.singleton(obj), commitWithin);
+		}
+
+		if (canUseEntityUpdateRequest(Collections.singleton(obj))) {
+			return saveEntities(collection, obj.getClass(), Collections.singleton(obj), commitWithin);
+		}
+
+		SolrInputDocument document = prepare(OperationType.UPDATE, collection, () -> convertBeanToSolrInputDocument(obj));
+		if (contentDeduplicator != null) {
+			return saveChangedDocuments(collection, obj.getClass(), Collections.singletonList(document), commitWithin);
+		}
+
+		return execute(updateExecution(collection, obj.getClass(), Collections.singletonList(document)),
+				solrClient -> solrClient.add(collection, document, getCommitWithinTimeout(commitWithin)));
 	}
 
 	@Override
 	public UpdateResponse saveBeans(String collection, Collection<?> beans, Duration commitWithin) {
-		return execute(solrClient -> solrClient.add(collection, convertBeansToSolrInputDocuments(beans),
-				getCommitWithinTimeout(commitWithin)));
+
+		if (entitySnapshots != null) {
+			return saveBeansWithSnapshots(collection, null, beans, commitWithin);
+		}
+
+		if (canUseEntityUpdateRequest(beans)) {
+			return saveEntities(collection, null, beans, commitWithin);
+		}
+
+		Collection<SolrInputDocument> documents = prepare(OperationType.UPDATE, collection,
+				() -> convertBeansToSolrInputDocuments(beans));
+		if (contentDeduplicator != null) {
+			return saveChangedDocuments(collection, null, documents, commitWithin);
+		}
+
+		return execute(updateExecution(collection, null, documents),
+				solrClient -> solrClient.add(collection, documents, getCommitWithinTimeout(commitWithin)));
 	}
 
 	@Override
 	public UpdateResponse saveDocument(String collection, SolrInputDocument document, Duration commitWithin) {
-		return execute(solrClient -> solrClient.add(collection, document, getCommitWithinTimeout(commitWithin)));
+
+		if (contentDeduplicator != null) {
+			return saveChangedDocuments(collection, null, Collections.singletonList(document), commitWithin);
+		}
+
+		return execute(updateExecution(collection, null, Collections.singletonList(document)),
+				solrClient -> solrClient.add(collection, document, getCommitWithinTimeout(commitWithin)));
 	}
 
 	@Override
 	public UpdateResponse saveDocuments(String collection, Collection<SolrInputDocument> documents,
 			Duration commitWithin) {
-		return execute(solrClient -> solrClient.add(collection, documents, getCommitWithinTimeout(commitWithin)));
+
+		if (contentDeduplicator != null) {
+			return saveChangedDocuments(collection, null, documents, commitWithin);
+		}
+
+		return execute(updateExecution(collection, null, documents),
+				solrClient -> solrClient.add(collection, documents, getCommitWithinTimeout(commitWithin)));
+	}
+
+	@Override
+	public UpdateResponse saveChanges(String collection, Object original, Object changed, Duration commitWithin) {
+
+		Assert.notNull(original, "Original must not be null");
+		Assert.notNull(changed, "Changed must not be null");
+		assertNoCollection(changed);
+
+		DocumentChange change = getAtomicUpdateDiffer().diff(original, changed);
+		if (change.isUnchanged()) {
+			return skippedUpdateResponse();
+		}
+
+		return saveDocumentList(collection, ClassUtils.getUserClass(changed),
+				Collections.singletonList(change.getDocument()), commitWithin);
+	}
+
+	/**
+	 * Compare entities against their {@link EntitySnapshots snapshot} and write the changed fields only.
+	 */
+	private UpdateResponse saveBeansWithSnapshots(String collection, @Nullable Class<?> domainType,
+			Collection<?> beans, Duration commitWithin) {
+
+		List<SolrInputDocument> documents = new ArrayList<>(beans.size());
+		List<Runnable> snapshotUpdates = new ArrayList<>(beans.size());
+
+		for (Object bean : beans) {
+
+			SolrInputDocument document = prepare(OperationType.UPDATE, collection,
+					() -> convertBeanToSolrInputDocument(bean));
+			Object id = bean instanceof Update || bean instanceof SolrInputDocument ? null : getEntityId(bean, document);
+
+			if (id == null) {
+				documents.add(document);
+				continue;
+			}
+
+			Class<?> type = ClassUtils.getUserClass(bean);
+			DocumentChange change = getAtomicUpdateDiffer().diff(entitySnapshots.get(collection, type, id), document, type);
+			if (!change.isUnchanged()) {
+				documents.add(change.getDocument());
+			}
+			snapshotUpdates.add(() -> entitySnapshots.put(collection, type, id, document));
+		}
+
+		UpdateResponse response = documents.isEmpty() ? skippedUpdateResponse()
+				: saveDocumentList(collection, domainType, documents, commitWithin);
+
+		snapshotUpdates.forEach(Runnable::run);
+		return response;
+	}
+
+	private UpdateResponse saveDocumentList(String collection, @Nullable Class<?> domainType,
+			List<SolrInputDocument> documents, Duration commitWithin) {
+
+		if (contentDeduplicator != null) {
+			return saveChangedDocuments(collection, domainType, documents, commitWithin);
+		}
+
+		return execute(updateExecution(collection, domainType, documents),
+				solrClient -> solrClient.add(collection, documents, getCommitWithinTimeout(commitWithin)));
+	}
+
+	@Nullable
+	private Object getEntityId(Object bean, SolrInputDocument document) {
+
+		SolrPersistentEntity<?> entity = getConverter().getMappingContext()
+				.getPersistentEntity(ClassUtils.getUserClass(bean));
+		SolrPersistentProperty idProperty = entity != null ? entity.getIdProperty() : null;
+		return idProperty != null ? document.getFieldValue(idProperty.getFieldName()) : null;
+	}
+
+	private <T> List<T> recordSnapshots(String collection, List<T> beans) {
+
+		if (entitySnapshots == null) {
+			return beans;
+		}
+
+		for (Object bean : beans) {
+
+			if (bean == null || !getConverter().getMappingContext().hasPersistentEntityFor(ClassUtils.getUserClass(bean))) {
+				continue;
+			}
+
+			SolrInputDocument document = convertBeanToSolrInputDocument(bean);
+			Object id = getEntityId(bean, document);
+			if (id != null) {
+				entitySnapshots.put(collection, ClassUtils.getUserClass(bean), id, document);
+			}
+		}
+		return beans;
+	}
+
+	private UpdateResponse saveChangedDocuments(String collection, @Nullable Class<?> domainType,
+			Collection<SolrInputDocument> documents, Duration commitWithin) {
+
+		ChangeSet changes = contentDeduplicator.detectChanges(collection, documents);
+		List<SolrInputDocument> changed = changes.getDocuments();
+
+		if (changed.isEmpty()) {
+
+			metricsRecorder.recordDeduplication(collection, 0, changes.getSkipped());
+			return skippedUpdateResponse();
+		}
+
+		UpdateResponse response = execute(updateExecution(collection, domainType, changed),
+				solrClient -> solrClient.add(collection, changed, getCommitWithinTimeout(commitWithin)));
+
+		changes.markWritten();
+		metricsRecorder.recordDeduplication(collection, changed.size(), changes.getSkipped());
+		return response;
+	}
+
+	private static UpdateResponse skippedUpdateResponse() {
+		return combineUpdateResponses(Collections.emptyList());
 	}
 
 	@Override
@@ -246,7 +586,21 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 
 		final String queryString = this.queryParsers.getForClass(query.getClass()).getQueryString(query, domainType);
 
-		return execute(solrClient -> solrClient.deleteByQuery(collection, queryString));
+		if (deleteByQueryViaIds) {
+			return deleteMatchingIds(collection, queryString, domainType);
+		}
+
+		UpdateResponse response = execute(
+				new SolrExecution(OperationType.DELETE, collection, domainType, null, null, true),
+				solrClient -> solrClient.deleteByQuery(collection, queryString));
+
+		if (contentDeduplicator != null) {
+			contentDeduplicator.evictAll(collection);
+		}
+		if (entitySnapshots != null) {
+			entitySnapshots.clear(collection);
+		}
+		return response;
 	}
 
 	@Override
@@ -254,7 +608,16 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 
 		Assert.notNull(id, "Cannot delete 'null' id");
 
-		return execute(solrClient -> solrClient.deleteById(collection, id));
+		UpdateResponse response = execute(OperationType.DELETE, collection,
+				solrClient -> solrClient.deleteById(collection, id));
+
+		if (contentDeduplicator != null) {
+			contentDeduplicator.evict(collection, Collections.singleton(id));
+		}
+		if (entitySnapshots != null) {
+			entitySnapshots.remove(collection, Collections.singleton(id));
+		}
+		return response;
 	}
 
 	@Override
@@ -262,7 +625,299 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 
 		Assert.notNull(ids, "Cannot delete 'null' collection");
 
-		return execute(solrClient -> solrClient.deleteById(collection, ids.stream().collect(Collectors.toList())));
+		return deleteIdBatches(collection, ids.stream().collect(Collectors.toList()));
+	}
+
+	private void evictDeleted(String collection, Collection<String> ids) {
+
+		if (contentDeduplicator != null) {
+			contentDeduplicator.evict(collection, ids);
+		}
+		if (entitySnapshots != null) {
+			entitySnapshots.remove(collection, ids);
+		}
+	}
+
+	/**
+	 * Delete the given ids in batches of {@link #setDeleteBatchSize(int) deleteBatchSize}, running them on the
+	 * {@link #setDeleteExecutor(Executor) deleteExecutor}, if any. The ids of every successfully deleted batch are
+	 * evicted from the content deduplicator and entity snapshots, even if another batch failed.
+	 */
+	private UpdateResponse deleteIdBatches(String collection, List<String> ids) {
+
+		if (deleteBatchSize <= 0 || ids.size() <= deleteBatchSize) {
+
+			UpdateResponse response = execute(OperationType.DELETE, collection,
+					solrClient -> solrClient.deleteById(collection, ids));
+			evictDeleted(collection, ids);
+			return response;
+		}
+
+		List<List<String>> batches = new ArrayList<>();
+		for (int from = 0; from < ids.size(); from += deleteBatchSize) {
+			batches.add(ids.subList(from, Math.min(ids.size(), from + deleteBatchSize)));
+		}
+
+		List<UpdateResponse> responses = new ArrayList<>(batches.size());
+		if (deleteExecutor == null) {
+
+			for (List<String> batch : batches) {
+
+				responses.add(execute(OperationType.DELETE, collection, solrClient -> solrClient.deleteById(collection, batch)));
+				evictDeleted(collection, batch);
+			}
+			return combineUpdateResponses(responses);
+		}
+
+		List<CompletableFuture<UpdateResponse>> futures = batches.stream()
+				.map(batch -> CompletableFuture.supplyAsync(
+						() -> execute(OperationType.DELETE, collection, solrClient -> solrClient.deleteById(collection, batch)),
+						deleteExecutor))
+				.collect(Collectors.toList());
+
+		RuntimeException failure = null;
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				responses.add(futures.get(i).join());
+				evictDeleted(collection, batches.get(i));
+			} catch (CompletionException e) {
+				if (failure == null) {
+					failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+				}
+			}
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+		return combineUpdateResponses(responses);
+	}
+
+	/**
+	 * Page through the unique keys of the documents matching the query via cursor and delete them by id, which unlike
+	 * delete by query does not block concurrent updates on SolrCloud.
+	 */
+	private UpdateResponse deleteMatchingIds(String collection, String queryString, @Nullable Class<?> domainType) {
+
+		String idField = "id";
+		SolrPersistentEntity<?> entity = domainType != null
+				? getConverter().getMappingContext().getPersistentEntity(domainType)
+				: null;
+		if (entity != null && entity.getIdProperty() != null) {
+			idField = entity.getIdProperty().getFieldName();
+		}
+
+		SolrQuery solrQuery = new SolrQuery(queryString);
+		solrQuery.setFields(idField);
+		solrQuery.setSort(idField, SolrQuery.ORDER.asc);
+		solrQuery.setRows(Math.max(deleteBatchSize, DEFAULT_DELETE_CURSOR_ROWS));
+
+		List<UpdateResponse> responses = new ArrayList<>();
+		String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+
+		while (true) {
+
+			SolrQuery pageQuery = solrQuery.getCopy();
+			pageQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+			QueryResponse page = executeSolrQuery(collection, pageQuery, getSolrRequestMethod(getDefaultRequestMethod()));
+
+			List<String> ids = new ArrayList<>();
+			for (SolrDocument document : page.getResults()) {
+
+				Object id = document.getFirstValue(idField);
+				if (id != null) {
+					ids.add(id.toString());
+				}
+			}
+
+			if (!ids.isEmpty()) {
+				responses.add(deleteIdBatches(collection, ids));
+			}
+
+			String nextCursorMark = page.getNextCursorMark();
+			if (ids.isEmpty() || nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+				break;
+			}
+			cursorMark = nextCursorMark;
+		}
+
+		return combineUpdateResponses(responses);
+	}
+
+	/**
+	 * Sum up {@literal QTime} and keep the first non zero {@literal status} of the given responses.
+	 */
+	private static UpdateResponse combineUpdateResponses(List<UpdateResponse> responses) {
+
+		int status = 0;
+		int qTime = 0;
+		long elapsedTime = 0;
+
+		for (UpdateResponse response : responses) {
+
+			if (response.getResponse() != null && response.getResponseHeader() != null) {
+				status = status != 0 ? status : response.getStatus();
+				qTime += response.getQTime();
+			}
+			elapsedTime += response.getElapsedTime();
+		}
+
+		NamedList<Object> header = new NamedList<>();
+		header.add("status", status);
+		header.add("QTime", qTime);
+
+		NamedList<Object> body = new NamedList<>();
+		body.add("responseHeader", header);
+
+		UpdateResponse response = new UpdateResponse();
+		response.setResponse(body);
+		response.setElapsedTime(elapsedTime);
+		return response;
+	}
+
+	@Override
+	public MultiQueryResults queryAll(List<? extends MultiQueryRequest<?>> requests, @Nullable Duration timeout) {
+
+		Assert.notNull(requests, "Requests must not be null");
+		requests.forEach(request -> Assert.notNull(request, "Request must not be null"));
+
+		if (MULTI_QUERY_REQUEST_RUNNING.get() != null) {
+
+			// waiting for further tasks of the executor from within one of its tasks could exhaust it
+			List<Object> results = new ArrayList<>(requests.size());
+			requests.forEach(request -> results.add(request.execute(this)));
+			return new MultiQueryResults(requests, results);
+		}
+
+		Executor executor = getQueryExecutor();
+		CompletionService<Object> completionService = new ExecutorCompletionService<>(runnable -> {
+
+			try {
+				executor.execute(runnable);
+			} catch (RejectedExecutionException e) {
+				runnable.run();
+			}
+		});
+
+		long deadline = timeout != null ? System.nanoTime() + timeout.toNanos() : 0;
+		List<Future<Object>> futures = new ArrayList<>(requests.size());
+
+		try {
+
+			for (MultiQueryRequest<?> request : requests) {
+				futures.add(completionService.submit(() -> executeMultiQueryRequest(request)));
+			}
+
+			for (int i = 0; i < futures.size(); i++) {
+
+				Future<Object> completed = timeout != null
+						? completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+						: completionService.take();
+
+				if (completed == null) {
+					throw new QueryTimeoutException(String.format("%d queries did not complete within %s",
+							futures.stream().filter(future -> !future.isDone()).count(), timeout));
+				}
+				completed.get();
+			}
+
+			List<Object> results = new ArrayList<>(futures.size());
+			for (Future<Object> future : futures) {
+				results.add(future.get());
+			}
+			return new MultiQueryResults(requests, results);
+		} catch (ExecutionException e) {
+
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new UncategorizedSolrException(cause != null ? cause.getMessage() : e.getMessage(), cause);
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+			throw new UncategorizedSolrException("Interrupted while waiting for queries", e);
+		} finally {
+
+			// interrupts the threads of queries still running
+			futures.forEach(future -> future.cancel(true));
+		}
+	}
+
+	private Object executeMultiQueryRequest(MultiQueryRequest<?> request) {
+
+		MULTI_QUERY_REQUEST_RUNNING.set(Boolean.TRUE);
+		try {
+			return request.execute(this);
+		} finally {
+			MULTI_QUERY_REQUEST_RUNNING.remove();
+		}
+	}
+
+	@Override
+	public <T> ScoredPage<T> queryAcrossCollections(Collection<String> collections, Query query, Class<T> clazz) {
+
+		Assert.notEmpty(collections, "Collections must not be null nor empty");
+		Assert.notNull(query, "Query must not be 'null'");
+		Assert.notNull(clazz, "Target class must not be 'null'");
+
+		long offset = query.getOffset() != null ? Math.max(0, query.getOffset()) : 0;
+		int rows = query.getRows() != null && query.getRows() >= 0 ? query.getRows() : Query.DEFAULT_PAGE_SIZE;
+
+		SolrQuery solrQuery = constructQuery(query, clazz);
+		SortedResultMerger merger = new SortedResultMerger(solrQuery, offset, rows);
+		SolrRequest.METHOD method = getSolrRequestMethod(getDefaultRequestMethod());
+
+		List<MultiQueryRequest<SolrDocumentList>> requests = new ArrayList<>(collections.size());
+		for (String collection : collections) {
+			requests.add(MultiQueryRequest
+					.of(operations -> executeSolrQuery(collection, solrQuery.getCopy(), method).getResults()));
+		}
+
+		List<SolrDocumentList> results = new ArrayList<>(requests.size());
+		queryAll(requests).asList().forEach(result -> results.add((SolrDocumentList) result));
+
+		SolrDocumentList merged = merger.merge(results, offset, rows);
+		List<T> beans = convertSolrDocumentListToBeans(merged, clazz);
+
+		Pageable pageable = query.getOffset() == null && query.getRows() == null ? Pageable.unpaged()
+				: new SolrPageRequest(rows != 0 ? (int) (offset / rows) : 0, rows, query.getSort());
+		return new SolrResultPage<>(beans, pageable, merged.getNumFound(), merged.getMaxScore());
+	}
+
+	private Executor getQueryExecutor() {
+
+		Executor executor = queryExecutor;
+		if (executor == null) {
+
+			synchronized (this) {
+				if (queryExecutor == null) {
+					queryExecutor = createDefaultQueryExecutor();
+				}
+				executor = queryExecutor;
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Bounded pool of daemon threads that terminate when idle, so it does not need to be shut down. Queries exceeding its
+	 * queue are rejected and run on the calling thread instead.
+	 */
+	private static Executor createDefaultQueryExecutor() {
+
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+		AtomicInteger counter = new AtomicInteger();
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(threads * 16), runnable -> {
+
+					Thread thread = new Thread(runnable, "solr-multi-query-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
 	}
 
 	@Override
@@ -284,11 +939,12 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 		query.setPageRequest(PageRequest.of(0, 1));
 		QueryResponse response = querySolr(collection, query, clazz, method);
 
-		if (response.getResults().size() > 0) {
-			if (response.getResults().size() > 1) {
+		List<T> beans = recordSnapshots(collection, convertQueryResponseToBeans(response, clazz));
+		if (beans.size() > 0) {
+			if (beans.size() > 1) {
 				LOGGER.warn("More than 1 result found for singe result query ('{}'), returning first entry in list", query);
 			}
-			return Optional.ofNullable(convertSolrDocumentListToBeans(response.getResults(), clazz).get(0));
+			return Optional.ofNullable(beans.get(0));
 		}
 		return Optional.empty();
 	}
@@ -302,7 +958,7 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 				requestMethod != null ? requestMethod : getDefaultRequestMethod());
 		Map<String, Object> objectsName = namedObjectsQuery.getNamesAssociation();
 
-		return createSolrResultPage(query, clazz, response, objectsName);
+		return createSolrResultPage(collection, query, clazz, response, objectsName);
 	}
 
 	@Override
@@ -386,8 +1042,8 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 
 		NamedObjectsFacetQuery namedObjectsQuery = new NamedObjectsFacetQuery(query);
 
-		return createSolrResultPage(query, clazz, querySolr(collection, namedObjectsQuery, clazz, method),
-				namedObjectsQuery.getNamesAssociation());
+		return createSolrResultPage(collection, query, clazz,
+				querySolr(collection, namedObjectsQuery, clazz, method), namedObjectsQuery.getNamesAssociation());
 
 	}
 
@@ -406,7 +1062,7 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 		NamedObjectsHighlightQuery namedObjectsQuery = new NamedObjectsHighlightQuery(query);
 		QueryResponse response = querySolr(collection, namedObjectsQuery, clazz, method);
 
-		return createSolrResultPage(query, clazz, response, namedObjectsQuery.getNamesAssociation());
+		return createSolrResultPage(collection, query, clazz, response, namedObjectsQuery.getNamesAssociation());
 	}
 
 	@Override
@@ -428,13 +1084,13 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 		QueryResponse response = querySolr(collection, namedObjectsFacetAndHighlightQuery, clazz, method);
 		Map<String, Object> objectsName = namedObjectsFacetAndHighlightQuery.getNamesAssociation();
 
-		return createSolrResultPage(query, clazz, response, objectsName);
+		return createSolrResultPage(collection, query, clazz, response, objectsName);
 	}
 
-	private <T> SolrResultPage<T> createSolrResultPage(Query query, Class<T> clazz, QueryResponse response,
-			Map<String, Object> objectsName) {
+	private <T> SolrResultPage<T> createSolrResultPage(String collection, Query query, Class<T> clazz,
+			QueryResponse response, Map<String, Object> objectsName) {
 
-		List<T> beans = convertQueryResponseToBeans(response, clazz);
+		List<T> beans = recordSnapshots(collection, convertQueryResponseToBeans(response, clazz));
 		SolrDocumentList results = response.getResults();
 		long numFound = results == null ? 0 : results.getNumFound();
 		Float maxScore = results == null ? null : results.getMaxScore();
@@ -448,7 +1104,8 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 				ResultHelper.convertGroupQueryResponseToGroupResultMap(query, objectsName, response, this, clazz));
 
 		if (query instanceof HighlightQuery) {
-			ResultHelper.convertAndAddHighlightQueryResponseToResultPage(response, page);
+			ResultHelper.convertAndAddHighlightQueryResponseToResultPage(response, page,
+					getConverter().getMappingContext());
 		}
 
 		if (query instanceof FacetQuery) {
@@ -507,7 +1164,7 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 
 		LOGGER.debug("Executing query '{}' against solr", solrQuery);
 
-		return executeSolrQuery(collection, solrQuery, getSolrRequestMethod(requestMethod));
+		return executeSolrQuery(collection, solrQuery, clazz, getSolrRequestMethod(requestMethod));
 	}
 
 	final QueryResponse executeSolrQuery(final SolrQuery solrQuery, final SolrRequest.METHOD method) {
@@ -515,8 +1172,38 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 	}
 
 	final QueryResponse executeSolrQuery(String collection, final SolrQuery solrQuery, final SolrRequest.METHOD method) {
+		return executeSolrQuery(collection, solrQuery, null, method);
+	}
+
+	final QueryResponse executeSolrQuery(String collection, final SolrQuery solrQuery, @Nullable Class<?> domainType,
+			final SolrRequest.METHOD method) {
+
+		recordRequestSize(OperationType.QUERY, collection, solrQuery);
+
+		SolrExecution execution = new SolrExecution(OperationType.QUERY, collection, domainType, solrQuery, null, true);
 
-		return execute(solrServer -> solrServer.query(collection, solrQuery, method));
+		if (domainType != null && entityResponseParsing && !solrQuery.getBool(GroupParams.GROUP, false)) {
+			return execute(execution, solrServer -> {
+
+				// the parser holds the entities of a single response, so every attempt gets its own
+				ResponseParser parser = new EntityResponseParser<>(getConverter(), domainType);
+				QueryRequest request = new QueryRequest(solrQuery, method);
+				request.setResponseParser(metricsRecorder.isEnabled() ? new MeasuringResponseParser(parser) : parser);
+				return request.process(solrServer, collection);
+			});
+		}
+
+		return execute(execution, solrServer -> solrServer.query(collection, solrQuery, method));
+	}
+
+	/**
+	 * The URL encoded query string only contains ASCII characters, so its length is its size in bytes.
+	 */
+	private void recordRequestSize(OperationType operation, @Nullable String collection, SolrQuery solrQuery) {
+
+		if (metricsRecorder.isEnabled()) {
+			metricsRecorder.recordRequestSize(operation, collection, solrQuery.toQueryString().length());
+		}
 	}
 
 	/**
@@ -541,18 +1228,25 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 
 	@Override
 	public void commit(String collection) {
-		execute(solrClient -> solrClient.commit(collection));
+		execute(OperationType.COMMIT, collection, solrClient -> solrClient.commit(collection));
 	}
 
 	@Override
 	public void softCommit(String collection) {
 
-		execute(solrClient -> solrClient.commit(collection, true, true, true));
+		execute(OperationType.COMMIT, collection, solrClient -> solrClient.commit(collection, true, true, true));
 	}
 
 	@Override
 	public void rollback(String collection) {
-		execute(solrClient -> solrClient.rollback(collection));
+		execute(OperationType.ROLLBACK, collection, solrClient -> solrClient.rollback(collection));
+
+		if (contentDeduplicator != null) {
+			contentDeduplicator.evictAll(collection);
+		}
+		if (entitySnapshots != null) {
+			entitySnapshots.clear(collection);
+		}
 	}
 
 	/*
@@ -587,13 +1281,14 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 			protected org.springframework.data.solr.core.query.result.DelegatingCursor.PartialResult<T> doLoad(
 					SolrQuery nativeQuery) {
 
-				QueryResponse response = executeSolrQuery(collection, nativeQuery,
+				QueryResponse response = executeSolrQuery(collection, nativeQuery, clazz,
 						getSolrRequestMethod(getDefaultRequestMethod()));
 				if (response == null) {
 					return new PartialResult<>("", Collections.<T> emptyList());
 				}
 
-				return new PartialResult<>(response.getNextCursorMark(), convertQueryResponseToBeans(response, clazz));
+				return new PartialResult<>(response.getNextCursorMark(),
+						recordSnapshots(collection, convertQueryResponseToBeans(response, clazz)));
 			}
 
 		}.open();
@@ -606,8 +1301,15 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 			return Collections.emptyList();
 		}
 
-		return execute(solrClient -> convertSolrDocumentListToBeans(
-				solrClient.getById(collection, ids.stream().map(Object::toString).collect(Collectors.toList())), clazz));
+		List<String> stringIds = ids.stream().map(Object::toString).collect(Collectors.toList());
+
+		ModifiableSolrParams params = new ModifiableSolrParams();
+		params.set("ids", stringIds.toArray(new String[0]));
+
+		return recordSnapshots(collection, convertSolrDocumentListToBeans(
+				execute(new SolrExecution(OperationType.GET_BY_ID, collection, clazz, params, null, true),
+						solrClient -> solrClient.getById(collection, stringIds)),
+				clazz));
 	}
 
 	public <T> Optional<T> getById(String collection, Object id, Class<T> clazz) {
@@ -644,19 +1346,97 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 	}
 
 	public <T> List<T> convertQueryResponseToBeans(QueryResponse response, Class<T> targetClass) {
-		return response != null ? convertSolrDocumentListToBeans(response.getResults(), targetClass)
-				: Collections.<T> emptyList();
+
+		if (response == null) {
+			return Collections.<T> emptyList();
+		}
+
+		List<T> entities = EntityResponseParser.getEntities(response);
+		if (entities == null) {
+			return convertSolrDocumentListToBeans(response.getResults(), targetClass);
+		}
+
+		metricsRecorder.recordConversion(targetClass, entities.size(), EntityResponseParser.getConversionTime(response),
+				false);
+
+		return entities;
 	}
 
 	public <T> List<T> convertSolrDocumentListToBeans(SolrDocumentList documents, Class<T> targetClass) {
 		if (documents == null) {
 			return Collections.<T> emptyList();
 		}
-		return getConverter().read(documents, targetClass);
+
+		SolrConverter converter = getConverter();
+		boolean parallel = converter instanceof MappingSolrConverter
+				&& ((MappingSolrConverter) converter).isParallelRead(documents.size());
+
+		long start = System.nanoTime();
+		List<T> result = converter.read(documents, targetClass);
+		metricsRecorder.recordConversion(targetClass, documents.size(), System.nanoTime() - start, parallel);
+
+		return result;
 	}
 
 	public <T> T convertSolrDocumentToBean(SolrDocument document, Class<T> targetClass) {
-		return getConverter().read(targetClass, document);
+
+		long start = System.nanoTime();
+		T result = getConverter().read(targetClass, document);
+		metricsRecorder.recordConversion(targetClass, 1, System.nanoTime() - start, false);
+
+		return result;
+	}
+
+	private UpdateResponse saveEntities(String collection, @Nullable Class<?> domainType, Collection<?> entities,
+			Duration commitWithin) {
+
+		EntityUpdateRequest request = new EntityUpdateRequest(getConverter(), entities);
+		request.setCommitWithin(getCommitWithinTimeout(commitWithin));
+
+		return execute(new SolrExecution(OperationType.UPDATE, collection, domainType, null, request, true),
+				solrClient -> request.process(solrClient, collection));
+	}
+
+	/**
+	 * {@link Update}s are atomic updates, possibly not idempotent, and are converted by a dedicated converter.
+	 */
+	private boolean canUseEntityUpdateRequest(Collection<?> beans) {
+
+		if (!entityUpdateRequests || contentDeduplicator != null) {
+			return false;
+		}
+
+		for (Object bean : beans) {
+			if (bean == null || bean instanceof Update) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private SolrExecution updateExecution(String collection, @Nullable Class<?> domainType,
+			Collection<SolrInputDocument> documents) {
+
+		boolean idempotent = executionInterceptors.isEmpty() || isIdempotentUpdate(documents);
+		return new SolrExecution(OperationType.UPDATE, collection, domainType, null, null, idempotent);
+	}
+
+	/**
+	 * Atomic updates adding values to or incrementing a field change the document every time they are applied.
+	 */
+	private static boolean isIdempotentUpdate(Collection<SolrInputDocument> documents) {
+
+		for (SolrInputDocument document : documents) {
+			for (SolrInputField field : document) {
+
+				Object value = field.getValue();
+				if (value instanceof Map && (((Map<?, ?>) value).containsKey(UpdateAction.INC.getSolrOperation())
+						|| ((Map<?, ?>) value).containsKey(UpdateAction.ADD.getSolrOperation()))) {
+					return false;
+				}
+			}
+		}
+		return true;
 	}
 
 	protected void assertNoCollection(Object o) {
@@ -710,6 +1490,239 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 		this.solrConverter = solrConverter;
 	}
 
+	/**
+	 * Register a {@link SolrExecutionInterceptor} invoked around every operation. Interceptors are ordered according to
+	 * {@link org.springframework.core.Ordered} or {@link org.springframework.core.annotation.Order} and otherwise kept in
+	 * registration order.
+	 *
+	 * @param interceptor must not be {@literal null}.
+	 * @since 4.4
+	 */
+	public void addExecutionInterceptor(SolrExecutionInterceptor interceptor) {
+
+		Assert.notNull(interceptor, "SolrExecutionInterceptor must not be null");
+
+		List<SolrExecutionInterceptor> interceptors = new ArrayList<>(this.executionInterceptors);
+		interceptors.add(interceptor);
+		setExecutionInterceptors(interceptors);
+	}
+
+	/**
+	 * Replace the registered {@link SolrExecutionInterceptor}s.
+	 *
+	 * @param interceptors can be {@literal null}.
+	 * @since 4.4
+	 */
+	public void setExecutionInterceptors(@Nullable List<? extends SolrExecutionInterceptor> interceptors) {
+
+		List<SolrExecutionInterceptor> sorted = new ArrayList<>();
+		if (interceptors != null) {
+			sorted.addAll(interceptors);
+		}
+		AnnotationAwareOrderComparator.sort(sorted);
+
+		this.executionInterceptors = Collections.unmodifiableList(sorted);
+	}
+
+	/**
+	 * @return the registered {@link SolrExecutionInterceptor}s in invocation order. Never {@literal null}.
+	 * @since 4.4
+	 */
+	public List<SolrExecutionInterceptor> getExecutionInterceptors() {
+		return executionInterceptors;
+	}
+
+	/**
+	 * Set the {@link SolrMetricsRecorder} to report operation timings, sizes and failures to.
+	 *
+	 * @param metricsRecorder can be {@literal null} to disable recording.
+	 * @since 4.4
+	 */
+	public void setMetricsRecorder(@Nullable SolrMetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder != null ? metricsRecorder : SolrMetricsRecorder.NONE;
+	}
+
+	/**
+	 * @return never {@literal null}.
+	 * @since 4.4
+	 */
+	public SolrMetricsRecorder getMetricsRecorder() {
+		return metricsRecorder;
+	}
+
+	/**
+	 * Render criteria values of {@code q} and {@code fq} as references to separate request parameters so that queries
+	 * of the same shape share their query strings. Solr can then reuse cached filters and parsed queries across values
+	 * and the {@link SolrMetricsRecorder} additionally records {@link SolrMetricsRecorder#recordQueryShape query
+	 * shapes} of queries whose values are all dereferenced. Disabled by default.
+	 *
+	 * @param queryParameterDereferencing
+	 * @since 4.4
+	 * @see QueryParserBase#setParameterDereferencing(boolean)
+	 */
+	public void setQueryParameterDereferencing(boolean queryParameterDereferencing) {
+
+		this.queryParameterDereferencing = queryParameterDereferencing;
+		if (this.queryParsers != null) {
+			this.queryParsers.setParameterDereferencing(queryParameterDereferencing);
+		}
+	}
+
+	/**
+	 * @return {@literal true} if criteria values are rendered as parameter references.
+	 * @since 4.4
+	 */
+	public boolean isQueryParameterDereferencing() {
+		return queryParameterDereferencing;
+	}
+
+	/**
+	 * Convert result pages and groups of at least the given number of documents in parallel on the
+	 * {@link MappingSolrConverter#getForkJoinPool() converter's pool}. The order of the documents is retained. Only
+	 * applies to a {@link MappingSolrConverter}. Disabled by default.
+	 *
+	 * @param parallelConversionThreshold minimum number of documents to convert in parallel. {@literal 0} to always
+	 *          convert on the calling thread.
+	 * @since 4.4
+	 * @see MappingSolrConverter#setParallelReadThreshold(int)
+	 */
+	public void setParallelConversionThreshold(int parallelConversionThreshold) {
+
+		Assert.isTrue(parallelConversionThreshold >= 0, "ParallelConversionThreshold must not be negative");
+
+		this.parallelConversionThreshold = parallelConversionThreshold;
+		if (this.solrConverter instanceof MappingSolrConverter) {
+			((MappingSolrConverter) this.solrConverter).setParallelReadThreshold(parallelConversionThreshold);
+		}
+	}
+
+	/**
+	 * Convert the documents of query responses into entities while decoding the javabin response instead of
+	 * materializing a {@link SolrDocumentList} first. Applies to non grouping queries with a known domain type. Disabled
+	 * by default.
+	 *
+	 * @param entityResponseParsing
+	 * @since 4.4
+	 * @see EntityResponseParser
+	 */
+	public void setEntityResponseParsing(boolean entityResponseParsing) {
+		this.entityResponseParsing = entityResponseParsing;
+	}
+
+	/**
+	 * Serialize entities saved via {@link #saveBean(String, Object, Duration)} and
+	 * {@link #saveBeans(String, Collection, Duration)} straight into the javabin update format instead of converting
+	 * them into {@link SolrInputDocument}s first. Does not apply to {@link Update}s. Disabled by default.
+	 *
+	 * @param entityUpdateRequests
+	 * @since 4.4
+	 * @see EntityUpdateRequest
+	 */
+	public void setEntityUpdateRequests(boolean entityUpdateRequests) {
+		this.entityUpdateRequests = entityUpdateRequests;
+	}
+
+	/**
+	 * Skip writing documents whose content did not change since they were last written. Applies to saving beans and
+	 * documents and takes precedence over {@link #setEntityUpdateRequests(boolean) entity update requests}, as hashes
+	 * are computed from {@link SolrInputDocument}s.
+	 *
+	 * @param contentDeduplicator can be {@literal null} to write all documents.
+	 * @since 4.4
+	 */
+	public void setContentDeduplicator(@Nullable ContentDeduplicator contentDeduplicator) {
+		this.contentDeduplicator = contentDeduplicator;
+	}
+
+	/**
+	 * Keep snapshots of loaded and saved entities per collection, so that saving an entity to the collection it was
+	 * loaded from again only sends the fields changed since as atomic update. Snapshots are dropped when the entity is
+	 * deleted by id and cleared for the collection on delete by query and rollback. Entities of group results and
+	 * {@link #queryAcrossCollections(Collection, Query, Class) queries across collections} are not tracked.
+	 *
+	 * @param entitySnapshots can be {@literal null} to always write whole documents.
+	 * @since 4.4
+	 * @see #saveChanges(String, Object, Object, Duration)
+	 */
+	public void setEntitySnapshots(@Nullable EntitySnapshots entitySnapshots) {
+		this.entitySnapshots = entitySnapshots;
+	}
+
+	/**
+	 * @param atomicUpdateDiffer the {@link AtomicUpdateDiffer} computing changes of entities. Defaults to one using the
+	 *          {@link #getConverter() converter}.
+	 * @since 4.4
+	 */
+	public void setAtomicUpdateDiffer(AtomicUpdateDiffer atomicUpdateDiffer) {
+
+		Assert.notNull(atomicUpdateDiffer, "AtomicUpdateDiffer must not be null");
+		this.atomicUpdateDiffer = atomicUpdateDiffer;
+	}
+
+	/**
+	 * Split {@link #deleteByIds(String, Collection) deletes by id} into requests of at most the given number of ids.
+	 *
+	 * @param deleteBatchSize max number of ids per request. {@literal 0} sends all ids in one request, which is the
+	 *          default.
+	 * @since 4.4
+	 */
+	public void setDeleteBatchSize(int deleteBatchSize) {
+
+		Assert.isTrue(deleteBatchSize >= 0, "DeleteBatchSize must not be negative");
+		this.deleteBatchSize = deleteBatchSize;
+	}
+
+	/**
+	 * Run the batches of a {@link #setDeleteBatchSize(int) batched} delete by id concurrently. The executor bounds the
+	 * number of concurrent requests.
+	 *
+	 * @param deleteExecutor can be {@literal null} to run batches one after another on the calling thread.
+	 * @since 4.4
+	 */
+	public void setDeleteExecutor(@Nullable Executor deleteExecutor) {
+		this.deleteExecutor = deleteExecutor;
+	}
+
+	/**
+	 * Turn {@link #delete(String, SolrDataQuery, Class) deletes by query} into a cursor over the unique keys of the
+	 * matching documents followed by {@link #setDeleteBatchSize(int) batched} deletes by id. Delete by query blocks
+	 * concurrent updates on SolrCloud and may be reordered with them, while deletes by id do not. The semantics differ
+	 * from delete by query though:
+	 * <ul>
+	 * <li>Documents added while paging may not be deleted.</li>
+	 * <li>The cursor only sees searchable documents, so matching documents that have not been committed yet are not
+	 * deleted.</li>
+	 * <li>Deleting parent documents by id does not delete their nested child documents, which remain orphaned.</li>
+	 * <li>If a batch fails, batches deleted before or concurrently are not rolled back.</li>
+	 * </ul>
+	 *
+	 * @param deleteByQueryViaIds {@literal true} to delete by id. Defaults to {@literal false}.
+	 * @since 4.4
+	 */
+	public void setDeleteByQueryViaIds(boolean deleteByQueryViaIds) {
+		this.deleteByQueryViaIds = deleteByQueryViaIds;
+	}
+
+	/**
+	 * @param queryExecutor executor running the queries of {@link #queryAll(List, Duration)}, which bounds the number of
+	 *          concurrent queries. Queries it rejects run on the calling thread. Defaults to a pool of
+	 *          {@literal max(4, 2 * available processors)} threads queueing up to {@literal 16} queries per thread.
+	 * @since 4.4
+	 */
+	public void setQueryExecutor(Executor queryExecutor) {
+
+		Assert.notNull(queryExecutor, "QueryExecutor must not be null");
+		this.queryExecutor = queryExecutor;
+	}
+
+	private AtomicUpdateDiffer getAtomicUpdateDiffer() {
+
+		if (atomicUpdateDiffer == null) {
+			atomicUpdateDiffer = new AtomicUpdateDiffer(getConverter());
+		}
+		return atomicUpdateDiffer;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
@@ -726,7 +1739,12 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 			this.solrConverter = getDefaultSolrConverter();
 		}
 
+		if (this.parallelConversionThreshold > 0 && this.solrConverter instanceof MappingSolrConverter) {
+			((MappingSolrConverter) this.solrConverter).setParallelReadThreshold(this.parallelConversionThreshold);
+		}
+
 		this.queryParsers = new QueryParsers(this.mappingContext);
+		this.queryParsers.setParameterDereferencing(this.queryParameterDereferencing);
 		registerPersistenceExceptionTranslator();
 	}
 
@@ -805,4 +1823,36 @@ public class SolrTemplate implements SolrOperations, InitializingBean, Applicati
 	public RequestMethod getDefaultRequestMethod() {
 		return defaultRequestMethod;
 	}
+
+	/**
+	 * {@link SolrExecutionInterceptor.Chain} invoking the interceptor at {@code index} and finally the
+	 * {@link SolrCallback}.
+	 */
+	private class InterceptorChain<T> implements SolrExecutionInterceptor.Chain<T> {
+
+		private final List<SolrExecutionInterceptor> interceptors;
+		private final int index;
+		private final SolrExecution execution;
+		private final SolrCallback<T> action;
+
+		InterceptorChain(List<SolrExecutionInterceptor> interceptors, int index, SolrExecution execution,
+				SolrCallback<T> action) {
+
+			this.interceptors = interceptors;
+			this.index = index;
+			this.execution = execution;
+			this.action = action;
+		}
+
+		@Override
+		public T proceed() throws Exception {
+
+			if (index < interceptors.size()) {
+				return interceptors.get(index).intercept(execution,
+						new InterceptorChain<>(interceptors, index + 1, execution, action));
+			}
+
+			return action.doInSolr(getSolrClient());
+		}
+	}
 }
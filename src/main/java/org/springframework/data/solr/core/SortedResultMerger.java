@@ -0,0 +1,233 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrQuery.ORDER;
+import org.apache.solr.client.solrj.SolrQuery.SortClause;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CommonParams;
+import org.springframework.util.StringUtils;
+
+/**
+ * Merges the sorted results of the same query against multiple collections into one page via a k-way merge on the
+ * sort values, or the score for queries without sort. Documents with equal sort values are taken in collection order.
+ *
+ * @since 4.4
+ */
+class SortedResultMerger {
+
+	private static final String SCORE_FIELD = "score";
+	private static final String SORT_VALUE_ALIAS_PREFIX = "_sort_";
+
+	private final List<SortKey> sortKeys;
+
+	/**
+	 * Prepare the query to return the candidates for the requested page from every collection, along with the values
+	 * they are merged on.
+	 *
+	 * @param query the query to adjust. Must not be {@literal null}.
+	 * @param offset number of merged documents to skip.
+	 * @param rows number of merged documents to return.
+	 */
+	SortedResultMerger(SolrQuery query, long offset, int rows) {
+
+		List<SortClause> sorts = query.getSorts();
+		List<SortKey> keys = new ArrayList<>();
+		// the requested fields may contain functions, so they are passed on as is
+		StringBuilder fields = new StringBuilder(StringUtils.hasText(query.getFields()) ? query.getFields() : "*");
+
+		if (sorts.isEmpty()) {
+
+			keys.add(new SortKey(SCORE_FIELD, false));
+			fields.append(',').append(SCORE_FIELD);
+		} else {
+
+			for (int i = 0; i < sorts.size(); i++) {
+
+				SortClause sort = sorts.get(i);
+				boolean ascending = sort.getOrder() == ORDER.asc;
+
+				if (isFieldName(sort.getItem())) {
+
+					keys.add(new SortKey(sort.getItem(), ascending));
+					fields.append(',').append(sort.getItem());
+				} else {
+
+					// function sorts are returned under an alias
+					String alias = SORT_VALUE_ALIAS_PREFIX + i;
+					keys.add(new SortKey(alias, ascending));
+					fields.append(',').append(alias).append(':').append(sort.getItem());
+				}
+			}
+		}
+
+		query.set(CommonParams.FL, fields.toString());
+		query.setStart(0);
+		query.setRows((int) Math.min(Integer.MAX_VALUE, offset + rows));
+
+		this.sortKeys = keys;
+	}
+
+	/**
+	 * @param results the results of the prepared query per collection. Must not be {@literal null}.
+	 * @param offset number of merged documents to skip.
+	 * @param rows number of merged documents to return.
+	 * @return the documents of the requested page with the total number of matches and the max score of all results.
+	 */
+	SolrDocumentList merge(List<SolrDocumentList> results, long offset, int rows) {
+
+		PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, results.size()));
+		long numFound = 0;
+		Float maxScore = null;
+
+		for (int i = 0; i < results.size(); i++) {
+
+			SolrDocumentList result = results.get(i);
+			if (result == null) {
+				continue;
+			}
+
+			numFound += result.getNumFound();
+			if (result.getMaxScore() != null) {
+				maxScore = maxScore == null ? result.getMaxScore() : Math.max(maxScore, result.getMaxScore());
+			}
+			if (!result.isEmpty()) {
+				heads.add(new Head(result, i));
+			}
+		}
+
+		SolrDocumentList page = new SolrDocumentList();
+		page.setNumFound(numFound);
+		page.setStart(offset);
+		page.setMaxScore(maxScore);
+
+		long position = 0;
+		while (!heads.isEmpty() && page.size() < rows) {
+
+			Head head = heads.poll();
+			if (position++ >= offset) {
+				page.add(stripSortValues(head.current()));
+			}
+			if (head.advance()) {
+				heads.add(head);
+			}
+		}
+
+		return page;
+	}
+
+	private SolrDocument stripSortValues(SolrDocument document) {
+
+		for (SortKey key : sortKeys) {
+			if (key.field.startsWith(SORT_VALUE_ALIAS_PREFIX)) {
+				document.removeFields(key.field);
+			}
+		}
+		return document;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private int compare(SolrDocument left, SolrDocument right) {
+
+		for (SortKey key : sortKeys) {
+
+			Object leftValue = left.getFirstValue(key.field);
+			Object rightValue = right.getFirstValue(key.field);
+
+			int result;
+			if (leftValue == null || rightValue == null) {
+				// missing values sort last regardless of the direction
+				result = leftValue == rightValue ? 0 : leftValue == null ? 1 : -1;
+			} else if (leftValue instanceof Comparable && leftValue.getClass().isInstance(rightValue)) {
+				result = key.ascending ? ((Comparable) leftValue).compareTo(rightValue)
+						: ((Comparable) rightValue).compareTo(leftValue);
+			} else if (leftValue instanceof Number && rightValue instanceof Number) {
+				result = key.ascending ? Double.compare(((Number) leftValue).doubleValue(), ((Number) rightValue).doubleValue())
+						: Double.compare(((Number) rightValue).doubleValue(), ((Number) leftValue).doubleValue());
+			} else {
+				result = key.ascending ? leftValue.toString().compareTo(rightValue.toString())
+						: rightValue.toString().compareTo(leftValue.toString());
+			}
+
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	private static boolean isFieldName(String item) {
+
+		for (int i = 0; i < item.length(); i++) {
+
+			char c = item.charAt(i);
+			if (!Character.isLetterOrDigit(c) && c != '_' && c != '.' && c != '-') {
+				return false;
+			}
+		}
+		return !item.isEmpty();
+	}
+
+	private static class SortKey {
+
+		private final String field;
+		private final boolean ascending;
+
+		SortKey(String field, boolean ascending) {
+
+			this.field = field;
+			this.ascending = ascending;
+		}
+	}
+
+	/**
+	 * Position within the result of one collection.
+	 */
+	private class Head implements Comparable<Head> {
+
+		private final List<SolrDocument> documents;
+		private final int collectionIndex;
+		private int position;
+
+		Head(List<SolrDocument> documents, int collectionIndex) {
+
+			this.documents = documents;
+			this.collectionIndex = collectionIndex;
+		}
+
+		SolrDocument current() {
+			return documents.get(position);
+		}
+
+		boolean advance() {
+			return ++position < documents.size();
+		}
+
+		@Override
+		public int compareTo(Head other) {
+
+			int result = compare(current(), other.current());
+			return result != 0 ? result : Integer.compare(collectionIndex, other.collectionIndex);
+		}
+	}
+
+}
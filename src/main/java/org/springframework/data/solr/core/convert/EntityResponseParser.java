@@ -0,0 +1,294 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.convert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.solr.client.solrj.impl.BinaryResponseParser;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrException.ErrorCode;
+import org.apache.solr.common.util.DataInputInputStream;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.apache.solr.common.util.NamedList;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.solr.core.mapping.SolrPersistentEntity;
+import org.springframework.data.solr.core.mapping.SolrPersistentProperty;
+import org.springframework.data.solr.core.query.Criteria;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * {@link BinaryResponseParser} converting the documents of the main result list into entities while the javabin stream
+ * is decoded. Instead of collecting all {@link SolrDocument}s in a {@link SolrDocumentList} and converting them
+ * afterwards, each document is handed to the {@link SolrConverter} as soon as it has been read and becomes garbage
+ * right away. Fields not mapped by the entity are skipped based on a field table computed once per entity.
+ * <p>
+ * The {@link SolrDocumentList} of the response only carries {@literal numFound}, {@literal start} and
+ * {@literal maxScore}. Use {@link #getEntities(QueryResponse)} to obtain the converted entities. Other document lists,
+ * such as expanded results, are decoded as usual. Grouped responses are not supported as they do not contain a main
+ * result list. Instances hold state of the response being parsed and must not be shared across requests.
+ *
+ * @param <T> the entity type.
+ * @since 4.4
+ */
+public class EntityResponseParser<T> extends BinaryResponseParser {
+
+	static final String ENTITIES = "_entities_";
+	static final String CONVERSION_TIME = "_conversionTime_";
+
+	private static final Map<SolrPersistentEntity<?>, FieldTable> FIELD_TABLES = new ConcurrentReferenceHashMap<>();
+
+	private final SolrConverter converter;
+	private final Class<T> type;
+	private final FieldTable fieldTable;
+
+	/**
+	 * @param converter must not be {@literal null}.
+	 * @param type the entity type to convert documents into. Must not be {@literal null}.
+	 */
+	public EntityResponseParser(SolrConverter converter, Class<T> type) {
+
+		Assert.notNull(converter, "Converter must not be null");
+		Assert.notNull(type, "Type must not be null");
+
+		this.converter = converter;
+		this.type = type;
+		this.fieldTable = hasCustomDocumentReader(converter, type) ? FieldTable.ALL
+				: FIELD_TABLES.computeIfAbsent(converter.getMappingContext().getRequiredPersistentEntity(type),
+						FieldTable::of);
+	}
+
+	/**
+	 * Obtain the entities decoded by an {@link EntityResponseParser}.
+	 *
+	 * @param response must not be {@literal null}.
+	 * @return {@literal null} if the response has not been parsed by an {@link EntityResponseParser}.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public static <T> List<T> getEntities(QueryResponse response) {
+		return response.getResponse() != null ? (List<T>) response.getResponse().get(ENTITIES) : null;
+	}
+
+	/**
+	 * Obtain the time spent converting documents into entities while decoding a response.
+	 *
+	 * @param response must not be {@literal null}.
+	 * @return the time in nanoseconds or {@literal -1} if the response has not been parsed by an
+	 *         {@link EntityResponseParser}.
+	 */
+	public static long getConversionTime(QueryResponse response) {
+
+		Object conversionTime = response.getResponse() != null ? response.getResponse().get(CONVERSION_TIME) : null;
+		return conversionTime instanceof Long ? (Long) conversionTime : -1L;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.apache.solr.client.solrj.impl.BinaryResponseParser#processResponse(java.io.InputStream, java.lang.String)
+	 */
+	@Override
+	public NamedList<Object> processResponse(InputStream body, String encoding) {
+
+		EntityCodec codec = new EntityCodec();
+		NamedList<Object> response = parse(codec, body);
+		response.add(ENTITIES, codec.entities);
+		response.add(CONVERSION_TIME, codec.conversionNanos);
+		return response;
+	}
+
+	@SuppressWarnings("unchecked")
+	private NamedList<Object> parse(JavaBinCodec codec, InputStream body) {
+
+		try {
+			return (NamedList<Object>) codec.unmarshal(body);
+		} catch (IOException e) {
+			throw new SolrException(ErrorCode.SERVER_ERROR, "parsing error", e);
+		}
+	}
+
+	private static boolean hasCustomDocumentReader(SolrConverter converter, Class<?> type) {
+		return converter instanceof SolrConverterBase
+				&& ((SolrConverterBase) converter).getCustomConversions().hasCustomReadTarget(SolrDocument.class, type);
+	}
+
+	/**
+	 * {@link JavaBinCodec} converting the documents of the first {@link SolrDocumentList} into entities.
+	 */
+	private class EntityCodec extends JavaBinCodec {
+
+		private final List<T> entities = new ArrayList<>();
+		private long conversionNanos;
+
+		private boolean decodingMainResult;
+		private boolean mainResultDecoded;
+		private int depth;
+
+		EntityCodec() {
+			super(null, stringCache);
+		}
+
+		@Override
+		public SolrDocumentList readSolrDocumentList(DataInputInputStream dis) throws IOException {
+
+			if (mainResultDecoded || depth > 0) {
+				return super.readSolrDocumentList(dis);
+			}
+
+			SolrDocumentList documents = new SolrDocumentList();
+			List<?> header = (List<?>) readVal(dis);
+			documents.setNumFound((Long) header.get(0));
+			documents.setStart((Long) header.get(1));
+			documents.setMaxScore((Float) header.get(2));
+
+			decodingMainResult = true;
+			try {
+				// documents are converted by readSolrDocument, the list read here only contains null placeholders
+				readVal(dis);
+			} finally {
+				decodingMainResult = false;
+				mainResultDecoded = true;
+			}
+
+			return documents;
+		}
+
+		@Override
+		@Nullable
+		public SolrDocument readSolrDocument(DataInputInputStream dis) throws IOException {
+
+			depth++;
+			try {
+
+				if (!decodingMainResult || depth > 1) {
+					return super.readSolrDocument(dis);
+				}
+
+				SolrDocument document = readMappedFields(dis);
+
+				long start = System.nanoTime();
+				entities.add(converter.read(type, document));
+				conversionNanos += System.nanoTime() - start;
+				return null;
+			} finally {
+				depth--;
+			}
+		}
+
+		private SolrDocument readMappedFields(DataInputInputStream dis) throws IOException {
+
+			tagByte = dis.readByte();
+			int size = readSize(dis);
+
+			SolrDocument document = new SolrDocument(new LinkedHashMap<>(Math.min(size, fieldTable.size()) * 4 / 3 + 1));
+			for (int i = 0; i < size; i++) {
+
+				Object nameOrChild = readVal(dis);
+				if (nameOrChild instanceof SolrDocument) {
+					document.addChildDocument((SolrDocument) nameOrChild);
+					continue;
+				}
+
+				String fieldName = (String) nameOrChild;
+				Object value = readVal(dis);
+				if (fieldTable.contains(fieldName)) {
+					document.setField(fieldName, value);
+				}
+			}
+
+			return document;
+		}
+	}
+
+	/**
+	 * Names of the fields read by an entity. Wildcard fields are matched by prefix or suffix.
+	 */
+	static class FieldTable {
+
+		static final FieldTable ALL = new FieldTable(Collections.emptySet(), Collections.emptyList(),
+				Collections.emptyList(), true);
+
+		private final Set<String> names;
+		private final List<String> prefixes;
+		private final List<String> suffixes;
+		private final boolean all;
+
+		private FieldTable(Set<String> names, List<String> prefixes, List<String> suffixes, boolean all) {
+
+			this.names = names;
+			this.prefixes = prefixes;
+			this.suffixes = suffixes;
+			this.all = all;
+		}
+
+		static FieldTable of(SolrPersistentEntity<?> entity) {
+
+			Set<String> names = new HashSet<>();
+			List<String> prefixes = new ArrayList<>();
+			List<String> suffixes = new ArrayList<>();
+
+			names.add("score");
+			entity.doWithProperties((PropertyHandler<SolrPersistentProperty>) property -> {
+
+				String fieldName = property.getFieldName();
+
+				if (!property.containsWildcard()) {
+					names.add(fieldName);
+				} else if (fieldName.startsWith(Criteria.WILDCARD)) {
+					suffixes.add(fieldName.substring(Criteria.WILDCARD.length()));
+				} else {
+					prefixes.add(fieldName.substring(0, fieldName.indexOf(Criteria.WILDCARD)));
+				}
+			});
+
+			return new FieldTable(names, prefixes, suffixes, false);
+		}
+
+		boolean contains(String fieldName) {
+
+			if (all || names.contains(fieldName)) {
+				return true;
+			}
+			for (String prefix : prefixes) {
+				if (fieldName.startsWith(prefix)) {
+					return true;
+				}
+			}
+			for (String suffix : suffixes) {
+				if (fieldName.endsWith(suffix)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		int size() {
+			return all ? 16 : names.size() + prefixes.size() + suffixes.size();
+		}
+	}
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.convert;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.client.solrj.request.RequestWriter.ContentWriter;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.client.solrj.util.ClientUtils;
+import org.apache.solr.common.IteratorWriter;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.UpdateParams;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.apache.solr.common.util.NamedList;
+import org.springframework.data.solr.core.convert.MappingSolrConverter.DocumentSink;
+import org.springframework.data.solr.core.mapping.SolrPersistentEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link AbstractUpdateRequest} adding entities to the index by serializing them straight into the javabin update
+ * format. With a {@link MappingSolrConverter} the properties of each entity, including dynamic maps and child
+ * documents, are written as they are read, without creating a {@link SolrInputDocument} per entity. The
+ * {@link SolrInputField}s holding converted values are reused across entities. Entities with a custom conversion to
+ * {@link SolrInputDocument} and other {@link SolrConverter}s are converted one at a time.
+ * <p>
+ * The request is understood by the {@link org.apache.solr.client.solrj.impl.BinaryRequestWriter}, and by request
+ * writers delegating to it. For XML request writers the entities are converted into {@link SolrInputDocument}s
+ * first. As the request is no {@link UpdateRequest}, {@link org.apache.solr.client.solrj.impl.CloudSolrClient} sends
+ * it to any node of the collection instead of routing documents to their shard leaders.
+ *
+ * @since 4.4
+ */
+public class EntityUpdateRequest extends AbstractUpdateRequest {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient SolrConverter converter;
+	private final Collection<?> entities;
+
+	/**
+	 * @param converter must not be {@literal null}.
+	 * @param entities must not be {@literal null}.
+	 */
+	public EntityUpdateRequest(SolrConverter converter, Collection<?> entities) {
+
+		super(METHOD.POST, "/update");
+
+		Assert.notNull(converter, "Converter must not be null");
+		Assert.notNull(entities, "Entities must not be null");
+
+		this.converter = converter;
+		this.entities = entities;
+	}
+
+	/**
+	 * @return the entities to add. Never {@literal null}.
+	 */
+	public Collection<?> getEntities() {
+		return Collections.unmodifiableCollection(entities);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.apache.solr.client.solrj.SolrRequest#getContentWriter(java.lang.String)
+	 */
+	@Override
+	@Nullable
+	public ContentWriter getContentWriter(String expectedType) {
+
+		if (entities.isEmpty()) {
+			return null;
+		}
+
+		if (CommonParams.JAVABIN_MIME.equals(expectedType)) {
+			return new JavaBinContentWriter();
+		}
+
+		return new XmlContentWriter();
+	}
+
+	private NamedList<Object> getParamsList() {
+
+		NamedList<Object> params = getParams() != null ? getParams().toNamedList() : new NamedList<>();
+		if (getCommitWithin() != -1) {
+			params.add(UpdateParams.COMMIT_WITHIN, getCommitWithin());
+		}
+		return params;
+	}
+
+	/**
+	 * Writes the same structure as {@link org.apache.solr.client.solrj.request.JavaBinUpdateRequestCodec} does for an
+	 * {@link UpdateRequest} streaming documents via {@link UpdateRequest#setDocIterator(java.util.Iterator)}.
+	 */
+	private class JavaBinContentWriter implements ContentWriter {
+
+		@Override
+		public void write(OutputStream os) throws IOException {
+
+			try (EntityCodec codec = new EntityCodec()) {
+
+				NamedList<Object> request = new NamedList<>();
+				request.add("params", getParamsList());
+				request.add("delByQ", null);
+				request.add("docs", (IteratorWriter) itemWriter -> {
+					for (Object entity : entities) {
+						codec.writeEntity(entity);
+					}
+				});
+
+				codec.marshal(request, os);
+			}
+		}
+
+		@Override
+		public String getContentType() {
+			return CommonParams.JAVABIN_MIME;
+		}
+	}
+
+	private class XmlContentWriter implements ContentWriter {
+
+		@Override
+		public void write(OutputStream os) throws IOException {
+
+			UpdateRequest request = new UpdateRequest();
+			request.setParams(getParams());
+			request.setCommitWithin(getCommitWithin());
+
+			for (Object entity : entities) {
+
+				SolrInputDocument document = new SolrInputDocument();
+				converter.write(entity, document);
+				request.add(document);
+			}
+
+			Writer writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+			request.writeXML(writer);
+			writer.flush();
+		}
+
+		@Override
+		public String getContentType() {
+			return ClientUtils.TEXT_XML;
+		}
+	}
+
+	/**
+	 * {@link JavaBinCodec} writing entities as {@link JavaBinCodec#SOLRINPUTDOC}. Fields of the entity currently being
+	 * written are buffered in reused {@link SolrInputField}s as the number of fields precedes them in the format.
+	 */
+	private class EntityCodec extends JavaBinCodec implements DocumentSink {
+
+		private final List<SolrInputField> fields = new ArrayList<>();
+		private int fieldCount;
+
+		private @Nullable List<Object> children;
+		private @Nullable List<SolrPersistentEntity<?>> childEntities;
+
+		void writeEntity(Object source) throws IOException {
+
+			Class<?> type = ClassUtils.getUserClass(source);
+
+			if (converter instanceof MappingSolrConverter
+					&& !((MappingSolrConverter) converter).hasCustomWriteTarget(type, SolrInputDocument.class)) {
+				writeEntity(source, converter.getMappingContext().getRequiredPersistentEntity(type));
+				return;
+			}
+
+			SolrInputDocument document = new SolrInputDocument();
+			converter.write(source, document);
+			writeSolrInputDocument(document);
+		}
+
+		private void writeEntity(Object source, SolrPersistentEntity<?> entity) throws IOException {
+
+			fieldCount = 0;
+			children = null;
+			childEntities = null;
+
+			((MappingSolrConverter) converter).write(source, this, entity);
+
+			List<Object> nested = children;
+			List<SolrPersistentEntity<?>> nestedEntities = childEntities;
+
+			writeTag(SOLRINPUTDOC, fieldCount + (nested != null ? nested.size() : 0));
+			writeFloat(1F);
+
+			for (int i = 0; i < fieldCount; i++) {
+
+				SolrInputField field = fields.get(i);
+				writeExternString(field.getName());
+				writeVal(field.getValue());
+			}
+
+			if (nested != null) {
+				for (int i = 0; i < nested.size(); i++) {
+					writeEntity(nested.get(i), nestedEntities.get(i));
+				}
+			}
+		}
+
+		@Override
+		public SolrInputField addField(String name) {
+
+			// like SolrInputDocument, a field written twice keeps its position but only the latter values
+			for (int i = 0; i < fieldCount; i++) {
+				if (fields.get(i).getName().equals(name)) {
+					fields.get(i).setValue(null);
+					return fields.get(i);
+				}
+			}
+
+			SolrInputField field;
+			if (fieldCount < fields.size()) {
+
+				field = fields.get(fieldCount);
+				field.setName(name);
+				field.setValue(null);
+			} else {
+
+				field = new SolrInputField(name);
+				fields.add(field);
+			}
+
+			fieldCount++;
+			return field;
+		}
+
+		@Override
+		public void addChildDocument(Object source, SolrPersistentEntity<?> entity) {
+
+			if (children == null || childEntities == null) {
+				children = new ArrayList<>();
+				childEntities = new ArrayList<>();
+			}
+
+			children.add(source);
+			childEntities.add(entity);
+		}
+	}
+}
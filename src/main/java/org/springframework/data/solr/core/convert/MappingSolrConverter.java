@@ -16,12 +16,15 @@
 package org.springframework.data.solr.core.convert;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.common.SolrDocument;
@@ -130,6 +133,9 @@ public class MappingSolrConverter extends SolrConverterBase
 	@SuppressWarnings("unused") //
 	private @Nullable ApplicationContext applicationContext;
 
+	private int parallelReadThreshold = 0;
+	private @Nullable ForkJoinPool forkJoinPool;
+
 	public MappingSolrConverter(
 			MappingContext<? extends SolrPersistentEntity<?>, SolrPersistentProperty> mappingContext) {
 		Assert.notNull(mappingContext, "MappingContext must not be null");
@@ -143,13 +149,25 @@ public class MappingSolrConverter extends SolrConverterBase
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <S, R> List<R> read(@Nullable SolrDocumentList source, Class<R> type) {
 		if (source == null) {
 			return Collections.emptyList();
 		}
 
-		List<R> resultList = new ArrayList<>(source.size());
 		TypeInformation<R> typeInformation = ClassTypeInformation.from(type);
+
+		if (isParallelRead(source.size())) {
+
+			ForkJoinPool pool = getForkJoinPool();
+			Object[] entities = new Object[source.size()];
+			int chunkSize = Math.max(1, source.size() / (pool.getParallelism() * 4));
+
+			pool.invoke(new ReadTask(source, typeInformation, entities, 0, source.size(), chunkSize));
+			return new ArrayList<>((List<R>) Arrays.asList(entities));
+		}
+
+		List<R> resultList = new ArrayList<>(source.size());
 		for (SolrDocumentBase item : source) {
 			resultList.add(read(typeInformation, item));
 		}
@@ -157,6 +175,54 @@ public class MappingSolrConverter extends SolrConverterBase
 		return resultList;
 	}
 
+	/**
+	 * Convert document lists of at least the given size by splitting them across a {@link ForkJoinPool}. The order of
+	 * the documents is retained. Disabled by default.
+	 *
+	 * @param parallelReadThreshold minimum number of documents to read in parallel. {@literal 0} to always read on the
+	 *          calling thread.
+	 * @since 4.4
+	 */
+	public void setParallelReadThreshold(int parallelReadThreshold) {
+
+		Assert.isTrue(parallelReadThreshold >= 0, "ParallelReadThreshold must not be negative");
+		this.parallelReadThreshold = parallelReadThreshold;
+	}
+
+	/**
+	 * @return the minimum number of documents read in parallel. {@literal 0} if disabled.
+	 * @since 4.4
+	 */
+	public int getParallelReadThreshold() {
+		return parallelReadThreshold;
+	}
+
+	/**
+	 * @param forkJoinPool the pool to read documents in parallel with. Defaults to the
+	 *          {@link ForkJoinPool#commonPool() common pool} if {@literal null}.
+	 * @since 4.4
+	 */
+	public void setForkJoinPool(@Nullable ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * @return the pool to read documents in parallel with. Never {@literal null}.
+	 * @since 4.4
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return forkJoinPool != null ? forkJoinPool : ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * @param documents number of documents to read.
+	 * @return {@literal true} if the given number of documents is read in parallel.
+	 * @since 4.4
+	 */
+	public boolean isParallelRead(int documents) {
+		return parallelReadThreshold > 0 && documents >= parallelReadThreshold;
+	}
+
 	@Override
 	public <R> R read(Class<R> type, SolrDocumentBase source) {
 		return read(ClassTypeInformation.from(type), source);
@@ -283,6 +349,20 @@ public class MappingSolrConverter extends SolrConverterBase
 
 	@SuppressWarnings("rawtypes")
 	protected void write(Object source, final SolrDocumentBase target, SolrPersistentEntity<?> entity) {
+		write(source, new SolrDocumentSink(target), entity);
+	}
+
+	/**
+	 * Write the properties of the given source to the given {@link DocumentSink}, which decides where fields and child
+	 * documents end up.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @param sink must not be {@literal null}.
+	 * @param entity must not be {@literal null}.
+	 * @since 4.4
+	 */
+	@SuppressWarnings("rawtypes")
+	void write(Object source, DocumentSink sink, SolrPersistentEntity<?> entity) {
 
 		final PersistentPropertyAccessor accessor = new ConvertingPropertyAccessor(entity.getPropertyAccessor(source),
 				getConversionService());
@@ -300,40 +380,32 @@ public class MappingSolrConverter extends SolrConverterBase
 			}
 
 			if (persistentProperty.isMap() && persistentProperty.containsWildcard()) {
-				writeWildcardMapPropertyToTarget(target, persistentProperty, (Map<?, ?>) value);
+				writeWildcardMapPropertyToTarget(sink, persistentProperty, (Map<?, ?>) value);
 			} else if (persistentProperty.isEntity() && persistentProperty.isChildProperty()) {
 
-				List<SolrInputDocument> nestedDocs = new ArrayList<>();
+				SolrPersistentEntity<?> childEntity = mappingContext
+						.getRequiredPersistentEntity(persistentProperty.getActualType());
 
 				if (persistentProperty.isCollectionLike()) {
-
 					for (Object obj : asCollection(value)) {
-						SolrInputDocument nested = new SolrInputDocument();
-						write(obj, nested, mappingContext.getRequiredPersistentEntity(persistentProperty.getActualType()));
-						nestedDocs.add(nested);
+						sink.addChildDocument(obj, childEntity);
 					}
 				} else {
-					SolrInputDocument nested = new SolrInputDocument();
-					write(value, nested, mappingContext.getRequiredPersistentEntity(persistentProperty.getActualType()));
-					nestedDocs.add(nested);
+					sink.addChildDocument(value, childEntity);
 				}
-
-				target.addChildDocuments(nestedDocs);
 			} else {
-				writeRegularPropertyToTarget(target, persistentProperty, value);
+				writeRegularPropertyToTarget(sink, persistentProperty, value);
 			}
 		});
 	}
 
-	private Collection<SolrInputField> writeWildcardMapPropertyToTarget(SolrDocumentBase target,
-			SolrPersistentProperty persistentProperty, Map<?, ?> fieldValue) {
+	private void writeWildcardMapPropertyToTarget(DocumentSink sink, SolrPersistentProperty persistentProperty,
+			Map<?, ?> fieldValue) {
 
 		TypeInformation<?> mapTypeInformation = persistentProperty.getTypeInformation().getRequiredMapValueType();
 		Class<?> rawMapType = mapTypeInformation.getType();
 		String fieldName = persistentProperty.getFieldName();
 
-		Collection<SolrInputField> fields = new ArrayList<>();
-
 		for (Map.Entry<?, ?> entry : fieldValue.entrySet()) {
 
 			Object value = entry.getValue();
@@ -343,7 +415,7 @@ public class MappingSolrConverter extends SolrConverterBase
 				key = WildcardPosition.getAppropriate(fieldName).createName(fieldName, key);
 			}
 
-			SolrInputField field = new SolrInputField(key);
+			SolrInputField field = sink.addField(key);
 
 			if (value instanceof Iterable) {
 
@@ -361,18 +433,13 @@ public class MappingSolrConverter extends SolrConverterBase
 				}
 
 			}
-
-			target.put(key, field);
-			fields.add(field);
 		}
-
-		return fields;
 	}
 
-	private Collection<SolrInputField> writeRegularPropertyToTarget(final SolrDocumentBase target,
-			SolrPersistentProperty persistentProperty, Object fieldValue) {
+	private void writeRegularPropertyToTarget(DocumentSink sink, SolrPersistentProperty persistentProperty,
+			Object fieldValue) {
 
-		SolrInputField field = new SolrInputField(persistentProperty.getFieldName());
+		SolrInputField field = sink.addField(persistentProperty.getFieldName());
 
 		if (persistentProperty.isCollectionLike()) {
 			Collection<?> collection = asCollection(fieldValue);
@@ -390,11 +457,6 @@ public class MappingSolrConverter extends SolrConverterBase
 		} else {
 			field.setValue(convertToSolrType(persistentProperty.getType(), fieldValue));
 		}
-
-		target.put(persistentProperty.getFieldName(), field);
-
-		return Collections.singleton(field);
-
 	}
 
 	private Object convertToSolrType(@Nullable Class<?> type, @Nullable Object value) {
@@ -423,6 +485,98 @@ public class MappingSolrConverter extends SolrConverterBase
 		this.applicationContext = applicationContext;
 	}
 
+	/**
+	 * Receiver of the fields and child documents written for an entity.
+	 *
+	 * @since 4.4
+	 */
+	interface DocumentSink {
+
+		/**
+		 * @param name the Solr field name.
+		 * @return the {@link SolrInputField} to add the values of the field to.
+		 */
+		SolrInputField addField(String name);
+
+		/**
+		 * @param source the child entity.
+		 * @param entity the {@link SolrPersistentEntity} of the child entity.
+		 */
+		void addChildDocument(Object source, SolrPersistentEntity<?> entity);
+	}
+
+	/**
+	 * Reads a range of documents into the same positions of the target array, splitting ranges larger than the chunk
+	 * size in halves.
+	 */
+	@SuppressWarnings("serial")
+	private class ReadTask extends RecursiveAction {
+
+		private final List<? extends SolrDocumentBase> source;
+		private final TypeInformation<?> typeInformation;
+		private final Object[] target;
+		private final int from;
+		private final int to;
+		private final int chunkSize;
+
+		ReadTask(List<? extends SolrDocumentBase> source, TypeInformation<?> typeInformation, Object[] target, int from,
+				int to, int chunkSize) {
+
+			this.source = source;
+			this.typeInformation = typeInformation;
+			this.target = target;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (to - from <= chunkSize) {
+				for (int i = from; i < to; i++) {
+					target[i] = read(typeInformation, source.get(i));
+				}
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			invokeAll(new ReadTask(source, typeInformation, target, from, middle, chunkSize),
+					new ReadTask(source, typeInformation, target, middle, to, chunkSize));
+		}
+	}
+
+	/**
+	 * {@link DocumentSink} collecting fields and child documents in a {@link SolrDocumentBase}.
+	 */
+	private class SolrDocumentSink implements DocumentSink {
+
+		@SuppressWarnings("rawtypes") //
+		private final SolrDocumentBase target;
+
+		SolrDocumentSink(@SuppressWarnings("rawtypes") SolrDocumentBase target) {
+			this.target = target;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public SolrInputField addField(String name) {
+
+			SolrInputField field = new SolrInputField(name);
+			target.put(name, field);
+			return field;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void addChildDocument(Object source, SolrPersistentEntity<?> entity) {
+
+			SolrInputDocument nested = new SolrInputDocument();
+			write(source, nested, entity);
+			target.addChildDocument(nested);
+		}
+	}
+
 	private class SolrPropertyValueProvider implements PropertyValueProvider<SolrPersistentProperty> {
 
 		private final Object source;
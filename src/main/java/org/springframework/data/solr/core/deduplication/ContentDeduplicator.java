@@ -0,0 +1,346 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.deduplication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Drops documents from write requests whose content did not change since they were last written. A stable 64 bit hash
+ * of each {@link SolrInputDocument} is compared against the hash recorded in a {@link ContentHashStore} for the
+ * document id. Documents without id and atomic updates are always written. Atomic updates invalidate the hash of their
+ * document, as they change its content without it being known to the deduplicator.
+ * <p>
+ * The hash covers all fields, except {@link #setExcludedFields(Collection) excluded} ones, independent of field order,
+ * as well as child documents. Hashes are recorded by {@link ChangeSet#markWritten()} once Solr accepted the documents.
+ *
+ * @since 4.4
+ */
+public class ContentDeduplicator {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final ContentHashStore store;
+	private String idField = "id";
+	private Set<String> excludedFields = Collections.singleton("_version_");
+
+	private final LongAdder writtenDocuments = new LongAdder();
+	private final LongAdder skippedDocuments = new LongAdder();
+
+	/**
+	 * @param store must not be {@literal null}.
+	 */
+	public ContentDeduplicator(ContentHashStore store) {
+
+		Assert.notNull(store, "ContentHashStore must not be null");
+		this.store = store;
+	}
+
+	/**
+	 * Determine the documents that need to be written.
+	 *
+	 * @param collection can be {@literal null}.
+	 * @param documents must not be {@literal null}.
+	 * @return never {@literal null}.
+	 */
+	public ChangeSet detectChanges(@Nullable String collection, Collection<SolrInputDocument> documents) {
+
+		Assert.notNull(documents, "Documents must not be null");
+
+		List<SolrInputDocument> changed = new ArrayList<>(documents.size());
+		List<SolrInputDocument> candidates = new ArrayList<>(documents.size());
+		List<String> ids = new ArrayList<>(documents.size());
+		Set<String> atomicUpdateIds = new HashSet<>();
+		long[] candidateHashes = new long[documents.size()];
+		String hashField = store.getHashField();
+
+		for (SolrInputDocument document : documents) {
+
+			Object id = document.getFieldValue(idField);
+			if (id == null) {
+				changed.add(document);
+				continue;
+			}
+
+			if (isAtomicUpdate(document)) {
+
+				if (hashField != null && !document.containsKey(hashField)) {
+					document.setField(hashField, Collections.singletonMap("set", null));
+				}
+				atomicUpdateIds.add(id.toString());
+				changed.add(document);
+				continue;
+			}
+
+			candidateHashes[candidates.size()] = hash(document);
+			candidates.add(document);
+			ids.add(id.toString());
+		}
+
+		Map<String, Long> known = ids.isEmpty() ? Collections.emptyMap() : store.getHashes(collection, ids);
+		Map<String, Long> hashes = new LinkedHashMap<>();
+
+		int skipped = 0;
+		for (int i = 0; i < candidates.size(); i++) {
+
+			String id = ids.get(i);
+			Long hash = candidateHashes[i];
+
+			if (hash.equals(known.get(id)) && !hashes.containsKey(id)) {
+				skipped++;
+				continue;
+			}
+
+			SolrInputDocument document = candidates.get(i);
+			if (hashField != null) {
+				document.setField(hashField, hash);
+			}
+
+			hashes.put(id, hash);
+			changed.add(document);
+		}
+
+		if (!atomicUpdateIds.isEmpty()) {
+
+			// the stored content is unknown once an atomic update has been applied
+			store.removeHashes(collection, atomicUpdateIds);
+			hashes.keySet().removeAll(atomicUpdateIds);
+		}
+
+		skippedDocuments.add(skipped);
+		return new ChangeSet(collection, changed, hashes, skipped);
+	}
+
+	/**
+	 * Forget the hashes of deleted documents.
+	 *
+	 * @param collection can be {@literal null}.
+	 * @param ids must not be {@literal null}.
+	 */
+	public void evict(@Nullable String collection, Collection<String> ids) {
+		store.removeHashes(collection, ids);
+	}
+
+	/**
+	 * Forget all hashes of a collection, eg. after a delete by query or a rollback.
+	 *
+	 * @param collection can be {@literal null}.
+	 */
+	public void evictAll(@Nullable String collection) {
+		store.clear(collection);
+	}
+
+	/**
+	 * Compute the content hash of the given document.
+	 *
+	 * @param document must not be {@literal null}.
+	 * @return the hash.
+	 */
+	public long hash(SolrInputDocument document) {
+		return hash(FNV_OFFSET_BASIS, document);
+	}
+
+	private long hash(long hash, SolrInputDocument document) {
+
+		String hashField = store.getHashField();
+
+		List<String> names = new ArrayList<>(document.getFieldNames());
+		Collections.sort(names);
+
+		for (String name : names) {
+
+			if (excludedFields.contains(name) || name.equals(hashField)) {
+				continue;
+			}
+
+			SolrInputField field = document.getField(name);
+			hash = hash(hash, name);
+			hash = hashValue(hash, field.getValue());
+		}
+
+		if (document.hasChildDocuments()) {
+			for (SolrInputDocument child : document.getChildDocuments()) {
+				hash = hash(hash, '{');
+				hash = hash(hash, child);
+				hash = hash(hash, '}');
+			}
+		}
+
+		return hash;
+	}
+
+	private long hashValue(long hash, @Nullable Object value) {
+
+		if (value instanceof Collection) {
+
+			hash = hash(hash, '[');
+			for (Object item : (Collection<?>) value) {
+				hash = hashValue(hash, item);
+			}
+			return hash(hash, ']');
+		}
+
+		if (value instanceof SolrInputDocument) {
+			return hash(hash(hash(hash, '{'), (SolrInputDocument) value), '}');
+		}
+
+		// type markers keep eg. the number 1 and the string "1" apart
+		if (value == null) {
+			return hash(hash, '\u0000');
+		}
+		if (value instanceof Date) {
+			return hash(hash(hash, 'D'), Long.toString(((Date) value).getTime()));
+		}
+		if (value instanceof byte[]) {
+			return hash(hash(hash, 'B'), Base64.getEncoder().encodeToString((byte[]) value));
+		}
+		if (value instanceof Object[]) {
+			return hashValue(hash, Arrays.asList((Object[]) value));
+		}
+		if (value instanceof Map) {
+
+			Map<String, Object> sorted = new TreeMap<>();
+			((Map<?, ?>) value).forEach((key, item) -> sorted.put(String.valueOf(key), item));
+
+			hash = hash(hash, 'M');
+			for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+				hash = hashValue(hash(hash, entry.getKey()), entry.getValue());
+			}
+			return hash;
+		}
+
+		return hash(hash(hash, value.getClass().getSimpleName()), value.toString());
+	}
+
+	private static long hash(long hash, String value) {
+
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+		}
+		// separator, so that adjacent values cannot shift into each other
+		return hash(hash, '\u0001');
+	}
+
+	private static long hash(long hash, char c) {
+		return (hash ^ c) * FNV_PRIME;
+	}
+
+	private static boolean isAtomicUpdate(SolrInputDocument document) {
+
+		for (SolrInputField field : document) {
+			if (field.getValue() instanceof Map) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param idField name of the unique key field. Defaults to {@literal id}.
+	 */
+	public void setIdField(String idField) {
+
+		Assert.hasText(idField, "IdField must not be null nor empty");
+		this.idField = idField;
+	}
+
+	/**
+	 * @param excludedFields fields not taken into account for the hash, such as timestamps set on every save. Defaults
+	 *          to {@literal _version_}.
+	 */
+	public void setExcludedFields(Collection<String> excludedFields) {
+
+		Assert.notNull(excludedFields, "ExcludedFields must not be null");
+		this.excludedFields = new HashSet<>(excludedFields);
+	}
+
+	/**
+	 * @return the number of documents written since creation.
+	 */
+	public long getWrittenDocuments() {
+		return writtenDocuments.sum();
+	}
+
+	/**
+	 * @return the number of unchanged documents skipped since creation.
+	 */
+	public long getSkippedDocuments() {
+		return skippedDocuments.sum();
+	}
+
+	/**
+	 * The documents to write out of a batch.
+	 */
+	public class ChangeSet {
+
+		private final @Nullable String collection;
+		private final List<SolrInputDocument> documents;
+		private final Map<String, Long> hashes;
+		private final int skipped;
+
+		ChangeSet(@Nullable String collection, List<SolrInputDocument> documents, Map<String, Long> hashes,
+				int skipped) {
+
+			this.collection = collection;
+			this.documents = documents;
+			this.hashes = hashes;
+			this.skipped = skipped;
+		}
+
+		/**
+		 * @return the new or changed documents to write. Never {@literal null}.
+		 */
+		public List<SolrInputDocument> getDocuments() {
+			return Collections.unmodifiableList(documents);
+		}
+
+		/**
+		 * @return the number of unchanged documents skipped.
+		 */
+		public int getSkipped() {
+			return skipped;
+		}
+
+		/**
+		 * Record the hashes of the written documents. To be called once Solr accepted the documents.
+		 */
+		public void markWritten() {
+
+			if (!hashes.isEmpty()) {
+				store.putHashes(collection, hashes);
+			}
+			writtenDocuments.add(documents.size());
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.deduplication;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Store of the content hashes of documents last written to Solr, keyed by collection and document id.
+ *
+ * @since 4.4
+ * @see ContentDeduplicator
+ */
+public interface ContentHashStore {
+
+	/**
+	 * Look up the hashes of the given document ids.
+	 *
+	 * @param collection can be {@literal null}.
+	 * @param ids never {@literal null}.
+	 * @return the known hashes by id. Ids without a known hash are absent. Never {@literal null}.
+	 */
+	Map<String, Long> getHashes(@Nullable String collection, Collection<String> ids);
+
+	/**
+	 * Remember the hashes of documents written to Solr.
+	 *
+	 * @param collection can be {@literal null}.
+	 * @param hashes never {@literal null}.
+	 */
+	void putHashes(@Nullable String collection, Map<String, Long> hashes);
+
+	/**
+	 * Forget the hashes of deleted or atomically updated documents.
+	 *
+	 * @param collection can be {@literal null}.
+	 * @param ids never {@literal null}.
+	 */
+	void removeHashes(@Nullable String collection, Collection<String> ids);
+
+	/**
+	 * Forget all hashes of the given collection, eg. after a delete by query.
+	 *
+	 * @param collection can be {@literal null}.
+	 */
+	void clear(@Nullable String collection);
+
+	/**
+	 * @return the name of the field to write the content hash to, for stores reading hashes back from Solr.
+	 *         {@literal null} by default.
+	 */
+	@Nullable
+	default String getHashField() {
+		return null;
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.deduplication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ContentHashStore} keeping the hashes of the most recently written documents in memory. Once
+ * {@link #getMaxEntries() maxEntries} is exceeded, the least recently used hashes are dropped, so that the affected
+ * documents are written again the next time they are saved.
+ * <p>
+ * Hashes can optionally be persisted to a local file. The file is read on construction and written by
+ * {@link #save()}, which is also invoked on {@link #destroy()}. Hashes of documents written by other clients or
+ * changed directly in Solr are not known to the store.
+ *
+ * @since 4.4
+ */
+public class InMemoryContentHashStore implements ContentHashStore, DisposableBean {
+
+	private static final int FILE_VERSION = 1;
+	private static final char KEY_SEPARATOR = '\u0000';
+
+	private final int maxEntries;
+	private final @Nullable Path file;
+	private final LinkedHashMap<String, Long> hashes;
+
+	/**
+	 * @param maxEntries maximum number of hashes to keep. Must be greater than zero.
+	 */
+	public InMemoryContentHashStore(int maxEntries) {
+		this(maxEntries, null);
+	}
+
+	/**
+	 * @param maxEntries maximum number of hashes to keep. Must be greater than zero.
+	 * @param file the file to load hashes from, if it exists, and to save them to. Can be {@literal null}.
+	 */
+	public InMemoryContentHashStore(int maxEntries, @Nullable Path file) {
+
+		Assert.isTrue(maxEntries > 0, "MaxEntries must be greater than zero");
+
+		this.maxEntries = maxEntries;
+		this.file = file;
+		this.hashes = new LinkedHashMap<String, Long>(16, 0.75F, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+				return size() > InMemoryContentHashStore.this.maxEntries;
+			}
+		};
+
+		if (file != null && Files.exists(file)) {
+			load(file);
+		}
+	}
+
+	@Override
+	public synchronized Map<String, Long> getHashes(@Nullable String collection, Collection<String> ids) {
+
+		Map<String, Long> result = new HashMap<>();
+		for (String id : ids) {
+
+			Long hash = hashes.get(key(collection, id));
+			if (hash != null) {
+				result.put(id, hash);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public synchronized void putHashes(@Nullable String collection, Map<String, Long> hashes) {
+		hashes.forEach((id, hash) -> this.hashes.put(key(collection, id), hash));
+	}
+
+	@Override
+	public synchronized void removeHashes(@Nullable String collection, Collection<String> ids) {
+
+		for (String id : ids) {
+			hashes.remove(key(collection, id));
+		}
+	}
+
+	@Override
+	public synchronized void clear(@Nullable String collection) {
+
+		String prefix = key(collection, "");
+		hashes.keySet().removeIf(key -> key.startsWith(prefix));
+	}
+
+	/**
+	 * @return the number of hashes currently kept.
+	 */
+	public synchronized int size() {
+		return hashes.size();
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * Write all hashes to the configured file, replacing it atomically. Does nothing if no file is configured.
+	 *
+	 * @throws UncheckedIOException if the file cannot be written.
+	 */
+	public void save() {
+
+		if (file == null) {
+			return;
+		}
+
+		Map<String, Long> snapshot;
+		synchronized (this) {
+			snapshot = new LinkedHashMap<>(hashes);
+		}
+
+		try {
+
+			Path parent = file.toAbsolutePath().getParent();
+			Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+
+				out.writeInt(FILE_VERSION);
+				out.writeInt(snapshot.size());
+				for (Map.Entry<String, Long> entry : snapshot.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeLong(entry.getValue());
+				}
+			}
+
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot save content hashes to " + file, e);
+		}
+	}
+
+	private void load(Path file) {
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+			int version = in.readInt();
+			if (version != FILE_VERSION) {
+				throw new IllegalStateException("Unsupported content hash file version " + version + " of " + file);
+			}
+
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				hashes.put(in.readUTF(), in.readLong());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot load content hashes from " + file, e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+		save();
+	}
+
+	private static String key(@Nullable String collection, String id) {
+		return (collection != null ? collection : "") + KEY_SEPARATOR + id;
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.deduplication;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.springframework.data.solr.UncategorizedSolrException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ContentHashStore} reading hashes back from a field of the documents stored in Solr. The hash is written to
+ * {@link #getHashField() hashField} along with each document, which has to be a stored or docValues {@literal long}
+ * field. Hashes are read via the real-time get handler, which also sees documents not yet committed, so the store
+ * reflects documents written by any client without keeping state of its own.
+ *
+ * @since 4.4
+ */
+public class SolrFieldContentHashStore implements ContentHashStore {
+
+	private final SolrClient solrClient;
+	private final String hashField;
+	private String idField = "id";
+
+	/**
+	 * @param solrClient must not be {@literal null}.
+	 * @param hashField must not be {@literal null} nor empty.
+	 */
+	public SolrFieldContentHashStore(SolrClient solrClient, String hashField) {
+
+		Assert.notNull(solrClient, "SolrClient must not be null");
+		Assert.hasText(hashField, "HashField must not be null nor empty");
+
+		this.solrClient = solrClient;
+		this.hashField = hashField;
+	}
+
+	@Override
+	public Map<String, Long> getHashes(@Nullable String collection, Collection<String> ids) {
+
+		// the real-time get handler splits ids at commas
+		List<String> lookup = new ArrayList<>(ids.size());
+		for (String id : ids) {
+			if (id.indexOf(',') < 0) {
+				lookup.add(id);
+			}
+		}
+
+		if (lookup.isEmpty()) {
+			return new HashMap<>();
+		}
+
+		ModifiableSolrParams params = new ModifiableSolrParams();
+		params.set(CommonParams.FL, idField + "," + hashField);
+
+		Map<String, Long> hashes = new HashMap<>();
+		try {
+
+			for (SolrDocument document : solrClient.getById(collection, lookup, params)) {
+
+				Object id = document.getFirstValue(idField);
+				Object hash = document.getFirstValue(hashField);
+				if (id != null && hash instanceof Number) {
+					hashes.put(id.toString(), ((Number) hash).longValue());
+				}
+			}
+		} catch (SolrServerException | IOException e) {
+			throw new UncategorizedSolrException("Cannot read content hashes", e);
+		}
+
+		return hashes;
+	}
+
+	/**
+	 * Hashes are stored with the documents.
+	 */
+	@Override
+	public void putHashes(@Nullable String collection, Map<String, Long> hashes) {}
+
+	/**
+	 * Hashes are removed along with the documents. Atomic updates remove the hash field of their document.
+	 */
+	@Override
+	public void removeHashes(@Nullable String collection, Collection<String> ids) {}
+
+	/**
+	 * Hashes are removed along with the documents.
+	 */
+	@Override
+	public void clear(@Nullable String collection) {}
+
+	@Override
+	public String getHashField() {
+		return hashField;
+	}
+
+	/**
+	 * @param idField name of the unique key field. Defaults to {@literal id}.
+	 */
+	public void setIdField(String idField) {
+
+		Assert.hasText(idField, "IdField must not be null nor empty");
+		this.idField = idField;
+	}
+}
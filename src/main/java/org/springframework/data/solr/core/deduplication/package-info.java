@@ -0,0 +1,6 @@
+/**
+ * Content hash based detection of unchanged documents on the write path.
+ */
+@org.springframework.lang.NonNullApi
+@org.springframework.lang.NonNullFields
+package org.springframework.data.solr.core.deduplication;
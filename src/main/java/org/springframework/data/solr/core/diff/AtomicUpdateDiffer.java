@@ -0,0 +1,322 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.diff;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+import org.springframework.data.solr.core.convert.SolrConverter;
+import org.springframework.data.solr.core.mapping.Indexed;
+import org.springframework.data.solr.core.mapping.SolrPersistentEntity;
+import org.springframework.data.solr.core.mapping.SolrPersistentProperty;
+import org.springframework.data.solr.core.query.PartialUpdate;
+import org.springframework.data.solr.core.query.SimpleUpdateField;
+import org.springframework.data.solr.core.query.UpdateAction;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Computes the minimal atomic update turning one state of an entity into another. Both states are written via the
+ * {@link SolrConverter} and compared field by field:
+ * <ul>
+ * <li>new fields and fields with changed values are {@link UpdateAction#SET set},</li>
+ * <li>fields no longer present are set to {@literal null},</li>
+ * <li>values appended to a multi valued field are {@link UpdateAction#ADD added},</li>
+ * <li>values dropped from a multi valued field are {@link UpdateAction#REMOVE removed},</li>
+ * <li>changed {@link Integer} and {@link Long} values are {@link UpdateAction#INC incremented}, if
+ * {@link #setIncrements(boolean) enabled}.</li>
+ * </ul>
+ * The whole document is written instead if the id changed, the entity has child documents or properties annotated
+ * with {@code @Indexed(stored = false)}, whose values an atomic update would drop, or if the update would set every
+ * field anyway.
+ * <p>
+ * Atomic updates of documents that have been deleted in the meantime would create a document holding the updated
+ * fields only. Therefore updates require the document to exist, unless the changed state carries a {@code _version_}
+ * of its own.
+ *
+ * @since 4.4
+ */
+public class AtomicUpdateDiffer {
+
+	private static final String VERSION_FIELD = "_version_";
+	private static final String DEFAULT_ID_FIELD = "id";
+	private static final Long DOCUMENT_MUST_EXIST = 1L;
+
+	private final SolrConverter converter;
+	private final Map<Class<?>, Boolean> atomicUpdateSupport = new ConcurrentHashMap<>();
+	private boolean increments = false;
+
+	/**
+	 * @param converter must not be {@literal null}.
+	 */
+	public AtomicUpdateDiffer(SolrConverter converter) {
+
+		Assert.notNull(converter, "SolrConverter must not be null");
+		this.converter = converter;
+	}
+
+	/**
+	 * Compare two states of an entity.
+	 *
+	 * @param original the state as loaded. Must not be {@literal null}.
+	 * @param changed the state to save. Must not be {@literal null}.
+	 * @return never {@literal null}.
+	 */
+	public DocumentChange diff(Object original, Object changed) {
+
+		Assert.notNull(original, "Original must not be null");
+		Assert.notNull(changed, "Changed must not be null");
+		Assert.isTrue(ClassUtils.getUserClass(original).equals(ClassUtils.getUserClass(changed)),
+				"Original and changed must be of the same type");
+
+		return diff(write(original), write(changed), ClassUtils.getUserClass(changed));
+	}
+
+	/**
+	 * Compare two states of a document.
+	 *
+	 * @param original the document as written before. Can be {@literal null} if not known, which requires the whole
+	 *          document to be written.
+	 * @param changed the document to save. Must not be {@literal null}.
+	 * @param type the entity type the documents were written for. Can be {@literal null}.
+	 * @return never {@literal null}.
+	 */
+	public DocumentChange diff(@Nullable SolrInputDocument original, SolrInputDocument changed,
+			@Nullable Class<?> type) {
+
+		Assert.notNull(changed, "Changed must not be null");
+
+		if (original == null) {
+			return DocumentChange.full(changed);
+		}
+
+		SolrPersistentEntity<?> entity = type != null ? converter.getMappingContext().getPersistentEntity(type) : null;
+		String idField = getIdField(entity);
+
+		Object id = changed.getFieldValue(idField);
+		if (id == null || !ObjectUtils.nullSafeEquals(id, original.getFieldValue(idField))
+				|| (entity != null && !supportsAtomicUpdates(entity)) || hasChildDocuments(original)
+				|| hasChildDocuments(changed)) {
+			return DocumentChange.full(changed);
+		}
+
+		PartialUpdate update = new PartialUpdate(idField, id);
+		int fields = 0;
+		int replacedFields = 0;
+
+		for (SolrInputField field : changed) {
+
+			String name = field.getName();
+			if (name.equals(idField) || name.equals(VERSION_FIELD)) {
+				continue;
+			}
+
+			fields++;
+			SolrInputField previous = original.getField(name);
+			UpdateAction action = diffField(update, name, previous != null ? previous.getValue() : null, field.getValue());
+			if (action == UpdateAction.SET) {
+				replacedFields++;
+			}
+		}
+
+		for (SolrInputField field : original) {
+
+			String name = field.getName();
+			if (!name.equals(idField) && !name.equals(VERSION_FIELD) && changed.getField(name) == null) {
+				update.add(new SimpleUpdateField(name, null, UpdateAction.SET));
+			}
+		}
+
+		if (update.getUpdates().isEmpty()) {
+			return DocumentChange.unchanged(changed);
+		}
+
+		// replacing all fields costs Solr more than writing the document, as it has to look up the stored one
+		if (replacedFields == fields) {
+			return DocumentChange.full(changed);
+		}
+
+		Object version = changed.getFieldValue(VERSION_FIELD);
+		update.setVersion(version != null ? version : DOCUMENT_MUST_EXIST);
+
+		return DocumentChange.partial(write(update), update);
+	}
+
+	@Nullable
+	private UpdateAction diffField(PartialUpdate update, String name, @Nullable Object original,
+			@Nullable Object changed) {
+
+		List<Object> before = values(original);
+		List<Object> after = values(changed);
+
+		if (valuesEqual(before, after)) {
+			return null;
+		}
+
+		if (original instanceof Collection || changed instanceof Collection) {
+
+			if (after.size() > before.size() && valuesEqual(before, after.subList(0, before.size()))) {
+				return add(update, name, new ArrayList<>(after.subList(before.size(), after.size())), UpdateAction.ADD);
+			}
+
+			List<Object> removed = after.size() < before.size() ? removedValues(before, after) : null;
+			if (removed != null) {
+				return add(update, name, removed, UpdateAction.REMOVE);
+			}
+		} else if (increments && original != null && changed != null && original.getClass().equals(changed.getClass())) {
+
+			if (changed instanceof Integer) {
+				return add(update, name, (Integer) changed - (Integer) original, UpdateAction.INC);
+			}
+			if (changed instanceof Long) {
+				return add(update, name, (Long) changed - (Long) original, UpdateAction.INC);
+			}
+		}
+
+		return add(update, name, changed, UpdateAction.SET);
+	}
+
+	private static UpdateAction add(PartialUpdate update, String name, @Nullable Object value, UpdateAction action) {
+
+		update.add(new SimpleUpdateField(name, value, action));
+		return action;
+	}
+
+	/**
+	 * @return the values to remove from {@code before} to get {@code after} or {@literal null} if values have been
+	 *         changed or reordered.
+	 */
+	@Nullable
+	private static List<Object> removedValues(List<Object> before, List<Object> after) {
+
+		List<Object> removed = new ArrayList<>();
+		for (Object value : before) {
+			if (!containsValue(after, value) && !containsValue(removed, value)) {
+				removed.add(value);
+			}
+		}
+
+		if (removed.isEmpty()) {
+			return null;
+		}
+
+		// solr removes all occurrences of a value
+		List<Object> remaining = new ArrayList<>(after.size());
+		for (Object value : before) {
+			if (!containsValue(removed, value)) {
+				remaining.add(value);
+			}
+		}
+
+		return valuesEqual(remaining, after) ? removed : null;
+	}
+
+	private static List<Object> values(@Nullable Object value) {
+
+		if (value == null) {
+			return Collections.emptyList();
+		}
+		if (value instanceof Collection) {
+			return new ArrayList<>((Collection<?>) value);
+		}
+		return Collections.singletonList(value);
+	}
+
+	private static boolean valuesEqual(List<Object> left, List<Object> right) {
+
+		if (left.size() != right.size()) {
+			return false;
+		}
+
+		for (int i = 0; i < left.size(); i++) {
+			if (!ObjectUtils.nullSafeEquals(left.get(i), right.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean containsValue(List<Object> values, @Nullable Object value) {
+
+		for (Object candidate : values) {
+			if (ObjectUtils.nullSafeEquals(candidate, value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasChildDocuments(SolrInputDocument document) {
+
+		if (document.hasChildDocuments()) {
+			return true;
+		}
+
+		for (SolrInputField field : document) {
+			for (Object value : values(field.getValue())) {
+				if (value instanceof SolrInputDocument) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean supportsAtomicUpdates(SolrPersistentEntity<?> entity) {
+
+		return atomicUpdateSupport.computeIfAbsent(entity.getType(), type -> {
+
+			for (SolrPersistentProperty property : entity) {
+
+				Indexed indexed = property.findAnnotation(Indexed.class);
+				if (property.isChildProperty() || (indexed != null && !indexed.stored())) {
+					return false;
+				}
+			}
+			return true;
+		});
+	}
+
+	private static String getIdField(@Nullable SolrPersistentEntity<?> entity) {
+
+		SolrPersistentProperty idProperty = entity != null ? entity.getIdProperty() : null;
+		return idProperty != null ? idProperty.getFieldName() : DEFAULT_ID_FIELD;
+	}
+
+	private SolrInputDocument write(Object source) {
+
+		SolrInputDocument document = new SolrInputDocument();
+		converter.write(source, document);
+		return document;
+	}
+
+	/**
+	 * @param increments {@literal true} to write changed {@link Integer} and {@link Long} values as increments by the
+	 *          difference, so that concurrent increments by other clients are retained. Increments are not idempotent
+	 *          and therefore not retried. Defaults to {@literal false}.
+	 */
+	public void setIncrements(boolean increments) {
+		this.increments = increments;
+	}
+}
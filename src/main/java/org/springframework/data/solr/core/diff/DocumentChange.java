@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.diff;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.springframework.data.solr.core.query.PartialUpdate;
+import org.springframework.lang.Nullable;
+
+/**
+ * Outcome of comparing two states of a document computed by {@link AtomicUpdateDiffer}.
+ *
+ * @since 4.4
+ */
+public class DocumentChange {
+
+	/**
+	 * The kind of write required to get from the original to the changed state.
+	 */
+	public enum Type {
+
+		/**
+		 * Nothing changed, no need to write the document.
+		 */
+		UNCHANGED,
+
+		/**
+		 * The changed fields can be written as atomic update.
+		 */
+		PARTIAL,
+
+		/**
+		 * The whole document has to be written.
+		 */
+		FULL
+	}
+
+	private final Type type;
+	private final SolrInputDocument document;
+	private final @Nullable PartialUpdate update;
+
+	private DocumentChange(Type type, SolrInputDocument document, @Nullable PartialUpdate update) {
+
+		this.type = type;
+		this.document = document;
+		this.update = update;
+	}
+
+	static DocumentChange unchanged(SolrInputDocument document) {
+		return new DocumentChange(Type.UNCHANGED, document, null);
+	}
+
+	static DocumentChange partial(SolrInputDocument atomicUpdate, PartialUpdate update) {
+		return new DocumentChange(Type.PARTIAL, atomicUpdate, update);
+	}
+
+	static DocumentChange full(SolrInputDocument document) {
+		return new DocumentChange(Type.FULL, document, null);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return the document to write. The atomic update document for {@link Type#PARTIAL} changes, the changed document
+	 *         otherwise. Never {@literal null}.
+	 */
+	public SolrInputDocument getDocument() {
+		return document;
+	}
+
+	/**
+	 * @return the {@link PartialUpdate} for {@link Type#PARTIAL} changes, {@literal null} otherwise.
+	 */
+	@Nullable
+	public PartialUpdate getUpdate() {
+		return update;
+	}
+
+	/**
+	 * @return {@literal true} if the document does not need to be written.
+	 */
+	public boolean isUnchanged() {
+		return type == Type.UNCHANGED;
+	}
+
+	@Override
+	public String toString() {
+		return "DocumentChange [type=" + type + ", document=" + document + "]";
+	}
+}
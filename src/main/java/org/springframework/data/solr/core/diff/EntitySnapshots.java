@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.diff;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Keeps the documents written for the most recently loaded or saved entities, keyed by collection, entity type and id,
+ * to compare them against the state of an entity when it is saved again. Once {@link #getMaxEntries() maxEntries} is
+ * exceeded, the least recently used snapshots are dropped, so that the affected entities are written as whole
+ * documents.
+ * <p>
+ * Snapshots do not know about changes made by other clients. An atomic update computed from an outdated snapshot
+ * only writes the fields changed locally and leaves other fields as stored in Solr.
+ *
+ * @since 4.4
+ */
+public class EntitySnapshots {
+
+	private final int maxEntries;
+	private final LinkedHashMap<Key, SolrInputDocument> snapshots;
+
+	/**
+	 * @param maxEntries maximum number of snapshots to keep. Must be greater than zero.
+	 */
+	public EntitySnapshots(int maxEntries) {
+
+		Assert.isTrue(maxEntries > 0, "MaxEntries must be greater than zero");
+
+		this.maxEntries = maxEntries;
+		this.snapshots = new LinkedHashMap<Key, SolrInputDocument>(16, 0.75F, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, SolrInputDocument> eldest) {
+				return size() > EntitySnapshots.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Record the document written for an entity. The document is copied.
+	 *
+	 * @param collection must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @param document must not be {@literal null}.
+	 */
+	public void put(String collection, Class<?> type, Object id, SolrInputDocument document) {
+
+		Key key = new Key(collection, type, id);
+		SolrInputDocument snapshot = document.deepCopy();
+		synchronized (snapshots) {
+			snapshots.put(key, snapshot);
+		}
+	}
+
+	/**
+	 * @param collection must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @return the document recorded for the entity or {@literal null} if none is known.
+	 */
+	@Nullable
+	public SolrInputDocument get(String collection, Class<?> type, Object id) {
+
+		Key key = new Key(collection, type, id);
+		synchronized (snapshots) {
+			return snapshots.get(key);
+		}
+	}
+
+	/**
+	 * Drop the snapshots of the documents with the given ids in a collection, whatever entity type they were recorded
+	 * for, eg. after they have been deleted.
+	 *
+	 * @param collection must not be {@literal null}.
+	 * @param ids must not be {@literal null}.
+	 */
+	public void remove(String collection, Collection<?> ids) {
+
+		Assert.notNull(collection, "Collection must not be null");
+		Assert.notNull(ids, "Ids must not be null");
+
+		if (ids.isEmpty()) {
+			return;
+		}
+
+		Set<String> removed = ids.stream().map(Object::toString).collect(Collectors.toSet());
+		synchronized (snapshots) {
+			snapshots.keySet().removeIf(key -> key.collection.equals(collection) && removed.contains(key.id));
+		}
+	}
+
+	/**
+	 * Drop all snapshots of a collection.
+	 *
+	 * @param collection must not be {@literal null}.
+	 */
+	public void clear(String collection) {
+
+		Assert.notNull(collection, "Collection must not be null");
+
+		synchronized (snapshots) {
+			snapshots.keySet().removeIf(key -> key.collection.equals(collection));
+		}
+	}
+
+	/**
+	 * Drop all snapshots.
+	 */
+	public void clear() {
+
+		synchronized (snapshots) {
+			snapshots.clear();
+		}
+	}
+
+	/**
+	 * @return the number of snapshots currently kept.
+	 */
+	public int size() {
+
+		synchronized (snapshots) {
+			return snapshots.size();
+		}
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	private static class Key {
+
+		private final String collection;
+		private final Class<?> type;
+		private final String id;
+
+		Key(String collection, Class<?> type, Object id) {
+
+			Assert.notNull(collection, "Collection must not be null");
+			Assert.notNull(type, "Type must not be null");
+			Assert.notNull(id, "Id must not be null");
+
+			this.collection = collection;
+			this.type = type;
+			this.id = id.toString();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+
+			Key that = (Key) o;
+			return collection.equals(that.collection) && type.equals(that.type) && id.equals(that.id);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(collection, type, id);
+		}
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * Detection of changed fields between entity states and creation of the matching atomic updates.
+ */
+@org.springframework.lang.NonNullApi
+@org.springframework.lang.NonNullFields
+package org.springframework.data.solr.core.diff;
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.interceptor;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Raised by {@link CircuitBreakerSolrExecutionInterceptor} instead of calling Solr while the circuit is open.
+ *
+ * @since 4.4
+ */
+public class CircuitBreakerOpenException extends DataAccessResourceFailureException {
+
+	private static final long serialVersionUID = 2361584305764123290L;
+
+	private final String circuit;
+
+	public CircuitBreakerOpenException(String circuit) {
+
+		super(String.format("Circuit '%s' is open; Not calling Solr until it recovers", circuit));
+		this.circuit = circuit;
+	}
+
+	/**
+	 * @return the name of the open circuit.
+	 */
+	public String getCircuit() {
+		return circuit;
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.interceptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.data.solr.core.SolrExecution;
+import org.springframework.data.solr.core.SolrExecutionInterceptor;
+import org.springframework.util.Assert;
+
+/**
+ * {@link SolrExecutionInterceptor} failing fast with {@link CircuitBreakerOpenException} while Solr is considered
+ * unhealthy. A circuit opens after a number of consecutive transient failures and stays open for a configurable
+ * duration. Afterwards a single trial call is let through, closing the circuit on success and re-opening it on failure.
+ * <p>
+ * Circuits are kept per collection by default. Use {@link #setCircuitResolver(Function)} to track them per operation
+ * type, domain type or any other key derived from the {@link SolrExecution}. Executions are not aware of the node
+ * serving them, so failing nodes are best taken out of rotation by the client, e.g. by
+ * {@link org.springframework.data.solr.server.support.AdaptiveLoadBalancedSolrClient}.
+ *
+ * @since 4.4
+ * @see TransientFailures
+ */
+public class CircuitBreakerSolrExecutionInterceptor implements SolrExecutionInterceptor, Ordered {
+
+	/**
+	 * Default order placing the circuit breaker inside of {@link RetryingSolrExecutionInterceptor}.
+	 */
+	public static final int DEFAULT_ORDER = RetryingSolrExecutionInterceptor.DEFAULT_ORDER + 100;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakerSolrExecutionInterceptor.class);
+	private static final String DEFAULT_CIRCUIT = "default";
+
+	private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+	private int failureThreshold = 5;
+	private Duration openDuration = Duration.ofSeconds(10);
+	private Predicate<Throwable> failure = TransientFailures::isTransient;
+	private Function<SolrExecution, String> circuitResolver = execution -> execution.getCollection() != null
+			? execution.getCollection()
+			: DEFAULT_CIRCUIT;
+	private Clock clock = Clock.systemUTC();
+	private int order = DEFAULT_ORDER;
+
+	@Override
+	public <T> T intercept(SolrExecution execution, Chain<T> chain) throws Exception {
+
+		String name = circuitResolver.apply(execution);
+		Circuit circuit = circuits.computeIfAbsent(name, Circuit::new);
+
+		if (!circuit.tryAcquire(clock.millis())) {
+			throw new CircuitBreakerOpenException(name);
+		}
+
+		T result;
+		try {
+			result = chain.proceed();
+		} catch (Throwable e) {
+
+			// errors have to settle the outcome as well, as a pending trial call would keep the circuit open forever
+
+			if (failure.test(e)) {
+				circuit.onFailure(clock.millis());
+			} else {
+				circuit.onSuccess();
+			}
+			throw e;
+		}
+
+		circuit.onSuccess();
+		return result;
+	}
+
+	/**
+	 * @param name must not be {@literal null}.
+	 * @return the current {@link State} of the circuit with given name.
+	 */
+	public State getState(String name) {
+
+		Circuit circuit = circuits.get(name);
+		return circuit != null ? circuit.getState(clock.millis()) : State.CLOSED;
+	}
+
+	/**
+	 * @param failureThreshold number of consecutive failures opening the circuit. Must be greater than zero.
+	 */
+	public void setFailureThreshold(int failureThreshold) {
+
+		Assert.isTrue(failureThreshold > 0, "FailureThreshold must be greater than zero");
+		this.failureThreshold = failureThreshold;
+	}
+
+	/**
+	 * @param openDuration time to fail fast before letting a trial call through. Must not be {@literal null}.
+	 */
+	public void setOpenDuration(Duration openDuration) {
+
+		Assert.notNull(openDuration, "OpenDuration must not be null");
+		this.openDuration = openDuration;
+	}
+
+	/**
+	 * @param failure decides whether an exception counts as failure. Must not be {@literal null}.
+	 */
+	public void setFailure(Predicate<Throwable> failure) {
+
+		Assert.notNull(failure, "Failure must not be null");
+		this.failure = failure;
+	}
+
+	/**
+	 * @param circuitResolver resolves the name of the circuit for a given execution, e.g. from its collection or
+	 *          operation type. Must not be {@literal null}.
+	 */
+	public void setCircuitResolver(Function<SolrExecution, String> circuitResolver) {
+
+		Assert.notNull(circuitResolver, "CircuitResolver must not be null");
+		this.circuitResolver = circuitResolver;
+	}
+
+	/**
+	 * @param clock must not be {@literal null}.
+	 */
+	public void setClock(Clock clock) {
+
+		Assert.notNull(clock, "Clock must not be null");
+		this.clock = clock;
+	}
+
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	@Override
+	public int getOrder() {
+		return order;
+	}
+
+	/**
+	 * State of a circuit.
+	 */
+	public enum State {
+
+		/** Calls pass through. */
+		CLOSED,
+		/** Calls are rejected. */
+		OPEN,
+		/** A single trial call is let through. */
+		HALF_OPEN
+	}
+
+	private class Circuit {
+
+		private final String name;
+
+		private int consecutiveFailures;
+		private long openedAt = -1;
+		private boolean trialInFlight;
+
+		Circuit(String name) {
+			this.name = name;
+		}
+
+		synchronized boolean tryAcquire(long now) {
+
+			if (openedAt < 0) {
+				return true;
+			}
+
+			if (now - openedAt < openDuration.toMillis() || trialInFlight) {
+				return false;
+			}
+
+			trialInFlight = true;
+			return true;
+		}
+
+		synchronized void onSuccess() {
+
+			if (openedAt >= 0) {
+				LOGGER.info("Closing circuit '{}'.", name);
+			}
+
+			consecutiveFailures = 0;
+			openedAt = -1;
+			trialInFlight = false;
+		}
+
+		synchronized void onFailure(long now) {
+
+			consecutiveFailures++;
+
+			if (trialInFlight || (openedAt < 0 && consecutiveFailures >= failureThreshold)) {
+
+				LOGGER.warn("Opening circuit '{}' after {} consecutive failures.", name, consecutiveFailures);
+				openedAt = now;
+				trialInFlight = false;
+			}
+		}
+
+		synchronized State getState(long now) {
+
+			if (openedAt < 0) {
+				return State.CLOSED;
+			}
+			return now - openedAt < openDuration.toMillis() ? State.OPEN : State.HALF_OPEN;
+		}
+	}
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.interceptor;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+import org.springframework.data.solr.core.OperationType;
+import org.springframework.data.solr.core.SolrExecution;
+import org.springframework.data.solr.core.SolrExecutionInterceptor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link SolrExecutionInterceptor} hedging read operations to cut tail latency when talking to load balanced replicas,
+ * eg. via {@link org.apache.solr.client.solrj.impl.LBHttpSolrClient}. If the first attempt did not complete within the
+ * hedge delay a second, identical request is issued, which the load balancer routes to another replica. The first
+ * successful response wins and the other attempt is cancelled.
+ * <p>
+ * Whenever a hedge may be issued, both attempts run on the {@link #HedgingSolrExecutionInterceptor(ExecutorService)
+ * executor} and the calling thread returns as soon as one of them succeeded, regardless of whether the other one
+ * reacts to cancellation. Thread bound context such as transactions or the logging MDC is not available to them.
+ * Reads run on the calling thread instead while no hedge can be issued, i.e. before latencies have been observed,
+ * while the budget is exhausted or if the executor rejects the attempt.
+ * <p>
+ * The hedge delay is either {@link #setDelay(Duration) fixed} or derived from a {@link #setDelayPercentile(double)
+ * percentile} of recently observed latencies. A {@link #setBudget(double) budget} limits hedged requests to a fraction
+ * of all intercepted requests to bound the additional load. Cancellation interrupts the thread of the losing attempt,
+ * which is best effort for blocking I/O.
+ *
+ * @since 4.4
+ */
+public class HedgingSolrExecutionInterceptor implements SolrExecutionInterceptor, Ordered, DisposableBean {
+
+	/**
+	 * Default order placing hedging inside of {@link CircuitBreakerSolrExecutionInterceptor}.
+	 */
+	public static final int DEFAULT_ORDER = CircuitBreakerSolrExecutionInterceptor.DEFAULT_ORDER + 100;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(HedgingSolrExecutionInterceptor.class);
+
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+
+	private Set<OperationType> operations = EnumSet.of(OperationType.QUERY, OperationType.GET_BY_ID,
+			OperationType.COUNT);
+	private @Nullable Duration delay;
+	private double delayPercentile = 0.95D;
+	private Duration minDelay = Duration.ofMillis(5);
+	private double budget = 0.1D;
+	private int order = DEFAULT_ORDER;
+
+	private final LatencyWindow latencies = new LatencyWindow(1024);
+	private final HedgeBudget hedgeBudget = new HedgeBudget();
+	private final AtomicLong hedged = new AtomicLong();
+
+	/**
+	 * Create a new {@link HedgingSolrExecutionInterceptor} running attempts on an internal pool of up to
+	 * {@literal max(16, 4 * available processors)} daemon threads. Reads are not hedged while all of them are busy.
+	 */
+	public HedgingSolrExecutionInterceptor() {
+		this(new ThreadPoolExecutor(0, Math.max(16, 4 * Runtime.getRuntime().availableProcessors()), 60L,
+				TimeUnit.SECONDS, new SynchronousQueue<>(), new DaemonThreadFactory()), true);
+	}
+
+	/**
+	 * @param executor executor running the attempts of reads that may be hedged. Reads are not hedged if it rejects an
+	 *          attempt. Must not be {@literal null}.
+	 */
+	public HedgingSolrExecutionInterceptor(ExecutorService executor) {
+		this(executor, false);
+	}
+
+	private HedgingSolrExecutionInterceptor(ExecutorService executor, boolean ownsExecutor) {
+
+		Assert.notNull(executor, "ExecutorService must not be null");
+
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	@Override
+	public <T> T intercept(SolrExecution execution, Chain<T> chain) throws Exception {
+
+		if (!operations.contains(execution.getOperationType())) {
+			return chain.proceed();
+		}
+
+		hedgeBudget.deposit(budget);
+
+		long start = System.nanoTime();
+		long delayNanos = currentDelayNanos();
+		if (delayNanos == Long.MAX_VALUE || !hedgeBudget.hasToken()) {
+			return recordLatency(chain, start);
+		}
+
+		CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+
+		Future<T> primary;
+		try {
+			primary = completion.submit(chain::proceed);
+		} catch (RejectedExecutionException e) {
+			return recordLatency(chain, start);
+		}
+		Future<T> hedge = null;
+
+		try {
+
+			Future<T> done = completion.poll(delayNanos, TimeUnit.NANOSECONDS);
+
+			if (done == null && hedgeBudget.withdraw()) {
+
+				try {
+
+					hedge = completion.submit(chain::proceed);
+					LOGGER.debug("Hedging {} after {}ms.", execution, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+					hedged.incrementAndGet();
+				} catch (RejectedExecutionException e) {
+					hedgeBudget.deposit(1D);
+				}
+			}
+
+			int pending = hedge != null ? 2 : 1;
+			ExecutionException failure = null;
+
+			while (pending > 0) {
+
+				if (done == null) {
+					done = completion.take();
+				}
+				pending--;
+
+				try {
+
+					T result = done.get();
+					latencies.record(System.nanoTime() - start);
+					return result;
+				} catch (ExecutionException e) {
+
+					if (failure == null) {
+						failure = e;
+					}
+				}
+
+				done = null;
+			}
+
+			throw unwrap(failure);
+		} finally {
+
+			primary.cancel(true);
+			if (hedge != null) {
+				hedge.cancel(true);
+			}
+		}
+	}
+
+	private <T> T recordLatency(Chain<T> chain, long start) throws Exception {
+
+		T result = chain.proceed();
+		latencies.record(System.nanoTime() - start);
+		return result;
+	}
+
+	private static Exception unwrap(ExecutionException e) {
+		return e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+	}
+
+	private long currentDelayNanos() {
+
+		if (delay != null) {
+			return delay.toNanos();
+		}
+
+		long observed = latencies.percentile(delayPercentile);
+		return observed > 0 ? Math.max(observed, minDelay.toNanos()) : Long.MAX_VALUE;
+	}
+
+	/**
+	 * @return the number of hedged requests issued so far.
+	 */
+	public long getHedgedRequestCount() {
+		return hedged.get();
+	}
+
+	/**
+	 * @param operations the {@link OperationType}s to hedge. Defaults to {@link OperationType#QUERY},
+	 *          {@link OperationType#GET_BY_ID} and {@link OperationType#COUNT}. Must not be {@literal null}.
+	 */
+	public void setOperations(Set<OperationType> operations) {
+
+		Assert.notNull(operations, "Operations must not be null");
+		Assert.isTrue(operations.stream().allMatch(OperationType::isRead), "Only read operations can be hedged");
+		this.operations = operations.isEmpty() ? EnumSet.noneOf(OperationType.class) : EnumSet.copyOf(operations);
+	}
+
+	/**
+	 * Use a fixed hedge delay instead of one derived from observed latencies.
+	 *
+	 * @param delay can be {@literal null} to use {@link #setDelayPercentile(double)}.
+	 */
+	public void setDelay(@Nullable Duration delay) {
+		this.delay = delay;
+	}
+
+	/**
+	 * @param delayPercentile the percentile ({@literal 0..1}) of recently observed latencies to wait before hedging.
+	 *          Defaults to {@literal 0.95}.
+	 */
+	public void setDelayPercentile(double delayPercentile) {
+
+		Assert.isTrue(delayPercentile > 0D && delayPercentile < 1D, "DelayPercentile must be between 0 and 1");
+		this.delayPercentile = delayPercentile;
+	}
+
+	/**
+	 * @param minDelay lower bound for the delay derived from observed latencies. Must not be {@literal null}.
+	 */
+	public void setMinDelay(Duration minDelay) {
+
+		Assert.notNull(minDelay, "MinDelay must not be null");
+		this.minDelay = minDelay;
+	}
+
+	/**
+	 * @param budget maximum ratio ({@literal 0..1}) of hedged to intercepted requests. Defaults to {@literal 0.1}.
+	 */
+	public void setBudget(double budget) {
+
+		Assert.isTrue(budget >= 0D && budget <= 1D, "Budget must be between 0 and 1");
+		this.budget = budget;
+	}
+
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	@Override
+	public int getOrder() {
+		return order;
+	}
+
+	@Override
+	public void destroy() {
+
+		if (ownsExecutor) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Token bucket allowing one hedge per accumulated token. Each intercepted request deposits the budget ratio.
+	 */
+	static class HedgeBudget {
+
+		private static final double MAX_TOKENS = 10D;
+
+		private double tokens;
+
+		synchronized void deposit(double amount) {
+			tokens = Math.min(MAX_TOKENS, tokens + amount);
+		}
+
+		synchronized boolean hasToken() {
+			return tokens >= 1D;
+		}
+
+		synchronized boolean withdraw() {
+
+			if (tokens < 1D) {
+				return false;
+			}
+			tokens -= 1D;
+			return true;
+		}
+	}
+
+	/**
+	 * Fixed size ring buffer of latencies. Percentiles are recomputed at most every {@literal size / 16} samples.
+	 */
+	static class LatencyWindow {
+
+		private final long[] samples;
+		private final int refreshInterval;
+
+		private int count;
+		private int position;
+		private int sinceRefresh;
+		private volatile long[] sorted = new long[0];
+
+		LatencyWindow(int size) {
+
+			this.samples = new long[size];
+			this.refreshInterval = Math.max(1, size / 16);
+		}
+
+		synchronized void record(long nanos) {
+
+			samples[position] = nanos;
+			position = (position + 1) % samples.length;
+			count = Math.min(count + 1, samples.length);
+
+			if (++sinceRefresh >= refreshInterval || sorted.length < refreshInterval) {
+
+				long[] copy = Arrays.copyOf(samples, count);
+				Arrays.sort(copy);
+				sorted = copy;
+				sinceRefresh = 0;
+			}
+		}
+
+		long percentile(double percentile) {
+
+			long[] current = sorted;
+			if (current.length == 0) {
+				return -1;
+			}
+			return current[Math.max(0, Math.min(current.length - 1, (int) Math.ceil(percentile * current.length) - 1))];
+		}
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+
+			Thread thread = new Thread(runnable, "solr-hedging-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.interceptor;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.data.solr.core.SolrExecution;
+import org.springframework.data.solr.core.SolrExecutionInterceptor;
+import org.springframework.util.Assert;
+
+/**
+ * {@link SolrExecutionInterceptor} retrying operations failing with a transient error using exponential backoff with
+ * jitter. Only {@link SolrExecution#isIdempotent() idempotent} operations are retried unless
+ * {@link #setRetryNonIdempotent(boolean) configured} otherwise. By default up to {@literal 3} attempts are made, waiting
+ * {@literal 100ms}, then {@literal 200ms} (each reduced by up to {@literal 50%} jitter) in between.
+ *
+ * @since 4.4
+ * @see TransientFailures
+ */
+public class RetryingSolrExecutionInterceptor implements SolrExecutionInterceptor, Ordered {
+
+	/**
+	 * Default order placing retries outside of {@link CircuitBreakerSolrExecutionInterceptor}.
+	 */
+	public static final int DEFAULT_ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RetryingSolrExecutionInterceptor.class);
+
+	private int maxAttempts = 3;
+	private Duration initialBackoff = Duration.ofMillis(100);
+	private Duration maxBackoff = Duration.ofSeconds(2);
+	private double multiplier = 2D;
+	private double jitter = 0.5D;
+	private boolean retryNonIdempotent = false;
+	private Predicate<Throwable> retryable = TransientFailures::isTransient;
+	private int order = DEFAULT_ORDER;
+
+	@Override
+	public <T> T intercept(SolrExecution execution, Chain<T> chain) throws Exception {
+
+		if (!retryNonIdempotent && !execution.isIdempotent()) {
+			return chain.proceed();
+		}
+
+		int attempt = 1;
+		while (true) {
+
+			try {
+				return chain.proceed();
+			} catch (Exception e) {
+
+				if (attempt >= maxAttempts || !retryable.test(e)) {
+					throw e;
+				}
+
+				long backoff = backoffMillis(attempt);
+				LOGGER.debug("Retrying {} after transient failure in attempt {}/{} in {}ms.", execution, attempt, maxAttempts,
+						backoff);
+
+				if (!sleep(backoff)) {
+					throw e;
+				}
+				attempt++;
+			}
+		}
+	}
+
+	long backoffMillis(int attempt) {
+
+		double delay = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() * Math.pow(multiplier, attempt - 1));
+		return (long) (delay * (1D - jitter * ThreadLocalRandom.current().nextDouble()));
+	}
+
+	private static boolean sleep(long millis) {
+
+		if (millis <= 0) {
+			return true;
+		}
+
+		try {
+			Thread.sleep(millis);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * @param maxAttempts total number of attempts including the first one. Must be greater than zero.
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+
+		Assert.isTrue(maxAttempts > 0, "MaxAttempts must be greater than zero");
+		this.maxAttempts = maxAttempts;
+	}
+
+	/**
+	 * @param initialBackoff delay before the first retry. Must not be {@literal null} nor negative.
+	 */
+	public void setInitialBackoff(Duration initialBackoff) {
+
+		Assert.notNull(initialBackoff, "InitialBackoff must not be null");
+		Assert.isTrue(!initialBackoff.isNegative(), "InitialBackoff must not be negative");
+		this.initialBackoff = initialBackoff;
+	}
+
+	/**
+	 * @param maxBackoff upper bound for the delay between attempts. Must not be {@literal null} nor negative.
+	 */
+	public void setMaxBackoff(Duration maxBackoff) {
+
+		Assert.notNull(maxBackoff, "MaxBackoff must not be null");
+		Assert.isTrue(!maxBackoff.isNegative(), "MaxBackoff must not be negative");
+		this.maxBackoff = maxBackoff;
+	}
+
+	/**
+	 * @param multiplier factor applied to the delay after each attempt. Must be at least {@literal 1}.
+	 */
+	public void setMultiplier(double multiplier) {
+
+		Assert.isTrue(multiplier >= 1D, "Multiplier must be at least 1");
+		this.multiplier = multiplier;
+	}
+
+	/**
+	 * @param jitter fraction ({@literal 0..1}) by which the delay is randomly reduced to spread out retries of concurrent
+	 *          callers.
+	 */
+	public void setJitter(double jitter) {
+
+		Assert.isTrue(jitter >= 0D && jitter <= 1D, "Jitter must be between 0 and 1");
+		this.jitter = jitter;
+	}
+
+	/**
+	 * @param retryNonIdempotent {@literal true} to also retry operations that may not be safely repeated, like atomic
+	 *          increments.
+	 */
+	public void setRetryNonIdempotent(boolean retryNonIdempotent) {
+		this.retryNonIdempotent = retryNonIdempotent;
+	}
+
+	/**
+	 * @param retryable decides whether a failure is worth retrying. Must not be {@literal null}.
+	 */
+	public void setRetryable(Predicate<Throwable> retryable) {
+
+		Assert.notNull(retryable, "Retryable must not be null");
+		this.retryable = retryable;
+	}
+
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	@Override
+	public int getOrder() {
+		return order;
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.interceptor;
+
+import java.io.IOException;
+
+import org.apache.solr.common.SolrException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Detects failures that are likely to disappear when retrying the request later on, such as connection resets,
+ * timeouts and {@literal 503 Service Unavailable} responses during replica recovery or leader election.
+ *
+ * @since 4.4
+ */
+public final class TransientFailures {
+
+	private TransientFailures() {}
+
+	/**
+	 * Check the given {@link Throwable} and its causes for transient failures. Those are {@link IOException}s raised by
+	 * the transport and {@link SolrException}s with status {@literal 429}, {@literal 502}, {@literal 503} or
+	 * {@literal 504}.
+	 *
+	 * @param throwable can be {@literal null}.
+	 * @return {@literal true} if the failure is considered transient.
+	 */
+	public static boolean isTransient(@Nullable Throwable throwable) {
+
+		Throwable current = throwable;
+		int depth = 0;
+
+		while (current != null && depth++ < 10) {
+
+			if (current instanceof IOException) {
+				return true;
+			}
+
+			if (current instanceof SolrException) {
+
+				int code = ((SolrException) current).code();
+				if (code == 429 || code == 502 || code == 503 || code == 504) {
+					return true;
+				}
+			}
+
+			if (current.getCause() == current) {
+				break;
+			}
+			current = current.getCause();
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * {@link org.springframework.data.solr.core.SolrExecutionInterceptor} implementations.
+ */
+@org.springframework.lang.NonNullApi
+@org.springframework.lang.NonNullFields
+package org.springframework.data.solr.core.interceptor;
@@ -34,12 +34,29 @@ public class SimpleSolrMappingContext
 		this(null);
 	}
 
+	private final @Nullable SolrPersistentEntitySchemaCreator schemaCreator;
+
 	public SimpleSolrMappingContext(@Nullable SolrPersistentEntitySchemaCreator schemaCreator) {
+
+		this.schemaCreator = schemaCreator;
 		if (schemaCreator != null) {
 			setApplicationEventPublisher(new SolrMappingEventPublisher(schemaCreator));
 		}
 	}
 
+	/**
+	 * Adds the {@link #setInitialEntitySet(java.util.Set) initial entities} and writes the schema of all of them at once.
+	 */
+	@Override
+	public void initialize() {
+
+		if (schemaCreator != null) {
+			schemaCreator.processDeferred(super::initialize);
+		} else {
+			super.initialize();
+		}
+	}
+
 	@Override
 	protected <T> SimpleSolrPersistentEntity<?> createPersistentEntity(TypeInformation<T> typeInformation) {
 		return new SimpleSolrPersistentEntity<>(typeInformation);
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import org.apache.solr.client.solrj.ResponseParser;
+import org.apache.solr.client.solrj.SolrResponse;
+import org.apache.solr.client.solrj.impl.BinaryResponseParser;
+import org.apache.solr.common.util.NamedList;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ResponseParser} counting the bytes of response bodies read by a delegate parser. The size is added to the
+ * parsed response, so that {@link org.springframework.data.solr.core.SolrTemplate} can report it to the
+ * {@link SolrMetricsRecorder} along with the operation it belongs to. Compressed responses are counted after they
+ * have been decompressed by the client. Responses handed to the parser as {@link Reader} are not counted.
+ *
+ * @since 4.4
+ * @see SolrMetricsRecorder#recordResponseSize(org.springframework.data.solr.core.OperationType, String, long)
+ */
+public class MeasuringResponseParser extends ResponseParser {
+
+	static final String RESPONSE_SIZE = "_responseSize_";
+
+	private final ResponseParser delegate;
+
+	/**
+	 * Create a new {@link MeasuringResponseParser} for javabin formatted responses.
+	 */
+	public MeasuringResponseParser() {
+		this(new BinaryResponseParser());
+	}
+
+	/**
+	 * @param delegate must not be {@literal null}.
+	 */
+	public MeasuringResponseParser(ResponseParser delegate) {
+
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Obtain the size of a response parsed by a {@link MeasuringResponseParser}.
+	 *
+	 * @param response must not be {@literal null}.
+	 * @return the number of bytes read or {@literal -1} if the response has not been measured.
+	 */
+	public static long getResponseSize(SolrResponse response) {
+
+		Object size = response.getResponse() != null ? response.getResponse().get(RESPONSE_SIZE) : null;
+		return size instanceof Long ? (Long) size : -1L;
+	}
+
+	@Override
+	public String getWriterType() {
+		return delegate.getWriterType();
+	}
+
+	@Override
+	public NamedList<Object> processResponse(InputStream body, String encoding) {
+
+		CountingInputStream countingBody = new CountingInputStream(body);
+		NamedList<Object> response = delegate.processResponse(countingBody, encoding);
+		if (response != null) {
+			response.add(RESPONSE_SIZE, countingBody.count);
+		}
+		return response;
+	}
+
+	@Override
+	public NamedList<Object> processResponse(Reader reader) {
+		return delegate.processResponse(reader);
+	}
+
+	@Override
+	public String getContentType() {
+		return delegate.getContentType();
+	}
+
+	@Override
+	public String getVersion() {
+		return delegate.getVersion();
+	}
+
+	private static class CountingInputStream extends FilterInputStream {
+
+		private long count;
+
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+
+			int value = super.read();
+			if (value >= 0) {
+				count++;
+			}
+			return value;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+
+			int read = super.read(b, off, len);
+			if (read > 0) {
+				count += read;
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+	}
+}
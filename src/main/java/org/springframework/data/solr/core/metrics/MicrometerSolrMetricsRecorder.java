@@ -0,0 +1,306 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.client.solrj.SolrResponse;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.response.SolrResponseBase;
+import org.apache.solr.common.SolrDocumentList;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.solr.core.OperationType;
+import org.springframework.data.solr.core.convert.EntityResponseParser;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link SolrMetricsRecorder} publishing to a Micrometer {@link MeterRegistry}. The following meters are registered
+ * using the configurable {@link #setPrefix(String) prefix} (defaults to {@literal spring.data.solr}):
+ * <dl>
+ * <dt>{@literal operation}</dt>
+ * <dd>Timer of the client side execution, tagged by {@literal operation}, {@literal collection}, {@literal outcome} and
+ * {@literal exception}.</dd>
+ * <dt>{@literal qtime}</dt>
+ * <dd>Timer of the Solr reported processing time.</dd>
+ * <dt>{@literal elapsed}</dt>
+ * <dd>Timer of the elapsed time reported by SolrJ for the round trip.</dd>
+ * <dt>{@literal query.shape}</dt>
+ * <dd>Timer of the client side execution of successful queries, tagged by {@literal operation}, {@literal collection}
+ * and {@literal shape}. Only recorded with query parameter dereferencing for queries without inline values. Shapes
+ * beyond {@link #setMaxQueryShapes(int) maxQueryShapes} are tagged {@literal other}.</dd>
+ * <dt>{@literal documents.returned}</dt>
+ * <dd>Distribution of the number of documents returned by queries.</dd>
+ * <dt>{@literal request.size} / {@literal response.size}</dt>
+ * <dd>Distribution of query string and decompressed response body sizes in bytes. See
+ * {@link SolrMetricsRecorder#recordRequestSize} and {@link SolrMetricsRecorder#recordResponseSize} for which requests
+ * are measured.</dd>
+ * <dt>{@literal request.uncompressed.size} / {@literal request.compression.ratio}</dt>
+ * <dd>Distribution of request body sizes before compression and of the ratio of uncompressed to sent bytes, tagged by
+ * {@literal compressed}.</dd>
+ * <dt>{@literal documents.deduplicated}</dt>
+ * <dd>Counter of documents passing content hash deduplication, tagged by {@literal collection} and {@literal outcome}
+ * ({@literal written} or {@literal skipped}).</dd>
+ * <dt>{@literal conversion}</dt>
+ * <dd>Timer of converting documents into domain objects, tagged by {@literal type} and {@literal parallel}.</dd>
+ * <dt>{@literal documents.converted}</dt>
+ * <dd>Counter of documents converted into domain objects, tagged by {@literal type} and {@literal parallel}.</dd>
+ * <dt>{@literal exceptions}</dt>
+ * <dd>Counter of translated exceptions, tagged by {@literal operation}, {@literal collection} and
+ * {@literal exception}.</dd>
+ * </dl>
+ * Percentile histograms, client side percentiles and service level objectives are not published unless configured.
+ *
+ * @since 4.4
+ */
+public class MicrometerSolrMetricsRecorder implements SolrMetricsRecorder {
+
+	private static final String NONE = "none";
+	private static final String OTHER = "other";
+
+	private final MeterRegistry registry;
+
+	private String prefix = "spring.data.solr";
+	private boolean percentileHistogram = false;
+	private @Nullable double[] percentiles;
+	private @Nullable Duration[] serviceLevelObjectives;
+	private int maxQueryShapes = 100;
+	private final Set<String> queryShapes = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @param registry must not be {@literal null}.
+	 */
+	public MicrometerSolrMetricsRecorder(MeterRegistry registry) {
+
+		Assert.notNull(registry, "MeterRegistry must not be null");
+		this.registry = registry;
+	}
+
+	@Override
+	public void recordExecution(OperationType operation, @Nullable String collection, long durationNanos,
+			@Nullable Throwable error) {
+
+		timer("operation", "Client side duration of Solr operations",
+				operationTags(operation, collection).and("outcome", error == null ? "success" : "error", "exception",
+						error == null ? NONE : ClassUtils.getShortName(error.getClass())))
+								.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void recordResponse(OperationType operation, @Nullable String collection, SolrResponse response) {
+
+		Tags tags = operationTags(operation, collection);
+
+		if (response instanceof SolrResponseBase) {
+
+			int qTime = ((SolrResponseBase) response).getQTime();
+			if (qTime >= 0) {
+				timer("qtime", "Processing time reported by Solr", tags).record(qTime, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		if (response.getElapsedTime() >= 0) {
+			timer("elapsed", "Round trip time reported by SolrJ", tags).record(response.getElapsedTime(),
+					TimeUnit.MILLISECONDS);
+		}
+
+		if (response instanceof QueryResponse) {
+
+			List<?> entities = EntityResponseParser.getEntities((QueryResponse) response);
+			SolrDocumentList documents = ((QueryResponse) response).getResults();
+
+			if (entities != null || documents != null) {
+				summary("documents.returned", "Number of documents returned", null, tags)
+						.record(entities != null ? entities.size() : documents.size());
+			}
+		}
+	}
+
+	@Override
+	public void recordQueryShape(OperationType operation, @Nullable String collection, String shape,
+			long durationNanos) {
+
+		timer("query.shape", "Client side duration of queries by shape",
+				operationTags(operation, collection).and("shape", queryShapeTag(shape))).record(durationNanos,
+						TimeUnit.NANOSECONDS);
+	}
+
+	private String queryShapeTag(String shape) {
+
+		if (queryShapes.contains(shape)) {
+			return shape;
+		}
+
+		synchronized (queryShapes) {
+
+			if (queryShapes.size() < maxQueryShapes) {
+				queryShapes.add(shape);
+			}
+			return queryShapes.contains(shape) ? shape : OTHER;
+		}
+	}
+
+	@Override
+	public void recordRequestSize(OperationType operation, @Nullable String collection, long bytes) {
+		summary("request.size", "Size of requests sent to Solr", "bytes", operationTags(operation, collection))
+				.record(bytes);
+	}
+
+	@Override
+	public void recordResponseSize(OperationType operation, @Nullable String collection, long bytes) {
+		summary("response.size", "Size of responses received from Solr", "bytes", operationTags(operation, collection))
+				.record(bytes);
+	}
+
+	@Override
+	public void recordRequestCompression(long uncompressedBytes, long sentBytes) {
+
+		Tags tags = Tags.of("compressed", Boolean.toString(sentBytes < uncompressedBytes));
+
+		summary("request.uncompressed.size", "Size of request bodies before compression", "bytes", tags)
+				.record(uncompressedBytes);
+		if (sentBytes > 0) {
+			summary("request.compression.ratio", "Ratio of uncompressed to sent request body size", null, tags)
+					.record((double) uncompressedBytes / sentBytes);
+		}
+	}
+
+	@Override
+	public void recordDeduplication(@Nullable String collection, int written, int skipped) {
+
+		Tags tags = Tags.of("collection", collection != null ? collection : NONE);
+
+		Counter.builder(name("documents.deduplicated")).description("Documents passing content hash deduplication")
+				.tags(tags.and("outcome", "written")).register(registry).increment(written);
+		Counter.builder(name("documents.deduplicated")).description("Documents passing content hash deduplication")
+				.tags(tags.and("outcome", "skipped")).register(registry).increment(skipped);
+	}
+
+	@Override
+	public void recordConversion(Class<?> type, int documents, long durationNanos, boolean parallel) {
+
+		Tags tags = Tags.of("type", type.getSimpleName(), "parallel", Boolean.toString(parallel));
+
+		timer("conversion", "Time spent converting documents into domain objects", tags).record(durationNanos,
+				TimeUnit.NANOSECONDS);
+		Counter.builder(name("documents.converted")).description("Number of documents converted into domain objects")
+				.tags(tags).register(registry).increment(documents);
+	}
+
+	@Override
+	public void recordTranslatedException(OperationType operation, @Nullable String collection,
+			DataAccessException exception) {
+
+		Counter.builder(name("exceptions")).description("Exceptions translated by SolrExceptionTranslator")
+				.tags(operationTags(operation, collection).and("exception", ClassUtils.getShortName(exception.getClass())))
+				.register(registry).increment();
+	}
+
+	/**
+	 * @param prefix must not be {@literal null} nor empty.
+	 */
+	public void setPrefix(String prefix) {
+
+		Assert.hasText(prefix, "Prefix must not be null nor empty");
+		this.prefix = prefix;
+	}
+
+	/**
+	 * Publish percentile histograms for timers and distribution summaries so that percentiles can be aggregated by the
+	 * monitoring system.
+	 *
+	 * @param percentileHistogram
+	 */
+	public void setPercentileHistogram(boolean percentileHistogram) {
+		this.percentileHistogram = percentileHistogram;
+	}
+
+	/**
+	 * Publish client side computed percentiles (eg. {@literal 0.5, 0.95, 0.99}).
+	 *
+	 * @param percentiles can be {@literal null}.
+	 */
+	public void setPercentiles(@Nullable double... percentiles) {
+		this.percentiles = percentiles;
+	}
+
+	/**
+	 * Limit the number of distinct {@literal shape} tags of the {@literal query.shape} timer. Shapes recorded once the
+	 * limit is reached are tagged {@literal other}. Defaults to {@literal 100}.
+	 *
+	 * @param maxQueryShapes must not be negative.
+	 */
+	public void setMaxQueryShapes(int maxQueryShapes) {
+
+		Assert.isTrue(maxQueryShapes >= 0, "MaxQueryShapes must not be negative");
+		this.maxQueryShapes = maxQueryShapes;
+	}
+
+	/**
+	 * Publish cumulative histogram counts for the given service level objectives of timers.
+	 *
+	 * @param serviceLevelObjectives can be {@literal null}.
+	 */
+	public void setServiceLevelObjectives(@Nullable Duration... serviceLevelObjectives) {
+		this.serviceLevelObjectives = serviceLevelObjectives;
+	}
+
+	private Timer timer(String name, String description, Tags tags) {
+
+		Timer.Builder builder = Timer.builder(name(name)).description(description).tags(tags)
+				.publishPercentileHistogram(percentileHistogram);
+
+		if (percentiles != null) {
+			builder.publishPercentiles(percentiles);
+		}
+		if (serviceLevelObjectives != null) {
+			builder.serviceLevelObjectives(serviceLevelObjectives);
+		}
+
+		return builder.register(registry);
+	}
+
+	private DistributionSummary summary(String name, String description, @Nullable String baseUnit, Tags tags) {
+
+		DistributionSummary.Builder builder = DistributionSummary.builder(name(name)).description(description)
+				.baseUnit(baseUnit).tags(tags).publishPercentileHistogram(percentileHistogram);
+
+		if (percentiles != null) {
+			builder.publishPercentiles(percentiles);
+		}
+
+		return builder.register(registry);
+	}
+
+	private String name(String name) {
+		return prefix + "." + name;
+	}
+
+	private static Tags operationTags(OperationType operation, @Nullable String collection) {
+		return Tags.of("operation", operation.tagValue(), "collection", collection != null ? collection : NONE);
+	}
+}
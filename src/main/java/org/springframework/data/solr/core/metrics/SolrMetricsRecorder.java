@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.metrics;
+
+import org.apache.solr.client.solrj.SolrResponse;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.solr.core.OperationType;
+import org.springframework.lang.Nullable;
+
+/**
+ * Callback interface used by {@link org.springframework.data.solr.core.SolrTemplate} to report timings, sizes and
+ * failures of operations executed against Solr. All methods default to no-op so implementations may pick the values
+ * they are interested in.
+ *
+ * @since 4.4
+ * @see MicrometerSolrMetricsRecorder
+ */
+public interface SolrMetricsRecorder {
+
+	/**
+	 * {@link SolrMetricsRecorder} not recording anything.
+	 */
+	SolrMetricsRecorder NONE = new SolrMetricsRecorder() {
+
+		@Override
+		public boolean isEnabled() {
+			return false;
+		}
+	};
+
+	/**
+	 * @return {@literal false} to skip computing values that are only needed for recording.
+	 */
+	default boolean isEnabled() {
+		return true;
+	}
+
+	/**
+	 * Record the client side duration of an operation.
+	 *
+	 * @param operation never {@literal null}.
+	 * @param collection can be {@literal null}.
+	 * @param durationNanos the elapsed time in nanoseconds.
+	 * @param error the error raised by the operation. {@literal null} on success.
+	 */
+	default void recordExecution(OperationType operation, @Nullable String collection, long durationNanos,
+			@Nullable Throwable error) {}
+
+	/**
+	 * Record the {@link SolrResponse} of an operation. Solr reports its own processing time ({@literal QTime}) as well
+	 * as the client side elapsed time on the response.
+	 *
+	 * @param operation never {@literal null}.
+	 * @param collection can be {@literal null}.
+	 * @param response never {@literal null}.
+	 */
+	default void recordResponse(OperationType operation, @Nullable String collection, SolrResponse response) {}
+
+	/**
+	 * Record the client side duration of a successful query by its shape. Only reported if query parameters are
+	 * dereferenced and the {@code q} and {@code fq} strings do not contain any values, so the number of shapes does not
+	 * depend on the values queried.
+	 *
+	 * @param operation never {@literal null}.
+	 * @param collection can be {@literal null}.
+	 * @param shape the {@code q} and {@code fq} strings of the query. Never {@literal null}.
+	 * @param durationNanos the elapsed time in nanoseconds.
+	 * @see org.springframework.data.solr.core.SolrTemplate#setQueryParameterDereferencing(boolean)
+	 */
+	default void recordQueryShape(OperationType operation, @Nullable String collection, String shape,
+			long durationNanos) {}
+
+	/**
+	 * Record the size of a query sent to Solr. Only reported for queries and counts issued by
+	 * {@link org.springframework.data.solr.core.SolrTemplate} as the length of the URL encoded query string, which only
+	 * contains ASCII characters and thus equals its size in bytes. Update request bodies are not reported here but via
+	 * {@link #recordRequestCompression(long, long)} when sent through a
+	 * {@link org.springframework.data.solr.server.support.GzipRequestWriter}.
+	 *
+	 * @param operation never {@literal null}.
+	 * @param collection can be {@literal null}.
+	 * @param bytes size of the query string.
+	 */
+	default void recordRequestSize(OperationType operation, @Nullable String collection, long bytes) {}
+
+	/**
+	 * Record the size of a response received from Solr. Only reported for responses parsed by a
+	 * {@link MeasuringResponseParser}, as configured by the client factory beans if a metrics recorder is set, and for
+	 * entity response parsing while metrics are {@link #isEnabled() enabled}.
+	 *
+	 * @param operation never {@literal null}.
+	 * @param collection can be {@literal null}.
+	 * @param bytes size of the (decompressed) response body.
+	 */
+	default void recordResponseSize(OperationType operation, @Nullable String collection, long bytes) {}
+
+	/**
+	 * Record the compression of a request body.
+	 *
+	 * @param uncompressedBytes size of the serialized request body.
+	 * @param sentBytes size of the body actually sent. Equal to {@code uncompressedBytes} if compression was skipped.
+	 */
+	default void recordRequestCompression(long uncompressedBytes, long sentBytes) {}
+
+	/**
+	 * Record the outcome of content hash based deduplication of documents to write.
+	 *
+	 * @param collection can be {@literal null}.
+	 * @param written number of new or changed documents sent to Solr.
+	 * @param skipped number of unchanged documents not sent to Solr.
+	 */
+	default void recordDeduplication(@Nullable String collection, int written, int skipped) {}
+
+	/**
+	 * Record the conversion of documents into domain objects.
+	 *
+	 * @param type the target type. Never {@literal null}.
+	 * @param documents number of converted documents.
+	 * @param durationNanos the elapsed time in nanoseconds.
+	 * @param parallel {@literal true} if the documents exceeded the parallel conversion threshold and were converted
+	 *          in parallel.
+	 */
+	default void recordConversion(Class<?> type, int documents, long durationNanos, boolean parallel) {}
+
+	/**
+	 * Record an exception translated by {@link org.springframework.data.solr.core.SolrExceptionTranslator}.
+	 *
+	 * @param operation never {@literal null}.
+	 * @param collection can be {@literal null}.
+	 * @param exception the translated exception. Never {@literal null}.
+	 */
+	default void recordTranslatedException(OperationType operation, @Nullable String collection,
+			DataAccessException exception) {}
+}
@@ -0,0 +1,6 @@
+/**
+ * Metrics support for Solr operations.
+ */
+@org.springframework.lang.NonNullApi
+@org.springframework.lang.NonNullFields
+package org.springframework.data.solr.core.metrics;
@@ -100,6 +100,17 @@ public class PartialUpdate implements Update {
 		add(new SimpleUpdateField(fieldName, value, UpdateAction.INC));
 	}
 
+	/**
+	 * Add field with given name and value using {@link UpdateAction#REMOVE} to the fields to be updated.
+	 *
+	 * @param fieldName
+	 * @param value
+	 * @since 4.4
+	 */
+	public void removeValueFromField(String fieldName, Object value) {
+		add(new SimpleUpdateField(fieldName, value, UpdateAction.REMOVE));
+	}
+
 	@Override
 	public List<UpdateField> getUpdates() {
 		return Collections.unmodifiableList(updates);
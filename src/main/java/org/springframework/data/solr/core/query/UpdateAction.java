@@ -21,7 +21,14 @@ package org.springframework.data.solr.core.query;
  * @author Christoph Strobl
  */
 public enum UpdateAction {
-	ADD("add"), INC("inc"), SET("set");
+	ADD("add"), INC("inc"), SET("set"),
+
+	/**
+	 * Remove all occurrences of the given values from a multi valued field.
+	 *
+	 * @since 4.4
+	 */
+	REMOVE("remove");
 
 	private String solrOperation;
 
@@ -15,6 +15,9 @@
  */
 package org.springframework.data.solr.core.schema;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.solr.client.solrj.request.schema.SchemaRequest;
@@ -112,6 +115,48 @@ public class DefaultSchemaOperations implements SchemaOperations {
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.solr.core.schema.SchemaOperations#addFields(java.util.Collection)
+	 */
+	@Override
+	public void addFields(Collection<? extends SchemaField> fields) {
+
+		Assert.notNull(fields, "Fields must not be null");
+
+		List<SchemaRequest.Update> updates = new ArrayList<>(fields.size());
+		for (SchemaField field : fields) {
+
+			if (field instanceof FieldDefinition) {
+
+				FieldDefinition fd = (FieldDefinition) field;
+				updates.add(new SchemaRequest.AddField(fd.asMap()));
+				if (!CollectionUtils.isEmpty(fd.getCopyFields())) {
+					updates.add(new SchemaRequest.AddCopyField(fd.getName(), fd.getCopyFields()));
+				}
+			} else if (field instanceof CopyFieldDefinition) {
+
+				CopyFieldDefinition cf = (CopyFieldDefinition) field;
+				updates.add(new SchemaRequest.AddCopyField(cf.getSource(), cf.getDestination()));
+			}
+		}
+
+		if (updates.isEmpty()) {
+			return;
+		}
+
+		template.execute(solrClient -> {
+
+			UpdateResponse response = new SchemaRequest.MultiUpdate(updates).process(solrClient, collection);
+			if (hasErrors(response)) {
+				throw new SchemaModificationException(
+						String.format("Adding %s fields to collection %s failed with status %s; Server returned %s",
+								fields.size(), collection, response.getStatus(), response));
+			}
+			return Integer.valueOf(response.getStatus());
+		});
+	}
+
 	private void addField(final FieldDefinition field) {
 
 		template.execute(solrClient -> {
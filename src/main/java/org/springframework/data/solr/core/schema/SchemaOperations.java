@@ -15,6 +15,8 @@
  */
 package org.springframework.data.solr.core.schema;
 
+import java.util.Collection;
+
 import org.springframework.data.solr.core.schema.SchemaDefinition.SchemaField;
 
 /**
@@ -54,6 +56,20 @@ public interface SchemaOperations {
 	 */
 	void addField(SchemaField field);
 
+	/**
+	 * Add all given {@link SchemaField}s. Implementations may send them in a single request.
+	 *
+	 * @param fields must not be {@literal null}.
+	 * @throws SchemaModificationException
+	 * @since 4.4
+	 */
+	default void addFields(Collection<? extends SchemaField> fields) {
+
+		for (SchemaField field : fields) {
+			addField(field);
+		}
+	}
+
 	/**
 	 * Remove the field with given name.
 	 *
@@ -15,11 +15,18 @@
  */
 package org.springframework.data.solr.core.schema;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationListener;
 import org.springframework.data.mapping.context.MappingContextEvent;
 import org.springframework.data.solr.core.mapping.SolrPersistentEntity;
@@ -37,10 +44,13 @@ public class SolrPersistentEntitySchemaCreator implements ApplicationListener<Ma
 		CREATE_MISSING_FIELDS
 	}
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(SolrPersistentEntitySchemaCreator.class);
+
 	private SolrClientFactory factory;
 	private SolrSchemaWriter schemaWriter;
 	private SolrSchemaResolver schemaResolver;
 	private ConcurrentHashMap<Class<?>, Class<?>> processed;
+	private final ThreadLocal<List<SolrPersistentEntity<?>>> deferred = new ThreadLocal<>();
 
 	private Set<Feature> features = new HashSet<>();
 
@@ -56,13 +66,66 @@ public class SolrPersistentEntitySchemaCreator implements ApplicationListener<Ma
 		this.processed = new ConcurrentHashMap<>();
 	}
 
-	private void process(SolrPersistentEntity<?> entity) {
+	private void process(List<SolrPersistentEntity<?>> entities) {
+
+		List<SchemaDefinition> schemas = new ArrayList<>(entities.size());
+		for (SolrPersistentEntity<?> entity : entities) {
+
+			SchemaDefinition schema = schemaResolver.resolveSchemaForEntity(entity);
+			beforeSchemaWrite(entity, schema);
+			schemas.add(schema);
+		}
+
+		schemaWriter.writeSchemas(schemas);
+
+		for (int i = 0; i < entities.size(); i++) {
+			afterSchemaWrite(entities.get(i), schemas.get(i));
+		}
+	}
+
+	/**
+	 * Run the given callback and write the schema of all entities added to the mapping context by it afterwards, so that
+	 * the fields missing across all of them are added with a single request per collection. Failing to write the schema
+	 * of a collection, or to resolve the collection of an entity, is logged and does not prevent the schemas of other
+	 * collections from being written.
+	 *
+	 * @param callback must not be {@literal null}.
+	 * @since 4.4
+	 */
+	public void processDeferred(Runnable callback) {
+
+		if (deferred.get() != null) {
+			callback.run();
+			return;
+		}
+
+		List<SolrPersistentEntity<?>> entities = new ArrayList<>();
+		deferred.set(entities);
+		try {
+			callback.run();
+		} finally {
+			deferred.remove();
+		}
 
-		SchemaDefinition schema = schemaResolver.resolveSchemaForEntity(entity);
+		Map<String, List<SolrPersistentEntity<?>>> collections = new LinkedHashMap<>();
+		for (SolrPersistentEntity<?> entity : entities) {
 
-		beforeSchemaWrite(entity, schema);
-		schemaWriter.writeSchema(schema);
-		afterSchemaWrite(entity, schema);
+			try {
+				collections.computeIfAbsent(entity.getCollectionName(), it -> new ArrayList<>()).add(entity);
+			} catch (RuntimeException e) {
+				LOGGER.warn("Skipping schema creation for {}, its collection cannot be resolved: {}", entity.getType(),
+						e.getMessage());
+			}
+		}
+
+		collections.forEach((collection, collectionEntities) -> {
+
+			try {
+				process(collectionEntities);
+			} catch (RuntimeException e) {
+				LOGGER.warn("Failed to write schema of collection '{}': {}", collection, e.getMessage());
+			}
+		});
 	}
 
 	protected void beforeSchemaWrite(SolrPersistentEntity<?> entity, SchemaDefinition schema) {
@@ -81,7 +144,13 @@ public class SolrPersistentEntitySchemaCreator implements ApplicationListener<Ma
 			if (event.getPersistentEntity() instanceof SolrPersistentEntity) {
 				SolrPersistentEntity<?> entity = (SolrPersistentEntity<?>) event.getPersistentEntity();
 				if (!processed.contains(entity.getType())) {
-					process(entity);
+
+					List<SolrPersistentEntity<?>> entities = deferred.get();
+					if (entities != null) {
+						entities.add(entity);
+					} else {
+						process(Collections.singletonList(entity));
+					}
 				}
 			}
 		}
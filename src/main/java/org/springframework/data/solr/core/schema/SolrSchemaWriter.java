@@ -17,33 +17,71 @@ package org.springframework.data.solr.core.schema;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.data.solr.core.SolrTemplate;
 import org.springframework.data.solr.core.schema.SchemaDefinition.FieldDefinition;
 import org.springframework.data.solr.server.SolrClientFactory;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 /**
+ * Writes {@link SchemaDefinition}s to the managed schema of a collection by adding missing fields. The existing schema
+ * of a collection is read once and kept up to date with the fields added by this writer, so it is not read again for
+ * the lifetime of the writer.
+ *
  * @author Christoph Strobl
  * @since 1.3
  */
 public class SolrSchemaWriter {
 
 	private final SolrTemplate template;
+	private final Map<String, SchemaDefinition> existingSchemas = new ConcurrentHashMap<>();
 
 	public SolrSchemaWriter(SolrClientFactory factory) {
 		this.template = new SolrTemplate(factory);
 	}
 
 	public void writeSchema(SchemaDefinition schemaDefinition) {
+		writeSchemas(Collections.singletonList(schemaDefinition));
+	}
 
-		if (isSchemaPresent(schemaDefinition.getCollectionName())) {
-			updateSchema(schemaDefinition);
-			return;
+	/**
+	 * Write the given {@link SchemaDefinition}s. Definitions targeting the same collection are merged so that all fields
+	 * missing in its schema are added with a single request per collection.
+	 *
+	 * @param schemaDefinitions must not be {@literal null}.
+	 * @since 4.4
+	 */
+	public void writeSchemas(Collection<SchemaDefinition> schemaDefinitions) {
+
+		Assert.notNull(schemaDefinitions, "SchemaDefinitions must not be null");
+
+		Map<String, SchemaDefinition> merged = new LinkedHashMap<>();
+		for (SchemaDefinition schemaDefinition : schemaDefinitions) {
+
+			SchemaDefinition target = merged.computeIfAbsent(schemaDefinition.getCollectionName(), SchemaDefinition::new);
+			for (FieldDefinition fieldDefinition : schemaDefinition.getFields()) {
+				if (!target.containsField(fieldDefinition.getName())) {
+					target.addFieldDefinition(fieldDefinition);
+				}
+			}
 		}
 
-		createSchema(schemaDefinition);
+		for (SchemaDefinition schemaDefinition : merged.values()) {
+
+			if (isSchemaPresent(schemaDefinition.getCollectionName())) {
+				updateSchema(schemaDefinition);
+			} else {
+				createSchema(schemaDefinition);
+			}
+		}
 	}
 
 	protected void createSchema(SchemaDefinition schemaDefinition) {
@@ -52,31 +90,37 @@ public class SolrSchemaWriter {
 
 	protected void updateSchema(SchemaDefinition schemaDefinition) {
 
-		SchemaDefinition existing = loadExistingSchema(schemaDefinition.getCollectionName());
+		String collectionName = schemaDefinition.getCollectionName();
+		SchemaDefinition existing = existingSchemas.computeIfAbsent(collectionName, this::loadExistingSchema);
 
-		List<FieldDefinition> fieldsToBeCreated = new ArrayList<>();
-		for (FieldDefinition fieldDefinition : schemaDefinition.getFields()) {
+		synchronized (existing) {
 
-			if (!existing.containsField(fieldDefinition.getName()))
-				fieldsToBeCreated.add(fieldDefinition);
-		}
+			Set<String> existingFieldNames = new HashSet<>(existing.getFields().size());
+			for (FieldDefinition fieldDefinition : existing.getFields()) {
+				existingFieldNames.add(fieldDefinition.getName());
+			}
+
+			List<FieldDefinition> fieldsToBeCreated = new ArrayList<>();
+			for (FieldDefinition fieldDefinition : schemaDefinition.getFields()) {
+
+				if (!existingFieldNames.contains(fieldDefinition.getName()))
+					fieldsToBeCreated.add(fieldDefinition);
+			}
 
-		writeFieldDefinitions(fieldsToBeCreated, schemaDefinition.getCollectionName());
+			writeFieldDefinitions(fieldsToBeCreated, collectionName);
+			fieldsToBeCreated.forEach(existing::addFieldDefinition);
+		}
 	}
 
 	private void writeFieldDefinitions(Collection<FieldDefinition> definitions, String collectionName) {
 
 		if (!CollectionUtils.isEmpty(definitions)) {
-
-			SchemaOperations schemaOps = template.getSchemaOperations(collectionName);
-			for (FieldDefinition fd : definitions) {
-				schemaOps.addField(fd);
-			}
+			template.getSchemaOperations(collectionName).addFields(definitions);
 		}
 	}
 
 	boolean isSchemaPresent(String collectionName) {
-		return !retrieveSchemaVersion(collectionName).isNaN();
+		return existingSchemas.containsKey(collectionName) || !retrieveSchemaVersion(collectionName).isNaN();
 	}
 
 	SchemaDefinition loadExistingSchema(String collectionName) {
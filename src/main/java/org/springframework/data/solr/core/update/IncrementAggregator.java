@@ -0,0 +1,553 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.update;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.solr.core.SolrOperations;
+import org.springframework.data.solr.core.query.PartialUpdate;
+import org.springframework.data.solr.core.query.SimpleUpdateField;
+import org.springframework.data.solr.core.query.UpdateAction;
+import org.springframework.data.solr.core.query.UpdateField;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Coalesces high frequency {@link UpdateAction#INC increments} and {@link UpdateAction#SET sets}, such as view or click
+ * counters, into one atomic update per document that is written along with all other pending documents in a single
+ * {@link SolrOperations#saveBeans(String, java.util.Collection, Duration) batch}.
+ * <p>
+ * Operations on the same document and field are combined in submission order: increments are summed up, a set
+ * replaces everything submitted before and increments following a set are added to its value. Pending documents are
+ * flushed once the {@link #setWindow(Duration) window} since the first pending operation elapsed, or as soon as
+ * {@link #setMaxBatchSize(int) maxBatchSize} documents are pending. Flushing happens on a background thread, so
+ * submitting operations does not block on Solr.
+ * <p>
+ * Sets of a failed flush are kept and retried with the next one, combined with operations submitted meanwhile.
+ * Increments are not retried by default, as a failed request, e.g. one timing out, may still have been applied by
+ * Solr and retrying it would count the increment twice. They are dropped and reported via
+ * {@link #getDroppedIncrements()} instead, unless {@link #setRetryIncrements(boolean) retryIncrements} trades that
+ * loss for the risk of counting them twice. Documents with operations older than {@link #setMaxStaleness(Duration)
+ * maxStaleness} are dropped, which bounds both the delay and the memory held while Solr is unavailable. Pending
+ * documents are flushed on {@link #destroy()}.
+ *
+ * @since 4.4
+ */
+public class IncrementAggregator implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(IncrementAggregator.class);
+
+	private final SolrOperations operations;
+	private final ScheduledExecutorService scheduler;
+
+	private final Object lock = new Object();
+	private Map<DocumentKey, PendingDocument> pending = new LinkedHashMap<>();
+	private @Nullable ScheduledFuture<?> scheduledFlush;
+	private boolean sizeFlushRequested;
+	private volatile boolean destroyed;
+
+	private String idField = "id";
+	private Duration window = Duration.ofSeconds(1);
+	private int maxBatchSize = 1000;
+	private Duration maxStaleness = Duration.ofMinutes(1);
+	private Duration commitWithin = Duration.ZERO;
+	private boolean retryIncrements = false;
+
+	private final LongAdder submittedOperations = new LongAdder();
+	private final LongAdder flushedDocuments = new LongAdder();
+	private final LongAdder droppedDocuments = new LongAdder();
+	private final LongAdder droppedIncrements = new LongAdder();
+
+	/**
+	 * @param operations must not be {@literal null}.
+	 */
+	public IncrementAggregator(SolrOperations operations) {
+
+		Assert.notNull(operations, "SolrOperations must not be null");
+
+		this.operations = operations;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory());
+	}
+
+	/**
+	 * Increment the value of a field by {@code delta}.
+	 *
+	 * @param collection must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @param field must not be {@literal null} nor empty.
+	 * @param delta must not be {@literal null}.
+	 */
+	public void increment(String collection, Object id, String field, Number delta) {
+
+		Assert.notNull(delta, "Delta must not be null");
+		submit(collection, idField, id, new SimpleUpdateField(field, delta, UpdateAction.INC));
+	}
+
+	/**
+	 * Set the value of a field.
+	 *
+	 * @param collection must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @param field must not be {@literal null} nor empty.
+	 * @param value can be {@literal null} to remove the field.
+	 */
+	public void set(String collection, Object id, String field, @Nullable Object value) {
+		submit(collection, idField, id, new SimpleUpdateField(field, value, UpdateAction.SET));
+	}
+
+	/**
+	 * Submit all fields of the given {@link PartialUpdate}, which may only use {@link UpdateAction#INC} and
+	 * {@link UpdateAction#SET}. The {@link PartialUpdate#getVersion() version} is not taken into account.
+	 *
+	 * @param collection must not be {@literal null}.
+	 * @param update must not be {@literal null}.
+	 */
+	public void submit(String collection, PartialUpdate update) {
+
+		Assert.notNull(update, "PartialUpdate must not be null");
+
+		for (UpdateField field : update.getUpdates()) {
+			submit(collection, update.getIdField().getName(), update.getIdField().getValue(), field);
+		}
+	}
+
+	private void submit(String collection, String idField, Object id, UpdateField field) {
+
+		Assert.notNull(collection, "Collection must not be null");
+		Assert.notNull(id, "Id must not be null");
+		Assert.hasText(field.getName(), "Field must not be null nor empty");
+		Assert.isTrue(field.getAction() == UpdateAction.INC || field.getAction() == UpdateAction.SET,
+				"Only inc and set can be aggregated");
+		Assert.state(!destroyed, "IncrementAggregator has been destroyed");
+
+		synchronized (lock) {
+
+			DocumentKey key = new DocumentKey(collection, id);
+			pending.computeIfAbsent(key, it -> new PendingDocument(idField, System.nanoTime())).apply(field);
+
+			if (pending.size() >= maxBatchSize) {
+
+				if (!sizeFlushRequested) {
+					sizeFlushRequested = true;
+					scheduler.execute(this::flushQuietly);
+				}
+			} else if (scheduledFlush == null) {
+				scheduledFlush = scheduler.schedule(this::flushQuietly, window.toNanos(), TimeUnit.NANOSECONDS);
+			}
+		}
+
+		submittedOperations.increment();
+	}
+
+	/**
+	 * Write all pending documents, one batch per collection, on the calling thread.
+	 *
+	 * @return the number of documents written.
+	 * @throws org.springframework.dao.DataAccessException if writing a batch failed. Its sets, and its increments if
+	 *           {@link #setRetryIncrements(boolean) retryIncrements} is enabled, are kept for the next flush.
+	 */
+	public int flush() {
+
+		Map<DocumentKey, PendingDocument> batch;
+		synchronized (lock) {
+
+			batch = pending;
+			pending = new LinkedHashMap<>();
+			sizeFlushRequested = false;
+
+			if (scheduledFlush != null) {
+				scheduledFlush.cancel(false);
+				scheduledFlush = null;
+			}
+		}
+
+		Map<String, Map<DocumentKey, PendingDocument>> collections = new LinkedHashMap<>();
+		batch.forEach((key, document) -> collections.computeIfAbsent(key.collection, it -> new LinkedHashMap<>())
+				.put(key, document));
+
+		int written = 0;
+		RuntimeException failure = null;
+
+		for (Map.Entry<String, Map<DocumentKey, PendingDocument>> entry : collections.entrySet()) {
+
+			List<PartialUpdate> updates = new ArrayList<>(entry.getValue().size());
+			entry.getValue().forEach((key, document) -> updates.add(document.toUpdate(key.id)));
+
+			try {
+
+				operations.saveBeans(entry.getKey(), updates, commitWithin);
+				written += updates.size();
+				flushedDocuments.add(updates.size());
+			} catch (RuntimeException e) {
+
+				if (failure == null) {
+					failure = e;
+				}
+				requeue(entry.getValue());
+			}
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+		return written;
+	}
+
+	/**
+	 * Put documents of a failed flush back in front of operations submitted meanwhile, dropping stale ones and, unless
+	 * {@link #retryIncrements} is set, increments that may already have been applied.
+	 */
+	private void requeue(Map<DocumentKey, PendingDocument> failed) {
+
+		long staleBefore = System.nanoTime() - maxStaleness.toNanos();
+
+		synchronized (lock) {
+
+			Map<DocumentKey, PendingDocument> merged = new LinkedHashMap<>();
+			int dropped = 0;
+			int conflicting = 0;
+			int increments = 0;
+
+			for (Map.Entry<DocumentKey, PendingDocument> entry : failed.entrySet()) {
+
+				PendingDocument document = entry.getValue();
+				if (document.createdNanos - staleBefore < 0) {
+					dropped++;
+					continue;
+				}
+
+				if (!retryIncrements) {
+
+					increments += document.removeIncrements();
+					if (document.isEmpty()) {
+						continue;
+					}
+				}
+
+				PendingDocument newer = pending.get(entry.getKey());
+				if (newer == null) {
+					merged.put(entry.getKey(), document);
+				} else if (document.canBeFollowedBy(newer)) {
+					merged.put(entry.getKey(), document.followedBy(pending.remove(entry.getKey())));
+				} else {
+					conflicting++;
+				}
+			}
+
+			merged.putAll(pending);
+			pending = merged;
+
+			if (dropped > 0) {
+
+				droppedDocuments.add(dropped);
+				LOGGER.error("Dropped {} aggregated updates older than {}.", dropped, maxStaleness);
+			}
+
+			if (conflicting > 0) {
+
+				droppedDocuments.add(conflicting);
+				LOGGER.error("Dropped {} failed aggregated updates setting non numeric values incremented meanwhile.",
+						conflicting);
+			}
+
+			if (increments > 0) {
+
+				droppedIncrements.add(increments);
+				LOGGER.error("Dropped {} increments of failed aggregated updates, which may or may not have been applied.",
+						increments);
+			}
+
+			if (!pending.isEmpty() && scheduledFlush == null && !destroyed) {
+				scheduledFlush = scheduler.schedule(this::flushQuietly, window.toNanos(), TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	private void flushQuietly() {
+
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			LOGGER.warn("Flushing aggregated updates failed, retrying with the next flush: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * @return the number of documents waiting to be written.
+	 */
+	public int getPendingDocuments() {
+
+		synchronized (lock) {
+			return pending.size();
+		}
+	}
+
+	/**
+	 * @return the number of operations submitted so far.
+	 */
+	public long getSubmittedOperations() {
+		return submittedOperations.sum();
+	}
+
+	/**
+	 * @return the number of documents written so far.
+	 */
+	public long getFlushedDocuments() {
+		return flushedDocuments.sum();
+	}
+
+	/**
+	 * @return the number of documents dropped for exceeding {@link #setMaxStaleness(Duration) maxStaleness} or for
+	 *         setting a non numeric value incremented by operations submitted after the flush failed.
+	 */
+	public long getDroppedDocuments() {
+		return droppedDocuments.sum();
+	}
+
+	/**
+	 * @return the number of field increments of failed flushes that have not been retried.
+	 * @see #setRetryIncrements(boolean)
+	 */
+	public long getDroppedIncrements() {
+		return droppedIncrements.sum();
+	}
+
+	/**
+	 * @param idField name of the unique key field used by {@link #increment(String, Object, String, Number)} and
+	 *          {@link #set(String, Object, String, Object)}. Defaults to {@literal id}.
+	 */
+	public void setIdField(String idField) {
+
+		Assert.hasText(idField, "IdField must not be null nor empty");
+		this.idField = idField;
+	}
+
+	/**
+	 * @param window max time between the first pending operation and the flush. Defaults to one second.
+	 */
+	public void setWindow(Duration window) {
+
+		Assert.isTrue(window != null && !window.isNegative() && !window.isZero(), "Window must be positive");
+		this.window = window;
+	}
+
+	/**
+	 * @param maxBatchSize number of pending documents triggering an immediate flush. Defaults to {@literal 1000}.
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+
+		Assert.isTrue(maxBatchSize > 0, "MaxBatchSize must be greater than zero");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * @param maxStaleness max age of operations retried after failed flushes. Defaults to one minute.
+	 */
+	public void setMaxStaleness(Duration maxStaleness) {
+
+		Assert.isTrue(maxStaleness != null && !maxStaleness.isNegative(), "MaxStaleness must not be negative");
+		this.maxStaleness = maxStaleness;
+	}
+
+	/**
+	 * @param commitWithin max time within server performs commit of flushed documents. Defaults to none.
+	 */
+	public void setCommitWithin(Duration commitWithin) {
+
+		Assert.notNull(commitWithin, "CommitWithin must not be null");
+		this.commitWithin = commitWithin;
+	}
+
+	/**
+	 * @param retryIncrements whether to retry increments of failed flushes instead of dropping them. A failed request
+	 *          might have been applied by Solr, e.g. if it timed out waiting for the response, so retried increments are
+	 *          applied at least once and may be counted twice. Defaults to {@literal false}.
+	 */
+	public void setRetryIncrements(boolean retryIncrements) {
+		this.retryIncrements = retryIncrements;
+	}
+
+	/**
+	 * Flush pending documents and stop the background thread.
+	 */
+	@Override
+	public void destroy() {
+
+		destroyed = true;
+		scheduler.shutdownNow();
+
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			LOGGER.error("Dropped {} aggregated updates on shutdown: {}", getPendingDocuments(), e.getMessage());
+		}
+	}
+
+	private static class DocumentKey {
+
+		private final String collection;
+		private final Object id;
+
+		DocumentKey(String collection, Object id) {
+
+			this.collection = collection;
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof DocumentKey)) {
+				return false;
+			}
+			DocumentKey that = (DocumentKey) o;
+			return collection.equals(that.collection) && id.equals(that.id);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * collection.hashCode() + id.hashCode();
+		}
+	}
+
+	/**
+	 * Combined operations on one document, in submission order per field.
+	 */
+	private static class PendingDocument {
+
+		private final String idField;
+		private final long createdNanos;
+		private final Map<String, UpdateField> fields = new LinkedHashMap<>();
+
+		PendingDocument(String idField, long createdNanos) {
+
+			this.idField = idField;
+			this.createdNanos = createdNanos;
+		}
+
+		void apply(UpdateField field) {
+			fields.merge(field.getName(), field, PendingDocument::combine);
+		}
+
+		/**
+		 * @return the number of removed increments.
+		 */
+		int removeIncrements() {
+
+			int size = fields.size();
+			fields.values().removeIf(field -> field.getAction() == UpdateAction.INC);
+			return size - fields.size();
+		}
+
+		boolean isEmpty() {
+			return fields.isEmpty();
+		}
+
+		boolean canBeFollowedBy(PendingDocument newer) {
+
+			for (UpdateField field : newer.fields.values()) {
+
+				UpdateField earlier = fields.get(field.getName());
+				if (field.getAction() == UpdateAction.INC && earlier != null && earlier.getValue() != null
+						&& !(earlier.getValue() instanceof Number)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		PendingDocument followedBy(PendingDocument newer) {
+
+			newer.fields.values().forEach(this::apply);
+			return this;
+		}
+
+		PartialUpdate toUpdate(Object id) {
+
+			PartialUpdate update = new PartialUpdate(idField, id);
+			fields.values().forEach(update::add);
+			return update;
+		}
+
+		static UpdateField combine(UpdateField earlier, UpdateField later) {
+
+			if (later.getAction() == UpdateAction.SET) {
+				return later;
+			}
+
+			Number delta = (Number) later.getValue();
+			if (earlier.getValue() != null && !(earlier.getValue() instanceof Number)) {
+				throw new IllegalArgumentException(
+						String.format("Cannot increment non numeric value of field '%s'", later.getName()));
+			}
+
+			Number value = sum((Number) earlier.getValue(), delta);
+			return new SimpleUpdateField(later.getName(), value, earlier.getAction());
+		}
+
+		private static Number sum(@Nullable Number left, Number right) {
+
+			if (left == null) {
+				return right;
+			}
+			if (isIntegral(left) && isIntegral(right)) {
+
+				long sum = left.longValue() + right.longValue();
+				return left instanceof Long || right instanceof Long || sum != (int) sum ? (Number) sum : (Number) (int) sum;
+			}
+			if (left instanceof BigDecimal || right instanceof BigDecimal) {
+				return new BigDecimal(left.toString()).add(new BigDecimal(right.toString()));
+			}
+			return left.doubleValue() + right.doubleValue();
+		}
+
+		private static boolean isIntegral(Number number) {
+			return number instanceof Integer || number instanceof Long || number instanceof Short
+					|| number instanceof Byte;
+		}
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+
+			Thread thread = new Thread(runnable, "solr-increment-aggregator-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,774 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.update;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrException.ErrorCode;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.solr.core.SolrOperations;
+import org.springframework.data.solr.core.query.UpdateAction;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Durable write-behind log in front of the update methods of {@link SolrOperations}. Beans, {@link SolrInputDocument}s
+ * and {@link org.springframework.data.solr.core.query.PartialUpdate}s are converted and appended to memory mapped
+ * segment files within a local directory. Appending returns as soon as the record is written, independent of Solr being
+ * slow or unavailable.
+ * <p>
+ * A background thread replays the journal to Solr in batches of up to {@link #setMaxBatchSize(int) maxBatchSize}
+ * records, written with one request per collection, and persists a checkpoint after every batch, so that a journal
+ * opened on the same directory after a restart resumes where the previous one stopped. Segments are deleted once
+ * replayed completely. Failed batches are retried after {@link #setDrainInterval(Duration) drainInterval}.
+ * <p>
+ * Batches Solr rejects with {@literal 400 Bad Request}, such as documents violating the schema or malformed atomic
+ * updates, are split up until the rejected records are isolated. Those are appended to a dead letter file within the
+ * directory, passed to the {@link #setRejectedRecordHandler(RejectedRecordHandler) rejectedRecordHandler} and skipped,
+ * so that they do not block the records behind them.
+ * <p>
+ * Records are delivered at least once: a batch that failed for some collections only, or that was written right before
+ * a crash without persisting its checkpoint, is replayed entirely. This is harmless for whole documents, while
+ * {@link UpdateAction#INC increments} may be applied twice. Records are kept in order per collection.
+ * <p>
+ * Appended records survive a crash of the JVM, as they are written to the page cache of the operating system. Enable
+ * {@link #setSyncWrites(boolean) syncWrites} to survive a crash of the host as well, at the cost of forcing every
+ * append to disk.
+ *
+ * @since 4.4
+ */
+public class WriteBehindJournal implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindJournal.class);
+
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final String CHECKPOINT_FILE = "checkpoint";
+
+	/**
+	 * Name of the file within the journal directory rejected records are appended to, using the record layout of the
+	 * segment files.
+	 */
+	public static final String DEAD_LETTER_FILE = "dead-letter.log";
+
+	// record layout: payload length, crc32 of the payload, payload
+	private static final int HEADER_SIZE = 8;
+
+	/**
+	 * Default size of segment files of {@literal 64 MB}.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	private final SolrOperations operations;
+	private final Path directory;
+	private final int segmentSize;
+	private final ScheduledExecutorService drainer;
+
+	private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+	private final Object writeLock = new Object();
+	private Segment writeSegment;
+	private int writeOffset;
+	private boolean drainScheduled;
+
+	private final Object drainLock = new Object();
+	private Position readPosition;
+
+	private volatile boolean destroyed;
+
+	private int maxBatchSize = 1000;
+	private int maxSegments = 0;
+	private boolean syncWrites = false;
+	private Duration drainInterval = Duration.ofSeconds(1);
+	private Duration commitWithin = Duration.ZERO;
+	private @Nullable RejectedRecordHandler rejectedRecordHandler;
+
+	private final LongAdder appendedRecords = new LongAdder();
+	private final LongAdder drainedRecords = new LongAdder();
+	private final LongAdder failedDrains = new LongAdder();
+	private final LongAdder rejectedRecords = new LongAdder();
+
+	/**
+	 * Open the journal in the given directory using segments of {@link #DEFAULT_SEGMENT_SIZE}.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param directory must not be {@literal null}. Created if it does not exist.
+	 */
+	public WriteBehindJournal(SolrOperations operations, Path directory) {
+		this(operations, directory, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Open the journal in the given directory, resuming replay of records left by a previous journal.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param directory must not be {@literal null}. Created if it does not exist.
+	 * @param segmentSize size of the segment files in bytes, which limits the size of a single record.
+	 */
+	public WriteBehindJournal(SolrOperations operations, Path directory, int segmentSize) {
+
+		Assert.notNull(operations, "SolrOperations must not be null");
+		Assert.notNull(directory, "Directory must not be null");
+		Assert.isTrue(segmentSize > HEADER_SIZE, "SegmentSize must be greater than " + HEADER_SIZE);
+
+		this.operations = operations;
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+
+		try {
+			Files.createDirectories(directory);
+			recover();
+		} catch (IOException e) {
+			throw new DataAccessResourceFailureException("Cannot open journal in " + directory, e);
+		}
+
+		this.drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+
+			Thread thread = new Thread(runnable, "solr-write-behind-journal");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		if (hasPendingRecords()) {
+			synchronized (writeLock) {
+				scheduleDrain();
+			}
+		}
+	}
+
+	/**
+	 * Append a single bean, {@link SolrInputDocument} or {@link org.springframework.data.solr.core.query.PartialUpdate}.
+	 *
+	 * @param collection must not be {@literal null} nor empty.
+	 * @param bean must not be {@literal null}.
+	 */
+	public void append(String collection, Object bean) {
+
+		Assert.notNull(bean, "Bean must not be null");
+		appendAll(collection, Collections.singletonList(bean));
+	}
+
+	/**
+	 * Append beans, {@link SolrInputDocument}s or {@link org.springframework.data.solr.core.query.PartialUpdate}s in
+	 * order.
+	 *
+	 * @param collection must not be {@literal null} nor empty.
+	 * @param beans must not be {@literal null}.
+	 * @throws DataAccessResourceFailureException if the records cannot be written, or {@link #setMaxSegments(int)
+	 *           maxSegments} would be exceeded.
+	 */
+	public void appendAll(String collection, Collection<?> beans) {
+
+		Assert.hasText(collection, "Collection must not be null nor empty");
+		Assert.notNull(beans, "Beans must not be null");
+		Assert.state(!destroyed, "WriteBehindJournal has been destroyed");
+
+		List<byte[]> records = new ArrayList<>(beans.size());
+		for (Object bean : beans) {
+			records.add(encode(collection, operations.convertBeanToSolrInputDocument(bean)));
+		}
+
+		synchronized (writeLock) {
+
+			for (byte[] record : records) {
+				write(record);
+			}
+			if (syncWrites) {
+				writeSegment.buffer.force();
+			}
+			scheduleDrain();
+		}
+
+		appendedRecords.add(records.size());
+	}
+
+	private void write(byte[] record) {
+
+		int size = HEADER_SIZE + record.length;
+		Assert.isTrue(size <= segmentSize, () -> "Record of " + size + " bytes exceeds segment size of " + segmentSize);
+
+		if (writeOffset + size > writeSegment.size()) {
+
+			if (maxSegments > 0 && segments.size() >= maxSegments) {
+				throw new DataAccessResourceFailureException(
+						"Journal exceeds " + maxSegments + " segments; Solr does not keep up with appended records");
+			}
+
+			if (syncWrites) {
+				writeSegment.buffer.force();
+			}
+			writeSegment = openSegment(writeSegment.id + 1);
+			writeOffset = 0;
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(record);
+
+		ByteBuffer buffer = writeSegment.buffer.duplicate();
+		buffer.position(writeOffset + HEADER_SIZE);
+		buffer.put(record);
+
+		// the length is written last as it marks the record as complete
+		buffer.putInt(writeOffset + 4, (int) crc.getValue());
+		buffer.putInt(writeOffset, record.length);
+
+		writeOffset += size;
+	}
+
+	/**
+	 * Replay the next batch of records to Solr on the calling thread.
+	 *
+	 * @return the number of records processed, including rejected ones, {@literal 0} if all records have been replayed.
+	 * @throws org.springframework.dao.DataAccessException if writing the batch failed. It is replayed again by the next
+	 *           drain.
+	 */
+	public int drain() {
+
+		synchronized (drainLock) {
+
+			Position end = getWritePosition();
+			Position position = readPosition;
+			Map<String, List<SolrInputDocument>> batch = new LinkedHashMap<>();
+			int records = 0;
+
+			while (records < maxBatchSize && position.isBefore(end)) {
+
+				Segment segment = segments.get(position.segment);
+				byte[] record = segment.read(position.offset);
+
+				if (record == null) {
+
+					// remaining space of the segment was too small for the next record
+					position = new Position(segments.higherKey(position.segment), 0);
+					continue;
+				}
+
+				List<?> entry = decode(record);
+				batch.computeIfAbsent((String) entry.get(0), it -> new ArrayList<>()).add((SolrInputDocument) entry.get(1));
+				position = new Position(position.segment, position.offset + HEADER_SIZE + record.length);
+				records++;
+			}
+
+			for (Map.Entry<String, List<SolrInputDocument>> documents : batch.entrySet()) {
+
+				try {
+					save(documents.getKey(), documents.getValue());
+				} catch (RuntimeException e) {
+
+					failedDrains.increment();
+					throw e;
+				}
+			}
+
+			if (!position.equals(readPosition)) {
+				checkpoint(position);
+			}
+
+			drainedRecords.add(records);
+			return records;
+		}
+	}
+
+	/**
+	 * Write the documents, splitting them up to isolate the ones Solr rejects.
+	 */
+	private void save(String collection, List<SolrInputDocument> documents) {
+
+		try {
+			operations.saveDocuments(collection, documents, commitWithin);
+		} catch (RuntimeException e) {
+
+			if (!isRejection(e)) {
+				throw e;
+			}
+
+			if (documents.size() == 1) {
+				reject(collection, documents.get(0), e);
+				return;
+			}
+
+			int half = documents.size() / 2;
+			save(collection, documents.subList(0, half));
+			save(collection, documents.subList(half, documents.size()));
+		}
+	}
+
+	private void reject(String collection, SolrInputDocument document, RuntimeException cause) {
+
+		LOGGER.warn("Solr rejected journal record {} of collection {}, moving it to {}: {}",
+				document.getFieldValue("id"), collection, DEAD_LETTER_FILE, cause.getMessage());
+
+		byte[] record = encode(collection, document);
+		CRC32 crc = new CRC32();
+		crc.update(record);
+
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + record.length);
+		buffer.putInt(record.length).putInt((int) crc.getValue()).put(record);
+		buffer.flip();
+
+		try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER_FILE), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			if (syncWrites) {
+				channel.force(false);
+			}
+		} catch (IOException e) {
+			throw new DataAccessResourceFailureException("Cannot write rejected record to " + DEAD_LETTER_FILE, e);
+		}
+
+		rejectedRecords.increment();
+
+		if (rejectedRecordHandler != null) {
+			rejectedRecordHandler.rejected(collection, document, cause);
+		}
+	}
+
+	/**
+	 * @return {@literal true} if Solr responded with {@literal 400 Bad Request}, which replaying does not resolve.
+	 */
+	private static boolean isRejection(Throwable throwable) {
+
+		Throwable current = throwable;
+		int depth = 0;
+
+		while (current != null && depth++ < 10) {
+
+			if (current instanceof SolrException && ((SolrException) current).code() == ErrorCode.BAD_REQUEST.code) {
+				return true;
+			}
+
+			if (current.getCause() == current) {
+				break;
+			}
+			current = current.getCause();
+		}
+
+		return false;
+	}
+
+	private void drainQuietly() {
+
+		synchronized (writeLock) {
+			drainScheduled = false;
+		}
+
+		try {
+			while (drain() > 0) {
+				// continue with the next batch
+			}
+		} catch (RuntimeException e) {
+
+			LOGGER.warn("Replaying journal to Solr failed, retrying in {}: {}", drainInterval, e.getMessage());
+
+			synchronized (writeLock) {
+				scheduleDrain();
+			}
+		}
+	}
+
+	private void scheduleDrain() {
+
+		if (!drainScheduled && !destroyed) {
+
+			drainScheduled = true;
+			drainer.schedule(this::drainQuietly, drainInterval.toNanos(), TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private void checkpoint(Position position) {
+
+		ByteBuffer checkpoint = ByteBuffer.allocate(12);
+		checkpoint.putLong(position.segment).putInt(position.offset);
+
+		try {
+
+			Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+			Files.write(temp, checkpoint.array());
+			Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new DataAccessResourceFailureException("Cannot write journal checkpoint", e);
+		}
+
+		readPosition = position;
+
+		for (Long id : new ArrayList<>(segments.headMap(position.segment).keySet())) {
+			segments.remove(id).delete();
+		}
+	}
+
+	@Nullable
+	private Position readCheckpoint() throws IOException {
+
+		Path file = directory.resolve(CHECKPOINT_FILE);
+		if (!Files.exists(file)) {
+			return null;
+		}
+
+		ByteBuffer checkpoint = ByteBuffer.wrap(Files.readAllBytes(file));
+		return new Position(checkpoint.getLong(), checkpoint.getInt());
+	}
+
+	private void recover() throws IOException {
+
+		Position checkpoint = readCheckpoint();
+
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+
+			for (Path file : files) {
+
+				String name = file.getFileName().toString();
+				long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+
+				if (checkpoint != null && id < checkpoint.segment) {
+					Files.deleteIfExists(file);
+				} else {
+					segments.put(id, openSegment(id));
+				}
+			}
+		}
+
+		if (segments.isEmpty()) {
+			openSegment(checkpoint != null ? checkpoint.segment : 0);
+		}
+
+		readPosition = checkpoint != null && segments.containsKey(checkpoint.segment) ? checkpoint
+				: new Position(segments.firstKey(), 0);
+
+		writeSegment = segments.lastEntry().getValue();
+		writeOffset = writeSegment.id == readPosition.segment ? readPosition.offset : 0;
+
+		// skip complete records, dropping one torn by a crash
+		byte[] record;
+		while ((record = writeSegment.read(writeOffset)) != null) {
+			writeOffset += HEADER_SIZE + record.length;
+		}
+		writeSegment.clear(writeOffset);
+	}
+
+	private Segment openSegment(long id) {
+
+		Path file = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+
+			Segment segment = new Segment(id, file,
+					channel.map(MapMode.READ_WRITE, 0, Math.max(segmentSize, channel.size())));
+			segments.put(id, segment);
+			return segment;
+		} catch (IOException e) {
+			throw new DataAccessResourceFailureException("Cannot open journal segment " + file, e);
+		}
+	}
+
+	private Position getWritePosition() {
+
+		synchronized (writeLock) {
+			return new Position(writeSegment.id, writeOffset);
+		}
+	}
+
+	private static byte[] encode(String collection, SolrInputDocument document) {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+		try (JavaBinCodec codec = new JavaBinCodec()) {
+			codec.marshal(Arrays.asList(collection, document), out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	private static List<?> decode(byte[] record) {
+
+		try (JavaBinCodec codec = new JavaBinCodec()) {
+			return (List<?>) codec.unmarshal(record);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return {@literal true} if appended records have not been replayed to Solr yet.
+	 */
+	public boolean hasPendingRecords() {
+
+		synchronized (drainLock) {
+			return readPosition.isBefore(getWritePosition());
+		}
+	}
+
+	/**
+	 * @return the number of records appended so far.
+	 */
+	public long getAppendedRecords() {
+		return appendedRecords.sum();
+	}
+
+	/**
+	 * @return the number of records replayed to Solr so far, including rejected ones.
+	 */
+	public long getDrainedRecords() {
+		return drainedRecords.sum();
+	}
+
+	/**
+	 * @return the number of batches that failed to be written to Solr.
+	 */
+	public long getFailedDrains() {
+		return failedDrains.sum();
+	}
+
+	/**
+	 * @return the number of records rejected by Solr and moved to the {@link #DEAD_LETTER_FILE dead letter file}.
+	 */
+	public long getRejectedRecords() {
+		return rejectedRecords.sum();
+	}
+
+	/**
+	 * @param maxBatchSize max number of records replayed per batch. Defaults to {@literal 1000}.
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+
+		Assert.isTrue(maxBatchSize > 0, "MaxBatchSize must be greater than zero");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * @param maxSegments max number of segment files, rejecting appends that would exceed it, which bounds the disk space
+	 *          used while Solr is unavailable. Defaults to {@literal 0} for no limit.
+	 */
+	public void setMaxSegments(int maxSegments) {
+
+		Assert.isTrue(maxSegments >= 0, "MaxSegments must not be negative");
+		this.maxSegments = maxSegments;
+	}
+
+	/**
+	 * @param syncWrites {@literal true} to force appended records to disk before returning. Defaults to
+	 *          {@literal false}.
+	 */
+	public void setSyncWrites(boolean syncWrites) {
+		this.syncWrites = syncWrites;
+	}
+
+	/**
+	 * @param drainInterval delay between appending records and replaying them, collecting records into larger batches,
+	 *          as well as between retries of failed batches. Defaults to one second.
+	 */
+	public void setDrainInterval(Duration drainInterval) {
+
+		Assert.isTrue(drainInterval != null && !drainInterval.isNegative(), "DrainInterval must not be negative");
+		this.drainInterval = drainInterval;
+	}
+
+	/**
+	 * @param commitWithin max time within server performs commit of replayed documents. Defaults to none.
+	 */
+	public void setCommitWithin(Duration commitWithin) {
+
+		Assert.notNull(commitWithin, "CommitWithin must not be null");
+		this.commitWithin = commitWithin;
+	}
+
+	/**
+	 * @param rejectedRecordHandler notified about records rejected by Solr after they have been moved to the
+	 *          {@link #DEAD_LETTER_FILE dead letter file}. Can be {@literal null}.
+	 */
+	public void setRejectedRecordHandler(@Nullable RejectedRecordHandler rejectedRecordHandler) {
+		this.rejectedRecordHandler = rejectedRecordHandler;
+	}
+
+	/**
+	 * Stop the background thread after replaying pending records, as far as Solr accepts them. Records not replayed are
+	 * kept for the next journal opened on the same directory.
+	 */
+	@Override
+	public void destroy() {
+
+		destroyed = true;
+		drainer.shutdownNow();
+
+		try {
+			while (drain() > 0) {
+				// continue with the next batch
+			}
+		} catch (RuntimeException e) {
+			LOGGER.warn("Journal in {} keeps records not replayed on shutdown: {}", directory, e.getMessage());
+		}
+
+		for (Segment segment : segments.values()) {
+			segment.buffer.force();
+		}
+	}
+
+	/**
+	 * Callback for records Solr rejected, which the journal skips.
+	 */
+	@FunctionalInterface
+	public interface RejectedRecordHandler {
+
+		/**
+		 * @param collection the collection the record was appended for.
+		 * @param document the rejected document.
+		 * @param cause the failure raised when writing the document on its own.
+		 */
+		void rejected(String collection, SolrInputDocument document, RuntimeException cause);
+	}
+
+	/**
+	 * Memory mapped segment file.
+	 */
+	private static class Segment {
+
+		private final long id;
+		private final Path file;
+		private final MappedByteBuffer buffer;
+
+		Segment(long id, Path file, MappedByteBuffer buffer) {
+
+			this.id = id;
+			this.file = file;
+			this.buffer = buffer;
+		}
+
+		int size() {
+			return buffer.capacity();
+		}
+
+		/**
+		 * @return the payload of the complete record at the given offset or {@literal null} if there is none.
+		 */
+		@Nullable
+		byte[] read(int offset) {
+
+			if (offset + HEADER_SIZE > size()) {
+				return null;
+			}
+
+			int length = buffer.getInt(offset);
+			if (length <= 0 || length > size() - offset - HEADER_SIZE) {
+				return null;
+			}
+
+			byte[] record = new byte[length];
+			ByteBuffer source = buffer.duplicate();
+			source.position(offset + HEADER_SIZE);
+			source.get(record);
+
+			CRC32 crc = new CRC32();
+			crc.update(record);
+			return (int) crc.getValue() == buffer.getInt(offset + 4) ? record : null;
+		}
+
+		/**
+		 * Zero the segment from the given offset on, so that leftovers are not mistaken for records.
+		 */
+		void clear(int offset) {
+
+			ByteBuffer target = buffer.duplicate();
+			target.position(offset);
+
+			byte[] zeros = new byte[Math.min(8192, target.remaining())];
+			while (target.hasRemaining()) {
+				target.put(zeros, 0, Math.min(zeros.length, target.remaining()));
+			}
+		}
+
+		void delete() {
+
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				LOGGER.warn("Cannot delete replayed journal segment {}: {}", file, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Offset of a record within a segment.
+	 */
+	private static class Position {
+
+		private final long segment;
+		private final int offset;
+
+		Position(long segment, int offset) {
+
+			this.segment = segment;
+			this.offset = offset;
+		}
+
+		boolean isBefore(Position other) {
+			return segment < other.segment || (segment == other.segment && offset < other.offset);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Position)) {
+				return false;
+			}
+			Position that = (Position) o;
+			return segment == that.segment && offset == that.offset;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Long.hashCode(segment) + offset;
+		}
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * Support for coalescing and buffering updates on the write path.
+ */
+@org.springframework.lang.NonNullApi
+@org.springframework.lang.NonNullFields
+package org.springframework.data.solr.core.update;
@@ -17,10 +17,15 @@ package org.springframework.data.solr.repository.config;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.apache.solr.client.solrj.SolrClient;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.data.convert.CustomConversions;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.solr.core.RequestMethod;
@@ -29,9 +34,11 @@ import org.springframework.data.solr.core.convert.MappingSolrConverter;
 import org.springframework.data.solr.core.convert.SolrConverter;
 import org.springframework.data.solr.core.convert.SolrCustomConversions;
 import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
+import org.springframework.data.solr.core.mapping.SolrDocument;
 import org.springframework.data.solr.core.schema.SolrPersistentEntitySchemaCreator;
 import org.springframework.data.solr.core.schema.SolrPersistentEntitySchemaCreator.Feature;
 import org.springframework.data.solr.server.SolrClientFactory;
+import org.springframework.util.ClassUtils;
 
 /**
  * Spring Data for Apache Solr base configuration using JavaConfig.
@@ -66,14 +73,57 @@ public abstract class AbstractSolrConfiguration {
 	}
 
 	/**
-	 * @return {@link SimpleSolrMappingContext} picking up {@link #solrClientFactory()} and {@link #schemaSupport()} by
-	 *         default.
+	 * @return {@link SimpleSolrMappingContext} picking up {@link #solrClientFactory()}, {@link #schemaSupport()} and
+	 *         {@link #getInitialEntitySet()} by default.
 	 */
 	@Bean
 	protected MappingContext solrMappingContext() {
 
-		return new SimpleSolrMappingContext(
+		SimpleSolrMappingContext mappingContext = new SimpleSolrMappingContext(
 				new SolrPersistentEntitySchemaCreator(solrClientFactory()).enable(schemaSupport()));
+		mappingContext.setInitialEntitySet(getInitialEntitySet());
+		return mappingContext;
+	}
+
+	/**
+	 * Types added to the mapping context on startup. If {@link Feature#CREATE_MISSING_FIELDS} is enabled via
+	 * {@link #schemaSupport()}, the {@link #getMappingBasePackages() mapping base packages} are scanned for types
+	 * annotated with {@link SolrDocument}, so that the missing fields of all of them are written on startup with a
+	 * single request per collection instead of on first use. Collections failing to be updated, e.g. because they do
+	 * not exist yet or their name is an expression that cannot be evaluated yet, are logged and skipped. Without schema
+	 * support nothing is scanned and entities are created on first use.
+	 *
+	 * @return never {@literal null}.
+	 * @since 4.4
+	 */
+	protected Set<Class<?>> getInitialEntitySet() {
+
+		if (!schemaSupport().contains(Feature.CREATE_MISSING_FIELDS)) {
+			return Collections.emptySet();
+		}
+
+		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+		scanner.addIncludeFilter(new AnnotationTypeFilter(SolrDocument.class));
+
+		Set<Class<?>> initialEntitySet = new HashSet<>();
+		for (String basePackage : getMappingBasePackages()) {
+			for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+				initialEntitySet.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), getClass().getClassLoader()));
+			}
+		}
+		return initialEntitySet;
+	}
+
+	/**
+	 * Packages to scan for {@link SolrDocument} types if schema support is enabled.
+	 *
+	 * @return the package of the configuration class by default. Never {@literal null}.
+	 * @since 4.4
+	 */
+	protected Collection<String> getMappingBasePackages() {
+
+		Package mappingBasePackage = getClass().getPackage();
+		return mappingBasePackage == null ? Collections.emptySet() : Collections.singleton(mappingBasePackage.getName());
 	}
 
 	/**
@@ -15,9 +15,16 @@
  */
 package org.springframework.data.solr.repository.query;
 
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -48,7 +55,10 @@ import org.springframework.lang.Nullable;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
 
 /**
  * Base implementation of a solr specific {@link RepositoryQuery}
@@ -66,6 +76,7 @@ public abstract class AbstractSolrQuery implements RepositoryQuery {
 	private final SolrOperations solrOperations;
 	private final SolrQueryMethod solrQueryMethod;
 	private final String collection;
+	private @Nullable Executor asyncExecutor;
 
 	public final int UNLIMITED = 1;
 
@@ -109,6 +120,28 @@ public abstract class AbstractSolrQuery implements RepositoryQuery {
 
 	@Override
 	public Object execute(Object[] parameters) {
+
+		if (!solrQueryMethod.isAsyncQuery()) {
+			return doExecute(parameters);
+		}
+
+		if (isDeleteQuery()) {
+			throw new InvalidDataAccessApiUsageException("Cannot execute 'delete' asynchronously");
+		}
+
+		ListenableFutureTask<Object> task = new ListenableFutureTask<>(() -> doExecute(parameters));
+		getAsyncExecutor().execute(task);
+
+		// cancelling the returned future interrupts the thread running the request
+		return ListenableFuture.class.isAssignableFrom(solrQueryMethod.getReturnType().getType()) ? task
+				: task.completable();
+	}
+
+	private Executor getAsyncExecutor() {
+		return asyncExecutor != null ? asyncExecutor : DefaultAsyncExecutor.INSTANCE;
+	}
+
+	private Object doExecute(Object[] parameters) {
 		SolrParameterAccessor accessor = new SolrParametersParameterAccessor(solrQueryMethod, parameters);
 
 		Query query = createQuery(accessor);
@@ -369,6 +402,16 @@ public abstract class AbstractSolrQuery implements RepositoryQuery {
 
 	protected abstract Query createQuery(SolrParameterAccessor parameterAccessor);
 
+	/**
+	 * @param asyncExecutor executor running queries of methods returning a {@link java.util.concurrent.Future}. Can be
+	 *          {@literal null} to use the default, which runs each query on a virtual thread if the JVM supports them or
+	 *          otherwise on a shared pool of {@literal max(4, 2 * available processors)} daemon threads.
+	 * @since 4.4
+	 */
+	public void setAsyncExecutor(@Nullable Executor asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+
 	/**
 	 * @since 1.2
 	 */
@@ -665,4 +708,41 @@ public abstract class AbstractSolrQuery implements RepositoryQuery {
 		}
 	}
 
+	/**
+	 * Executor used for asynchronous queries unless configured otherwise, created on first use.
+	 */
+	static class DefaultAsyncExecutor {
+
+		static final Executor INSTANCE = create(
+				ReflectionUtils.findMethod(Executors.class, "newVirtualThreadPerTaskExecutor"));
+
+		/**
+		 * @param virtualThreads factory method of virtual thread executors, if present.
+		 */
+		static Executor create(@Nullable Method virtualThreads) {
+
+			if (virtualThreads != null) {
+
+				try {
+					return (Executor) ReflectionUtils.invokeMethod(virtualThreads, null);
+				} catch (RuntimeException e) {
+					// virtual threads are a preview feature on Java 19 and 20, unusable without --enable-preview
+				}
+			}
+
+			int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+			AtomicInteger counter = new AtomicInteger();
+
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(), runnable -> {
+
+						Thread thread = new Thread(runnable, "solr-repository-query-" + counter.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					});
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+	}
+
 }
@@ -26,6 +26,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Future;
 
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -609,6 +610,16 @@ public class SolrQueryMethod extends QueryMethod {
 		return ClassUtils.isAssignable(Optional.class, getReturnedObjectType());
 	}
 
+	/**
+	 * @return {@literal true} if the method returns a {@link Future}, such as {@link java.util.concurrent.CompletableFuture}
+	 *         or {@link org.springframework.util.concurrent.ListenableFuture}, completed by executing the query
+	 *         asynchronously.
+	 * @since 4.4
+	 */
+	public boolean isAsyncQuery() {
+		return Future.class.isAssignableFrom(method.getReturnType());
+	}
+
 	@Override
 	protected SolrParameters createParameters(Method method) {
 		return new SolrParameters(method);
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
 
 import org.apache.solr.client.solrj.SolrClient;
 import org.springframework.data.projection.ProjectionFactory;
@@ -39,6 +40,7 @@ import org.springframework.data.solr.core.SolrTemplate;
 import org.springframework.data.solr.core.convert.SolrConverter;
 import org.springframework.data.solr.core.schema.SolrPersistentEntitySchemaCreator.Feature;
 import org.springframework.data.solr.repository.SolrRepository;
+import org.springframework.data.solr.repository.query.AbstractSolrQuery;
 import org.springframework.data.solr.repository.query.PartTreeSolrQuery;
 import org.springframework.data.solr.repository.query.SolrEntityInformation;
 import org.springframework.data.solr.repository.query.SolrEntityInformationCreator;
@@ -61,6 +63,7 @@ public class SolrRepositoryFactory extends RepositoryFactorySupport {
 	private @Nullable SolrClientFactory factory;
 	private SolrTemplateHolder templateHolder = new SolrTemplateHolder();
 	private boolean schemaCreationSupport;
+	private @Nullable Executor asyncQueryExecutor;
 
 	public SolrRepositoryFactory(SolrOperations solrOperations) {
 		Assert.notNull(solrOperations, "SolrOperations must not be null");
@@ -178,6 +181,16 @@ public class SolrRepositoryFactory extends RepositoryFactorySupport {
 		this.schemaCreationSupport = schemaCreationSupport;
 	}
 
+	/**
+	 * @param asyncQueryExecutor executor running queries of repository methods returning a
+	 *          {@link java.util.concurrent.Future}. Can be {@literal null} to use the default of
+	 *          {@link AbstractSolrQuery#setAsyncExecutor(Executor)}.
+	 * @since 4.4
+	 */
+	public void setAsyncQueryExecutor(@Nullable Executor asyncQueryExecutor) {
+		this.asyncQueryExecutor = asyncQueryExecutor;
+	}
+
 	private class SolrQueryLookupStrategy implements QueryLookupStrategy {
 
 		@Override
@@ -190,14 +203,18 @@ public class SolrRepositoryFactory extends RepositoryFactorySupport {
 
 			SolrOperations solrOperations = selectSolrOperations(metadata);
 
+			AbstractSolrQuery query;
 			if (namedQueries.hasQuery(namedQueryName)) {
 				String namedQuery = namedQueries.getQuery(namedQueryName);
-				return new StringBasedSolrQuery(collectionName, namedQuery, queryMethod, solrOperations);
+				query = new StringBasedSolrQuery(collectionName, namedQuery, queryMethod, solrOperations);
 			} else if (queryMethod.hasAnnotatedQuery()) {
-				return new StringBasedSolrQuery(collectionName, queryMethod, solrOperations);
+				query = new StringBasedSolrQuery(collectionName, queryMethod, solrOperations);
 			} else {
-				return new PartTreeSolrQuery(collectionName, queryMethod, solrOperations);
+				query = new PartTreeSolrQuery(collectionName, queryMethod, solrOperations);
 			}
+
+			query.setAsyncExecutor(asyncQueryExecutor);
+			return query;
 		}
 
 		private SolrOperations selectSolrOperations(RepositoryMetadata metadata) {
@@ -16,6 +16,7 @@
 package org.springframework.data.solr.repository.support;
 
 import java.io.Serializable;
+import java.util.concurrent.Executor;
 
 import org.apache.solr.client.solrj.SolrClient;
 import org.springframework.beans.factory.FactoryBean;
@@ -42,6 +43,7 @@ public class SolrRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extend
 	private boolean schemaCreationSupport;
 	private @Nullable SimpleSolrMappingContext solrMappingContext;
 	private @Nullable SolrConverter solrConverter;
+	private @Nullable Executor asyncQueryExecutor;
 
 	/**
 	 * Creates a new {@link SolrRepositoryFactoryBean} for the given repository interface.
@@ -77,6 +79,16 @@ public class SolrRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extend
 		this.solrConverter = solrConverter;
 	}
 
+	/**
+	 * @param asyncQueryExecutor executor running queries of repository methods returning a
+	 *          {@link java.util.concurrent.Future}.
+	 * @since 4.4
+	 * @see SolrRepositoryFactory#setAsyncQueryExecutor(Executor)
+	 */
+	public void setAsyncQueryExecutor(Executor asyncQueryExecutor) {
+		this.asyncQueryExecutor = asyncQueryExecutor;
+	}
+
 	/**
 	 * @param solrMappingContext
 	 * @since 1.4
@@ -120,6 +132,7 @@ public class SolrRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extend
 		SolrRepositoryFactory factory = operations != null ? new SolrRepositoryFactory(this.operations)
 				: new SolrRepositoryFactory(this.solrClient, solrConverter);
 		factory.setSchemaCreationSupport(schemaCreationSupport);
+		factory.setAsyncQueryExecutor(asyncQueryExecutor);
 		return factory;
 	}
 }
@@ -0,0 +1,447 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.client.solrj.request.GenericSolrRequest;
+import org.apache.solr.client.solrj.request.SolrPing;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.apache.solr.common.util.NamedList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link SolrClient} balancing requests across multiple Solr nodes based on observed latency instead of round robin.
+ * Each request picks two random healthy nodes and sends the request to the one with the lower cost, computed from an
+ * exponentially weighted moving average (EWMA) of its response times multiplied by its outstanding requests (power of
+ * two choices). Nodes failing with connection errors or {@literal 503} are taken out of rotation and probed in the
+ * background until they respond again, either via the system info handler or, if a
+ * {@link #setHealthCheckCollection(String) health check collection} is set, via {@link SolrPing}. Recovered nodes
+ * receive gradually more traffic during the configured slow start period.
+ * <p>
+ * Requests failing on one node are retried on another one if the failure is transient and the request is either a read
+ * or has not reached the node at all.
+ *
+ * @since 4.4
+ */
+public class AdaptiveLoadBalancedSolrClient extends SolrClient {
+
+	private static final long serialVersionUID = -2284851620436573853L;
+	private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveLoadBalancedSolrClient.class);
+
+	private final List<Node> nodes;
+	private final boolean ownsClients;
+
+	private double decay = 0.3D;
+	private Duration slowStart = Duration.ofSeconds(30);
+	private Duration healthCheckInterval = Duration.ofSeconds(5);
+	private @Nullable String healthCheckCollection;
+	private transient LongSupplier clock = System::nanoTime;
+
+	private transient @Nullable ScheduledExecutorService scheduler;
+	private transient @Nullable ScheduledFuture<?> healthCheck;
+
+	/**
+	 * Create a new {@link AdaptiveLoadBalancedSolrClient} for the given nodes, closing the clients along with this one.
+	 *
+	 * @param clients {@link SolrClient} per node keyed by the node name (usually its base URL). Must not be
+	 *          {@literal null} nor empty.
+	 */
+	public AdaptiveLoadBalancedSolrClient(Map<String, ? extends SolrClient> clients) {
+		this(clients, true);
+	}
+
+	/**
+	 * @param clients {@link SolrClient} per node keyed by the node name (usually its base URL). Must not be
+	 *          {@literal null} nor empty.
+	 * @param ownsClients whether to close the given clients along with this one.
+	 */
+	public AdaptiveLoadBalancedSolrClient(Map<String, ? extends SolrClient> clients, boolean ownsClients) {
+
+		Assert.notEmpty(clients, "Clients must not be null nor empty");
+
+		List<Node> nodes = new ArrayList<>(clients.size());
+		clients.forEach((name, client) -> nodes.add(new Node(name, client)));
+
+		this.nodes = Collections.unmodifiableList(nodes);
+		this.ownsClients = ownsClients;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.apache.solr.client.solrj.SolrClient#request(org.apache.solr.client.solrj.SolrRequest, java.lang.String)
+	 */
+	@Override
+	public NamedList<Object> request(SolrRequest request, @Nullable String collection)
+			throws SolrServerException, IOException {
+
+		List<Node> tried = new ArrayList<>(2);
+		Exception lastFailure = null;
+
+		Node node;
+		while ((node = select(tried)) != null) {
+
+			tried.add(node);
+			long start = clock.getAsLong();
+			node.outstanding.incrementAndGet();
+
+			try {
+
+				NamedList<Object> response = node.client.request(request, collection);
+				node.onSuccess(clock.getAsLong() - start, decay);
+				return response;
+			} catch (SolrServerException | IOException | SolrException e) {
+
+				if (!isNodeFailure(e)) {
+					node.onSuccess(clock.getAsLong() - start, decay);
+					throw e;
+				}
+
+				markUnhealthy(node, e);
+				lastFailure = e;
+
+				if (!isRetriable(request, e)) {
+					throw e;
+				}
+			} finally {
+				node.outstanding.decrementAndGet();
+			}
+		}
+
+		throw new SolrServerException("No live Solr node available to handle the request", lastFailure);
+	}
+
+	/**
+	 * Select the node to send the next request to. Healthy nodes are compared pairwise, unhealthy ones are only used when
+	 * no healthy node is left.
+	 *
+	 * @param exclude nodes already tried for the current request.
+	 * @return {@literal null} if all nodes have been tried.
+	 */
+	@Nullable
+	Node select(List<Node> exclude) {
+
+		List<Node> candidates = new ArrayList<>(nodes.size());
+		for (Node node : nodes) {
+			if (node.healthy && !exclude.contains(node)) {
+				candidates.add(node);
+			}
+		}
+
+		if (candidates.isEmpty()) {
+			for (Node node : nodes) {
+				if (!exclude.contains(node)) {
+					candidates.add(node);
+				}
+			}
+		}
+
+		if (candidates.size() <= 1) {
+			return candidates.isEmpty() ? null : candidates.get(0);
+		}
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int first = random.nextInt(candidates.size());
+		int second = random.nextInt(candidates.size() - 1);
+		if (second >= first) {
+			second++;
+		}
+
+		Node a = candidates.get(first);
+		Node b = candidates.get(second);
+		long now = clock.getAsLong();
+
+		return a.cost(now, slowStart) <= b.cost(now, slowStart) ? a : b;
+	}
+
+	private void markUnhealthy(Node node, Exception cause) {
+
+		if (node.healthy) {
+			LOGGER.warn("Taking Solr node '{}' out of rotation: {}", node.name, cause.getMessage());
+			node.healthy = false;
+		}
+		ensureHealthCheckRunning();
+	}
+
+	/**
+	 * Probe all unhealthy nodes and put the ones responding back into rotation.
+	 */
+	void checkHealth() {
+
+		for (Node node : nodes) {
+
+			if (node.healthy) {
+				continue;
+			}
+
+			try {
+
+				if (healthCheckCollection != null) {
+					new SolrPing().process(node.client, healthCheckCollection);
+				} else {
+					node.client.request(new GenericSolrRequest(SolrRequest.METHOD.GET, CommonParams.SYSTEM_INFO_PATH,
+							new ModifiableSolrParams()));
+				}
+
+				LOGGER.info("Solr node '{}' recovered.", node.name);
+				node.recover(clock.getAsLong(), slowestHealthyLatency());
+			} catch (Exception e) {
+				LOGGER.debug("Solr node '{}' still unavailable: {}", node.name, e.getMessage());
+			}
+		}
+	}
+
+	private long slowestHealthyLatency() {
+
+		long slowest = 0;
+		for (Node node : nodes) {
+			if (node.healthy) {
+				slowest = Math.max(slowest, node.ewmaNanos);
+			}
+		}
+		return slowest;
+	}
+
+	private synchronized void ensureHealthCheckRunning() {
+
+		if (healthCheck != null) {
+			return;
+		}
+
+		if (scheduler == null) {
+			scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+
+				Thread thread = new Thread(runnable, "solr-adaptive-lb-health-check");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+
+		long interval = healthCheckInterval.toMillis();
+		healthCheck = scheduler.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	private static boolean isNodeFailure(Exception e) {
+
+		Throwable cause = e instanceof SolrServerException && e.getCause() != null ? e.getCause() : e;
+
+		if (cause instanceof IOException) {
+			return true;
+		}
+
+		return cause instanceof SolrException && ((SolrException) cause).code() == 503;
+	}
+
+	private static boolean isRetriable(SolrRequest<?> request, Exception e) {
+
+		if (!(request instanceof AbstractUpdateRequest)) {
+			return true;
+		}
+
+		Throwable cause = e instanceof SolrServerException && e.getCause() != null ? e.getCause() : e;
+		return cause instanceof ConnectException;
+	}
+
+	/**
+	 * @return the current state of all nodes keyed by name in order of registration.
+	 */
+	public Map<String, NodeStats> getNodeStats() {
+
+		Map<String, NodeStats> stats = new LinkedHashMap<>(nodes.size());
+		for (Node node : nodes) {
+			stats.put(node.name, new NodeStats(node.healthy, node.ewmaNanos, node.outstanding.get()));
+		}
+		return stats;
+	}
+
+	/**
+	 * @param decay weight ({@literal 0..1}) of the latest response time in the moving average. Higher values react faster
+	 *          to changes. Defaults to {@literal 0.3}.
+	 */
+	public void setDecay(double decay) {
+
+		Assert.isTrue(decay > 0D && decay <= 1D, "Decay must be between 0 and 1");
+		this.decay = decay;
+	}
+
+	/**
+	 * @param slowStart period over which recovered nodes ramp up to their full share of traffic. Must not be
+	 *          {@literal null}.
+	 */
+	public void setSlowStart(Duration slowStart) {
+
+		Assert.notNull(slowStart, "SlowStart must not be null");
+		this.slowStart = slowStart;
+	}
+
+	/**
+	 * @param healthCheckInterval delay between probing unhealthy nodes. Must not be {@literal null}.
+	 */
+	public void setHealthCheckInterval(Duration healthCheckInterval) {
+
+		Assert.notNull(healthCheckInterval, "HealthCheckInterval must not be null");
+		Assert.isTrue(!healthCheckInterval.isZero() && !healthCheckInterval.isNegative(),
+				"HealthCheckInterval must be positive");
+		this.healthCheckInterval = healthCheckInterval;
+	}
+
+	/**
+	 * @param healthCheckCollection collection to ping when probing nodes. Can be {@literal null} to probe the system info
+	 *          handler, which is available on container level as well as on core level.
+	 */
+	public void setHealthCheckCollection(@Nullable String healthCheckCollection) {
+		this.healthCheckCollection = healthCheckCollection;
+	}
+
+	void setClock(LongSupplier clock) {
+		this.clock = clock;
+	}
+
+	List<Node> getNodes() {
+		return nodes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+
+		synchronized (this) {
+			if (scheduler != null) {
+				scheduler.shutdownNow();
+			}
+		}
+
+		if (ownsClients) {
+			for (Node node : nodes) {
+				node.client.close();
+			}
+		}
+	}
+
+	/**
+	 * Snapshot of the state of a single node.
+	 */
+	public static class NodeStats {
+
+		private final boolean healthy;
+		private final long latencyNanos;
+		private final int outstandingRequests;
+
+		NodeStats(boolean healthy, long latencyNanos, int outstandingRequests) {
+
+			this.healthy = healthy;
+			this.latencyNanos = latencyNanos;
+			this.outstandingRequests = outstandingRequests;
+		}
+
+		public boolean isHealthy() {
+			return healthy;
+		}
+
+		/**
+		 * @return the moving average of the response time.
+		 */
+		public Duration getLatency() {
+			return Duration.ofNanos(latencyNanos);
+		}
+
+		public int getOutstandingRequests() {
+			return outstandingRequests;
+		}
+	}
+
+	static class Node {
+
+		final String name;
+		final SolrClient client;
+		final AtomicInteger outstanding = new AtomicInteger();
+
+		volatile boolean healthy = true;
+		volatile long ewmaNanos;
+		volatile long recoveredAt = Long.MIN_VALUE;
+
+		Node(String name, SolrClient client) {
+
+			this.name = name;
+			this.client = client;
+		}
+
+		synchronized void onSuccess(long latencyNanos, double decay) {
+			ewmaNanos = ewmaNanos == 0 ? latencyNanos : (long) (decay * latencyNanos + (1D - decay) * ewmaNanos);
+		}
+
+		/**
+		 * Put the node back into rotation. The latency average starts at the given, pessimistic value so that the node does
+		 * not attract all traffic before having answered any request.
+		 */
+		void recover(long now, long initialLatencyNanos) {
+
+			recoveredAt = now;
+			ewmaNanos = initialLatencyNanos;
+			healthy = true;
+		}
+
+		/**
+		 * Cost of sending a request to this node. Nodes without latency samples yet are preferred, nodes in slow start
+		 * appear more expensive the more recently they recovered.
+		 */
+		double cost(long now, Duration slowStart) {
+
+			double cost = (double) Math.max(ewmaNanos, 1L) * (outstanding.get() + 1);
+
+			if (recoveredAt != Long.MIN_VALUE && !slowStart.isZero()) {
+
+				double weight = (double) (now - recoveredAt) / slowStart.toNanos();
+				if (weight < 1D) {
+					cost = cost / Math.max(weight, 0.1D);
+				}
+			}
+
+			return cost;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+}
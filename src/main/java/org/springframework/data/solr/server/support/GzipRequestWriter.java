@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.impl.BinaryRequestWriter;
+import org.apache.solr.client.solrj.request.RequestWriter;
+import org.apache.solr.common.util.ContentStream;
+import org.springframework.data.solr.core.metrics.SolrMetricsRecorder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RequestWriter} gzip compressing request bodies, such as documents sent via
+ * {@link org.apache.solr.client.solrj.request.UpdateRequest}, of at least {@link #setThreshold(int) threshold} bytes.
+ * Compressed requests carry a {@literal Content-Encoding: gzip} header, which requires the Solr server to inflate
+ * request bodies, eg. via the Jetty {@literal GzipHandler}.
+ * <p>
+ * The body is serialized by the delegate {@link RequestWriter} into memory before deciding whether to compress it.
+ *
+ * @since 4.4
+ */
+public class GzipRequestWriter extends RequestWriter {
+
+	static final String CONTENT_ENCODING = "Content-Encoding";
+	static final String GZIP = "gzip";
+	static final String IDENTITY = "identity";
+
+	private final RequestWriter delegate;
+
+	private int threshold = 1024;
+	private SolrMetricsRecorder metricsRecorder = SolrMetricsRecorder.NONE;
+
+	/**
+	 * Create a new {@link GzipRequestWriter} compressing javabin formatted requests.
+	 */
+	public GzipRequestWriter() {
+		this(new BinaryRequestWriter());
+	}
+
+	/**
+	 * @param delegate the {@link RequestWriter} serializing requests. Must not be {@literal null}.
+	 */
+	public GzipRequestWriter(RequestWriter delegate) {
+
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.apache.solr.client.solrj.request.RequestWriter#getContentWriter(org.apache.solr.client.solrj.SolrRequest)
+	 */
+	@Override
+	@Nullable
+	public ContentWriter getContentWriter(SolrRequest request) {
+
+		ContentWriter contentWriter = delegate.getContentWriter(request);
+		if (contentWriter == null) {
+			resetContentEncoding(request);
+			return null;
+		}
+
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		try {
+			contentWriter.write(content);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot serialize request content", e);
+		}
+
+		if (content.size() < threshold) {
+
+			metricsRecorder.recordRequestCompression(content.size(), content.size());
+			resetContentEncoding(request);
+			return new BytesContentWriter(content.toByteArray(), contentWriter.getContentType());
+		}
+
+		byte[] compressed = gzip(content);
+		metricsRecorder.recordRequestCompression(content.size(), compressed.length);
+
+		request.addHeader(CONTENT_ENCODING, GZIP);
+		return new BytesContentWriter(compressed, contentWriter.getContentType());
+	}
+
+	/**
+	 * Requests may be sent more than once, eg. on retries, and headers cannot be removed, so overwrite the header of a
+	 * previous, compressed attempt.
+	 */
+	private static void resetContentEncoding(SolrRequest<?> request) {
+
+		if (request.getHeaders() != null && request.getHeaders().containsKey(CONTENT_ENCODING)) {
+			request.addHeader(CONTENT_ENCODING, IDENTITY);
+		}
+	}
+
+	private static byte[] gzip(ByteArrayOutputStream content) {
+
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, content.size() / 4));
+		try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 8192)) {
+			content.writeTo(gzip);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot compress in memory content", e);
+		}
+		return compressed.toByteArray();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.apache.solr.client.solrj.request.RequestWriter#getContentStreams(org.apache.solr.client.solrj.SolrRequest)
+	 */
+	@Override
+	@Nullable
+	public Collection<ContentStream> getContentStreams(SolrRequest request) throws IOException {
+		return delegate.getContentStreams(request);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.apache.solr.client.solrj.request.RequestWriter#getPath(org.apache.solr.client.solrj.SolrRequest)
+	 */
+	@Override
+	public String getPath(SolrRequest request) {
+		return delegate.getPath(request);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.apache.solr.client.solrj.request.RequestWriter#write(org.apache.solr.client.solrj.SolrRequest, java.io.OutputStream)
+	 */
+	@Override
+	public void write(SolrRequest request, OutputStream os) throws IOException {
+		delegate.write(request, os);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.apache.solr.client.solrj.request.RequestWriter#getUpdateContentType()
+	 */
+	@Override
+	public String getUpdateContentType() {
+		return delegate.getUpdateContentType();
+	}
+
+	/**
+	 * @param threshold minimum size in bytes of request bodies to compress. Defaults to {@literal 1024}.
+	 */
+	public void setThreshold(int threshold) {
+
+		Assert.isTrue(threshold >= 0, "Threshold must not be negative");
+		this.threshold = threshold;
+	}
+
+	/**
+	 * @param metricsRecorder recorder of compression ratios. Can be {@literal null}.
+	 */
+	public void setMetricsRecorder(@Nullable SolrMetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder != null ? metricsRecorder : SolrMetricsRecorder.NONE;
+	}
+
+	private static class BytesContentWriter implements ContentWriter {
+
+		private final byte[] content;
+		private final String contentType;
+
+		BytesContentWriter(byte[] content, String contentType) {
+
+			this.content = content;
+			this.contentType = contentType;
+		}
+
+		@Override
+		public void write(OutputStream os) throws IOException {
+			os.write(content);
+		}
+
+		@Override
+		public String getContentType() {
+			return contentType;
+		}
+	}
+}
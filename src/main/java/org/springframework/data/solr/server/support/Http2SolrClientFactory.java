@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.eclipse.jetty.client.HttpClient;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link Http2SolrClientFactory} provides an {@link Http2SolrClient} multiplexing concurrent requests over a small
+ * number of HTTP/2 connections per node and exposes the usage of the underlying connection pool via
+ * {@link #getPoolStats()}.
+ *
+ * @since 4.4
+ * @see Http2SolrClientFactoryBean
+ */
+public class Http2SolrClientFactory extends SolrClientFactoryBase {
+
+	private List<Http2SolrClient> nodeClients = Collections.emptyList();
+
+	protected Http2SolrClientFactory() {
+
+	}
+
+	/**
+	 * @param solrClient must not be {@literal null}.
+	 */
+	public Http2SolrClientFactory(Http2SolrClient solrClient) {
+
+		super(solrClient);
+		Assert.notNull(solrClient, "SolrClient must not be null");
+
+		this.nodeClients = Collections.singletonList(solrClient);
+	}
+
+	/**
+	 * @param solrClient the client to expose. Must not be {@literal null}.
+	 * @param nodeClients the {@link Http2SolrClient}s used by {@code solrClient}, sharing the same underlying
+	 *          {@link HttpClient}. Must not be {@literal null} nor empty.
+	 */
+	protected void setSolrClient(SolrClient solrClient, List<? extends Http2SolrClient> nodeClients) {
+
+		Assert.notEmpty(nodeClients, "NodeClients must not be null nor empty");
+
+		setSolrClient(solrClient);
+		this.nodeClients = Collections.unmodifiableList(nodeClients);
+	}
+
+	/**
+	 * @return the current usage of connections, streams and threads.
+	 * @throws IllegalStateException if the client has not been initialized.
+	 */
+	public Http2SolrClientPoolStats getPoolStats() {
+
+		Assert.state(!nodeClients.isEmpty(), "SolrClient has not been initialized");
+
+		return Http2SolrClientPoolStats.of(getJettyHttpClient(nodeClients.get(0)), nodeClients);
+	}
+
+	/**
+	 * @return the underlying Jetty {@link HttpClient}, which SolrJ does not expose publicly.
+	 */
+	static HttpClient getJettyHttpClient(Http2SolrClient solrClient) {
+		return (HttpClient) new DirectFieldAccessor(solrClient).getPropertyValue("httpClient");
+	}
+}
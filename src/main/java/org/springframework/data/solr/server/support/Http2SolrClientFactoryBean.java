@@ -0,0 +1,281 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.eclipse.jetty.client.HttpClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.solr.core.metrics.MeasuringResponseParser;
+import org.springframework.data.solr.core.metrics.SolrMetricsRecorder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link FactoryBean} creating an {@link Http2SolrClient}. Multiple, comma separated urls result in an
+ * {@link AdaptiveLoadBalancedSolrClient} distributing requests across one {@link Http2SolrClient} per node, all of them
+ * sharing the same connection pool and executor.
+ * <p>
+ * With HTTP/2 a single connection per node carries many concurrent requests as independent streams.
+ * {@link #setMaxConcurrentStreamsPerHost(Integer)} limits the number of those in flight at a time, while
+ * {@link #setRequestTimeout(Integer)} bounds the time a request may take including waiting for a free stream.
+ *
+ * @since 4.4
+ */
+public class Http2SolrClientFactoryBean extends Http2SolrClientFactory
+		implements FactoryBean<SolrClient>, InitializingBean, DisposableBean {
+
+	private static final String SERVER_URL_SEPARATOR = ",";
+	private @Nullable String url;
+	private @Nullable Integer connectionTimeout;
+	private @Nullable Integer idleTimeout;
+	private @Nullable Integer requestTimeout;
+	private @Nullable Integer maxConnectionsPerHost;
+	private @Nullable Integer maxConcurrentStreamsPerHost;
+	private @Nullable Integer corePoolSize;
+	private @Nullable Integer maxPoolSize;
+	private boolean useHttp1_1 = false;
+	private boolean requestCompression = false;
+	private boolean responseCompression = true;
+	private @Nullable Integer compressionThreshold;
+	private @Nullable SolrMetricsRecorder metricsRecorder;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+
+		Assert.hasText(url, "Solr url must not be null nor empty");
+		if (corePoolSize != null && maxPoolSize != null) {
+			Assert.isTrue(corePoolSize <= maxPoolSize, "CorePoolSize must not be greater than MaxPoolSize");
+		}
+
+		initSolrClient();
+	}
+
+	private void initSolrClient() {
+
+		String[] urls = StringUtils.split(this.url, SERVER_URL_SEPARATOR);
+
+		List<Http2SolrClient> clients = new ArrayList<>(urls.length);
+		Map<String, SolrClient> clientsByUrl = new LinkedHashMap<>();
+
+		for (String nodeUrl : urls) {
+
+			Http2SolrClient.Builder builder = createBuilder();
+			if (!clients.isEmpty()) {
+				builder.withHttpClient(clients.get(0));
+			}
+
+			Http2SolrClient client = new StreamLimitingHttp2SolrClient(nodeUrl.trim(), builder,
+					maxConcurrentStreamsPerHost != null ? maxConcurrentStreamsPerHost : 0,
+					requestTimeout != null ? requestTimeout : 0);
+
+			if (clients.isEmpty()) {
+				configureHttpClient(getJettyHttpClient(client));
+			}
+			if (requestCompression) {
+				client.setRequestWriter(createRequestWriter());
+			}
+			if (metricsRecorder != null) {
+				client.setParser(new MeasuringResponseParser());
+			}
+
+			clients.add(client);
+			clientsByUrl.put(nodeUrl.trim(), client);
+		}
+
+		setSolrClient(clients.size() == 1 ? clients.get(0) : new AdaptiveLoadBalancedSolrClient(clientsByUrl), clients);
+	}
+
+	private Http2SolrClient.Builder createBuilder() {
+
+		Http2SolrClient.Builder builder = new Http2SolrClient.Builder().useHttp1_1(useHttp1_1);
+
+		if (connectionTimeout != null) {
+			builder.connectionTimeout(connectionTimeout);
+		}
+		if (idleTimeout != null) {
+			builder.idleTimeout(idleTimeout);
+		}
+		if (maxConnectionsPerHost != null) {
+			builder.maxConnectionsPerHost(maxConnectionsPerHost);
+		}
+
+		return builder;
+	}
+
+	private GzipRequestWriter createRequestWriter() {
+
+		GzipRequestWriter requestWriter = new GzipRequestWriter();
+		if (compressionThreshold != null) {
+			requestWriter.setThreshold(compressionThreshold);
+		}
+		requestWriter.setMetricsRecorder(metricsRecorder);
+		return requestWriter;
+	}
+
+	/**
+	 * Apply settings not exposed by {@link Http2SolrClient.Builder} to the already started {@link HttpClient}. Connection
+	 * pools are created per destination on first use, so changing the limit before the first request is sufficient.
+	 */
+	private void configureHttpClient(HttpClient httpClient) {
+
+		if (maxConnectionsPerHost != null) {
+			httpClient.setMaxConnectionsPerDestination(maxConnectionsPerHost);
+		}
+		if (!responseCompression) {
+			httpClient.getContentDecoderFactories().clear();
+		}
+
+		Executor executor = httpClient.getExecutor();
+		if ((corePoolSize != null || maxPoolSize != null) && executor instanceof ThreadPoolExecutor) {
+
+			ThreadPoolExecutor threadPool = (ThreadPoolExecutor) executor;
+			int core = corePoolSize != null ? corePoolSize : Math.min(threadPool.getCorePoolSize(), maxPoolSize);
+			int max = maxPoolSize != null ? maxPoolSize : Math.max(threadPool.getMaximumPoolSize(), corePoolSize);
+
+			if (max < threadPool.getCorePoolSize()) {
+				threadPool.setCorePoolSize(core);
+				threadPool.setMaximumPoolSize(max);
+			} else {
+				threadPool.setMaximumPoolSize(max);
+				threadPool.setCorePoolSize(core);
+			}
+		}
+	}
+
+	@Override
+	public SolrClient getObject() throws Exception {
+		return getSolrClient();
+	}
+
+	@Override
+	public Class<?> getObjectType() {
+		return url != null && url.contains(SERVER_URL_SEPARATOR) ? AdaptiveLoadBalancedSolrClient.class
+				: Http2SolrClient.class;
+	}
+
+	@Override
+	public boolean isSingleton() {
+		return true;
+	}
+
+	public void setUrl(String url) {
+		this.url = url;
+	}
+
+	/**
+	 * @param connectionTimeout timeout for establishing a connection in milliseconds.
+	 */
+	public void setConnectionTimeout(Integer connectionTimeout) {
+		this.connectionTimeout = connectionTimeout;
+	}
+
+	/**
+	 * @param idleTimeout time in milliseconds after which idle connections are closed and stalled responses fail.
+	 */
+	public void setIdleTimeout(Integer idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+
+	/**
+	 * @param requestTimeout maximum time in milliseconds a request may take, including waiting for a free stream.
+	 */
+	public void setRequestTimeout(Integer requestTimeout) {
+		this.requestTimeout = requestTimeout;
+	}
+
+	/**
+	 * @param maxConnectionsPerHost maximum number of connections per node. A single connection usually suffices for
+	 *          HTTP/2.
+	 */
+	public void setMaxConnectionsPerHost(Integer maxConnectionsPerHost) {
+		this.maxConnectionsPerHost = maxConnectionsPerHost;
+	}
+
+	/**
+	 * @param maxConcurrentStreamsPerHost maximum number of requests in flight per node. Further requests wait for a
+	 *          free stream.
+	 */
+	public void setMaxConcurrentStreamsPerHost(Integer maxConcurrentStreamsPerHost) {
+		this.maxConcurrentStreamsPerHost = maxConcurrentStreamsPerHost;
+	}
+
+	/**
+	 * @param corePoolSize number of threads kept for processing responses.
+	 */
+	public void setCorePoolSize(Integer corePoolSize) {
+		this.corePoolSize = corePoolSize;
+	}
+
+	/**
+	 * @param maxPoolSize maximum number of threads processing responses.
+	 */
+	public void setMaxPoolSize(Integer maxPoolSize) {
+		this.maxPoolSize = maxPoolSize;
+	}
+
+	/**
+	 * @param useHttp1_1 fall back to HTTP/1.1, eg. for Solr servers not supporting HTTP/2.
+	 */
+	public void setUseHttp1_1(boolean useHttp1_1) {
+		this.useHttp1_1 = useHttp1_1;
+	}
+
+	/**
+	 * Gzip compress request bodies, such as documents to add, of at least {@link #setCompressionThreshold(Integer)
+	 * compressionThreshold} bytes. Requires the Solr server to accept compressed request bodies.
+	 *
+	 * @param requestCompression
+	 * @see GzipRequestWriter
+	 */
+	public void setRequestCompression(boolean requestCompression) {
+		this.requestCompression = requestCompression;
+	}
+
+	/**
+	 * Accept gzip compressed responses. Enabled by default.
+	 *
+	 * @param responseCompression
+	 */
+	public void setResponseCompression(boolean responseCompression) {
+		this.responseCompression = responseCompression;
+	}
+
+	/**
+	 * @param compressionThreshold minimum size in bytes of request bodies to compress. Defaults to {@literal 1024}.
+	 */
+	public void setCompressionThreshold(Integer compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	/**
+	 * @param metricsRecorder recorder of request compression ratios. Responses are {@link MeasuringResponseParser
+	 *          measured} if set. Can be {@literal null}.
+	 */
+	public void setMetricsRecorder(@Nullable SolrMetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder;
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToIntFunction;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link MeterBinder} publishing the {@link Http2SolrClientPoolStats} of an {@link Http2SolrClientFactory} as gauges
+ * prefixed with {@literal spring.data.solr.http2}.
+ *
+ * @since 4.4
+ */
+public class Http2SolrClientPoolMetrics implements MeterBinder {
+
+	private static final String PREFIX = "spring.data.solr.http2.";
+
+	private final Http2SolrClientFactory factory;
+
+	/**
+	 * @param factory must not be {@literal null}.
+	 */
+	public Http2SolrClientPoolMetrics(Http2SolrClientFactory factory) {
+
+		Assert.notNull(factory, "Factory must not be null");
+		this.factory = factory;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+
+		gauge(registry, "connections", "Open connections", Http2SolrClientPoolStats::getConnections);
+		gauge(registry, "connections.pending", "Connections being established",
+				Http2SolrClientPoolStats::getPendingConnections);
+		gauge(registry, "requests.queued", "Requests waiting for a connection", Http2SolrClientPoolStats::getQueuedRequests);
+		gauge(registry, "streams.active", "Requests in flight", Http2SolrClientPoolStats::getActiveStreams);
+		gauge(registry, "streams.max", "Maximum number of requests in flight",
+				Http2SolrClientPoolStats::getMaxConcurrentStreams);
+		gauge(registry, "threads.active", "Threads busy processing responses", Http2SolrClientPoolStats::getActiveThreads);
+		gauge(registry, "threads.pool", "Threads processing responses", Http2SolrClientPoolStats::getPoolSize);
+		gauge(registry, "threads.max", "Maximum number of threads processing responses",
+				Http2SolrClientPoolStats::getMaxPoolSize);
+	}
+
+	private void gauge(MeterRegistry registry, String name, String description,
+			ToIntFunction<Http2SolrClientPoolStats> value) {
+
+		Gauge.builder(PREFIX + name, factory, it -> value.applyAsInt(it.getPoolStats())).description(description)
+				.register(registry);
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.eclipse.jetty.client.AbstractConnectionPool;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpDestination;
+import org.eclipse.jetty.client.api.Destination;
+
+/**
+ * Snapshot of the connection pool, stream and executor usage of the clients created by
+ * {@link Http2SolrClientFactory}.
+ *
+ * @since 4.4
+ */
+public class Http2SolrClientPoolStats {
+
+	private int connections;
+	private int pendingConnections;
+	private int queuedRequests;
+	private int activeStreams;
+	private int maxConcurrentStreams;
+	private int activeThreads;
+	private int poolSize;
+	private int maxPoolSize;
+
+	Http2SolrClientPoolStats() {}
+
+	static Http2SolrClientPoolStats of(HttpClient httpClient, Collection<? extends Http2SolrClient> clients) {
+
+		Http2SolrClientPoolStats stats = new Http2SolrClientPoolStats();
+
+		for (Destination destination : httpClient.getDestinations()) {
+
+			if (destination instanceof HttpDestination) {
+
+				HttpDestination httpDestination = (HttpDestination) destination;
+				stats.queuedRequests += httpDestination.getQueuedRequestCount();
+
+				if (httpDestination.getConnectionPool() instanceof AbstractConnectionPool) {
+
+					AbstractConnectionPool pool = (AbstractConnectionPool) httpDestination.getConnectionPool();
+					stats.connections += pool.getConnectionCount();
+					stats.pendingConnections += pool.getPendingConnectionCount();
+				}
+			}
+		}
+
+		for (Http2SolrClient client : clients) {
+
+			if (client instanceof StreamLimitingHttp2SolrClient) {
+
+				stats.activeStreams += ((StreamLimitingHttp2SolrClient) client).getActiveStreams();
+				stats.maxConcurrentStreams += ((StreamLimitingHttp2SolrClient) client).getMaxConcurrentStreams();
+			}
+		}
+
+		Executor executor = httpClient.getExecutor();
+		if (executor instanceof ThreadPoolExecutor) {
+
+			ThreadPoolExecutor threadPool = (ThreadPoolExecutor) executor;
+			stats.activeThreads = threadPool.getActiveCount();
+			stats.poolSize = threadPool.getPoolSize();
+			stats.maxPoolSize = threadPool.getMaximumPoolSize();
+		}
+
+		return stats;
+	}
+
+	/**
+	 * @return number of open connections across all hosts.
+	 */
+	public int getConnections() {
+		return connections;
+	}
+
+	/**
+	 * @return number of connections currently being established.
+	 */
+	public int getPendingConnections() {
+		return pendingConnections;
+	}
+
+	/**
+	 * @return number of requests waiting for a connection.
+	 */
+	public int getQueuedRequests() {
+		return queuedRequests;
+	}
+
+	/**
+	 * @return number of requests in flight. Only tracked if the number of concurrent streams is limited.
+	 */
+	public int getActiveStreams() {
+		return activeStreams;
+	}
+
+	/**
+	 * @return the sum of the configured concurrent stream limits across all hosts. Zero if unlimited.
+	 */
+	public int getMaxConcurrentStreams() {
+		return maxConcurrentStreams;
+	}
+
+	/**
+	 * @return number of executor threads busy processing responses.
+	 */
+	public int getActiveThreads() {
+		return activeThreads;
+	}
+
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	public int getMaxPoolSize() {
+		return maxPoolSize;
+	}
+
+	@Override
+	public String toString() {
+		return "Http2SolrClientPoolStats [connections=" + connections + ", pendingConnections=" + pendingConnections
+				+ ", queuedRequests=" + queuedRequests + ", activeStreams=" + activeStreams + ", maxConcurrentStreams="
+				+ maxConcurrentStreams + ", activeThreads=" + activeThreads + ", poolSize=" + poolSize + ", maxPoolSize="
+				+ maxPoolSize + "]";
+	}
+}
@@ -15,6 +15,10 @@
  */
 package org.springframework.data.solr.server.support;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.impl.HttpClientUtil;
@@ -24,6 +28,8 @@ import org.apache.solr.common.params.ModifiableSolrParams;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.solr.core.metrics.MeasuringResponseParser;
+import org.springframework.data.solr.core.metrics.SolrMetricsRecorder;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -40,6 +46,15 @@ public class HttpSolrClientFactoryBean extends HttpSolrClientFactory
 	private @Nullable String url;
 	private @Nullable Integer timeout;
 	private @Nullable Integer maxConnections;
+	private boolean adaptiveLoadBalancing = false;
+	private @Nullable Double decay;
+	private @Nullable Duration slowStart;
+	private @Nullable Duration healthCheckInterval;
+	private @Nullable String healthCheckCollection;
+	private boolean requestCompression = false;
+	private boolean responseCompression = false;
+	private @Nullable Integer compressionThreshold;
+	private @Nullable SolrMetricsRecorder metricsRecorder;
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
@@ -56,31 +71,107 @@ public class HttpSolrClientFactoryBean extends HttpSolrClientFactory
 	}
 
 	private void createHttpSolrClient() {
+		this.setSolrClient(buildHttpSolrClient(this.url));
+	}
+
+	private HttpSolrClient buildHttpSolrClient(String url) {
 
-		HttpSolrClient.Builder builder = new HttpSolrClient.Builder().withBaseSolrUrl(this.url);
+		HttpSolrClient.Builder builder = new HttpSolrClient.Builder().withBaseSolrUrl(url);
 
 		if (timeout != null) {
 			builder = builder.withConnectionTimeout(timeout);
 		}
 
-		if (maxConnections != null) {
+		if (requiresCustomHttpClient()) {
+			builder.withHttpClient(HttpClientUtil.createClient(httpClientParams()));
+		}
+		if (metricsRecorder != null) {
+			builder.withResponseParser(new MeasuringResponseParser());
+		}
 
-			ModifiableSolrParams params = new ModifiableSolrParams();
-			params.set(HttpClientUtil.PROP_MAX_CONNECTIONS, maxConnections);
+		HttpSolrClient solrClient = builder.build();
+		if (requestCompression) {
+			solrClient.setRequestWriter(createRequestWriter());
+		}
+		return solrClient;
+	}
+
+	private boolean requiresCustomHttpClient() {
+		return maxConnections != null || responseCompression;
+	}
+
+	private ModifiableSolrParams httpClientParams() {
 
-			builder.withHttpClient(HttpClientUtil.createClient(params));
+		ModifiableSolrParams params = new ModifiableSolrParams();
+		if (maxConnections != null) {
+			params.set(HttpClientUtil.PROP_MAX_CONNECTIONS, maxConnections);
+		}
+		if (responseCompression) {
+			params.set(HttpClientUtil.PROP_ALLOW_COMPRESSION, true);
 		}
+		return params;
+	}
 
-		this.setSolrClient(builder.build());
+	private GzipRequestWriter createRequestWriter() {
+
+		GzipRequestWriter requestWriter = new GzipRequestWriter();
+		if (compressionThreshold != null) {
+			requestWriter.setThreshold(compressionThreshold);
+		}
+		requestWriter.setMetricsRecorder(metricsRecorder);
+		return requestWriter;
 	}
 
 	private void createLoadBalancedHttpSolrClient() {
 
+		if (adaptiveLoadBalancing) {
+
+			Map<String, SolrClient> clients = new LinkedHashMap<>();
+			for (String baseUrl : StringUtils.split(this.url, SERVER_URL_SEPARATOR)) {
+				clients.put(baseUrl.trim(), buildHttpSolrClient(baseUrl.trim()));
+			}
+
+			AdaptiveLoadBalancedSolrClient solrClient = new AdaptiveLoadBalancedSolrClient(clients);
+			if (decay != null) {
+				solrClient.setDecay(decay);
+			}
+			if (slowStart != null) {
+				solrClient.setSlowStart(slowStart);
+			}
+			if (healthCheckInterval != null) {
+				solrClient.setHealthCheckInterval(healthCheckInterval);
+			}
+			solrClient.setHealthCheckCollection(healthCheckCollection);
+			this.setSolrClient(solrClient);
+			return;
+		}
+
 		LBHttpSolrClient.Builder builder = new LBHttpSolrClient.Builder()
 				.withBaseSolrUrls(StringUtils.split(this.url, SERVER_URL_SEPARATOR));
 		if (timeout != null) {
 			builder.withConnectionTimeout(timeout);
 		}
+		if (requiresCustomHttpClient()) {
+			builder.withHttpClient(HttpClientUtil.createClient(httpClientParams()));
+		}
+		if (metricsRecorder != null) {
+			builder.withResponseParser(new MeasuringResponseParser());
+		}
+		if (requestCompression) {
+
+			// the per node clients are created while building, so they have to pick up the writer from their builder
+			builder.withHttpSolrClientBuilder(new HttpSolrClient.Builder() {
+
+				@Override
+				public HttpSolrClient build() {
+
+					HttpSolrClient solrClient = super.build();
+					solrClient.setRequestWriter(createRequestWriter());
+					return solrClient;
+				}
+			});
+		}
+
 		this.setSolrClient(builder.build());
 	}
 
@@ -114,4 +205,95 @@ public class HttpSolrClientFactoryBean extends HttpSolrClientFactory
 		this.maxConnections = maxConnections;
 	}
 
+	/**
+	 * Use {@link AdaptiveLoadBalancedSolrClient} instead of round robin {@link LBHttpSolrClient} when multiple urls are
+	 * configured. Connection timeout and max connections are applied to each node.
+	 *
+	 * @param adaptiveLoadBalancing
+	 * @since 4.4
+	 */
+	public void setAdaptiveLoadBalancing(boolean adaptiveLoadBalancing) {
+		this.adaptiveLoadBalancing = adaptiveLoadBalancing;
+	}
+
+	/**
+	 * @param decay weight ({@literal 0..1}) of the latest response time in the moving average of the
+	 *          {@link #setAdaptiveLoadBalancing(boolean) adaptive} load balancer. Defaults to {@literal 0.3}.
+	 * @since 4.4
+	 * @see AdaptiveLoadBalancedSolrClient#setDecay(double)
+	 */
+	public void setDecay(Double decay) {
+		this.decay = decay;
+	}
+
+	/**
+	 * @param slowStart period over which nodes recovered by the {@link #setAdaptiveLoadBalancing(boolean) adaptive}
+	 *          load balancer ramp up to their full share of traffic. Defaults to {@literal 30} seconds.
+	 * @since 4.4
+	 * @see AdaptiveLoadBalancedSolrClient#setSlowStart(Duration)
+	 */
+	public void setSlowStart(Duration slowStart) {
+		this.slowStart = slowStart;
+	}
+
+	/**
+	 * @param healthCheckInterval delay between probing nodes taken out of rotation by the
+	 *          {@link #setAdaptiveLoadBalancing(boolean) adaptive} load balancer. Defaults to {@literal 5} seconds.
+	 * @since 4.4
+	 * @see AdaptiveLoadBalancedSolrClient#setHealthCheckInterval(Duration)
+	 */
+	public void setHealthCheckInterval(Duration healthCheckInterval) {
+		this.healthCheckInterval = healthCheckInterval;
+	}
+
+	/**
+	 * @param healthCheckCollection collection to ping when probing nodes taken out of rotation by the
+	 *          {@link #setAdaptiveLoadBalancing(boolean) adaptive} load balancer. Can be {@literal null} to probe the
+	 *          system info handler of the configured urls.
+	 * @since 4.4
+	 * @see AdaptiveLoadBalancedSolrClient#setHealthCheckCollection(String)
+	 */
+	public void setHealthCheckCollection(@Nullable String healthCheckCollection) {
+		this.healthCheckCollection = healthCheckCollection;
+	}
+
+	/**
+	 * Gzip compress request bodies, such as documents to add, of at least {@link #setCompressionThreshold(Integer)
+	 * compressionThreshold} bytes. Requires the Solr server to accept compressed request bodies.
+	 *
+	 * @param requestCompression
+	 * @since 4.4
+	 * @see GzipRequestWriter
+	 */
+	public void setRequestCompression(boolean requestCompression) {
+		this.requestCompression = requestCompression;
+	}
+
+	/**
+	 * Ask Solr to compress responses via {@literal Accept-Encoding} and transparently decompress them.
+	 *
+	 * @param responseCompression
+	 * @since 4.4
+	 */
+	public void setResponseCompression(boolean responseCompression) {
+		this.responseCompression = responseCompression;
+	}
+
+	/**
+	 * @param compressionThreshold minimum size in bytes of request bodies to compress. Defaults to {@literal 1024}.
+	 * @since 4.4
+	 */
+	public void setCompressionThreshold(Integer compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	/**
+	 * @param metricsRecorder recorder of request compression ratios. Responses are {@link MeasuringResponseParser
+	 *          measured} if set. Can be {@literal null}.
+	 * @since 4.4
+	 */
+	public void setMetricsRecorder(@Nullable SolrMetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder;
+	}
+
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.apache.solr.client.solrj.impl.HttpListenerFactory;
+import org.apache.solr.common.util.NamedList;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.util.thread.Scheduler;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link Http2SolrClient} limiting the number of concurrent streams it opens to its host and aborting requests not
+ * completing within a request timeout. Neither of those is configurable on the SolrJ 8.5 builder.
+ *
+ * @since 4.4
+ */
+class StreamLimitingHttp2SolrClient extends Http2SolrClient {
+
+	private static final long serialVersionUID = 5076400163281893226L;
+
+	private final @Nullable Semaphore streams;
+	private final int maxConcurrentStreams;
+	private final long requestTimeoutMillis;
+
+	/**
+	 * @param baseUrl the base url of the node.
+	 * @param builder the builder holding the remaining configuration.
+	 * @param maxConcurrentStreams maximum number of requests in flight. Zero or less for unlimited.
+	 * @param requestTimeoutMillis maximum time for a request to complete including waiting for a free stream. Zero or
+	 *          less to wait forever.
+	 */
+	StreamLimitingHttp2SolrClient(String baseUrl, Http2SolrClient.Builder builder, int maxConcurrentStreams,
+			long requestTimeoutMillis) {
+
+		super(baseUrl, builder);
+
+		this.maxConcurrentStreams = maxConcurrentStreams;
+		this.streams = maxConcurrentStreams > 0 ? new Semaphore(maxConcurrentStreams) : null;
+		this.requestTimeoutMillis = requestTimeoutMillis;
+
+		if (requestTimeoutMillis > 0) {
+			addListenerFactory(new RequestTimeoutListenerFactory(
+					Http2SolrClientFactory.getJettyHttpClient(this).getScheduler(), requestTimeoutMillis));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.apache.solr.client.solrj.impl.Http2SolrClient#request(org.apache.solr.client.solrj.SolrRequest, java.lang.String)
+	 */
+	@Override
+	public NamedList<Object> request(SolrRequest solrRequest, @Nullable String collection)
+			throws SolrServerException, IOException {
+
+		if (streams == null) {
+			return super.request(solrRequest, collection);
+		}
+
+		acquireStream();
+		try {
+			return super.request(solrRequest, collection);
+		} finally {
+			streams.release();
+		}
+	}
+
+	private void acquireStream() throws SolrServerException {
+
+		try {
+
+			if (requestTimeoutMillis <= 0) {
+				streams.acquire();
+			} else if (!streams.tryAcquire(requestTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				throw new SolrServerException(String.format("Timed out after %sms waiting for one of %s streams to %s.",
+						requestTimeoutMillis, maxConcurrentStreams, getBaseURL()));
+			}
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+			throw new SolrServerException("Interrupted while waiting for a free stream", e);
+		}
+	}
+
+	/**
+	 * @return number of requests currently in flight. Zero if streams are not limited.
+	 */
+	int getActiveStreams() {
+		return streams != null ? maxConcurrentStreams - streams.availablePermits() : 0;
+	}
+
+	int getMaxConcurrentStreams() {
+		return maxConcurrentStreams;
+	}
+
+	/**
+	 * Aborts requests that did not complete within the timeout, starting when the request is queued.
+	 */
+	private static class RequestTimeoutListenerFactory implements HttpListenerFactory {
+
+		private final Scheduler scheduler;
+		private final long timeoutMillis;
+
+		RequestTimeoutListenerFactory(Scheduler scheduler, long timeoutMillis) {
+
+			this.scheduler = scheduler;
+			this.timeoutMillis = timeoutMillis;
+		}
+
+		@Override
+		public RequestResponseListener get() {
+
+			return new RequestResponseListener() {
+
+				private @Nullable Scheduler.Task task;
+
+				@Override
+				public void onQueued(Request request) {
+					schedule(request);
+				}
+
+				@Override
+				public void onBegin(Request request) {
+					schedule(request);
+				}
+
+				@Override
+				public void onComplete(Result result) {
+
+					synchronized (this) {
+						if (task != null) {
+							task.cancel();
+						}
+					}
+				}
+
+				private synchronized void schedule(Request request) {
+
+					if (task == null) {
+						task = scheduler.schedule(() -> request.abort(new TimeoutException(
+								String.format("Request to %s did not complete within %sms", request.getURI(), timeoutMillis))),
+								timeoutMillis, TimeUnit.MILLISECONDS);
+					}
+				}
+			};
+		}
+	}
+}
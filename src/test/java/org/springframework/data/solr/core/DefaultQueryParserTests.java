@@ -183,6 +183,107 @@ public class DefaultQueryParserTests {
 				.isEqualTo("field_1:start* OR field_2:(*end start2*)");
 	}
 
+	@Test
+	public void escapesReservedCharacters() {
+
+		Criteria criteria = new Criteria("field_1").is("a+b-c!(d)&&e||f&g|h\\i\"j{k}[l]^m~n*o?p:q");
+		assertThat(queryParser.createQueryStringFromCriteria(criteria, null))
+				.isEqualTo("field_1:a\\+b\\-c\\!\\(d\\)\\&\\&e\\|\\|f&g|h\\\\i\\\"j\\{k\\}\\[l\\]\\^m\\~n\\*o\\?p\\:q");
+	}
+
+	@Test
+	public void escapesRepeatedBooleanOperatorCharactersPairwise() {
+
+		Criteria criteria = new Criteria("field_1").is("&&&").is("|||");
+		assertThat(queryParser.createQueryStringFromCriteria(criteria, null))
+				.isEqualTo("field_1:(\\&\\&& \\|\\||)");
+	}
+
+	@Test
+	public void escapingKeepsNonAsciiCharacters() {
+
+		Criteria criteria = new Criteria("field_1").is("grüße*");
+		assertThat(queryParser.createQueryStringFromCriteria(criteria, null)).isEqualTo("field_1:grüße\\*");
+	}
+
+	@Test
+	public void quotesEscapedValueWithWhiteSpace() {
+
+		Criteria criteria = new Criteria("field_1").is("(white space)");
+		assertThat(queryParser.createQueryStringFromCriteria(criteria, null)).isEqualTo("field_1:\"\\(white space\\)\"");
+	}
+
+	@Test
+	public void dereferencesValuesOfQueryAndFilterQueries() {
+
+		queryParser.setParameterDereferencing(true);
+
+		SimpleQuery query = new SimpleQuery(new Criteria("field_1").is("white space").is("(x)"));
+		query.addFilterQuery(new SimpleFilterQuery(new Criteria("field_2").is(10).not()));
+
+		SolrQuery solrQuery = queryParser.constructSolrQuery(query, null);
+
+		assertThat(solrQuery.getQuery())
+				.isEqualTo("(_query_:\"{!field f=field_1 v=$v1}\" _query_:\"{!field f=field_1 v=$v2}\")");
+		assertThat(solrQuery.getFilterQueries()).containsExactly("-_query_:\"{!field f=field_2 v=$v3}\"");
+		assertThat(solrQuery.get("v1")).isEqualTo("white space");
+		assertThat(solrQuery.get("v2")).isEqualTo("(x)");
+		assertThat(solrQuery.get("v3")).isEqualTo("10");
+	}
+
+	@Test
+	public void dereferencedQueryStringDoesNotDependOnValues() {
+
+		queryParser.setParameterDereferencing(true);
+
+		SolrQuery first = queryParser.constructSolrQuery(new SimpleQuery(new Criteria("field_1").is("one")), null);
+		SolrQuery second = queryParser.constructSolrQuery(new SimpleQuery(new Criteria("field_1").is("two")), null);
+
+		assertThat(first.getQuery()).isEqualTo(second.getQuery());
+		assertThat(first.get("v1")).isEqualTo("one");
+		assertThat(second.get("v1")).isEqualTo("two");
+	}
+
+	@Test
+	public void doesNotDereferenceQueryParsedByOtherDefType() {
+
+		queryParser.setParameterDereferencing(true);
+
+		SimpleQuery query = new SimpleQuery(new Criteria("field_1").is("one"));
+		query.setDefType("edismax");
+		query.addFilterQuery(new SimpleFilterQuery(new Criteria("field_2").is("two")));
+
+		SolrQuery solrQuery = queryParser.constructSolrQuery(query, null);
+
+		assertThat(solrQuery.getQuery()).isEqualTo("field_1:one");
+		assertThat(solrQuery.getFilterQueries()).containsExactly("_query_:\"{!field f=field_2 v=$v1}\"");
+		assertThat(solrQuery.get("v1")).isEqualTo("two");
+	}
+
+	@Test
+	public void dereferencesQueryParsedByLuceneDefType() {
+
+		queryParser.setParameterDereferencing(true);
+
+		SimpleQuery query = new SimpleQuery(new Criteria("field_1").is("one"));
+		query.setDefType("lucene");
+
+		assertThat(queryParser.constructSolrQuery(query, null).getQuery())
+				.isEqualTo("_query_:\"{!field f=field_1 v=$v1}\"");
+	}
+
+	@Test
+	public void rendersCriteriaOtherThanEqualityInlineWhenDereferencing() {
+
+		queryParser.setParameterDereferencing(true);
+
+		Criteria criteria = new Criteria("field_1").is("one").and("field_2").startsWith("two").and("field_3").is("three")
+				.boost(2);
+
+		assertThat(queryParser.constructSolrQuery(new SimpleQuery(criteria), null).getQuery())
+				.isEqualTo("_query_:\"{!field f=field_1 v=$v1}\" AND field_2:two* AND field_3:three^2.0");
+	}
+
 	@Test
 	public void testCriteriaWithWhiteSpace() {
 
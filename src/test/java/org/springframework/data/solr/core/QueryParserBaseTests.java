@@ -35,6 +35,7 @@ import org.springframework.data.solr.core.QueryParserBase.DefaultProcessor;
 import org.springframework.data.solr.core.QueryParserBase.NamedObjectsQuery;
 import org.springframework.data.solr.core.QueryParserBase.PredicateProcessor;
 import org.springframework.data.solr.core.QueryParserBase.WildcardProcessor;
+import org.springframework.data.solr.core.query.Criteria;
 import org.springframework.data.solr.core.query.Criteria.OperationKey;
 import org.springframework.data.solr.core.query.Criteria.Predicate;
 import org.springframework.data.solr.core.query.Field;
@@ -140,6 +141,28 @@ public class QueryParserBaseTests {
 		assertThat(processor.process(new Predicate("some key", SOME_VALUE), null, null)).isEqualTo("X");
 	}
 
+	@Test
+	public void customPredicateProcessorHandlesPredicatesWithoutBuiltInProcessor() {
+
+		parser.addPredicateProcessor(new PredicateProcessor() {
+
+			@Override
+			public boolean canProcess(Predicate predicate) {
+				return predicate != null && (OperationKey.EQUALS.getKey().equals(predicate.getKey())
+						|| OperationKey.CONTAINS.getKey().equals(predicate.getKey()));
+			}
+
+			@Override
+			public Object process(Predicate predicate, Field field, Class<?> domainType) {
+				return "custom";
+			}
+		});
+
+		Criteria criteria = new Criteria("field_1").contains("contains").is("is");
+
+		assertThat(parser.createQueryStringFromNode(criteria, null)).isEqualTo("field_1:(*contains* custom)");
+	}
+
 	@Test
 	public void testFunctionFragmemtAppendsMultipleArgumentsCorrectly() {
 		Foo function = new Foo(Arrays.asList("one", "two"));
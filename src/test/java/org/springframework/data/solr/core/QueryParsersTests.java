@@ -17,6 +17,12 @@ package org.springframework.data.solr.core;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.apache.solr.client.solrj.SolrQuery;
 import org.junit.Before;
 import org.junit.Test;
@@ -53,6 +59,35 @@ public class QueryParsersTests {
 		assertThat(parsers.getForClass(SomeSolrQuery.class)).isInstanceOf(CustomQueryParser.class);
 	}
 
+	@Test
+	public void registeringParserReplacesPreviouslyResolvedParser() {
+
+		assertThat(parsers.getForClass(SomeSolrQuery.class)).isInstanceOf(DefaultQueryParser.class);
+
+		parsers.registerParser(SomeSolrQuery.class, new CustomQueryParser());
+		assertThat(parsers.getForClass(SomeSolrQuery.class)).isInstanceOf(CustomQueryParser.class);
+	}
+
+	@Test
+	public void getForClassReturnsSameParserForConcurrentLookups() throws Exception {
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+
+			List<Future<QueryParser>> lookups = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				lookups.add(executor.submit(() -> parsers.getForClass(TermsQuery.class)));
+			}
+
+			QueryParser expected = parsers.getForClass(TermsQuery.class);
+			for (Future<QueryParser> lookup : lookups) {
+				assertThat(lookup.get()).isSameAs(expected);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	private interface SomeSolrQuery extends SolrDataQuery {
 
 	}
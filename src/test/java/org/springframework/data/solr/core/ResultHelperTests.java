@@ -35,6 +35,7 @@ import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.RangeFacet;
 import org.apache.solr.client.solrj.response.TermsResponse;
 import org.apache.solr.client.solrj.response.TermsResponse.Term;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.util.NamedList;
 import org.junit.Test;
@@ -45,6 +46,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.solr.core.convert.MappingSolrConverter;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
 import org.springframework.data.solr.core.query.*;
 import org.springframework.data.solr.core.query.result.FacetFieldEntry;
 import org.springframework.data.solr.core.query.result.FacetPivotFieldEntry;
@@ -68,6 +72,8 @@ public class ResultHelperTests {
 
 	@Mock private QueryResponse response;
 
+	private SimpleSolrMappingContext mappingContext = new SimpleSolrMappingContext();
+
 	@Test
 	public void testConvertFacetQueryResponseForNullQueryResponse() {
 		Map<Field, Page<FacetFieldEntry>> result = ResultHelper
@@ -190,20 +196,20 @@ public class ResultHelperTests {
 	public void testParseAndAddHighlightQueryResponseToResultPageWithEmptyHighlighting() {
 		Mockito.when(response.getHighlighting()).thenReturn(Collections.<String, Map<String, List<String>>> emptyMap());
 		assertThat(ResultHelper.convertAndAddHighlightQueryResponseToResultPage(response,
-				new SolrResultPage<>(Collections.singletonList(new Object()))).isEmpty()).isTrue();
+				new SolrResultPage<>(Collections.singletonList(new Object())), mappingContext).isEmpty()).isTrue();
 	}
 
 	@Test
 	public void testParseAndAddHighlightQueryResponseToResultPageWithNullHighlighting() {
 		Mockito.when(response.getHighlighting()).thenReturn(null);
 		assertThat(ResultHelper.convertAndAddHighlightQueryResponseToResultPage(response,
-				new SolrResultPage<>(Collections.singletonList(new Object()))).isEmpty()).isTrue();
+				new SolrResultPage<>(Collections.singletonList(new Object())), mappingContext).isEmpty()).isTrue();
 	}
 
 	@Test
 	public void testParseAndAddHighlightQueryResponseToResultPageWithNullResponse() {
 		assertThat(ResultHelper.convertAndAddHighlightQueryResponseToResultPage(null,
-				new SolrResultPage<>(Collections.singletonList(new Object()))).isEmpty()).isTrue();
+				new SolrResultPage<>(Collections.singletonList(new Object())), mappingContext).isEmpty()).isTrue();
 	}
 
 	@Test
@@ -220,7 +226,7 @@ public class ResultHelperTests {
 
 		List<HighlightEntry<SolrBeanWithIdNamedField>> result = ResultHelper
 				.convertAndAddHighlightQueryResponseToResultPage(response,
-						new SolrResultPage<>(Collections.singletonList(resultBean)));
+						new SolrResultPage<>(Collections.singletonList(resultBean)), mappingContext);
 
 		assertThat(result.size()).isEqualTo(1);
 		assertThat(result.get(0).getEntity()).isEqualTo(resultBean);
@@ -254,7 +260,7 @@ public class ResultHelperTests {
 
 		List<HighlightEntry<SolrBeanWithIdNamedField>> result = ResultHelper
 				.convertAndAddHighlightQueryResponseToResultPage(response,
-						new SolrResultPage<>(Arrays.asList(resultBean1, resultBean2)));
+						new SolrResultPage<>(Arrays.asList(resultBean1, resultBean2)), mappingContext);
 
 		assertThat(result.size()).isEqualTo(2);
 		assertThat(result.get(0).getEntity()).isEqualTo(resultBean1);
@@ -277,7 +283,7 @@ public class ResultHelperTests {
 
 		List<HighlightEntry<SolrBeanWithAnnoteatedIdNamedField>> result = ResultHelper
 				.convertAndAddHighlightQueryResponseToResultPage(response,
-						new SolrResultPage<>(Collections.singletonList(resultBean)));
+						new SolrResultPage<>(Collections.singletonList(resultBean)), mappingContext);
 
 		assertThat(result.size()).isEqualTo(1);
 		assertThat(result.get(0).getEntity()).isEqualTo(resultBean);
@@ -291,6 +297,33 @@ public class ResultHelperTests {
 		}
 	}
 
+	@Test
+	public void testParseAndAddHighlightQueryResponseForEntryWithoutHighlights() {
+		Map<String, Map<String, List<String>>> highlightingData = new LinkedHashMap<>();
+		highlightingData.put("entity-id-1", Collections.singletonMap("field_1", Collections.singletonList("highlight 1")));
+
+		Mockito.when(response.getHighlighting()).thenReturn(highlightingData);
+
+		List<HighlightEntry<SolrBeanWithIdNamedField>> result = ResultHelper.convertAndAddHighlightQueryResponseToResultPage(
+				response, new SolrResultPage<>(Arrays.asList(new SolrBeanWithIdNamedField("entity-id-1"),
+						new SolrBeanWithIdNamedField("entity-id-2"), new SolrBeanWithIdNamedField(null))),
+				mappingContext);
+
+		assertThat(result).hasSize(3);
+		assertThat(result.get(0).getHighlights()).hasSize(1);
+		assertThat(result.get(1).getHighlights()).isEmpty();
+		assertThat(result.get(2).getHighlights()).isEmpty();
+	}
+
+	@Test(expected = MappingException.class)
+	public void testParseAndAddHighlightQueryResponseForBeanWithoutId() {
+		Mockito.when(response.getHighlighting()).thenReturn(Collections.singletonMap("entity-id-1",
+				Collections.singletonMap("field_1", Collections.singletonList("highlight 1"))));
+
+		ResultHelper.convertAndAddHighlightQueryResponseToResultPage(response,
+				new SolrResultPage<>(Collections.singletonList(new SolrBeanWithoutId())), mappingContext);
+	}
+
 	@Test
 	public void testConvertFacetRangeQueryResponseToFacetPageMapForNullQueryResponse() {
 		Map<Field, Page<FacetFieldEntry>> result = ResultHelper
@@ -453,6 +486,52 @@ public class ResultHelperTests {
 				.isEqualTo(Collections.<String, List<TermsFieldEntry>> emptyMap());
 	}
 
+	@Test
+	public void testConvertGroupQueryResponseConvertsGroupsInParallelRetainingOrder() {
+		GroupResponse groupResponse = Mockito.mock(GroupResponse.class);
+		GroupCommand groupCommand = Mockito.mock(GroupCommand.class);
+		Query query = Mockito.mock(Query.class);
+
+		MappingSolrConverter converter = new MappingSolrConverter(mappingContext);
+		converter.setParallelReadThreshold(10);
+		SolrTemplate solrTemplate = Mockito.mock(SolrTemplate.class);
+		Mockito.when(solrTemplate.getConverter()).thenReturn(converter);
+
+		List<Group> groups = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+
+			SolrDocumentList documents = new SolrDocumentList();
+			documents.add(new SolrDocument());
+			documents.setNumFound(1);
+
+			Group group = Mockito.mock(Group.class);
+			Mockito.when(group.getResult()).thenReturn(documents);
+			Mockito.when(group.getGroupValue()).thenReturn("group-" + i);
+			Mockito.when(solrTemplate.convertSolrDocumentListToBeans(documents, Object.class))
+					.thenReturn(Collections.singletonList("entity-" + i));
+			groups.add(group);
+		}
+
+		Mockito.when(response.getGroupResponse()).thenReturn(groupResponse);
+		Mockito.when(groupResponse.getValues()).thenReturn(Collections.singletonList(groupCommand));
+		Mockito.when(groupCommand.getValues()).thenReturn(groups);
+		Mockito.when(groupCommand.getName()).thenReturn("group_name");
+		Mockito.when(groupCommand.getNGroups()).thenReturn(20);
+		Mockito.when(query.getPageRequest()).thenReturn(PageRequest.of(0, 20));
+		Mockito.when(query.getGroupOptions()).thenReturn(new GroupOptions().setLimit(1));
+
+		GroupResult<Object> result = ResultHelper
+				.convertGroupQueryResponseToGroupResultMap(query, Collections.emptyMap(), response, solrTemplate, Object.class)
+				.get("group_name");
+
+		List<GroupEntry<Object>> entries = result.getGroupEntries().getContent();
+		assertThat(entries).hasSize(20);
+		for (int i = 0; i < entries.size(); i++) {
+			assertThat(entries.get(i).getGroupValue()).isEqualTo("group-" + i);
+			assertThat(entries.get(i).getResult().getContent()).containsExactly("entity-" + i);
+		}
+	}
+
 	@Test // DATASOLR-121
 	public void testConvertGroupQueryResponseToGroupResultList() {
 		GroupResponse groupResponse = Mockito.mock(GroupResponse.class);
@@ -824,6 +903,12 @@ public class ResultHelperTests {
 
 	}
 
+	private static class SolrBeanWithoutId {
+
+		@SuppressWarnings("unused") //
+		private String name;
+	}
+
 	private static class SolrBeanWithAnnoteatedIdNamedField {
 
 		private @Id String idField;
@@ -26,11 +26,17 @@ import static org.mockito.Mockito.nullable;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.ParseException;
 import org.apache.solr.client.solrj.SolrClient;
@@ -43,6 +49,7 @@ import org.apache.solr.client.solrj.request.schema.SchemaRequest.SchemaVersion;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.SolrPingResponse;
 import org.apache.solr.client.solrj.response.UpdateResponse;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrException.ErrorCode;
@@ -58,11 +65,17 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.solr.UncategorizedSolrException;
+import org.springframework.data.solr.core.convert.EntityUpdateRequest;
+import org.springframework.data.solr.core.deduplication.ContentDeduplicator;
+import org.springframework.data.solr.core.deduplication.InMemoryContentHashStore;
+import org.springframework.data.solr.core.diff.EntitySnapshots;
 import org.springframework.data.solr.core.mapping.Indexed;
 import org.springframework.data.solr.core.mapping.Score;
 import org.springframework.data.solr.core.query.Criteria;
@@ -72,6 +85,7 @@ import org.springframework.data.solr.core.query.SimpleHighlightQuery;
 import org.springframework.data.solr.core.query.SimpleQuery;
 import org.springframework.data.solr.core.query.SimpleStringCriteria;
 import org.springframework.data.solr.core.query.SolrDataQuery;
+import org.springframework.data.solr.core.query.result.ScoredPage;
 import org.springframework.data.solr.core.schema.SolrPersistentEntitySchemaCreator.Feature;
 import org.springframework.data.solr.server.SolrClientFactory;
 import org.springframework.lang.Nullable;
@@ -155,6 +169,21 @@ public class SolrTemplateTests {
 		assertThat(captor.getValue().getFieldValue("value")).isEqualTo(SIMPLE_OBJECT.getValue());
 	}
 
+	@Test
+	public void translatesConversionFailureOfSaveBean() {
+
+		SolrTemplate template = spy(solrTemplate);
+		doThrow(new IllegalStateException("cannot convert")).when(template).convertBeanToSolrInputDocument(any());
+
+		assertThatExceptionOfType(UncategorizedSolrException.class)
+				.isThrownBy(() -> template.saveBean(COLLECTION_NAME, SIMPLE_OBJECT))
+				.withCauseInstanceOf(IllegalStateException.class);
+		assertThatExceptionOfType(UncategorizedSolrException.class)
+				.isThrownBy(() -> template.saveBeans(COLLECTION_NAME, Collections.singletonList(SIMPLE_OBJECT)))
+				.withCauseInstanceOf(IllegalStateException.class);
+		verifyNoInteractions(solrClientMock);
+	}
+
 	@Test
 	public void testSaveBeanCommitWithin() throws IOException, SolrServerException {
 		when(solrClientMock.add(eq(COLLECTION_NAME), any(SolrInputDocument.class), eq(10000)))
@@ -218,6 +247,98 @@ public class SolrTemplateTests {
 		assertThat(captor.getValue().size()).isEqualTo(3);
 	}
 
+	@Test
+	public void saveBeansSendsEntityUpdateRequestWhenEnabled() throws IOException, SolrServerException {
+
+		when(solrClientMock.request(any(EntityUpdateRequest.class), eq(COLLECTION_NAME))).thenReturn(new NamedList<>());
+		solrTemplate.setEntityUpdateRequests(true);
+
+		List<SimpleJavaObject> collection = Arrays.asList(new SimpleJavaObject("1", 1l), new SimpleJavaObject("2", 2l));
+		UpdateResponse updateResponse = solrTemplate.saveBeans(COLLECTION_NAME, collection, Duration.ofSeconds(10));
+		assertThat(updateResponse).isNotNull();
+
+		ArgumentCaptor<EntityUpdateRequest> captor = ArgumentCaptor.forClass(EntityUpdateRequest.class);
+		verify(solrClientMock).request(captor.capture(), eq(COLLECTION_NAME));
+		verify(solrClientMock, never()).add(eq(COLLECTION_NAME), anyCollection(), anyInt());
+
+		assertThat(new ArrayList<Object>(captor.getValue().getEntities())).isEqualTo(collection);
+		assertThat(captor.getValue().getCommitWithin()).isEqualTo(10000);
+	}
+
+	@Test
+	public void saveBeanSkipsEntitiesUnchangedSinceSnapshot() throws IOException, SolrServerException {
+
+		when(solrClientMock.add(eq(COLLECTION_NAME), anyCollection(), eq(-1))).thenReturn(new UpdateResponse());
+		solrTemplate.setEntitySnapshots(new EntitySnapshots(10));
+
+		SimpleJavaObject bean = new SimpleJavaObject("1", 1L);
+		solrTemplate.saveBean(COLLECTION_NAME, bean);
+		solrTemplate.saveBean(COLLECTION_NAME, bean);
+
+		verify(solrClientMock, times(1)).add(eq(COLLECTION_NAME), anyCollection(), eq(-1));
+
+		bean.setValue(2L);
+		solrTemplate.saveBean(COLLECTION_NAME, bean);
+
+		verify(solrClientMock, times(2)).add(eq(COLLECTION_NAME), anyCollection(), eq(-1));
+
+		solrTemplate.deleteByIds(COLLECTION_NAME, "1");
+		solrTemplate.saveBean(COLLECTION_NAME, bean);
+
+		verify(solrClientMock, times(3)).add(eq(COLLECTION_NAME), anyCollection(), eq(-1));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void saveBeanToOtherCollectionDoesNotUseSnapshotOfCollectionLoadedFrom()
+			throws IOException, SolrServerException {
+
+		SolrDocument stored = new SolrDocument();
+		stored.setField("id", "1");
+		stored.setField("value", 1L);
+		SolrDocumentList documents = new SolrDocumentList();
+		documents.add(stored);
+
+		when(solrClientMock.getById(eq("collection-a"), anyCollection())).thenReturn(documents);
+		when(solrClientMock.add(anyString(), anyCollection(), eq(-1))).thenReturn(new UpdateResponse());
+		solrTemplate.setEntitySnapshots(new EntitySnapshots(10));
+
+		SimpleJavaObject bean = solrTemplate.getById("collection-a", "1", SimpleJavaObject.class).get();
+
+		solrTemplate.saveBean("collection-b", bean);
+		solrTemplate.saveBean("collection-a", bean);
+
+		ArgumentCaptor<List<SolrInputDocument>> captor = ArgumentCaptor.forClass(List.class);
+		verify(solrClientMock).add(eq("collection-b"), captor.capture(), eq(-1));
+		verify(solrClientMock, never()).add(eq("collection-a"), anyCollection(), anyInt());
+
+		SolrInputDocument document = captor.getValue().get(0);
+		assertThat(document.getFieldValue("value")).isEqualTo(1L);
+		assertThat(document.getFieldNames()).doesNotContain("_version_");
+	}
+
+	@Test
+	public void saveDocumentsSkipsUnchangedDocumentsWithContentDeduplicator()
+			throws IOException, SolrServerException {
+
+		when(solrClientMock.add(eq(COLLECTION_NAME), anyCollection(), eq(-1))).thenReturn(new UpdateResponse());
+		solrTemplate.setContentDeduplicator(new ContentDeduplicator(new InMemoryContentHashStore(10)));
+
+		SolrInputDocument document = new SolrInputDocument();
+		document.setField("id", "1");
+
+		solrTemplate.saveDocuments(COLLECTION_NAME, Collections.singletonList(document));
+		UpdateResponse skipped = solrTemplate.saveDocuments(COLLECTION_NAME, Collections.singletonList(document));
+
+		assertThat(skipped.getStatus()).isZero();
+		verify(solrClientMock, times(1)).add(eq(COLLECTION_NAME), anyCollection(), eq(-1));
+
+		solrTemplate.deleteByIds(COLLECTION_NAME, "1");
+		solrTemplate.saveDocuments(COLLECTION_NAME, Collections.singletonList(document));
+
+		verify(solrClientMock, times(2)).add(eq(COLLECTION_NAME), anyCollection(), eq(-1));
+	}
+
 	@Test
 	public void testSaveDocument() throws IOException, SolrServerException {
 		when(solrClientMock.add(eq(COLLECTION_NAME), any(SolrInputDocument.class), eq(-1)))
@@ -262,6 +383,267 @@ public class SolrTemplateTests {
 		verify(solrClientMock, times(1)).deleteById(eq(COLLECTION_NAME), eq("1"));
 	}
 
+	@Test
+	public void deleteByIdsSplitsIdsIntoConcurrentBatches() throws IOException, SolrServerException {
+
+		when(solrClientMock.deleteById(eq(COLLECTION_NAME), anyList())).thenReturn(new UpdateResponse());
+		solrTemplate.setDeleteBatchSize(2);
+		solrTemplate.setDeleteExecutor(Executors.newFixedThreadPool(2));
+
+		solrTemplate.deleteByIds(COLLECTION_NAME, Arrays.asList("1", "2", "3", "4", "5"));
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<String>> captor = (ArgumentCaptor<List<String>>) (Object) ArgumentCaptor.forClass(List.class);
+		verify(solrClientMock, times(3)).deleteById(eq(COLLECTION_NAME), captor.capture());
+
+		List<String> deleted = new ArrayList<>();
+		captor.getAllValues().forEach(batch -> {
+			assertThat(batch.size()).isLessThanOrEqualTo(2);
+			deleted.addAll(batch);
+		});
+		assertThat(deleted).containsExactlyInAnyOrder("1", "2", "3", "4", "5");
+	}
+
+	@Test
+	public void deleteByIdsEvictsSnapshotsOfDeletedBatchesWhenOtherBatchFails() throws IOException, SolrServerException {
+
+		when(solrClientMock.deleteById(eq(COLLECTION_NAME), anyList())).thenAnswer(invocation -> {
+
+			if (invocation.<List<String>> getArgument(1).contains("3")) {
+				throw new SolrServerException("boom");
+			}
+			return new UpdateResponse();
+		});
+
+		EntitySnapshots snapshots = new EntitySnapshots(10);
+		for (String id : Arrays.asList("1", "2", "3", "4")) {
+			snapshots.put(COLLECTION_NAME, DocumentWithIndexAnnotations.class, id, new SolrInputDocument("id", id));
+		}
+		solrTemplate.setEntitySnapshots(snapshots);
+		solrTemplate.setDeleteBatchSize(2);
+		solrTemplate.setDeleteExecutor(Executors.newFixedThreadPool(2));
+
+		assertThatExceptionOfType(DataAccessException.class)
+				.isThrownBy(() -> solrTemplate.deleteByIds(COLLECTION_NAME, Arrays.asList("1", "2", "3", "4")));
+
+		assertThat(snapshotOf(snapshots, "1")).isNull();
+		assertThat(snapshotOf(snapshots, "2")).isNull();
+		assertThat(snapshotOf(snapshots, "3")).isNotNull();
+		assertThat(snapshotOf(snapshots, "4")).isNotNull();
+	}
+
+	@Test
+	public void deleteByQueryViaIdsPagesThroughMatchingIds() throws IOException, SolrServerException {
+
+		when(solrClientMock.query(eq(COLLECTION_NAME), any(SolrParams.class), any(SolrRequest.METHOD.class)))
+				.thenReturn(idPage("AoE1", "1", "2"), idPage("AoE1"));
+		when(solrClientMock.deleteById(eq(COLLECTION_NAME), anyList())).thenReturn(new UpdateResponse());
+		solrTemplate.setDeleteByQueryViaIds(true);
+
+		solrTemplate.delete(COLLECTION_NAME, new SimpleQuery(new Criteria("name").is("foo")));
+
+		ArgumentCaptor<SolrParams> params = ArgumentCaptor.forClass(SolrParams.class);
+		verify(solrClientMock, times(2)).query(eq(COLLECTION_NAME), params.capture(), any(SolrRequest.METHOD.class));
+		assertThat(params.getAllValues().get(0).get("cursorMark")).isEqualTo("*");
+		assertThat(params.getAllValues().get(0).get("fl")).isEqualTo("id");
+		assertThat(params.getAllValues().get(1).get("cursorMark")).isEqualTo("AoE1");
+
+		verify(solrClientMock).deleteById(eq(COLLECTION_NAME), eq(Arrays.asList("1", "2")));
+		verify(solrClientMock, never()).deleteByQuery(anyString(), anyString());
+	}
+
+	@Test
+	public void queryAllReturnsResultsInRequestOrder() throws IOException, SolrServerException {
+
+		when(solrClientMock.query(eq(COLLECTION_NAME), any(SolrParams.class), any(SolrRequest.METHOD.class)))
+				.thenAnswer(invocation -> {
+
+					String q = invocation.<SolrParams> getArgument(1).get(CommonParams.Q);
+					if (q.contains("slow")) {
+						Thread.sleep(50);
+					}
+					return countResponse(q.contains("slow") ? 1 : 2);
+				});
+
+		MultiQueryRequest<Long> slow = MultiQueryRequest.forCount(COLLECTION_NAME,
+				new SimpleQuery(new Criteria("name").is("slow")));
+		MultiQueryRequest<Long> fast = MultiQueryRequest.forCount(COLLECTION_NAME,
+				new SimpleQuery(new Criteria("name").is("fast")));
+
+		MultiQueryResults results = solrTemplate.multiQuery(slow, fast);
+
+		assertThat(results.get(slow)).isEqualTo(1L);
+		assertThat(results.get(fast)).isEqualTo(2L);
+		assertThat(results.asList()).containsExactly(1L, 2L);
+	}
+
+	@Test
+	public void queryAllFailsWithFirstFailure() throws IOException, SolrServerException {
+
+		when(solrClientMock.query(eq(COLLECTION_NAME), any(SolrParams.class), any(SolrRequest.METHOD.class)))
+				.thenThrow(new SolrServerException("error", new SolrException(ErrorCode.BAD_REQUEST, "invalid")));
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() -> solrTemplate.queryAll(
+				Collections.singletonList(MultiQueryRequest.forCount(COLLECTION_NAME, new SimpleQuery("*:*")))));
+	}
+
+	@Test
+	public void queryAllFailsAfterTimeout() throws IOException, SolrServerException {
+
+		when(solrClientMock.query(eq(COLLECTION_NAME), any(SolrParams.class), any(SolrRequest.METHOD.class)))
+				.thenAnswer(invocation -> {
+					Thread.sleep(1000);
+					return countResponse(1);
+				});
+
+		assertThatExceptionOfType(QueryTimeoutException.class).isThrownBy(() -> solrTemplate.queryAll(
+				Collections.singletonList(MultiQueryRequest.forCount(COLLECTION_NAME, new SimpleQuery("*:*"))),
+				Duration.ofMillis(20)));
+	}
+
+	@Test
+	public void queryAllInterruptsQueriesAfterTimeout() throws Exception {
+
+		CountDownLatch interrupted = new CountDownLatch(1);
+		when(solrClientMock.query(eq(COLLECTION_NAME), any(SolrParams.class), any(SolrRequest.METHOD.class)))
+				.thenAnswer(invocation -> {
+
+					try {
+						Thread.sleep(10000);
+					} catch (InterruptedException e) {
+						interrupted.countDown();
+						throw e;
+					}
+					return countResponse(1);
+				});
+
+		assertThatExceptionOfType(QueryTimeoutException.class).isThrownBy(() -> solrTemplate.queryAll(
+				Collections.singletonList(MultiQueryRequest.forCount(COLLECTION_NAME, new SimpleQuery("*:*"))),
+				Duration.ofMillis(20)));
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void queryAllWithinMultiQueryRequestDoesNotWaitForOccupiedExecutor()
+			throws IOException, SolrServerException {
+
+		when(solrClientMock.query(eq(COLLECTION_NAME), any(SolrParams.class), any(SolrRequest.METHOD.class)))
+				.thenReturn(countResponse(1));
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		solrTemplate.setQueryExecutor(executor);
+
+		try {
+
+			MultiQueryRequest<List<Object>> nested = MultiQueryRequest.of(operations -> operations
+					.multiQuery(MultiQueryRequest.forCount(COLLECTION_NAME, new SimpleQuery("*:*")),
+							MultiQueryRequest.forCount(COLLECTION_NAME, new SimpleQuery("*:*")))
+					.asList());
+
+			MultiQueryResults results = solrTemplate.queryAll(Collections.singletonList(nested), Duration.ofSeconds(5));
+
+			assertThat(results.get(nested)).containsExactly(1L, 1L);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void queryAllRunsQueriesRejectedByExecutorOnCallingThread() throws IOException, SolrServerException {
+
+		when(solrClientMock.query(eq(COLLECTION_NAME), any(SolrParams.class), any(SolrRequest.METHOD.class)))
+				.thenReturn(countResponse(1));
+
+		solrTemplate.setQueryExecutor(runnable -> {
+			throw new RejectedExecutionException("full");
+		});
+
+		assertThat(solrTemplate.multiQuery(MultiQueryRequest.forCount(COLLECTION_NAME, new SimpleQuery("*:*"))).asList())
+				.containsExactly(1L);
+	}
+
+	@Test
+	public void queryAcrossCollectionsMergesResultsByScore() throws IOException, SolrServerException {
+
+		when(solrClientMock.query(eq("books"), any(SolrParams.class), any(SolrRequest.METHOD.class)))
+				.thenReturn(scoredPage(5, "b1:0.9", "b2:0.5", "b3:0.1"));
+		when(solrClientMock.query(eq("authors"), any(SolrParams.class), any(SolrRequest.METHOD.class)))
+				.thenReturn(scoredPage(3, "a1:0.7", "a2:0.3"));
+
+		Query query = new SimpleQuery("*:*").setPageRequest(PageRequest.of(1, 2));
+		ScoredPage<DocumentWithScoreAnnotation> page = solrTemplate.queryAcrossCollections(
+				Arrays.asList("books", "authors"), query, DocumentWithScoreAnnotation.class);
+
+		assertThat(page.getContent()).extracting(document -> document.id).containsExactly("b2", "a2");
+		assertThat(page.getTotalElements()).isEqualTo(8);
+		assertThat(page.getMaxScore()).isEqualTo(0.9F);
+
+		ArgumentCaptor<SolrParams> captor = ArgumentCaptor.forClass(SolrParams.class);
+		verify(solrClientMock).query(eq("books"), captor.capture(), any(SolrRequest.METHOD.class));
+		assertThat(captor.getValue().get(CommonParams.START)).isEqualTo("0");
+		assertThat(captor.getValue().get(CommonParams.ROWS)).isEqualTo("4");
+		assertThat(captor.getValue().get(CommonParams.FL)).contains("score");
+	}
+
+	private static QueryResponse scoredPage(long numFound, String... idsAndScores) {
+
+		SolrDocumentList documents = new SolrDocumentList();
+		documents.setNumFound(numFound);
+		for (String idAndScore : idsAndScores) {
+
+			String[] parts = idAndScore.split(":");
+			SolrDocument document = new SolrDocument();
+			document.setField("id", parts[0]);
+			document.setField("score", Float.valueOf(parts[1]));
+			documents.add(document);
+			if (documents.getMaxScore() == null) {
+				documents.setMaxScore(Float.valueOf(parts[1]));
+			}
+		}
+
+		NamedList<Object> body = new NamedList<>();
+		body.add("response", documents);
+
+		QueryResponse response = new QueryResponse();
+		response.setResponse(body);
+		return response;
+	}
+
+	private static QueryResponse countResponse(long numFound) {
+
+		SolrDocumentList documents = new SolrDocumentList();
+		documents.setNumFound(numFound);
+
+		NamedList<Object> body = new NamedList<>();
+		body.add("response", documents);
+
+		QueryResponse response = new QueryResponse();
+		response.setResponse(body);
+		return response;
+	}
+
+	private static Object snapshotOf(EntitySnapshots snapshots, String id) {
+		return snapshots.get(COLLECTION_NAME, DocumentWithIndexAnnotations.class, id);
+	}
+
+	private static QueryResponse idPage(String nextCursorMark, String... ids) {
+
+		SolrDocumentList documents = new SolrDocumentList();
+		for (String id : ids) {
+			SolrDocument document = new SolrDocument();
+			document.setField("id", id);
+			documents.add(document);
+		}
+
+		NamedList<Object> body = new NamedList<>();
+		body.add("response", documents);
+		body.add("nextCursorMark", nextCursorMark);
+
+		QueryResponse response = new QueryResponse();
+		response.setResponse(body);
+		return response;
+	}
+
 	@Test
 	public void testDeleteByIdWithCollection() throws IOException, SolrServerException {
 		when(solrClientMock.deleteById(eq(COLLECTION_NAME), anyList())).thenReturn(new UpdateResponse());
@@ -280,6 +662,18 @@ public class SolrTemplateTests {
 		}
 	}
 
+	@Test
+	public void translatesQueryConstructionFailureOfCount() {
+
+		SolrTemplate template = spy(solrTemplate);
+		doThrow(new IllegalArgumentException("cannot parse")).when(template).constructQuery(any(), any());
+
+		assertThatExceptionOfType(UncategorizedSolrException.class)
+				.isThrownBy(() -> template.count(COLLECTION_NAME, new SimpleQuery(new Criteria("field_1").is("value1"))))
+				.withCauseInstanceOf(IllegalArgumentException.class);
+		verifyNoInteractions(solrClientMock);
+	}
+
 	@Test
 	public void testCount() throws SolrServerException, IOException {
 		ArgumentCaptor<SolrQuery> captor = ArgumentCaptor.forClass(SolrQuery.class);
@@ -397,10 +791,11 @@ public class SolrTemplateTests {
 		solrTemplate.saveBean(COLLECTION_NAME, new DocumentWithIndexAnnotations());
 
 		ArgumentCaptor<SolrRequest> requestCaptor = ArgumentCaptor.forClass(SolrRequest.class);
-		verify(solrClientMock, times(4)).request(requestCaptor.capture(), Mockito.anyString());
+		verify(solrClientMock, times(3)).request(requestCaptor.capture(), Mockito.anyString());
 
 		SolrRequest capturedRequest = requestCaptor.getValue();
 
+		assertThat(capturedRequest).isInstanceOf(SchemaRequest.MultiUpdate.class);
 		assertThat(capturedRequest.getMethod()).isEqualTo(SolrRequest.METHOD.POST);
 		assertThat(capturedRequest.getPath()).isEqualTo("/schema");
 		assertThat(capturedRequest.getContentWriter("json")).isNotNull();
@@ -493,6 +888,118 @@ public class SolrTemplateTests {
 		verify(solrClientMock, times(1)).query(any(), any(SolrParams.class), eq(SolrRequest.METHOD.PUT));
 	}
 
+	@Test
+	public void executionInterceptorsAreInvokedInOrderWithExecutionDetails() throws SolrServerException, IOException {
+
+		when(solrClientMock.query(any(), any(SolrParams.class), any(SolrRequest.METHOD.class)))
+				.thenReturn(new QueryResponse());
+
+		List<String> invocations = new ArrayList<>();
+		List<SolrExecution> executions = new ArrayList<>();
+
+		solrTemplate.addExecutionInterceptor(new OrderedInterceptor(2, "second", invocations));
+		solrTemplate.addExecutionInterceptor(new OrderedInterceptor(1, "first", invocations) {
+
+			@Override
+			public <T> T intercept(SolrExecution execution, Chain<T> chain) throws Exception {
+				executions.add(execution);
+				return super.intercept(execution, chain);
+			}
+		});
+
+		solrTemplate.queryForPage(COLLECTION_NAME, new SimpleQuery("*:*"), DocumentWithIndexAnnotations.class);
+
+		assertThat(invocations).containsExactly("first", "second");
+		assertThat(executions).hasSize(1);
+		assertThat(executions.get(0).getOperationType()).isEqualTo(OperationType.QUERY);
+		assertThat(executions.get(0).getCollection()).isEqualTo(COLLECTION_NAME);
+		assertThat(executions.get(0).getDomainType()).isEqualTo(DocumentWithIndexAnnotations.class);
+		assertThat(executions.get(0).getParams().get(CommonParams.Q)).isEqualTo("*:*");
+		assertThat(executions.get(0).isIdempotent()).isTrue();
+	}
+
+	@Test
+	public void executionInterceptorCanShortCircuitExecution() {
+
+		SolrPingResponse cached = new SolrPingResponse();
+		solrTemplate.addExecutionInterceptor(new SolrExecutionInterceptor() {
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public <T> T intercept(SolrExecution execution, Chain<T> chain) {
+				return (T) cached;
+			}
+		});
+
+		assertThat(solrTemplate.ping()).isSameAs(cached);
+		verifyNoInteractions(solrClientMock);
+	}
+
+	@Test
+	public void exceptionsRaisedByExecutionInterceptorsAreTranslated() {
+
+		solrTemplate.addExecutionInterceptor(new SolrExecutionInterceptor() {
+
+			@Override
+			public <T> T intercept(SolrExecution execution, Chain<T> chain) throws Exception {
+				throw new SolrServerException("error", new SolrException(ErrorCode.SERVICE_UNAVAILABLE, "unavailable"));
+			}
+		});
+
+		assertThatExceptionOfType(DataAccessResourceFailureException.class)
+				.isThrownBy(() -> solrTemplate.commit(COLLECTION_NAME));
+	}
+
+	@Test
+	public void incrementingPartialUpdateIsNotConsideredIdempotent() {
+
+		List<SolrExecution> executions = new ArrayList<>();
+		solrTemplate.addExecutionInterceptor(new SolrExecutionInterceptor() {
+
+			@Override
+			public <T> T intercept(SolrExecution execution, Chain<T> chain) throws Exception {
+				executions.add(execution);
+				return chain.proceed();
+			}
+		});
+
+		PartialUpdate update = new PartialUpdate("id", "update-id");
+		update.increaseValueOfField("popularity", 1);
+		solrTemplate.saveBean(COLLECTION_NAME, update);
+
+		PartialUpdate set = new PartialUpdate("id", "update-id");
+		set.setValueOfField("name", "value");
+		solrTemplate.saveBean(COLLECTION_NAME, set);
+
+		assertThat(executions).extracting(SolrExecution::getOperationType).containsExactly(OperationType.UPDATE,
+				OperationType.UPDATE);
+		assertThat(executions).extracting(SolrExecution::isIdempotent).containsExactly(false, true);
+	}
+
+	static class OrderedInterceptor implements SolrExecutionInterceptor, org.springframework.core.Ordered {
+
+		private final int order;
+		private final String name;
+		private final List<String> invocations;
+
+		OrderedInterceptor(int order, String name, List<String> invocations) {
+			this.order = order;
+			this.name = name;
+			this.invocations = invocations;
+		}
+
+		@Override
+		public <T> T intercept(SolrExecution execution, Chain<T> chain) throws Exception {
+			invocations.add(name);
+			return chain.proceed();
+		}
+
+		@Override
+		public int getOrder() {
+			return order;
+		}
+	}
+
 	static class DocumentWithIndexAnnotations {
 
 		@Id String id;
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrQuery.ORDER;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SortedResultMerger}.
+ */
+public class SortedResultMergerTests {
+
+	@Test
+	public void requestsCandidatesUpToEndOfPageWithSortFields() {
+
+		SolrQuery query = new SolrQuery("*:*").setFields("id").setStart(20).setRows(10);
+		query.addSort("price", ORDER.asc).addSort("sum(a,b)", ORDER.desc);
+
+		new SortedResultMerger(query, 20, 10);
+
+		assertThat(query.getStart()).isZero();
+		assertThat(query.getRows()).isEqualTo(30);
+		assertThat(query.getFields()).isEqualTo("id,price,_sort_1:sum(a,b)");
+	}
+
+	@Test
+	public void keepsFunctionsOfRequestedFields() {
+
+		SolrQuery query = new SolrQuery("*:*").setFields("id", "total:sum(a, b)", "max(c,d)");
+		query.addSort("price", ORDER.asc);
+
+		new SortedResultMerger(query, 0, 10);
+
+		assertThat(query.getFields()).isEqualTo("id,total:sum(a, b),max(c,d),price");
+	}
+
+	@Test
+	public void requestsScoreWithoutSort() {
+
+		SolrQuery query = new SolrQuery("*:*");
+
+		new SortedResultMerger(query, 0, 10);
+
+		assertThat(query.getFields()).isEqualTo("*,score");
+	}
+
+	@Test
+	public void mergesByScore() {
+
+		SortedResultMerger merger = new SortedResultMerger(new SolrQuery("*:*"), 0, 10);
+
+		SolrDocumentList merged = merger.merge(Arrays.asList(documents("score", "a", 0.9F, "b", 0.2F),
+				documents("score", "c", 0.5F, "d", 0.1F)), 0, 10);
+
+		assertThat(ids(merged)).containsExactly("a", "c", "b", "d");
+	}
+
+	@Test
+	public void mergesBySortFieldsInBothDirections() {
+
+		SolrQuery ascending = new SolrQuery("*:*").addSort("price", ORDER.asc);
+		SolrQuery descending = new SolrQuery("*:*").addSort("price", ORDER.desc);
+
+		assertThat(ids(new SortedResultMerger(ascending, 0, 10).merge(
+				Arrays.asList(documents("price", "a", 1, "b", 5), documents("price", "c", 3L, "d", 7L)), 0, 10)))
+						.containsExactly("a", "c", "b", "d");
+		assertThat(ids(new SortedResultMerger(descending, 0, 10).merge(
+				Arrays.asList(documents("price", "b", 5, "a", 1), documents("price", "d", 7L, "c", 3L)), 0, 10)))
+						.containsExactly("d", "b", "c", "a");
+	}
+
+	@Test
+	public void takesEqualValuesInCollectionOrder() {
+
+		SortedResultMerger merger = new SortedResultMerger(new SolrQuery("*:*").addSort("price", ORDER.asc), 0, 10);
+
+		SolrDocumentList merged = merger.merge(
+				Arrays.asList(documents("price", "a", 1, "b", 2), documents("price", "c", 1, "d", 2)), 0, 10);
+
+		assertThat(ids(merged)).containsExactly("a", "c", "b", "d");
+	}
+
+	@Test
+	public void sortsMissingValuesLast() {
+
+		SortedResultMerger merger = new SortedResultMerger(new SolrQuery("*:*").addSort("price", ORDER.desc), 0, 10);
+
+		SolrDocumentList merged = merger.merge(
+				Arrays.asList(documents("price", "a", null, "b", null), documents("price", "c", 1)), 0, 10);
+
+		assertThat(ids(merged)).containsExactly("c", "a", "b");
+	}
+
+	@Test
+	public void skipsOffsetAndSumsNumFound() {
+
+		SortedResultMerger merger = new SortedResultMerger(new SolrQuery("*:*").addSort("price", ORDER.asc), 1, 2);
+
+		SolrDocumentList first = documents("price", "a", 1, "b", 3);
+		first.setNumFound(10);
+		SolrDocumentList second = documents("price", "c", 2, "d", 4);
+		second.setNumFound(5);
+
+		SolrDocumentList merged = merger.merge(Arrays.asList(first, second), 1, 2);
+
+		assertThat(ids(merged)).containsExactly("c", "b");
+		assertThat(merged.getNumFound()).isEqualTo(15);
+		assertThat(merged.getStart()).isEqualTo(1);
+	}
+
+	@Test
+	public void removesFunctionSortValues() {
+
+		SortedResultMerger merger = new SortedResultMerger(new SolrQuery("*:*").addSort("sum(a,b)", ORDER.asc), 0, 10);
+
+		SolrDocumentList merged = merger.merge(Arrays.asList(documents("_sort_0", "a", 2), documents("_sort_0", "b", 1)),
+				0, 10);
+
+		assertThat(ids(merged)).containsExactly("b", "a");
+		assertThat(merged.get(0).getFieldNames()).containsExactly("id");
+	}
+
+	private static SolrDocumentList documents(String field, Object... idsAndValues) {
+
+		SolrDocumentList documents = new SolrDocumentList();
+		for (int i = 0; i < idsAndValues.length; i += 2) {
+
+			SolrDocument document = new SolrDocument();
+			document.setField("id", idsAndValues[i]);
+			if (idsAndValues[i + 1] != null) {
+				document.setField(field, idsAndValues[i + 1]);
+			}
+			documents.add(document);
+		}
+		documents.setNumFound(documents.size());
+		return documents;
+	}
+
+	private static List<Object> ids(SolrDocumentList documents) {
+
+		List<Object> ids = new ArrayList<>();
+		for (SolrDocument document : documents) {
+			ids.add(document.getFieldValue("id"));
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.convert;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.beans.Field;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.common.util.SimpleOrderedMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.solr.core.convert.EntityResponseParser.FieldTable;
+import org.springframework.data.solr.core.mapping.Dynamic;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
+
+/**
+ * Unit tests for {@link EntityResponseParser}.
+ */
+public class EntityResponseParserTests {
+
+	private MappingSolrConverter converter;
+	private SimpleSolrMappingContext mappingContext;
+
+	@Before
+	public void setUp() {
+
+		mappingContext = new SimpleSolrMappingContext();
+		converter = new MappingSolrConverter(mappingContext);
+		converter.afterPropertiesSet();
+	}
+
+	@Test
+	public void convertsMainResultIntoEntities() throws IOException {
+
+		NamedList<Object> response = parse(response(document("1", "one"), document("2", "two")));
+		QueryResponse queryResponse = new QueryResponse(response, null);
+
+		assertThat(EntityResponseParser.<Book> getEntities(queryResponse)).extracting(book -> book.id, book -> book.title)
+				.containsExactly(tuple("1", "one"), tuple("2", "two"));
+		assertThat(queryResponse.getResults()).isEmpty();
+		assertThat(queryResponse.getResults().getNumFound()).isEqualTo(42L);
+		assertThat(queryResponse.getResults().getMaxScore()).isEqualTo(1.5F);
+	}
+
+	@Test
+	public void readsWildcardFields() throws IOException {
+
+		SolrDocument document = document("1", "one");
+		document.setField("attr_color", "red");
+		document.setField("attr_size", "xl");
+
+		Book book = EntityResponseParser.<Book> getEntities(new QueryResponse(parse(response(document)), null)).get(0);
+
+		assertThat(book.attributes).containsEntry("color", "red").containsEntry("size", "xl");
+	}
+
+	@Test
+	public void decodesFurtherDocumentListsAsUsual() throws IOException {
+
+		NamedList<Object> expanded = new SimpleOrderedMap<>();
+		expanded.add("group-1", documentList(document("3", "three")));
+
+		NamedList<Object> source = response(document("1", "one"));
+		source.add("expanded", expanded);
+
+		NamedList<Object> response = parse(source);
+
+		assertThat(EntityResponseParser.<Book> getEntities(new QueryResponse(response, null))).hasSize(1);
+		assertThat((SolrDocumentList) response.findRecursive("expanded", "group-1")).hasSize(1);
+	}
+
+	@Test
+	public void fieldTableMatchesMappedFieldsOnly() {
+
+		FieldTable fieldTable = FieldTable.of(mappingContext.getRequiredPersistentEntity(Book.class));
+
+		assertThat(fieldTable.contains("id")).isTrue();
+		assertThat(fieldTable.contains("title_s")).isTrue();
+		assertThat(fieldTable.contains("attr_anything")).isTrue();
+		assertThat(fieldTable.contains("score")).isTrue();
+		assertThat(fieldTable.contains("_version_")).isFalse();
+		assertThat(fieldTable.contains("description")).isFalse();
+	}
+
+	private NamedList<Object> parse(NamedList<Object> response) throws IOException {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new JavaBinCodec().marshal(response, out);
+
+		return new EntityResponseParser<>(converter, Book.class)
+				.processResponse(new ByteArrayInputStream(out.toByteArray()), null);
+	}
+
+	private static NamedList<Object> response(SolrDocument... documents) {
+
+		NamedList<Object> response = new NamedList<>();
+		response.add("responseHeader", new SimpleOrderedMap<>());
+		response.add("response", documentList(documents));
+		return response;
+	}
+
+	private static SolrDocumentList documentList(SolrDocument... documents) {
+
+		SolrDocumentList list = new SolrDocumentList();
+		list.setNumFound(42);
+		list.setStart(0);
+		list.setMaxScore(1.5F);
+		list.addAll(Arrays.asList(documents));
+		return list;
+	}
+
+	private static SolrDocument document(String id, String title) {
+
+		SolrDocument document = new SolrDocument();
+		document.setField("id", id);
+		document.setField("title_s", title);
+		document.setField("description", "not mapped");
+		document.setField("_version_", 1L);
+		return document;
+	}
+
+	static class Book {
+
+		@Id String id;
+
+		@Field("title_s") String title;
+
+		@Dynamic @Field("attr_*") Map<String, String> attributes;
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.convert;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.beans.Field;
+import org.apache.solr.client.solrj.impl.BinaryRequestWriter;
+import org.apache.solr.client.solrj.request.RequestWriter;
+import org.apache.solr.client.solrj.request.RequestWriter.ContentWriter;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.solr.core.mapping.ChildDocument;
+import org.springframework.data.solr.core.mapping.Dynamic;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
+
+/**
+ * Unit tests for {@link EntityUpdateRequest}.
+ */
+public class EntityUpdateRequestTests {
+
+	private MappingSolrConverter converter;
+
+	@Before
+	public void setUp() {
+
+		converter = new MappingSolrConverter(new SimpleSolrMappingContext());
+		converter.afterPropertiesSet();
+	}
+
+	@Test
+	public void writesSameJavaBinAsUpdateRequestOfConvertedDocuments() throws IOException {
+
+		List<Book> books = Arrays.asList(book("1", Genre.FICTION), book("2", Genre.POETRY));
+
+		EntityUpdateRequest request = new EntityUpdateRequest(converter, books);
+		request.setCommitWithin(1000);
+
+		UpdateRequest updateRequest = new UpdateRequest();
+		updateRequest.setCommitWithin(1000);
+		updateRequest.setDocIterator(updateRequest(books, -1).getDocuments().iterator());
+
+		assertThat(write(new BinaryRequestWriter(), request)).isEqualTo(write(new BinaryRequestWriter(), updateRequest));
+	}
+
+	@Test
+	public void writesSameXmlAsUpdateRequestOfConvertedDocuments() throws IOException {
+
+		List<Book> books = Collections.singletonList(book("1", Genre.FICTION));
+
+		assertThat(write(new RequestWriter(), new EntityUpdateRequest(converter, books)))
+				.isEqualTo(write(new RequestWriter(), updateRequest(books, -1)));
+	}
+
+	@Test
+	public void hasNoContentWithoutEntities() {
+		assertThat(new BinaryRequestWriter().getContentWriter(new EntityUpdateRequest(converter, Collections.emptyList())))
+				.isNull();
+	}
+
+	private UpdateRequest updateRequest(Collection<?> entities, int commitWithin) {
+
+		UpdateRequest request = new UpdateRequest();
+		request.setCommitWithin(commitWithin);
+
+		for (Object entity : entities) {
+
+			SolrInputDocument document = new SolrInputDocument();
+			converter.write(entity, document);
+			request.add(document);
+		}
+
+		return request;
+	}
+
+	private static byte[] write(RequestWriter requestWriter, org.apache.solr.client.solrj.SolrRequest<?> request)
+			throws IOException {
+
+		ContentWriter contentWriter = requestWriter.getContentWriter(request);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		contentWriter.write(out);
+		return out.toByteArray();
+	}
+
+	private static Book book(String id, Genre genre) {
+
+		Book book = new Book();
+		book.id = id;
+		book.title = "title-" + id;
+		book.genre = genre;
+		book.tags = Arrays.asList("a", "b");
+		book.attributes = new LinkedHashMap<>();
+		book.attributes.put("color", "red");
+		book.attributes.put("size", "xl");
+		book.chapters = Arrays.asList(chapter(id + "-1"), chapter(id + "-2"));
+		return book;
+	}
+
+	private static Chapter chapter(String id) {
+
+		Chapter chapter = new Chapter();
+		chapter.id = id;
+		chapter.pages = 10;
+		return chapter;
+	}
+
+	enum Genre {
+		FICTION, POETRY
+	}
+
+	static class Book {
+
+		@Id String id;
+
+		@Field("title_s") String title;
+
+		@Field Genre genre;
+
+		@Field List<String> tags;
+
+		@Dynamic @Field("attr_*") Map<String, String> attributes;
+
+		@ChildDocument List<Chapter> chapters;
+	}
+
+	static class Chapter {
+
+		@Id String id;
+
+		@Field int pages;
+	}
+}
@@ -27,9 +27,11 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.solr.client.solrj.beans.Field;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
 import org.joda.time.DateTime;
 import org.junit.Before;
@@ -1023,6 +1025,38 @@ public class MappingSolrConverterTests {
 		assertThat(target.enumList).containsExactly(SomeEnum.E2, SomeEnum.E1);
 	}
 
+	@Test
+	public void readsDocumentListInParallelRetainingOrder() {
+
+		SolrDocumentList source = new SolrDocumentList();
+		for (int i = 0; i < 1000; i++) {
+
+			SolrDocument document = new SolrDocument();
+			document.addField("intProperty", i);
+			source.add(document);
+		}
+
+		converter.setParallelReadThreshold(100);
+		converter.setForkJoinPool(new ForkJoinPool(4));
+
+		List<BeanWithDefaultTypes> target = converter.read(source, BeanWithDefaultTypes.class);
+
+		assertThat(converter.isParallelRead(source.size())).isTrue();
+		assertThat(target).hasSize(1000);
+		for (int i = 0; i < target.size(); i++) {
+			assertThat(target.get(i).intProperty).isEqualTo(i);
+		}
+	}
+
+	@Test
+	public void readsDocumentListBelowThresholdOnCallingThread() {
+
+		converter.setParallelReadThreshold(100);
+
+		assertThat(converter.isParallelRead(99)).isFalse();
+		assertThat(converter.read(new SolrDocumentList(), BeanWithDefaultTypes.class)).isEmpty();
+	}
+
 	public static class BeanWithoutAnnotatedFields {
 
 		String notIndexedProperty;
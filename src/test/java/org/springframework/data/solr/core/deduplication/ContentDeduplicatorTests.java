@@ -0,0 +1,223 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.deduplication;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.solr.core.deduplication.ContentDeduplicator.ChangeSet;
+
+/**
+ * Unit tests for {@link ContentDeduplicator}.
+ */
+public class ContentDeduplicatorTests {
+
+	private InMemoryContentHashStore store;
+	private ContentDeduplicator deduplicator;
+
+	@Before
+	public void setUp() {
+
+		store = new InMemoryContentHashStore(100);
+		deduplicator = new ContentDeduplicator(store);
+	}
+
+	@Test
+	public void hashIgnoresFieldOrderAndExcludedFields() {
+
+		SolrInputDocument first = document("1", "title");
+		first.setField("_version_", 1L);
+
+		SolrInputDocument second = new SolrInputDocument();
+		second.setField("title", "title");
+		second.setField("id", "1");
+		second.setField("_version_", 2L);
+
+		assertThat(deduplicator.hash(first)).isEqualTo(deduplicator.hash(second));
+	}
+
+	@Test
+	public void hashDistinguishesValuesAndTypes() {
+
+		SolrInputDocument number = new SolrInputDocument();
+		number.setField("id", "1");
+		number.setField("count", 1);
+
+		SolrInputDocument string = new SolrInputDocument();
+		string.setField("id", "1");
+		string.setField("count", "1");
+
+		assertThat(deduplicator.hash(number)).isNotEqualTo(deduplicator.hash(string));
+		assertThat(deduplicator.hash(document("1", "a"))).isNotEqualTo(deduplicator.hash(document("1", "b")));
+	}
+
+	@Test
+	public void hashCoversChildDocuments() {
+
+		SolrInputDocument parent = document("1", "title");
+		parent.addChildDocument(document("1-1", "child"));
+
+		SolrInputDocument changed = document("1", "title");
+		changed.addChildDocument(document("1-1", "changed"));
+
+		assertThat(deduplicator.hash(parent)).isNotEqualTo(deduplicator.hash(changed));
+	}
+
+	@Test
+	public void skipsDocumentsWrittenBeforeWithSameContent() {
+
+		deduplicator.detectChanges("books", Arrays.asList(document("1", "a"), document("2", "b"))).markWritten();
+
+		ChangeSet changes = deduplicator.detectChanges("books",
+				Arrays.asList(document("1", "a"), document("2", "changed"), document("3", "c")));
+
+		assertThat(ids(changes.getDocuments())).containsExactly("2", "3");
+		assertThat(changes.getSkipped()).isEqualTo(1);
+		assertThat(deduplicator.getSkippedDocuments()).isEqualTo(1);
+	}
+
+	@Test
+	public void writesAgainIfPreviousWriteWasNotMarkedWritten() {
+
+		deduplicator.detectChanges("books", Collections.singletonList(document("1", "a")));
+
+		assertThat(deduplicator.detectChanges("books", Collections.singletonList(document("1", "a"))).getDocuments())
+				.hasSize(1);
+	}
+
+	@Test
+	public void keepsCollectionsApart() {
+
+		deduplicator.detectChanges("books", Collections.singletonList(document("1", "a"))).markWritten();
+
+		assertThat(deduplicator.detectChanges("authors", Collections.singletonList(document("1", "a"))).getDocuments())
+				.hasSize(1);
+	}
+
+	@Test
+	public void writesDocumentsAgainAfterEviction() {
+
+		deduplicator.detectChanges("books", Collections.singletonList(document("1", "a"))).markWritten();
+		deduplicator.evict("books", Collections.singleton("1"));
+
+		assertThat(deduplicator.detectChanges("books", Collections.singletonList(document("1", "a"))).getDocuments())
+				.hasSize(1);
+	}
+
+	@Test
+	public void alwaysWritesAtomicUpdatesAndDocumentsWithoutId() {
+
+		SolrInputDocument atomicUpdate = new SolrInputDocument();
+		atomicUpdate.setField("id", "1");
+		atomicUpdate.setField("count", Collections.singletonMap("inc", 1));
+
+		SolrInputDocument withoutId = new SolrInputDocument();
+		withoutId.setField("title", "a");
+
+		for (int i = 0; i < 2; i++) {
+
+			ChangeSet changes = deduplicator.detectChanges("books", Arrays.asList(atomicUpdate, withoutId));
+			assertThat(changes.getDocuments()).hasSize(2);
+			changes.markWritten();
+		}
+	}
+
+	@Test
+	public void writesDocumentAgainAfterAtomicUpdate() {
+
+		deduplicator.detectChanges("books", Collections.singletonList(document("1", "a"))).markWritten();
+
+		SolrInputDocument atomicUpdate = new SolrInputDocument();
+		atomicUpdate.setField("id", "1");
+		atomicUpdate.setField("title", Collections.singletonMap("set", "b"));
+		deduplicator.detectChanges("books", Collections.singletonList(atomicUpdate)).markWritten();
+
+		assertThat(deduplicator.detectChanges("books", Collections.singletonList(document("1", "a"))).getDocuments())
+				.hasSize(1);
+	}
+
+	@Test
+	public void doesNotRecordHashOfDocumentAtomicallyUpdatedInSameBatch() {
+
+		SolrInputDocument atomicUpdate = new SolrInputDocument();
+		atomicUpdate.setField("id", "1");
+		atomicUpdate.setField("title", Collections.singletonMap("set", "b"));
+
+		deduplicator.detectChanges("books", Arrays.asList(document("1", "a"), atomicUpdate)).markWritten();
+
+		assertThat(deduplicator.detectChanges("books", Collections.singletonList(document("1", "a"))).getDocuments())
+				.hasSize(1);
+	}
+
+	@Test
+	public void atomicUpdatesRemoveHashFieldOfStoreReadingHashesFromSolr() {
+
+		ContentHashStore fieldStore = new InMemoryContentHashStore(10) {
+			@Override
+			public String getHashField() {
+				return "content_hash_l";
+			}
+		};
+		ContentDeduplicator deduplicator = new ContentDeduplicator(fieldStore);
+
+		SolrInputDocument atomicUpdate = new SolrInputDocument();
+		atomicUpdate.setField("id", "1");
+		atomicUpdate.setField("title", Collections.singletonMap("set", "b"));
+
+		deduplicator.detectChanges("books", Collections.singletonList(atomicUpdate));
+
+		assertThat(atomicUpdate.getFieldValue("content_hash_l")).isEqualTo(Collections.singletonMap("set", null));
+	}
+
+	@Test
+	public void writesHashFieldOfStoreReadingHashesFromSolr() {
+
+		ContentHashStore fieldStore = new InMemoryContentHashStore(10) {
+			@Override
+			public String getHashField() {
+				return "content_hash_l";
+			}
+		};
+		ContentDeduplicator deduplicator = new ContentDeduplicator(fieldStore);
+
+		SolrInputDocument document = document("1", "a");
+		long hash = deduplicator.hash(document);
+
+		deduplicator.detectChanges("books", Collections.singletonList(document)).markWritten();
+
+		assertThat(document.getFieldValue("content_hash_l")).isEqualTo(hash);
+		assertThat(deduplicator.hash(document)).isEqualTo(hash);
+		assertThat(deduplicator.detectChanges("books", Collections.singletonList(document)).getDocuments()).isEmpty();
+	}
+
+	private static SolrInputDocument document(String id, String title) {
+
+		SolrInputDocument document = new SolrInputDocument();
+		document.setField("id", id);
+		document.setField("title", title);
+		return document;
+	}
+
+	private static List<Object> ids(List<SolrInputDocument> documents) {
+		return Arrays.asList(documents.stream().map(document -> document.getFieldValue("id")).toArray());
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.deduplication;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link InMemoryContentHashStore}.
+ */
+public class InMemoryContentHashStoreTests {
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void evictsLeastRecentlyUsedHashes() {
+
+		InMemoryContentHashStore store = new InMemoryContentHashStore(2);
+		store.putHashes("books", Collections.singletonMap("1", 1L));
+		store.putHashes("books", Collections.singletonMap("2", 2L));
+		store.getHashes("books", Collections.singleton("1"));
+		store.putHashes("books", Collections.singletonMap("3", 3L));
+
+		assertThat(store.getHashes("books", Arrays.asList("1", "2", "3"))).containsOnlyKeys("1", "3");
+		assertThat(store.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void clearsSingleCollection() {
+
+		InMemoryContentHashStore store = new InMemoryContentHashStore(10);
+		store.putHashes("books", Collections.singletonMap("1", 1L));
+		store.putHashes("authors", Collections.singletonMap("1", 2L));
+
+		store.clear("books");
+
+		assertThat(store.getHashes("books", Collections.singleton("1"))).isEmpty();
+		assertThat(store.getHashes("authors", Collections.singleton("1"))).containsEntry("1", 2L);
+	}
+
+	@Test
+	public void persistsHashesToFile() throws IOException {
+
+		Path file = folder.getRoot().toPath().resolve("hashes.bin");
+
+		InMemoryContentHashStore store = new InMemoryContentHashStore(10, file);
+		store.putHashes("books", Collections.singletonMap("1", 42L));
+		store.putHashes(null, Collections.singletonMap("2", 43L));
+		store.destroy();
+
+		InMemoryContentHashStore reloaded = new InMemoryContentHashStore(10, file);
+
+		assertThat(reloaded.getHashes("books", Collections.singleton("1"))).containsEntry("1", 42L);
+		assertThat(reloaded.getHashes(null, Collections.singleton("2"))).containsEntry("2", 43L);
+	}
+
+	@Test
+	public void rejectsNonPositiveMaxEntries() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new InMemoryContentHashStore(0));
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.diff;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.solr.client.solrj.beans.Field;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.solr.core.convert.MappingSolrConverter;
+import org.springframework.data.solr.core.diff.DocumentChange.Type;
+import org.springframework.data.solr.core.mapping.Indexed;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
+import org.springframework.data.solr.core.query.UpdateField;
+
+/**
+ * Unit tests for {@link AtomicUpdateDiffer}.
+ */
+public class AtomicUpdateDifferTests {
+
+	private AtomicUpdateDiffer differ;
+
+	@Before
+	public void setUp() {
+
+		MappingSolrConverter converter = new MappingSolrConverter(new SimpleSolrMappingContext());
+		converter.afterPropertiesSet();
+		differ = new AtomicUpdateDiffer(converter);
+	}
+
+	@Test
+	public void unchangedEntityRequiresNoWrite() {
+		assertThat(differ.diff(book(), book()).getType()).isEqualTo(Type.UNCHANGED);
+	}
+
+	@Test
+	public void setsChangedField() {
+
+		Book changed = book();
+		changed.title = "changed";
+
+		DocumentChange change = differ.diff(book(), changed);
+
+		assertThat(change.getType()).isEqualTo(Type.PARTIAL);
+		assertThat(updates(change)).containsExactly("title:SET:changed");
+		assertThat(change.getDocument().getFieldValue("id")).isEqualTo("1");
+		assertThat(change.getDocument().getFieldValue("title")).isEqualTo(Collections.singletonMap("set", "changed"));
+		assertThat(change.getDocument().getFieldValue("_version_")).isEqualTo(1L);
+	}
+
+	@Test
+	public void setsRemovedFieldToNull() {
+
+		Book changed = book();
+		changed.title = null;
+
+		assertThat(updates(differ.diff(book(), changed))).containsExactly("title:SET:null");
+	}
+
+	@Test
+	public void addsAppendedValues() {
+
+		Book changed = book();
+		changed.tags = new ArrayList<>(changed.tags);
+		changed.tags.add("drama");
+
+		assertThat(updates(differ.diff(book(), changed))).containsExactly("tags:ADD:[drama]");
+	}
+
+	@Test
+	public void removesDroppedValues() {
+
+		Book changed = book();
+		changed.tags = Collections.singletonList("novel");
+
+		assertThat(updates(differ.diff(book(), changed))).containsExactly("tags:REMOVE:[classic]");
+	}
+
+	@Test
+	public void setsReorderedValues() {
+
+		Book changed = book();
+		changed.tags = Arrays.asList("classic", "novel");
+
+		assertThat(updates(differ.diff(book(), changed))).containsExactly("tags:SET:[classic, novel]");
+	}
+
+	@Test
+	public void incrementsNumbersWhenEnabled() {
+
+		Book changed = book();
+		changed.popularity = 15;
+
+		assertThat(updates(differ.diff(book(), changed))).containsExactly("popularity:SET:15");
+
+		differ.setIncrements(true);
+
+		assertThat(updates(differ.diff(book(), changed))).containsExactly("popularity:INC:5");
+	}
+
+	@Test
+	public void writesFullDocumentIfAllFieldsChanged() {
+
+		Book changed = new Book();
+		changed.id = "1";
+		changed.title = "other";
+		changed.tags = Collections.singletonList("other");
+		changed.popularity = 1;
+
+		DocumentChange change = differ.diff(book(), changed);
+
+		assertThat(change.getType()).isEqualTo(Type.FULL);
+		assertThat(change.getDocument().getFieldValue("title")).isEqualTo("other");
+	}
+
+	@Test
+	public void writesFullDocumentIfIdChanged() {
+
+		Book changed = book();
+		changed.id = "2";
+
+		assertThat(differ.diff(book(), changed).getType()).isEqualTo(Type.FULL);
+	}
+
+	@Test
+	public void writesFullDocumentForEntitiesWithNonStoredFields() {
+
+		IndexedOnly original = new IndexedOnly();
+		original.id = "1";
+		original.title = "title";
+		original.text = "text";
+
+		IndexedOnly changed = new IndexedOnly();
+		changed.id = "1";
+		changed.title = "changed";
+		changed.text = "text";
+
+		assertThat(differ.diff(original, changed).getType()).isEqualTo(Type.FULL);
+	}
+
+	@Test
+	public void writesFullDocumentWithoutOriginal() {
+
+		DocumentChange change = differ.diff(null, new SolrInputDocument(), Book.class);
+
+		assertThat(change.getType()).isEqualTo(Type.FULL);
+	}
+
+	private static List<String> updates(DocumentChange change) {
+
+		List<String> updates = new ArrayList<>();
+		for (UpdateField field : change.getUpdate().getUpdates()) {
+			updates.add(field.getName() + ":" + field.getAction() + ":" + field.getValue());
+		}
+		return updates;
+	}
+
+	private static Book book() {
+
+		Book book = new Book();
+		book.id = "1";
+		book.title = "title";
+		book.tags = Arrays.asList("novel", "classic");
+		book.popularity = 10;
+		return book;
+	}
+
+	static class Book {
+
+		@Id @Field String id;
+		@Field String title;
+		@Field List<String> tags;
+		@Field Integer popularity;
+	}
+
+	static class IndexedOnly {
+
+		@Id @Field String id;
+		@Field String title;
+		@Indexed(stored = false) String text;
+	}
+}
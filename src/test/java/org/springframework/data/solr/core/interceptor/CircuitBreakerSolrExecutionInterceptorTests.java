@@ -0,0 +1,165 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.interceptor;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrException.ErrorCode;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.solr.core.OperationType;
+import org.springframework.data.solr.core.SolrExecution;
+import org.springframework.data.solr.core.SolrExecutionInterceptor.Chain;
+import org.springframework.data.solr.core.interceptor.CircuitBreakerSolrExecutionInterceptor.State;
+
+public class CircuitBreakerSolrExecutionInterceptorTests {
+
+	private static final SolrExecution QUERY = new SolrExecution(OperationType.QUERY, "collection-1");
+	private static final SolrExecution OTHER_COLLECTION = new SolrExecution(OperationType.QUERY, "collection-2");
+
+	private CircuitBreakerSolrExecutionInterceptor interceptor;
+	private MutableClock clock;
+	private AtomicInteger calls;
+
+	@Before
+	public void setUp() {
+
+		clock = new MutableClock();
+		calls = new AtomicInteger();
+
+		interceptor = new CircuitBreakerSolrExecutionInterceptor();
+		interceptor.setFailureThreshold(2);
+		interceptor.setOpenDuration(Duration.ofSeconds(10));
+		interceptor.setClock(clock);
+	}
+
+	@Test
+	public void opensAfterConsecutiveFailuresAndFailsFast() {
+
+		failTimes(2);
+
+		assertThat(interceptor.getState("collection-1")).isEqualTo(State.OPEN);
+		assertThatExceptionOfType(CircuitBreakerOpenException.class)
+				.isThrownBy(() -> interceptor.intercept(QUERY, success()));
+		assertThat(calls).hasValue(2);
+	}
+
+	@Test
+	public void keepsCircuitsPerCollection() throws Exception {
+
+		failTimes(2);
+
+		assertThat(interceptor.intercept(OTHER_COLLECTION, success())).isEqualTo("ok");
+		assertThat(interceptor.getState("collection-2")).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	public void closesAfterSuccessfulTrialCall() throws Exception {
+
+		failTimes(2);
+		clock.advance(Duration.ofSeconds(11));
+
+		assertThat(interceptor.getState("collection-1")).isEqualTo(State.HALF_OPEN);
+		assertThat(interceptor.intercept(QUERY, success())).isEqualTo("ok");
+		assertThat(interceptor.getState("collection-1")).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	public void reopensAfterFailedTrialCall() {
+
+		failTimes(2);
+		clock.advance(Duration.ofSeconds(11));
+
+		failTimes(1);
+
+		assertThat(interceptor.getState("collection-1")).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	public void errorOfTrialCallDoesNotKeepCircuitOpen() throws Exception {
+
+		failTimes(2);
+		clock.advance(Duration.ofSeconds(11));
+
+		assertThatExceptionOfType(StackOverflowError.class).isThrownBy(() -> interceptor.intercept(QUERY, () -> {
+			throw new StackOverflowError();
+		}));
+
+		assertThat(interceptor.intercept(QUERY, success())).isEqualTo("ok");
+		assertThat(interceptor.getState("collection-1")).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	public void nonTransientFailuresDoNotOpenCircuit() {
+
+		for (int i = 0; i < 3; i++) {
+			assertThatExceptionOfType(SolrException.class).isThrownBy(() -> interceptor.intercept(QUERY, () -> {
+				throw new SolrException(ErrorCode.BAD_REQUEST, "bad request");
+			}));
+		}
+
+		assertThat(interceptor.getState("collection-1")).isEqualTo(State.CLOSED);
+	}
+
+	private void failTimes(int times) {
+
+		for (int i = 0; i < times; i++) {
+			assertThatExceptionOfType(SolrException.class).isThrownBy(() -> interceptor.intercept(QUERY, () -> {
+				calls.incrementAndGet();
+				throw new SolrException(ErrorCode.SERVICE_UNAVAILABLE, "unavailable");
+			}));
+		}
+	}
+
+	private Chain<String> success() {
+		return () -> {
+			calls.incrementAndGet();
+			return "ok";
+		};
+	}
+
+	static class MutableClock extends Clock {
+
+		private Instant now = Instant.now();
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.interceptor;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrException.ErrorCode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.solr.core.OperationType;
+import org.springframework.data.solr.core.SolrExecution;
+import org.springframework.data.solr.core.SolrExecutionInterceptor.Chain;
+import org.springframework.data.solr.core.interceptor.HedgingSolrExecutionInterceptor.LatencyWindow;
+
+public class HedgingSolrExecutionInterceptorTests {
+
+	private static final SolrExecution QUERY = new SolrExecution(OperationType.QUERY, "collection-1");
+	private static final SolrExecution UPDATE = new SolrExecution(OperationType.UPDATE, "collection-1");
+
+	private HedgingSolrExecutionInterceptor interceptor;
+
+	@Before
+	public void setUp() {
+
+		interceptor = new HedgingSolrExecutionInterceptor();
+		interceptor.setDelay(Duration.ofMillis(20));
+		interceptor.setBudget(1D);
+	}
+
+	@After
+	public void tearDown() {
+		interceptor.destroy();
+	}
+
+	@Test
+	public void hedgedRequestWinsOverSlowPrimary() throws Exception {
+
+		CountDownLatch primaryCancelled = new CountDownLatch(1);
+
+		long start = System.nanoTime();
+		String result = interceptor.intercept(QUERY, slowFirstAttempt(5000, primaryCancelled));
+
+		assertThat(result).isEqualTo("hedge");
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+		assertThat(interceptor.getHedgedRequestCount()).isEqualTo(1);
+		assertThat(primaryCancelled.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(Thread.interrupted()).isFalse();
+	}
+
+	@Test
+	public void hedgedRequestWinsOverPrimaryIgnoringInterrupts() throws Exception {
+
+		AtomicInteger attempts = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+
+		long start = System.nanoTime();
+		try {
+
+			String result = interceptor.intercept(QUERY, () -> {
+
+				if (attempts.incrementAndGet() == 1) {
+
+					// blocking socket reads do not react to interrupts either
+					while (release.getCount() > 0) {
+						try {
+							release.await();
+						} catch (InterruptedException e) {
+							// ignored
+						}
+					}
+					return "primary";
+				}
+				return "hedge";
+			});
+
+			assertThat(result).isEqualTo("hedge");
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void runsOnCallingThreadWhileNoHedgeCanBeIssued() throws Exception {
+
+		interceptor.setBudget(0D);
+		Thread caller = Thread.currentThread();
+
+		assertThat(interceptor.intercept(QUERY, () -> Thread.currentThread() == caller)).isTrue();
+		assertThat(Thread.interrupted()).isFalse();
+	}
+
+	@Test
+	public void doesNotHedgeIfExecutorRejectsAttempt() throws Exception {
+
+		interceptor.destroy();
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		executor.shutdown();
+
+		interceptor = new HedgingSolrExecutionInterceptor(executor);
+		interceptor.setDelay(Duration.ofMillis(20));
+		interceptor.setBudget(1D);
+
+		assertThat(interceptor.intercept(QUERY, slowFirstAttempt(200, new CountDownLatch(1)))).isEqualTo("primary");
+		assertThat(interceptor.getHedgedRequestCount()).isZero();
+	}
+
+	@Test
+	public void fastPrimaryIsNotHedged() throws Exception {
+
+		assertThat(interceptor.intercept(QUERY, () -> "primary")).isEqualTo("primary");
+		assertThat(interceptor.getHedgedRequestCount()).isZero();
+	}
+
+	@Test
+	public void doesNotHedgeWithoutBudget() throws Exception {
+
+		interceptor.setBudget(0D);
+
+		assertThat(interceptor.intercept(QUERY, slowFirstAttempt(200, new CountDownLatch(1)))).isEqualTo("primary");
+		assertThat(interceptor.getHedgedRequestCount()).isZero();
+	}
+
+	@Test
+	public void doesNotHedgeWriteOperations() throws Exception {
+
+		AtomicInteger attempts = new AtomicInteger();
+
+		interceptor.intercept(UPDATE, () -> {
+			attempts.incrementAndGet();
+			Thread.sleep(100);
+			return "done";
+		});
+
+		assertThat(attempts).hasValue(1);
+	}
+
+	@Test
+	public void propagatesFailureOfAllAttempts() {
+
+		assertThatExceptionOfType(SolrException.class).isThrownBy(() -> interceptor.intercept(QUERY, () -> {
+			throw new SolrException(ErrorCode.SERVER_ERROR, "error");
+		}));
+	}
+
+	@Test
+	public void latencyWindowComputesPercentiles() {
+
+		LatencyWindow window = new LatencyWindow(100);
+		assertThat(window.percentile(0.95)).isEqualTo(-1);
+
+		for (int i = 1; i <= 100; i++) {
+			window.record(i);
+		}
+
+		// percentiles are refreshed every few samples only
+		assertThat(window.percentile(0.5)).isBetween(45L, 50L);
+		assertThat(window.percentile(0.95)).isBetween(90L, 95L);
+	}
+
+	private static Chain<String> slowFirstAttempt(long millis, CountDownLatch cancelled) {
+
+		AtomicInteger attempts = new AtomicInteger();
+		return () -> {
+
+			if (attempts.incrementAndGet() == 1) {
+				try {
+					Thread.sleep(millis);
+				} catch (InterruptedException e) {
+					cancelled.countDown();
+					throw e;
+				}
+				return "primary";
+			}
+			return "hedge";
+		};
+	}
+}
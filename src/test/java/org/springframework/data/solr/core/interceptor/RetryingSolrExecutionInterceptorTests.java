@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.interceptor;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrException.ErrorCode;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.solr.core.OperationType;
+import org.springframework.data.solr.core.SolrExecution;
+
+public class RetryingSolrExecutionInterceptorTests {
+
+	private static final SolrExecution QUERY = new SolrExecution(OperationType.QUERY, "collection-1");
+	private static final SolrExecution INCREMENT = new SolrExecution(OperationType.UPDATE, "collection-1", null, null,
+			null, false);
+
+	private RetryingSolrExecutionInterceptor interceptor;
+
+	@Before
+	public void setUp() {
+
+		interceptor = new RetryingSolrExecutionInterceptor();
+		interceptor.setInitialBackoff(Duration.ZERO);
+	}
+
+	@Test
+	public void retriesTransientFailuresUntilSuccess() throws Exception {
+
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = interceptor.intercept(QUERY, () -> {
+
+			if (attempts.incrementAndGet() < 3) {
+				throw new SolrServerException(new ConnectException("connection reset"));
+			}
+			return "ok";
+		});
+
+		assertThat(result).isEqualTo("ok");
+		assertThat(attempts).hasValue(3);
+	}
+
+	@Test
+	public void givesUpAfterMaxAttempts() {
+
+		AtomicInteger attempts = new AtomicInteger();
+		interceptor.setMaxAttempts(2);
+
+		assertThatExceptionOfType(SolrException.class).isThrownBy(() -> interceptor.intercept(QUERY, () -> {
+			attempts.incrementAndGet();
+			throw new SolrException(ErrorCode.SERVICE_UNAVAILABLE, "recovering");
+		}));
+
+		assertThat(attempts).hasValue(2);
+	}
+
+	@Test
+	public void doesNotRetryNonTransientFailures() {
+
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatExceptionOfType(SolrException.class).isThrownBy(() -> interceptor.intercept(QUERY, () -> {
+			attempts.incrementAndGet();
+			throw new SolrException(ErrorCode.BAD_REQUEST, "undefined field");
+		}));
+
+		assertThat(attempts).hasValue(1);
+	}
+
+	@Test
+	public void doesNotRetryNonIdempotentOperationsByDefault() {
+
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatExceptionOfType(SolrServerException.class).isThrownBy(() -> interceptor.intercept(INCREMENT, () -> {
+			attempts.incrementAndGet();
+			throw new SolrServerException(new ConnectException("connection reset"));
+		}));
+
+		assertThat(attempts).hasValue(1);
+	}
+
+	@Test
+	public void retriesNonIdempotentOperationsWhenConfigured() throws Exception {
+
+		AtomicInteger attempts = new AtomicInteger();
+		interceptor.setRetryNonIdempotent(true);
+
+		interceptor.intercept(INCREMENT, () -> {
+
+			if (attempts.incrementAndGet() < 2) {
+				throw new SolrServerException(new ConnectException("connection reset"));
+			}
+			return null;
+		});
+
+		assertThat(attempts).hasValue(2);
+	}
+
+	@Test
+	public void backoffGrowsExponentiallyAndIsCapped() {
+
+		interceptor.setInitialBackoff(Duration.ofMillis(100));
+		interceptor.setMaxBackoff(Duration.ofMillis(300));
+		interceptor.setJitter(0D);
+
+		assertThat(interceptor.backoffMillis(1)).isEqualTo(100);
+		assertThat(interceptor.backoffMillis(2)).isEqualTo(200);
+		assertThat(interceptor.backoffMillis(3)).isEqualTo(300);
+	}
+
+	@Test
+	public void jitterReducesBackoff() {
+
+		interceptor.setInitialBackoff(Duration.ofMillis(100));
+		interceptor.setJitter(0.5D);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(interceptor.backoffMillis(1)).isBetween(50L, 100L);
+		}
+	}
+}
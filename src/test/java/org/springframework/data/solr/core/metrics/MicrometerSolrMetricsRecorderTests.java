@@ -0,0 +1,227 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrException.ErrorCode;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.apache.solr.common.util.NamedList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.solr.core.OperationType;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.data.solr.core.query.Criteria;
+import org.springframework.data.solr.core.query.SimpleQuery;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class MicrometerSolrMetricsRecorderTests {
+
+	private static final String COLLECTION_NAME = "collection-1";
+
+	private @Mock SolrClient solrClientMock;
+
+	private SimpleMeterRegistry registry;
+	private SolrTemplate solrTemplate;
+
+	@Before
+	public void setUp() {
+
+		registry = new SimpleMeterRegistry();
+
+		MicrometerSolrMetricsRecorder recorder = new MicrometerSolrMetricsRecorder(registry);
+		recorder.setPercentileHistogram(true);
+		recorder.setServiceLevelObjectives(Duration.ofMillis(50));
+
+		solrTemplate = new SolrTemplate(solrClientMock);
+		solrTemplate.setMetricsRecorder(recorder);
+		solrTemplate.afterPropertiesSet();
+	}
+
+	@Test
+	public void recordsQueryTimingsDocumentsAndConversion() throws SolrServerException, IOException {
+
+		SolrDocument document = new SolrDocument();
+		document.setField("id", "id-1");
+
+		SolrDocumentList documents = new SolrDocumentList();
+		documents.add(document);
+		documents.setNumFound(1);
+
+		NamedList<Object> header = new NamedList<>();
+		header.add("QTime", 7);
+
+		NamedList<Object> response = new NamedList<>();
+		response.add("responseHeader", header);
+		response.add("response", documents);
+
+		QueryResponse queryResponse = new QueryResponse(response, solrClientMock);
+		queryResponse.setElapsedTime(12);
+
+		when(solrClientMock.query(eq(COLLECTION_NAME), any(SolrParams.class), eq(SolrRequest.METHOD.GET)))
+				.thenReturn(queryResponse);
+
+		solrTemplate.queryForPage(COLLECTION_NAME, new SimpleQuery("*:*"), SimpleEntity.class);
+
+		assertThat(registry.get("spring.data.solr.operation").tag("operation", "query")
+				.tag("collection", COLLECTION_NAME).tag("outcome", "success").timer().count()).isEqualTo(1);
+		assertThat(registry.get("spring.data.solr.qtime").tag("operation", "query").timer()
+				.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(7);
+		assertThat(registry.get("spring.data.solr.elapsed").tag("operation", "query").timer()
+				.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(12);
+		assertThat(registry.get("spring.data.solr.documents.returned").summary().totalAmount()).isEqualTo(1);
+		assertThat(registry.get("spring.data.solr.request.size").tag("operation", "query").summary().totalAmount())
+				.isGreaterThan(0);
+		assertThat(registry.get("spring.data.solr.conversion").tag("type", "SimpleEntity").timer().count())
+				.isEqualTo(1);
+		assertThat(registry.get("spring.data.solr.documents.converted").tag("type", "SimpleEntity").counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void recordsQueryShapeWhenParametersAreDereferenced() throws SolrServerException, IOException {
+
+		NamedList<Object> response = new NamedList<>();
+		response.add("response", new SolrDocumentList());
+
+		when(solrClientMock.query(eq(COLLECTION_NAME), any(SolrParams.class), eq(SolrRequest.METHOD.GET)))
+				.thenReturn(new QueryResponse(response, solrClientMock));
+
+		solrTemplate.setQueryParameterDereferencing(true);
+		solrTemplate.queryForPage(COLLECTION_NAME, new SimpleQuery(Criteria.where("name").is("one")), SimpleEntity.class);
+		solrTemplate.queryForPage(COLLECTION_NAME, new SimpleQuery(Criteria.where("name").is("two")), SimpleEntity.class);
+
+		assertThat(registry.get("spring.data.solr.query.shape").tag("operation", "query")
+				.tag("shape", "q=_query_:\"{!field f=name v=$v1}\"").timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	public void doesNotRecordQueryShapeOfQueriesWithInlineValues() throws SolrServerException, IOException {
+
+		NamedList<Object> response = new NamedList<>();
+		response.add("response", new SolrDocumentList());
+
+		when(solrClientMock.query(eq(COLLECTION_NAME), any(SolrParams.class), eq(SolrRequest.METHOD.GET)))
+				.thenReturn(new QueryResponse(response, solrClientMock));
+
+		solrTemplate.setQueryParameterDereferencing(true);
+		solrTemplate.queryForPage(COLLECTION_NAME, new SimpleQuery(Criteria.where("price").between(1, 2)),
+				SimpleEntity.class);
+		solrTemplate.queryForPage(COLLECTION_NAME,
+				new SimpleQuery(Criteria.where("name").is("one")).addFilterQuery(new SimpleQuery("name:two")),
+				SimpleEntity.class);
+
+		assertThat(registry.find("spring.data.solr.query.shape").timers()).isEmpty();
+	}
+
+	@Test
+	public void tagsQueryShapesBeyondLimitAsOther() {
+
+		MicrometerSolrMetricsRecorder recorder = new MicrometerSolrMetricsRecorder(registry);
+		recorder.setMaxQueryShapes(1);
+
+		recorder.recordQueryShape(OperationType.QUERY, COLLECTION_NAME, "q=one", 1);
+		recorder.recordQueryShape(OperationType.QUERY, COLLECTION_NAME, "q=two", 1);
+		recorder.recordQueryShape(OperationType.QUERY, COLLECTION_NAME, "q=one", 1);
+
+		assertThat(registry.get("spring.data.solr.query.shape").tag("shape", "q=one").timer().count()).isEqualTo(2);
+		assertThat(registry.get("spring.data.solr.query.shape").tag("shape", "other").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void recordsFailedOperationAndTranslatedException() throws SolrServerException, IOException {
+
+		when(solrClientMock.commit(COLLECTION_NAME))
+				.thenThrow(new SolrServerException("error", new SolrException(ErrorCode.SERVICE_UNAVAILABLE, "down")));
+
+		assertThatExceptionOfType(DataAccessResourceFailureException.class)
+				.isThrownBy(() -> solrTemplate.commit(COLLECTION_NAME));
+
+		assertThat(registry.get("spring.data.solr.operation").tag("operation", "commit").tag("outcome", "error")
+				.tag("exception", "SolrServerException").timer().count()).isEqualTo(1);
+		assertThat(registry.get("spring.data.solr.exceptions").tag("operation", "commit")
+				.tag("exception", "DataAccessResourceFailureException").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void recordsResponseSizeAndConversionOfParsedEntities() throws SolrServerException, IOException {
+
+		SolrDocument document = new SolrDocument();
+		document.setField("id", "id-1");
+
+		SolrDocumentList documents = new SolrDocumentList();
+		documents.add(document);
+		documents.setNumFound(1);
+
+		NamedList<Object> response = new NamedList<>();
+		response.add("response", documents);
+
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		new JavaBinCodec().marshal(response, body);
+
+		when(solrClientMock.request(any(QueryRequest.class), eq(COLLECTION_NAME))).thenAnswer(invocation -> invocation
+				.<QueryRequest> getArgument(0).getResponseParser()
+				.processResponse(new ByteArrayInputStream(body.toByteArray()), null));
+
+		solrTemplate.setEntityResponseParsing(true);
+		solrTemplate.queryForPage(COLLECTION_NAME, new SimpleQuery("*:*"), SimpleEntity.class);
+
+		assertThat(registry.get("spring.data.solr.response.size").tag("operation", "query").summary().totalAmount())
+				.isEqualTo(body.size());
+		assertThat(registry.get("spring.data.solr.conversion").tag("type", "SimpleEntity").timer().count())
+				.isEqualTo(1);
+		assertThat(registry.get("spring.data.solr.documents.converted").tag("type", "SimpleEntity").counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void doesNotRecordWhenNoRecorderConfigured() throws SolrServerException, IOException {
+
+		solrTemplate.setMetricsRecorder(null);
+		solrTemplate.commit(COLLECTION_NAME);
+
+		assertThat(solrTemplate.getMetricsRecorder()).isSameAs(SolrMetricsRecorder.NONE);
+		assertThat(registry.getMeters()).isEmpty();
+	}
+
+	static class SimpleEntity {
+		@Id String id;
+	}
+}
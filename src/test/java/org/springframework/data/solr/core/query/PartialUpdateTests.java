@@ -51,4 +51,13 @@ public class PartialUpdateTests {
 		assertThat(update.getUpdates().get(0).getAction()).isEqualTo(UpdateAction.INC);
 	}
 
+	@Test
+	public void testRemoveValueFromField() {
+		PartialUpdate update = new PartialUpdate("id", "123");
+		update.removeValueFromField("name", "value-to-remove");
+
+		assertThat(update.getUpdates().size()).isEqualTo(1);
+		assertThat(update.getUpdates().get(0).getAction()).isEqualTo(UpdateAction.REMOVE);
+	}
+
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.schema;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.solr.core.mapping.Indexed;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
+import org.springframework.data.solr.core.mapping.SolrDocument;
+import org.springframework.data.solr.core.schema.SolrPersistentEntitySchemaCreator.Feature;
+import org.springframework.data.solr.server.SolrClientFactory;
+
+/**
+ * Unit tests for {@link SolrPersistentEntitySchemaCreator}.
+ */
+public class SolrPersistentEntitySchemaCreatorTests {
+
+	private SolrSchemaWriter schemaWriter;
+	private List<String> writtenCollections = new ArrayList<>();
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+
+		schemaWriter = mock(SolrSchemaWriter.class);
+		doAnswer(invocation -> {
+
+			for (SchemaDefinition schema : (Collection<SchemaDefinition>) invocation.getArgument(0)) {
+				if (schema.getCollectionName().equals("missing")) {
+					throw new UnsupportedOperationException("The solr rest API does not allow schema creation");
+				}
+				writtenCollections.add(schema.getCollectionName());
+			}
+			return null;
+		}).when(schemaWriter).writeSchemas(anyCollection());
+	}
+
+	@Test
+	public void writesSchemasOfInitialEntitiesPerCollectionSkippingFailingOnes() {
+
+		SolrPersistentEntitySchemaCreator schemaCreator = new SolrPersistentEntitySchemaCreator(
+				mock(SolrClientFactory.class), schemaWriter).enable(Feature.CREATE_MISSING_FIELDS);
+
+		SimpleSolrMappingContext mappingContext = new SimpleSolrMappingContext(schemaCreator);
+		mappingContext.setInitialEntitySet(
+				new HashSet<>(Arrays.asList(InMissingCollection.class, InUnresolvableCollection.class, InBooks.class)));
+		mappingContext.initialize();
+
+		assertThat(writtenCollections).containsExactly("books");
+		assertThat(mappingContext.getPersistentEntity(InMissingCollection.class)).isNotNull();
+	}
+
+	@SolrDocument(collection = "books")
+	static class InBooks {
+		@Id String id;
+		@Indexed String title;
+	}
+
+	@SolrDocument(collection = "missing")
+	static class InMissingCollection {
+		@Id String id;
+	}
+
+	@SolrDocument(collection = "#{@tenant.collection}")
+	static class InUnresolvableCollection {
+		@Id String id;
+	}
+}
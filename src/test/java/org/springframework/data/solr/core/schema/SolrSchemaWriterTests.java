@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.schema;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.request.schema.SchemaRequest;
+import org.apache.solr.common.util.NamedList;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.solr.core.schema.SchemaDefinition.FieldDefinition;
+import org.springframework.data.solr.server.SolrClientFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link SolrSchemaWriter}.
+ */
+public class SolrSchemaWriterTests {
+
+	private SolrClient solrClient;
+	private SolrSchemaWriter writer;
+
+	private AtomicInteger versionRequests = new AtomicInteger();
+	private AtomicInteger schemaRequests = new AtomicInteger();
+
+	@Before
+	public void setUp() throws Exception {
+
+		solrClient = mock(SolrClient.class);
+		when(solrClient.request(any(), anyString())).thenReturn(new NamedList<>());
+
+		SolrClientFactory factory = mock(SolrClientFactory.class);
+		when(factory.getSolrClient()).thenReturn(solrClient);
+
+		writer = new SolrSchemaWriter(factory) {
+
+			@Override
+			SchemaDefinition loadExistingSchema(String collectionName) {
+
+				schemaRequests.incrementAndGet();
+				SchemaDefinition existing = new SchemaDefinition(collectionName);
+				existing.addFieldDefinition(field("id"));
+				return existing;
+			}
+
+			@Override
+			Double retrieveSchemaVersion(String collectionName) {
+
+				versionRequests.incrementAndGet();
+				return 1.6D;
+			}
+		};
+	}
+
+	@Test
+	public void writeSchemasAddsMissingFieldsOfAllDefinitionsWithSingleRequest() throws Exception {
+
+		SchemaDefinition first = new SchemaDefinition("collection1");
+		first.addFieldDefinition(field("id"));
+		first.addFieldDefinition(field("name"));
+
+		SchemaDefinition second = new SchemaDefinition("collection1");
+		second.addFieldDefinition(field("name"));
+		second.addFieldDefinition(field("price"));
+
+		writer.writeSchemas(Arrays.asList(first, second));
+
+		ArgumentCaptor<SolrRequest> captor = ArgumentCaptor.forClass(SolrRequest.class);
+		verify(solrClient).request(captor.capture(), eq("collection1"));
+
+		assertThat(captor.getValue()).isInstanceOf(SchemaRequest.MultiUpdate.class);
+		assertThat(updatesOf(captor.getValue())).hasSize(2);
+		assertThat(versionRequests).hasValue(1);
+		assertThat(schemaRequests).hasValue(1);
+	}
+
+	@Test
+	public void writeSchemaReusesExistingSchemaOfCollection() throws Exception {
+
+		SchemaDefinition first = new SchemaDefinition("collection1");
+		first.addFieldDefinition(field("name"));
+		writer.writeSchema(first);
+
+		SchemaDefinition second = new SchemaDefinition("collection1");
+		second.addFieldDefinition(field("name"));
+		second.addFieldDefinition(field("price"));
+		writer.writeSchema(second);
+
+		ArgumentCaptor<SolrRequest> captor = ArgumentCaptor.forClass(SolrRequest.class);
+		verify(solrClient, times(2)).request(captor.capture(), eq("collection1"));
+
+		assertThat(updatesOf(captor.getAllValues().get(1))).hasSize(1);
+		assertThat(versionRequests).hasValue(1);
+		assertThat(schemaRequests).hasValue(1);
+	}
+
+	@Test
+	public void writeSchemaDoesNotSendRequestWhenAllFieldsExist() throws Exception {
+
+		SchemaDefinition definition = new SchemaDefinition("collection1");
+		definition.addFieldDefinition(field("id"));
+		writer.writeSchema(definition);
+
+		verify(solrClient, never()).request(any(), anyString());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<SchemaRequest.Update> updatesOf(SolrRequest<?> request) {
+		return (List<SchemaRequest.Update>) ReflectionTestUtils.getField(request, "updateSchemaRequests");
+	}
+
+	private static FieldDefinition field(String name) {
+
+		FieldDefinition fieldDefinition = new FieldDefinition();
+		fieldDefinition.setName(name);
+		fieldDefinition.setType("string");
+		return fieldDefinition;
+	}
+}
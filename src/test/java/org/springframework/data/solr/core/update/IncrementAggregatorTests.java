@@ -0,0 +1,216 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.update;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.solr.core.SolrOperations;
+import org.springframework.data.solr.core.query.PartialUpdate;
+import org.springframework.data.solr.core.query.UpdateField;
+
+/**
+ * Unit tests for {@link IncrementAggregator}.
+ */
+public class IncrementAggregatorTests {
+
+	private SolrOperations operations;
+	private IncrementAggregator aggregator;
+
+	@Before
+	public void setUp() {
+
+		operations = mock(SolrOperations.class);
+		aggregator = new IncrementAggregator(operations);
+		aggregator.setWindow(Duration.ofHours(1));
+	}
+
+	@After
+	public void tearDown() {
+		aggregator.destroy();
+	}
+
+	@Test
+	public void combinesOperationsPerDocumentAndField() {
+
+		aggregator.increment("books", "1", "views", 1);
+		aggregator.increment("books", "1", "views", 2);
+		aggregator.increment("books", "1", "clicks", 1L);
+		aggregator.increment("books", "2", "views", 1);
+		aggregator.set("books", "2", "views", 10);
+		aggregator.increment("books", "2", "views", 5);
+
+		assertThat(aggregator.getPendingDocuments()).isEqualTo(2);
+		assertThat(aggregator.flush()).isEqualTo(2);
+
+		List<PartialUpdate> updates = captureUpdates("books", 1);
+		assertThat(fields(updates.get(0))).containsExactly("views:INC:3", "clicks:INC:1");
+		assertThat(fields(updates.get(1))).containsExactly("views:SET:15");
+		assertThat(aggregator.getPendingDocuments()).isZero();
+	}
+
+	@Test
+	public void writesOneBatchPerCollection() {
+
+		aggregator.increment("books", "1", "views", 1);
+		aggregator.increment("authors", "1", "views", 1);
+
+		aggregator.flush();
+
+		assertThat(captureUpdates("books", 1)).hasSize(1);
+		assertThat(captureUpdates("authors", 1)).hasSize(1);
+	}
+
+	@Test
+	public void flushesOnceWindowElapsed() {
+
+		aggregator.setWindow(Duration.ofMillis(10));
+		aggregator.increment("books", "1", "views", 1);
+
+		verify(operations, timeout(5000)).saveBeans(eq("books"), anyCollection(), eq(Duration.ZERO));
+	}
+
+	@Test
+	public void flushesOnceMaxBatchSizeReached() {
+
+		aggregator.setMaxBatchSize(2);
+		aggregator.increment("books", "1", "views", 1);
+		aggregator.increment("books", "2", "views", 1);
+
+		verify(operations, timeout(5000)).saveBeans(eq("books"), anyCollection(), eq(Duration.ZERO));
+	}
+
+	@Test
+	public void retriesFailedDocumentsCombinedWithLaterOperations() {
+
+		aggregator.setRetryIncrements(true);
+		when(operations.saveBeans(eq("books"), anyCollection(), any(Duration.class)))
+				.thenThrow(new DataAccessResourceFailureException("down")).thenReturn(null);
+
+		aggregator.increment("books", "1", "views", 1);
+		assertThatExceptionOfType(DataAccessResourceFailureException.class).isThrownBy(aggregator::flush);
+
+		aggregator.increment("books", "1", "views", 2);
+		aggregator.flush();
+
+		List<PartialUpdate> updates = captureUpdates("books", 2);
+		assertThat(fields(updates.get(0))).containsExactly("views:INC:3");
+		assertThat(aggregator.getFlushedDocuments()).isEqualTo(1);
+	}
+
+	@Test
+	public void dropsIncrementsButRetriesSetsOfFailedFlushByDefault() {
+
+		when(operations.saveBeans(eq("books"), anyCollection(), any(Duration.class)))
+				.thenThrow(new DataAccessResourceFailureException("timeout")).thenReturn(null);
+
+		aggregator.increment("books", "1", "views", 1);
+		aggregator.set("books", "1", "title", "spring");
+		aggregator.increment("books", "2", "views", 1);
+		assertThatExceptionOfType(DataAccessResourceFailureException.class).isThrownBy(aggregator::flush);
+
+		assertThat(aggregator.getPendingDocuments()).isEqualTo(1);
+		assertThat(aggregator.getDroppedIncrements()).isEqualTo(2);
+
+		aggregator.increment("books", "1", "views", 2);
+		aggregator.flush();
+
+		List<PartialUpdate> updates = captureUpdates("books", 2);
+		assertThat(updates).hasSize(1);
+		assertThat(fields(updates.get(0))).containsExactly("title:SET:spring", "views:INC:2");
+	}
+
+	@Test
+	public void keepsOperationsSubmittedDuringFailedFlushConflictingWithFailedDocument() {
+
+		when(operations.saveBeans(eq("books"), anyCollection(), any(Duration.class))).thenAnswer(invocation -> {
+
+			aggregator.increment("books", "1", "views", 1);
+			throw new DataAccessResourceFailureException("down");
+		}).thenReturn(null);
+
+		aggregator.set("books", "1", "views", "none");
+		assertThatExceptionOfType(DataAccessResourceFailureException.class).isThrownBy(aggregator::flush);
+
+		assertThat(aggregator.getDroppedDocuments()).isEqualTo(1);
+
+		aggregator.flush();
+
+		List<PartialUpdate> updates = captureUpdates("books", 2);
+		assertThat(fields(updates.get(0))).containsExactly("views:INC:1");
+	}
+
+	@Test
+	public void dropsStaleDocumentsOfFailedFlush() {
+
+		when(operations.saveBeans(eq("books"), anyCollection(), any(Duration.class)))
+				.thenThrow(new DataAccessResourceFailureException("down"));
+		aggregator.setMaxStaleness(Duration.ZERO);
+
+		aggregator.increment("books", "1", "views", 1);
+		assertThatExceptionOfType(DataAccessResourceFailureException.class).isThrownBy(aggregator::flush);
+
+		assertThat(aggregator.getPendingDocuments()).isZero();
+		assertThat(aggregator.getDroppedDocuments()).isEqualTo(1);
+	}
+
+	@Test
+	public void flushesPendingDocumentsOnDestroy() {
+
+		aggregator.increment("books", "1", "views", 1);
+		aggregator.destroy();
+
+		assertThat(captureUpdates("books", 1)).hasSize(1);
+		assertThatIllegalStateException().isThrownBy(() -> aggregator.increment("books", "1", "views", 1));
+	}
+
+	@Test
+	public void rejectsOtherActions() {
+
+		PartialUpdate update = new PartialUpdate("id", "1");
+		update.addValueToField("tags", "new");
+
+		assertThatIllegalArgumentException().isThrownBy(() -> aggregator.submit("books", update));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<PartialUpdate> captureUpdates(String collection, int times) {
+
+		ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+		verify(operations, times(times)).saveBeans(eq(collection), captor.capture(), eq(Duration.ZERO));
+		return new ArrayList<>(captor.getValue());
+	}
+
+	private static List<String> fields(PartialUpdate update) {
+
+		List<String> fields = new ArrayList<>();
+		for (UpdateField field : update.getUpdates()) {
+			fields.add(field.getName() + ":" + field.getAction() + ":" + field.getValue());
+		}
+		return fields;
+	}
+}
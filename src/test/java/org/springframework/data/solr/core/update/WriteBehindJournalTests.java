@@ -0,0 +1,279 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.core.update;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.solr.client.solrj.beans.Field;
+import org.apache.solr.client.solrj.impl.BaseHttpSolrClient.RemoteSolrException;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.solr.core.SolrOperations;
+import org.springframework.data.solr.core.convert.MappingSolrConverter;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
+import org.springframework.data.solr.core.query.PartialUpdate;
+
+/**
+ * Unit tests for {@link WriteBehindJournal}.
+ */
+public class WriteBehindJournalTests {
+
+	public @Rule TemporaryFolder folder = new TemporaryFolder();
+
+	private SolrOperations operations;
+	private Path directory;
+	private List<WriteBehindJournal> journals = new ArrayList<>();
+
+	@Before
+	public void setUp() throws IOException {
+
+		MappingSolrConverter converter = new MappingSolrConverter(new SimpleSolrMappingContext());
+		converter.afterPropertiesSet();
+
+		operations = mock(SolrOperations.class);
+		when(operations.convertBeanToSolrInputDocument(any())).thenAnswer(invocation -> {
+
+			SolrInputDocument document = new SolrInputDocument();
+			converter.write(invocation.getArgument(0), document);
+			return document;
+		});
+
+		directory = folder.newFolder("journal").toPath();
+	}
+
+	@After
+	public void tearDown() {
+		journals.forEach(WriteBehindJournal::destroy);
+	}
+
+	@Test
+	public void replaysRecordsInOrderPerCollection() {
+
+		WriteBehindJournal journal = open(1024 * 1024);
+
+		journal.appendAll("books", Arrays.asList(book("1"), book("2")));
+		journal.append("authors", book("3"));
+		journal.append("books", book("4"));
+
+		assertThat(journal.hasPendingRecords()).isTrue();
+		assertThat(journal.drain()).isEqualTo(4);
+
+		assertThat(ids(captureDocuments("books"))).containsExactly("1", "2", "4");
+		assertThat(ids(captureDocuments("authors"))).containsExactly("3");
+		assertThat(journal.hasPendingRecords()).isFalse();
+		assertThat(journal.drain()).isZero();
+	}
+
+	@Test
+	public void replaysAtomicUpdates() {
+
+		WriteBehindJournal journal = open(1024 * 1024);
+
+		PartialUpdate update = new PartialUpdate("id", "1");
+		update.increaseValueOfField("views", 1);
+		journal.append("books", update);
+		journal.drain();
+
+		SolrInputDocument document = captureDocuments("books").get(0);
+		assertThat(document.getFieldValue("id")).isEqualTo("1");
+		assertThat(document.getFieldValue("views")).isEqualTo(Collections.singletonMap("inc", 1));
+	}
+
+	@Test
+	public void limitsBatchSize() {
+
+		WriteBehindJournal journal = open(1024 * 1024);
+		journal.setMaxBatchSize(2);
+
+		journal.appendAll("books", Arrays.asList(book("1"), book("2"), book("3")));
+
+		assertThat(journal.drain()).isEqualTo(2);
+		assertThat(journal.drain()).isEqualTo(1);
+		assertThat(journal.getDrainedRecords()).isEqualTo(3);
+	}
+
+	@Test
+	public void replaysFailedBatchAgain() {
+
+		when(operations.saveDocuments(eq("books"), anyCollection(), any(Duration.class)))
+				.thenThrow(new DataAccessResourceFailureException("down")).thenReturn(null);
+
+		WriteBehindJournal journal = open(1024 * 1024);
+		journal.append("books", book("1"));
+
+		assertThatExceptionOfType(DataAccessResourceFailureException.class).isThrownBy(journal::drain);
+		assertThat(journal.hasPendingRecords()).isTrue();
+
+		assertThat(journal.drain()).isEqualTo(1);
+		assertThat(journal.getFailedDrains()).isEqualTo(1);
+		assertThat(journal.hasPendingRecords()).isFalse();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void movesRejectedRecordToDeadLetterFileAndReplaysOthers() {
+
+		List<Object> written = new ArrayList<>();
+		when(operations.saveDocuments(eq("books"), anyCollection(), any(Duration.class))).thenAnswer(invocation -> {
+
+			List<Object> ids = ids(new ArrayList<>((Collection<SolrInputDocument>) invocation.getArgument(1)));
+			if (ids.contains("3")) {
+				throw new InvalidDataAccessApiUsageException("rejected", new RemoteSolrException("localhost", 400,
+						"ERROR: [doc=3] unknown field 'title'", null));
+			}
+			written.addAll(ids);
+			return null;
+		});
+
+		List<Object> rejected = new ArrayList<>();
+		WriteBehindJournal journal = open(1024 * 1024);
+		journal.setRejectedRecordHandler((collection, document, cause) -> rejected.add(document.getFieldValue("id")));
+
+		journal.appendAll("books", Arrays.asList(book("1"), book("2"), book("3"), book("4"), book("5")));
+
+		assertThat(journal.drain()).isEqualTo(5);
+		assertThat(written).containsExactly("1", "2", "4", "5");
+		assertThat(rejected).containsExactly("3");
+		assertThat(journal.getRejectedRecords()).isEqualTo(1);
+		assertThat(journal.getFailedDrains()).isZero();
+		assertThat(journal.hasPendingRecords()).isFalse();
+		assertThat(directory.resolve(WriteBehindJournal.DEAD_LETTER_FILE)).isRegularFile();
+	}
+
+	@Test
+	public void resumesFromCheckpointAfterRestart() {
+
+		WriteBehindJournal journal = open(1024 * 1024);
+		journal.setMaxBatchSize(1);
+		journal.appendAll("books", Arrays.asList(book("1"), book("2")));
+		journal.drain();
+
+		// no destroy, as if the process crashed
+		WriteBehindJournal restarted = open(1024 * 1024);
+		restarted.append("books", book("3"));
+
+		assertThat(restarted.drain()).isEqualTo(2);
+
+		verify(operations, times(2)).saveDocuments(eq("books"), anyCollection(), any(Duration.class));
+		assertThat(ids(captureDocuments("books"))).containsExactly("1", "2", "3");
+	}
+
+	@Test
+	public void rollsSegmentsAndDeletesReplayedOnes() throws IOException {
+
+		WriteBehindJournal journal = open(256);
+
+		for (int i = 0; i < 10; i++) {
+			journal.append("books", book(Integer.toString(i)));
+		}
+		assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+		assertThat(journal.drain()).isEqualTo(10);
+
+		assertThat(ids(captureDocuments("books"))).hasSize(10);
+		assertThat(segmentFiles()).hasSize(1);
+	}
+
+	@Test
+	public void rejectsAppendsExceedingMaxSegments() {
+
+		WriteBehindJournal journal = open(256);
+		journal.setMaxSegments(1);
+
+		assertThatExceptionOfType(DataAccessResourceFailureException.class).isThrownBy(() -> {
+			for (int i = 0; i < 10; i++) {
+				journal.append("books", book(Integer.toString(i)));
+			}
+		});
+	}
+
+	@Test
+	public void drainsInBackground() {
+
+		WriteBehindJournal journal = open(1024 * 1024);
+		journal.setDrainInterval(Duration.ofMillis(10));
+
+		journal.append("books", book("1"));
+
+		verify(operations, timeout(5000)).saveDocuments(eq("books"), anyCollection(), eq(Duration.ZERO));
+	}
+
+	private WriteBehindJournal open(int segmentSize) {
+
+		WriteBehindJournal journal = new WriteBehindJournal(operations, directory, segmentSize);
+		journal.setDrainInterval(Duration.ofHours(1));
+		journals.add(journal);
+		return journal;
+	}
+
+	private List<Path> segmentFiles() throws IOException {
+
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().startsWith("segment-")).collect(Collectors.toList());
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<SolrInputDocument> captureDocuments(String collection) {
+
+		ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+		verify(operations, atLeastOnce()).saveDocuments(eq(collection), captor.capture(), eq(Duration.ZERO));
+
+		List<SolrInputDocument> documents = new ArrayList<>();
+		captor.getAllValues().forEach(documents::addAll);
+		return documents;
+	}
+
+	private static List<Object> ids(List<SolrInputDocument> documents) {
+		return documents.stream().map(document -> document.getFieldValue("id")).collect(Collectors.toList());
+	}
+
+	private static Book book(String id) {
+
+		Book book = new Book();
+		book.id = id;
+		book.title = "title " + id;
+		return book;
+	}
+
+	static class Book {
+
+		@Id @Field String id;
+		@Field String title;
+	}
+}
@@ -18,10 +18,16 @@ package org.springframework.data.solr.repository.query;
 import static org.assertj.core.api.Assertions.*;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.solr.common.params.HighlightParams;
 import org.junit.Before;
@@ -31,6 +37,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -54,6 +61,7 @@ import org.springframework.data.solr.core.query.SimpleField;
 import org.springframework.data.solr.core.query.SimpleQuery;
 import org.springframework.data.solr.core.query.SimpleStringCriteria;
 import org.springframework.data.solr.core.query.StatsOptions;
+import org.springframework.data.solr.core.query.result.SolrResultPage;
 import org.springframework.data.solr.repository.Facet;
 import org.springframework.data.solr.repository.Highlight;
 import org.springframework.data.solr.repository.ProductBean;
@@ -61,6 +69,7 @@ import org.springframework.data.solr.repository.SelectiveStats;
 import org.springframework.data.solr.repository.SolrCrudRepository;
 import org.springframework.data.solr.repository.Stats;
 import org.springframework.data.solr.repository.support.MappingSolrEntityInformation;
+import org.springframework.util.concurrent.ListenableFuture;
 
 /**
  * @author Christoph Strobl
@@ -313,6 +322,104 @@ public class SolrQueryTests {
 		Mockito.verify(solrOperationsMock).queryForObject(Mockito.eq("collection-1"), Mockito.any(), Mockito.any());
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void asyncQueryRunsOnConfiguredExecutor() throws Exception {
+
+		SolrResultPage<ProductBean> page = new SolrResultPage<>(Collections.singletonList(new ProductBean()));
+		Mockito.when(solrOperationsMock.queryForPage(Mockito.eq("collection-1"), Mockito.any(Query.class),
+				(Class<ProductBean>) Mockito.any())).thenReturn(page);
+
+		List<Runnable> tasks = new ArrayList<>();
+		AbstractSolrQuery query = (AbstractSolrQuery) createQueryForMethod("findAsyncByName", String.class,
+				Pageable.class);
+		query.setAsyncExecutor(tasks::add);
+
+		Object result = query.execute(new Object[] { "name", PageRequest.of(0, 10) });
+
+		assertThat(result).isInstanceOf(CompletableFuture.class);
+		assertThat(tasks).hasSize(1);
+		Mockito.verifyNoInteractions(solrOperationsMock);
+
+		tasks.get(0).run();
+
+		assertThat(((CompletableFuture<?>) result).get()).isSameAs(page);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void asyncQueryReturnsListenableFuture() throws Exception {
+
+		Mockito.when(solrOperationsMock.queryForPage(Mockito.eq("collection-1"), Mockito.any(Query.class),
+				(Class<ProductBean>) Mockito.any())).thenReturn(new SolrResultPage<>(Collections.emptyList()));
+
+		AbstractSolrQuery query = (AbstractSolrQuery) createQueryForMethod("findListenableByName", String.class);
+		query.setAsyncExecutor(Runnable::run);
+
+		Object result = query.execute(new Object[] { "name" });
+
+		assertThat(result).isInstanceOf(ListenableFuture.class);
+		assertThat(((ListenableFuture<?>) result).get()).isEqualTo(Collections.emptyList());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void cancellingAsyncQueryInterruptsExecution() throws Exception {
+
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Mockito.when(solrOperationsMock.queryForPage(Mockito.eq("collection-1"), Mockito.any(Query.class),
+				(Class<ProductBean>) Mockito.any())).thenAnswer(invocation -> {
+
+					running.countDown();
+					try {
+						Thread.sleep(10000);
+					} catch (InterruptedException e) {
+						interrupted.countDown();
+					}
+					return new SolrResultPage<>(Collections.emptyList());
+				});
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+
+			AbstractSolrQuery query = (AbstractSolrQuery) createQueryForMethod("findAsyncByName", String.class,
+					Pageable.class);
+			query.setAsyncExecutor(executor);
+
+			CompletableFuture<?> result = (CompletableFuture<?>) query
+					.execute(new Object[] { "name", PageRequest.of(0, 10) });
+			assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+			result.cancel(true);
+
+			assertThat(result.isCancelled()).isTrue();
+			assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void defaultAsyncExecutorFallsBackToThreadPoolIfVirtualThreadsAreUnavailable() throws Exception {
+
+		Method previewFeature = SolrQueryTests.class.getDeclaredMethod("previewFeatureNotEnabled");
+
+		assertThat(AbstractSolrQuery.DefaultAsyncExecutor.create(previewFeature)).isInstanceOf(ExecutorService.class);
+		assertThat(AbstractSolrQuery.DefaultAsyncExecutor.create(null)).isInstanceOf(ExecutorService.class);
+	}
+
+	static ExecutorService previewFeatureNotEnabled() {
+		throw new UnsupportedOperationException("Preview Features not enabled, need to run with --enable-preview");
+	}
+
+	@Test
+	public void asyncDeleteIsRejected() {
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> createQueryForMethod("deleteAsyncByName", String.class).execute(new Object[] { "name" }));
+	}
+
 	private RepositoryQuery createQueryForMethod(String methodName, Class<?>... paramTypes) {
 		try {
 			return this.createQueryForMethod(Repo1.class.getMethod(methodName, paramTypes));
@@ -363,6 +470,13 @@ public class SolrQueryTests {
 		Page<ProductBean> findAndApplyStatsNoFacets(Pageable page);
 
 		ProductBean findAndReturnNotOptional();
+
+		CompletableFuture<Page<ProductBean>> findAsyncByName(String name, Pageable page);
+
+		ListenableFuture<List<ProductBean>> findListenableByName(String name);
+
+		@org.springframework.data.solr.repository.Query(value = "name:?0", delete = true)
+		CompletableFuture<Long> deleteAsyncByName(String name);
 	}
 
 	private class SolrEntityInformationCreatorImpl implements SolrEntityInformationCreator {
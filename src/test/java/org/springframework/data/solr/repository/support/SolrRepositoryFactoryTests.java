@@ -17,6 +17,11 @@ package org.springframework.data.solr.repository.support;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
 import org.junit.Before;
 import org.junit.Test;
@@ -24,14 +29,19 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.solr.core.SolrOperations;
 import org.springframework.data.solr.core.SolrTemplate;
 import org.springframework.data.solr.core.convert.SolrConverter;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
 import org.springframework.data.solr.core.mapping.SolrPersistentEntity;
 import org.springframework.data.solr.core.mapping.SolrPersistentProperty;
+import org.springframework.data.solr.core.query.Query;
+import org.springframework.data.solr.core.query.result.SolrResultPage;
 import org.springframework.data.solr.repository.ProductBean;
 import org.springframework.data.solr.repository.SolrCrudRepository;
 import org.springframework.data.solr.repository.query.SolrEntityInformation;
@@ -89,6 +99,27 @@ public class SolrRepositoryFactoryTests {
 		new SolrRepositoryFactory(template).getRepository(UnmanagedEntityRepository.class);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void repositoryReturnsFutureOfAsyncQuery() throws Exception {
+
+		SimpleSolrMappingContext mappingContext = new SimpleSolrMappingContext();
+		Mockito.when(solrConverterMock.getMappingContext()).thenReturn((MappingContext) mappingContext);
+		Mockito.when(solrOperationsMock.queryForPage(Mockito.eq("collection1"), Mockito.any(Query.class),
+				Mockito.eq(ProductBean.class))).thenReturn(new SolrResultPage<>(Collections.singletonList(new ProductBean())));
+
+		SolrRepositoryFactory repoFactory = new SolrRepositoryFactory(solrOperationsMock);
+		List<Runnable> tasks = new ArrayList<>();
+		repoFactory.setAsyncQueryExecutor(tasks::add);
+
+		CompletableFuture<List<ProductBean>> result = repoFactory.getRepository(AsyncProductRepository.class)
+				.findByName("name", PageRequest.of(0, 10));
+
+		assertThat(result).isNotDone();
+		tasks.forEach(Runnable::run);
+		assertThat(result.get()).hasSize(1);
+	}
+
 	@SuppressWarnings("unchecked")
 	private void initMappingContext() {
 		Mockito.when(mappingContextMock.getRequiredPersistentEntity(ProductBean.class)).thenReturn(solrEntityMock);
@@ -99,6 +130,11 @@ public class SolrRepositoryFactoryTests {
 
 	}
 
+	interface AsyncProductRepository extends Repository<ProductBean, String> {
+
+		CompletableFuture<List<ProductBean>> findByName(String name, Pageable page);
+	}
+
 	interface UnmanagedEntityRepository extends SolrCrudRepository<Object, String> {
 
 	}
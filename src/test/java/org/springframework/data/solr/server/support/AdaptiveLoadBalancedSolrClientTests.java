@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.client.solrj.request.SolrPing;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrException.ErrorCode;
+import org.apache.solr.common.util.NamedList;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.solr.server.support.AdaptiveLoadBalancedSolrClient.Node;
+
+/**
+ * Unit tests for {@link AdaptiveLoadBalancedSolrClient}.
+ */
+public class AdaptiveLoadBalancedSolrClientTests {
+
+	private SolrClient node1;
+	private SolrClient node2;
+	private AtomicLong time;
+	private AdaptiveLoadBalancedSolrClient client;
+
+	@Before
+	public void setUp() {
+
+		node1 = mock(SolrClient.class);
+		node2 = mock(SolrClient.class);
+		time = new AtomicLong();
+
+		Map<String, SolrClient> clients = new LinkedHashMap<>();
+		clients.put("node1", node1);
+		clients.put("node2", node2);
+
+		client = new AdaptiveLoadBalancedSolrClient(clients);
+		client.setClock(time::get);
+	}
+
+	@Test
+	public void prefersNodeWithLowerLatency() {
+
+		Node fast = client.getNodes().get(0);
+		Node slow = client.getNodes().get(1);
+		fast.onSuccess(1_000_000, 1D);
+		slow.onSuccess(50_000_000, 1D);
+
+		for (int i = 0; i < 20; i++) {
+			assertThat(client.select(Collections.emptyList())).isSameAs(fast);
+		}
+	}
+
+	@Test
+	public void accountsForOutstandingRequests() {
+
+		Node busy = client.getNodes().get(0);
+		Node idle = client.getNodes().get(1);
+		busy.onSuccess(1_000_000, 1D);
+		idle.onSuccess(2_000_000, 1D);
+		busy.outstanding.set(5);
+
+		assertThat(client.select(Collections.emptyList())).isSameAs(idle);
+	}
+
+	@Test
+	public void failsOverToOtherNodeOnConnectionFailure() throws Exception {
+
+		NamedList<Object> response = new NamedList<>();
+		when(node1.request(any(), any())).thenThrow(new SolrServerException(new ConnectException("refused")));
+		when(node2.request(any(), any())).thenReturn(response);
+		client.getNodes().get(1).onSuccess(100_000_000, 1D);
+
+		assertThat(client.request(new QueryRequest(new SolrQuery("*:*")), "collection-1")).isSameAs(response);
+		assertThat(client.getNodeStats().get("node1").isHealthy()).isFalse();
+		assertThat(client.getNodeStats().get("node2").isHealthy()).isTrue();
+
+		client.close();
+	}
+
+	@Test
+	public void doesNotRetryUpdateReachingTheServer() throws Exception {
+
+		when(node1.request(any(), any())).thenThrow(new SolrException(ErrorCode.SERVICE_UNAVAILABLE, "busy"));
+		when(node2.request(any(), any())).thenThrow(new SolrException(ErrorCode.SERVICE_UNAVAILABLE, "busy"));
+
+		assertThatExceptionOfType(SolrException.class)
+				.isThrownBy(() -> client.request(new UpdateRequest().deleteById("1"), "collection-1"));
+
+		verify(node1, atMost(1)).request(any(), any());
+		verify(node2, atMost(1)).request(any(), any());
+		assertThat(client.getNodeStats().values()).filteredOn(stats -> !stats.isHealthy()).hasSize(1);
+
+		client.close();
+	}
+
+	@Test
+	public void doesNotMarkNodeUnhealthyOnClientError() throws Exception {
+
+		when(node1.request(any(), any())).thenThrow(new SolrException(ErrorCode.BAD_REQUEST, "invalid"));
+		when(node2.request(any(), any())).thenThrow(new SolrException(ErrorCode.BAD_REQUEST, "invalid"));
+
+		assertThatExceptionOfType(SolrException.class)
+				.isThrownBy(() -> client.request(new QueryRequest(new SolrQuery("*:*")), "collection-1"));
+
+		assertThat(client.getNodeStats().values()).allMatch(AdaptiveLoadBalancedSolrClient.NodeStats::isHealthy);
+	}
+
+	@Test
+	public void healthCheckRecoversNodeWithSlowStart() throws Exception {
+
+		Node recovering = client.getNodes().get(0);
+		Node other = client.getNodes().get(1);
+		other.onSuccess(10_000_000, 1D);
+		recovering.healthy = false;
+
+		when(node1.request(any(), any())).thenReturn(new NamedList<>());
+		client.setSlowStart(Duration.ofSeconds(10));
+		client.checkHealth();
+
+		assertThat(recovering.healthy).isTrue();
+		assertThat(recovering.cost(time.get(), Duration.ofSeconds(10))).isGreaterThan(other.cost(time.get(),
+				Duration.ofSeconds(10)));
+
+		time.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertThat(recovering.cost(time.get(), Duration.ofSeconds(10))).isEqualTo(other.cost(time.get(),
+				Duration.ofSeconds(10)));
+	}
+
+	@Test
+	public void healthCheckPingsCollectionIfSet() throws Exception {
+
+		client.getNodes().get(0).healthy = false;
+		client.setHealthCheckCollection("collection-1");
+		when(node1.request(any(SolrPing.class), eq("collection-1"))).thenReturn(new NamedList<>());
+
+		client.checkHealth();
+
+		assertThat(client.getNodes().get(0).healthy).isTrue();
+	}
+
+	@Test
+	public void healthCheckKeepsFailingNodeOutOfRotation() throws Exception {
+
+		client.getNodes().get(0).healthy = false;
+		when(node1.request(any(), any())).thenThrow(new SolrServerException("down"));
+
+		client.checkHealth();
+
+		assertThat(client.getNodes().get(0).healthy).isFalse();
+		assertThat(client.select(Collections.emptyList())).isSameAs(client.getNodes().get(1));
+	}
+
+	@Test
+	public void closeClosesOwnedClients() throws Exception {
+
+		client.close();
+
+		verify(node1).close();
+		verify(node2).close();
+	}
+}
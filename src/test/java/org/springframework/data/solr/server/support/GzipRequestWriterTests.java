@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.solr.client.solrj.impl.BinaryRequestWriter;
+import org.apache.solr.client.solrj.request.RequestWriter.ContentWriter;
+import org.apache.solr.client.solrj.request.SolrPing;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.util.StrUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.solr.core.metrics.MicrometerSolrMetricsRecorder;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Unit tests for {@link GzipRequestWriter}.
+ */
+public class GzipRequestWriterTests {
+
+	private SimpleMeterRegistry registry;
+	private GzipRequestWriter writer;
+
+	@Before
+	public void setUp() {
+
+		registry = new SimpleMeterRegistry();
+
+		writer = new GzipRequestWriter();
+		writer.setThreshold(512);
+		writer.setMetricsRecorder(new MicrometerSolrMetricsRecorder(registry));
+	}
+
+	@Test
+	public void compressesBodiesAboveThreshold() throws IOException {
+
+		UpdateRequest request = updateRequest(2000);
+
+		byte[] sent = write(writer.getContentWriter(request));
+		byte[] expected = write(new BinaryRequestWriter().getContentWriter(updateRequest(2000)));
+
+		assertThat(request.getHeaders()).containsEntry("Content-Encoding", "gzip");
+		assertThat(sent.length).isLessThan(expected.length);
+		assertThat(StreamUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(sent)))).isEqualTo(expected);
+		assertThat(registry.get("spring.data.solr.request.compression.ratio").tag("compressed", "true").summary().max())
+				.isGreaterThan(1D);
+	}
+
+	@Test
+	public void skipsCompressionBelowThreshold() throws IOException {
+
+		UpdateRequest request = updateRequest(10);
+
+		byte[] sent = write(writer.getContentWriter(request));
+
+		assertThat(request.getHeaders()).isNull();
+		assertThat(sent).isEqualTo(write(new BinaryRequestWriter().getContentWriter(updateRequest(10))));
+		assertThat(registry.get("spring.data.solr.request.uncompressed.size").tag("compressed", "false").summary().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void resetsEncodingHeaderOfPreviousAttempt() throws IOException {
+
+		UpdateRequest request = updateRequest(2000);
+		writer.getContentWriter(request);
+
+		writer.setThreshold(Integer.MAX_VALUE);
+		writer.getContentWriter(request);
+
+		assertThat(request.getHeaders()).containsEntry("Content-Encoding", "identity");
+	}
+
+	@Test
+	public void delegatesRequestsWithoutBody() {
+
+		assertThat(writer.getContentWriter(new SolrPing())).isNull();
+		assertThat(writer.getPath(new UpdateRequest())).isEqualTo(new BinaryRequestWriter().getPath(new UpdateRequest()));
+	}
+
+	private static UpdateRequest updateRequest(int textLength) {
+
+		SolrInputDocument document = new SolrInputDocument();
+		document.addField("id", "1");
+		document.addField("text", StrUtils.join(Collections.nCopies(textLength / 5, "solr"), ' '));
+
+		UpdateRequest request = new UpdateRequest();
+		request.add(document);
+		return request;
+	}
+
+	private static byte[] write(ContentWriter contentWriter) throws IOException {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		contentWriter.write(out);
+		return out.toByteArray();
+	}
+}
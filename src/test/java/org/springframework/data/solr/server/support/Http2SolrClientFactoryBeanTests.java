@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.eclipse.jetty.client.HttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.DirectFieldAccessor;
+
+/**
+ * Unit tests for {@link Http2SolrClientFactoryBean}.
+ */
+public class Http2SolrClientFactoryBeanTests {
+
+	private Http2SolrClientFactoryBean factory;
+
+	@Before
+	public void setUp() {
+		factory = new Http2SolrClientFactoryBean();
+	}
+
+	@After
+	public void tearDown() {
+		factory.destroy();
+	}
+
+	@Test
+	public void createsHttp2SolrClientForSingleUrl() throws Exception {
+
+		factory.setUrl("http://localhost:8983/solr");
+		factory.setIdleTimeout(5000);
+		factory.afterPropertiesSet();
+
+		assertThat(factory.getObject()).isInstanceOf(Http2SolrClient.class);
+		assertThat(((Http2SolrClient) factory.getObject()).getIdleTimeout()).isEqualTo(5000);
+		assertThat(factory.getObjectType()).isEqualTo(Http2SolrClient.class);
+	}
+
+	@Test
+	public void createsAdaptiveLoadBalancedClientForMultipleUrls() throws Exception {
+
+		factory.setUrl("http://solr-1:8983/solr,http://solr-2:8983/solr");
+		factory.afterPropertiesSet();
+
+		assertThat(factory.getObject()).isInstanceOf(AdaptiveLoadBalancedSolrClient.class);
+		assertThat(((AdaptiveLoadBalancedSolrClient) factory.getObject()).getNodeStats())
+				.containsOnlyKeys("http://solr-1:8983/solr", "http://solr-2:8983/solr");
+		assertThat(factory.getObjectType()).isEqualTo(AdaptiveLoadBalancedSolrClient.class);
+	}
+
+	@Test
+	public void appliesPoolSettingsToUnderlyingHttpClient() throws Exception {
+
+		factory.setUrl("http://localhost:8983/solr");
+		factory.setMaxConnectionsPerHost(2);
+		factory.setCorePoolSize(4);
+		factory.setMaxPoolSize(16);
+		factory.afterPropertiesSet();
+
+		HttpClient httpClient = Http2SolrClientFactory.getJettyHttpClient((Http2SolrClient) factory.getObject());
+		ThreadPoolExecutor executor = (ThreadPoolExecutor) httpClient.getExecutor();
+
+		assertThat(httpClient.getMaxConnectionsPerDestination()).isEqualTo(2);
+		assertThat(executor.getCorePoolSize()).isEqualTo(4);
+		assertThat(executor.getMaximumPoolSize()).isEqualTo(16);
+	}
+
+	@Test
+	public void reportsPoolStats() throws Exception {
+
+		factory.setUrl("http://solr-1:8983/solr,http://solr-2:8983/solr");
+		factory.setMaxConcurrentStreamsPerHost(100);
+		factory.setMaxPoolSize(64);
+		factory.afterPropertiesSet();
+
+		Http2SolrClientPoolStats stats = factory.getPoolStats();
+
+		assertThat(stats.getConnections()).isZero();
+		assertThat(stats.getActiveStreams()).isZero();
+		assertThat(stats.getMaxConcurrentStreams()).isEqualTo(200);
+		assertThat(stats.getMaxPoolSize()).isEqualTo(64);
+	}
+
+	@Test
+	public void publishesPoolStatsAsGauges() throws Exception {
+
+		factory.setUrl("http://localhost:8983/solr");
+		factory.setMaxConcurrentStreamsPerHost(50);
+		factory.afterPropertiesSet();
+
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new Http2SolrClientPoolMetrics(factory).bindTo(registry);
+
+		assertThat(registry.get("spring.data.solr.http2.streams.max").gauge().value()).isEqualTo(50D);
+		assertThat(registry.get("spring.data.solr.http2.connections").gauge().value()).isZero();
+	}
+
+	@Test
+	public void configuresCompression() throws Exception {
+
+		factory.setUrl("http://localhost:8983/solr");
+		factory.setRequestCompression(true);
+		factory.setResponseCompression(false);
+		factory.afterPropertiesSet();
+
+		Http2SolrClient solrClient = (Http2SolrClient) factory.getObject();
+
+		assertThat(new DirectFieldAccessor(solrClient).getPropertyValue("requestWriter"))
+				.isInstanceOf(GzipRequestWriter.class);
+		assertThat(Http2SolrClientFactory.getJettyHttpClient(solrClient).getContentDecoderFactories()).isEmpty();
+	}
+
+	@Test
+	public void rejectsCorePoolSizeGreaterThanMaxPoolSize() {
+
+		factory.setUrl("http://localhost:8983/solr");
+		factory.setCorePoolSize(10);
+		factory.setMaxPoolSize(5);
+
+		assertThatIllegalArgumentException().isThrownBy(factory::afterPropertiesSet);
+
+		factory.setSolrClient(new Http2SolrClient.Builder().build());
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.solr.server.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.impl.BinaryRequestWriter;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.client.solrj.impl.LBHttpSolrClient;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.apache.solr.common.util.NamedList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.data.solr.core.metrics.MeasuringResponseParser;
+import org.springframework.data.solr.core.metrics.SolrMetricsRecorder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Unit tests for {@link HttpSolrClientFactoryBean}.
+ */
+public class HttpSolrClientFactoryBeanTests {
+
+	private HttpSolrClientFactoryBean factory;
+
+	@Before
+	public void setUp() {
+		factory = new HttpSolrClientFactoryBean();
+	}
+
+	@After
+	public void tearDown() {
+		factory.destroy();
+	}
+
+	@Test
+	public void appliesRequestCompressionToSingleClient() throws Exception {
+
+		factory.setUrl("http://localhost:8983/solr");
+		factory.setRequestCompression(true);
+		factory.afterPropertiesSet();
+
+		assertThat(factory.getObject()).isInstanceOf(HttpSolrClient.class);
+		assertThat(requestWriterOf(factory.getObject())).isInstanceOf(GzipRequestWriter.class);
+	}
+
+	@Test
+	public void appliesRequestCompressionToClientsOfLoadBalancedClient() throws Exception {
+
+		factory.setUrl("http://solr-1:8983/solr,http://solr-2:8983/solr");
+		factory.setRequestCompression(true);
+		factory.afterPropertiesSet();
+
+		assertThat(factory.getObject()).isInstanceOf(LBHttpSolrClient.class);
+
+		Map<String, HttpSolrClient> clients = urlToClient((LBHttpSolrClient) factory.getObject());
+		assertThat(clients).hasSize(2);
+		assertThat(clients.values()).allSatisfy(
+				solrClient -> assertThat(requestWriterOf(solrClient)).isInstanceOf(GzipRequestWriter.class));
+	}
+
+	@Test
+	public void doesNotCompressRequestsOfLoadBalancedClientByDefault() throws Exception {
+
+		factory.setUrl("http://solr-1:8983/solr,http://solr-2:8983/solr");
+		factory.afterPropertiesSet();
+
+		assertThat(urlToClient((LBHttpSolrClient) factory.getObject()).values()).allSatisfy(
+				solrClient -> assertThat(requestWriterOf(solrClient)).isExactlyInstanceOf(BinaryRequestWriter.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void createsAdaptiveLoadBalancedClientWithRequestCompression() throws Exception {
+
+		factory.setUrl("http://solr-1:8983/solr, http://solr-2:8983/solr");
+		factory.setAdaptiveLoadBalancing(true);
+		factory.setRequestCompression(true);
+		factory.afterPropertiesSet();
+
+		assertThat(factory.getObject()).isInstanceOf(AdaptiveLoadBalancedSolrClient.class);
+		assertThat(((AdaptiveLoadBalancedSolrClient) factory.getObject()).getNodeStats())
+				.containsOnlyKeys("http://solr-1:8983/solr", "http://solr-2:8983/solr");
+
+		List<AdaptiveLoadBalancedSolrClient.Node> nodes = (List<AdaptiveLoadBalancedSolrClient.Node>) new DirectFieldAccessor(
+				factory.getObject()).getPropertyValue("nodes");
+		assertThat(nodes).allSatisfy(node -> assertThat(requestWriterOf(node.client))
+				.isInstanceOf(GzipRequestWriter.class));
+	}
+
+	@Test
+	public void passesAdaptiveLoadBalancingSettingsToClient() throws Exception {
+
+		factory.setUrl("http://solr-1:8983/solr,http://solr-2:8983/solr");
+		factory.setAdaptiveLoadBalancing(true);
+		factory.setDecay(0.5D);
+		factory.setSlowStart(Duration.ofSeconds(10));
+		factory.setHealthCheckInterval(Duration.ofSeconds(1));
+		factory.setHealthCheckCollection("collection-1");
+		factory.afterPropertiesSet();
+
+		DirectFieldAccessor accessor = new DirectFieldAccessor(factory.getObject());
+		assertThat(accessor.getPropertyValue("decay")).isEqualTo(0.5D);
+		assertThat(accessor.getPropertyValue("slowStart")).isEqualTo(Duration.ofSeconds(10));
+		assertThat(accessor.getPropertyValue("healthCheckInterval")).isEqualTo(Duration.ofSeconds(1));
+		assertThat(accessor.getPropertyValue("healthCheckCollection")).isEqualTo("collection-1");
+	}
+
+	@Test
+	public void adaptiveLoadBalancedClientRecoversContainerLevelNode() throws Exception {
+
+		// container level urls have no ping handler, only the system info one
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/solr/admin/ping", exchange -> respond(exchange, 404, new byte[0]));
+		server.createContext("/solr" + CommonParams.SYSTEM_INFO_PATH, exchange -> respond(exchange, 200, systemInfo()));
+		server.start();
+
+		try {
+
+			String url = "http://localhost:" + server.getAddress().getPort() + "/solr";
+			factory.setUrl(url + "," + url + "/");
+			factory.setAdaptiveLoadBalancing(true);
+			factory.afterPropertiesSet();
+
+			AdaptiveLoadBalancedSolrClient solrClient = (AdaptiveLoadBalancedSolrClient) factory.getObject();
+			solrClient.getNodes().forEach(node -> node.healthy = false);
+
+			solrClient.checkHealth();
+
+			assertThat(solrClient.getNodes()).allSatisfy(node -> assertThat(node.healthy).isTrue());
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	public void measuresResponsesWhenMetricsRecorderIsSet() throws Exception {
+
+		factory.setUrl("http://solr-1:8983/solr,http://solr-2:8983/solr");
+		factory.setMetricsRecorder(SolrMetricsRecorder.NONE);
+		factory.afterPropertiesSet();
+
+		assertThat(urlToClient((LBHttpSolrClient) factory.getObject()).values())
+				.allSatisfy(solrClient -> assertThat(solrClient.getParser()).isInstanceOf(MeasuringResponseParser.class));
+	}
+
+	private static byte[] systemInfo() throws IOException {
+
+		NamedList<Object> responseHeader = new NamedList<>();
+		responseHeader.add("status", 0);
+		NamedList<Object> response = new NamedList<>();
+		response.add("responseHeader", responseHeader);
+		response.add("mode", "solrcloud");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new JavaBinCodec().marshal(response, out);
+		return out.toByteArray();
+	}
+
+	private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+
+		exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+		exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private static Object requestWriterOf(Object solrClient) {
+		return new DirectFieldAccessor(solrClient).getPropertyValue("requestWriter");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, HttpSolrClient> urlToClient(LBHttpSolrClient solrClient) {
+		return (Map<String, HttpSolrClient>) new DirectFieldAccessor(solrClient).getPropertyValue("urlToClient");
+	}
+}